@@ -0,0 +1,101 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.benchmark;
+
+import com.mahfuj.REST_APIs_with_Spring_boot.dto.AgeBatchRequest;
+import com.mahfuj.REST_APIs_with_Spring_boot.dto.AgeResponse;
+import com.mahfuj.REST_APIs_with_Spring_boot.dto.DateTimeResponse;
+import com.mahfuj.REST_APIs_with_Spring_boot.repository.UserRepository;
+import com.mahfuj.REST_APIs_with_Spring_boot.service.UtilityService;
+import com.mahfuj.REST_APIs_with_Spring_boot.service.dates.Dates;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost per row of computing ages for a 10,000-person roster: the old
+ * single-request path ({@code LocalDate.now()}, {@code LocalDate.parse},
+ * {@code String.format}) against the current one, the columnar JSON batch and
+ * the streamed CSV. {@code dateTime*} is one GET /api/datetime, with the
+ * formatters built per call as before and shared as now.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AgeBatchBenchmark {
+
+    private static final int ROWS = 10_000;
+
+    private UtilityService service;
+    private String[] dob;
+    private byte[] csv;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        service = BenchmarkServices.utilityService(new UserRepository());
+        Random random = new Random(42);
+        dob = new String[ROWS];
+        StringBuilder roster = new StringBuilder("id,name,dob,department\n");
+        for (int i = 0; i < ROWS; i++) {
+            dob[i] = LocalDate.of(1955, 1, 1).plusDays(random.nextInt(20_000)).toString();
+            roster.append(i).append(",Employee ").append(i).append(',').append(dob[i]).append(",Finance\n");
+        }
+        csv = roster.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void legacyRow(Blackhole bh) {
+        for (String date : dob) {
+            LocalDate birth = LocalDate.parse(date);
+            Period period = Period.between(birth, LocalDate.now());
+            bh.consume(new AgeResponse(birth.toString(), String.format("%d years, %d months, and %d days",
+                    period.getYears(), period.getMonths(), period.getDays())));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void singleRow(Blackhole bh) {
+        for (String date : dob) bh.consume(service.calculateAge(Dates.parseIsoDate(date), null));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public Object jsonBatch() {
+        return service.calculateAgeBatch(new AgeBatchRequest(dob));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void csvRoster() throws IOException {
+        service.writeAgeCsv(new ByteArrayInputStream(csv), OutputStream.nullOutputStream(), "dob", null);
+    }
+
+    @Benchmark
+    public DateTimeResponse dateTimeLegacy() {
+        LocalDateTime now = LocalDateTime.now();
+        return new DateTimeResponse(now.toString(),
+                now.format(DateTimeFormatter.ofPattern("yyyy-MM-dd")),
+                now.format(DateTimeFormatter.ofPattern("hh:mm:ss a")),
+                now.getDayOfWeek().toString(), now.getDayOfYear(), now.getMonth().toString(), now.getYear(),
+                ZoneId.systemDefault().toString());
+    }
+
+    @Benchmark
+    public DateTimeResponse dateTime() {
+        return service.getDateTimeDetailed();
+    }
+}
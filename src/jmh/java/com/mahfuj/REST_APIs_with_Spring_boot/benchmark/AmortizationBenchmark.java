@@ -0,0 +1,76 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mahfuj.REST_APIs_with_Spring_boot.dto.LoanRequest;
+import com.mahfuj.REST_APIs_with_Spring_boot.service.AmortizationCalculator;
+import com.mahfuj.REST_APIs_with_Spring_boot.service.UtilityService;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Amortization throughput: one 30-year schedule streamed as CSV or NDJSON, and a
+ * portfolio of 30-year loans (with prepayments and rate changes) folded into
+ * month-by-month totals.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AmortizationBenchmark {
+
+    @Param({"10000"})
+    public int loans;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final UtilityService service = new UtilityService(null, null, null, null, null, null, null, mapper);
+    private final LoanRequest loan = new LoanRequest(500_000, 8, 30,
+            List.of(new LoanRequest.Prepayment(24, 25_000)), List.of(new LoanRequest.RateChange(61, 9.5)));
+
+    private byte[] portfolio;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < loans; i++) {
+            ndjson.append("{\"amount\":").append(50_000 + i * 37 % 900_000)
+                    .append(",\"rate\":").append(3 + i % 9)
+                    .append(",\"years\":").append(5 + i % 26)
+                    .append(",\"prepayments\":[{\"month\":12,\"amount\":5000}]")
+                    .append(",\"rateChanges\":[{\"month\":50,\"rate\":").append(4 + i % 7).append("}]}\n");
+        }
+        portfolio = ndjson.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public double scheduleOnly() {
+        double[] interest = new double[1];
+        AmortizationCalculator.schedule(loan, (m, pay, pri, in, pre, bal) -> interest[0] += in);
+        return interest[0];
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void csv() throws IOException {
+        service.writeEmiScheduleCsv(loan, OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void ndjson() throws IOException {
+        service.streamEmiSchedule(loan, OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Object portfolio() throws IOException {
+        return service.emiPortfolio(new ByteArrayInputStream(portfolio));
+    }
+}
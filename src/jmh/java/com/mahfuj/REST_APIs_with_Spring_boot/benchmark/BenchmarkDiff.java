@@ -0,0 +1,126 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares two JMH JSON result files (e.g. from two commits) and flags regressions.
+ * <p>
+ * Benchmarks are matched by name and parameters. A change counts as a regression
+ * when the score got worse by more than the threshold <em>and</em> by more than
+ * the two runs' combined error, so noise within the confidence intervals is not
+ * reported. Allocation per operation ({@code gc.alloc.rate.norm}, present when
+ * run with {@code -prof gc}) is compared the same way. Exits with status 1 when
+ * anything regressed, so it can gate a CI job.
+ * <pre>
+ * ./mvnw -Pbenchmark verify -Djmh.result=target/base.json     # on the baseline commit
+ * ./mvnw -Pbenchmark verify                                   # on the change
+ * ./mvnw -Pbenchmark test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.mahfuj.REST_APIs_with_Spring_boot.benchmark.BenchmarkDiff \
+ *     -Dexec.args="target/base.json target/jmh-result.json --threshold=5"
+ * </pre>
+ */
+public class BenchmarkDiff {
+
+    private static final String ALLOCATION = "gc.alloc.rate.norm";
+
+    record Score(double value, double error, String unit, boolean higherIsBetter) {
+    }
+
+    record Change(String benchmark, String metric, Score baseline, Score current) {
+
+        double percent() {
+            return (current.value - baseline.value) / baseline.value * 100;
+        }
+
+        boolean regressed(double thresholdPercent) {
+            double worse = current.higherIsBetter ? baseline.value - current.value : current.value - baseline.value;
+            double error = nonNegative(baseline.error) + nonNegative(current.error);
+            return worse > error && Math.abs(percent()) > thresholdPercent;
+        }
+
+        private static double nonNegative(double error) {
+            return Double.isNaN(error) ? 0 : error;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        List<String> files = new ArrayList<>();
+        double threshold = 10;
+        for (String arg : args) {
+            if (arg.startsWith("--threshold=")) threshold = Double.parseDouble(arg.substring("--threshold=".length()));
+            else files.add(arg);
+        }
+        if (files.size() != 2) {
+            System.err.println("Usage: BenchmarkDiff <baseline.json> <current.json> [--threshold=percent]");
+            System.exit(2);
+        }
+
+        List<Change> changes = compare(read(Path.of(files.get(0))), read(Path.of(files.get(1))));
+        int regressions = 0;
+        System.out.printf(Locale.ROOT, "%-80s %14s %14s %9s%n", "benchmark", "baseline", "current", "change");
+        for (Change change : changes) {
+            boolean regressed = change.regressed(threshold);
+            if (regressed) regressions++;
+            System.out.printf(Locale.ROOT, "%-80s %14.3f %14.3f %+8.1f%% %s%n",
+                    change.benchmark + (change.metric.isEmpty() ? "" : " [" + change.metric + "]"),
+                    change.baseline.value, change.current.value, change.percent(),
+                    (regressed ? "REGRESSION " : "") + change.current.unit);
+        }
+        System.out.printf(Locale.ROOT, "%d compared, %d regressed (threshold %.1f%%)%n", changes.size(), regressions, threshold);
+        if (regressions > 0) System.exit(1);
+    }
+
+    static List<Change> compare(Map<String, Map<String, Score>> baseline, Map<String, Map<String, Score>> current) {
+        List<Change> changes = new ArrayList<>();
+        baseline.forEach((benchmark, baseMetrics) -> {
+            Map<String, Score> currentMetrics = current.get(benchmark);
+            if (currentMetrics == null) return; // removed or renamed
+            baseMetrics.forEach((metric, baseScore) -> {
+                Score currentScore = currentMetrics.get(metric);
+                if (currentScore != null && baseScore.value != 0) {
+                    changes.add(new Change(benchmark, metric, baseScore, currentScore));
+                }
+            });
+        });
+        return changes;
+    }
+
+    // benchmark id (name plus sorted params) -> metric ("" = primary) -> score
+    static Map<String, Map<String, Score>> read(Path file) throws IOException {
+        Map<String, Map<String, Score>> results = new TreeMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file.toFile())) {
+            StringBuilder id = new StringBuilder(run.path("benchmark").asText()
+                    .replace("com.mahfuj.REST_APIs_with_Spring_boot.benchmark.", ""));
+            Map<String, String> params = new TreeMap<>();
+            for (Iterator<Map.Entry<String, JsonNode>> it = run.path("params").fields(); it.hasNext(); ) {
+                Map.Entry<String, JsonNode> param = it.next();
+                params.put(param.getKey(), param.getValue().asText());
+            }
+            params.forEach((name, value) -> id.append(' ').append(name).append('=').append(value));
+
+            boolean throughput = "thrpt".equals(run.path("mode").asText());
+            Map<String, Score> metrics = new LinkedHashMap<>();
+            metrics.put("", score(run.path("primaryMetric"), throughput));
+            JsonNode allocation = run.path("secondaryMetrics").path("·" + ALLOCATION);
+            if (!allocation.isMissingNode()) metrics.put("alloc", score(allocation, false));
+            results.put(id.toString(), metrics);
+        }
+        return results;
+    }
+
+    private static Score score(JsonNode metric, boolean higherIsBetter) {
+        return new Score(metric.path("score").asDouble(), metric.path("scoreError").asDouble(Double.NaN),
+                metric.path("scoreUnit").asText(), higherIsBetter);
+    }
+}
@@ -0,0 +1,64 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.mahfuj.REST_APIs_with_Spring_boot.config.DateProperties;
+import com.mahfuj.REST_APIs_with_Spring_boot.config.FibonacciProperties;
+import com.mahfuj.REST_APIs_with_Spring_boot.config.PasswordProperties;
+import com.mahfuj.REST_APIs_with_Spring_boot.config.TextProperties;
+import com.mahfuj.REST_APIs_with_Spring_boot.repository.UserRepository;
+import com.mahfuj.REST_APIs_with_Spring_boot.service.FibonacciEngine;
+import com.mahfuj.REST_APIs_with_Spring_boot.service.PrimeSieve;
+import com.mahfuj.REST_APIs_with_Spring_boot.service.UtilityService;
+import com.mahfuj.REST_APIs_with_Spring_boot.service.dates.ZoneClock;
+import com.mahfuj.REST_APIs_with_Spring_boot.service.password.CommonPasswordList;
+import com.mahfuj.REST_APIs_with_Spring_boot.service.password.PasswordAnalyzer;
+import com.mahfuj.REST_APIs_with_Spring_boot.service.password.PasswordRules;
+import com.mahfuj.REST_APIs_with_Spring_boot.service.text.PalindromeScanner;
+import com.mahfuj.REST_APIs_with_Spring_boot.service.words.NumberLocales;
+import com.mahfuj.REST_APIs_with_Spring_boot.service.words.NumberToWords;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+
+// A UtilityService wired the way Spring wires it, without starting a context
+final class BenchmarkServices {
+
+    private BenchmarkServices() {
+    }
+
+    static UtilityService utilityService(UserRepository users) {
+        PasswordProperties passwordProperties = new PasswordProperties("classpath:common-passwords.txt", 50);
+        PasswordRules rules = new PasswordRules();
+        PasswordAnalyzer analyzer = new PasswordAnalyzer(
+                List.of(rules.minimumLength(), rules.uppercase(), rules.lowercase(), rules.digit(), rules.specialCharacter(),
+                        rules.notCommon(), rules.noRepeats(), rules.noSequences(), rules.noKeyboardPatterns(),
+                        rules.enoughEntropy(passwordProperties)),
+                new CommonPasswordList(new ClassPathResource("common-passwords.txt")));
+        // memo off, so repeated calls measure the calculation rather than a map lookup
+        FibonacciEngine fibonacci = new FibonacciEngine(new FibonacciProperties(1_000_000, 1000, 10_000,
+                Duration.ofMinutes(1), 0));
+        return new UtilityService(zoneClock(), analyzer, fibonacci, palindromeScanner(), new PrimeSieve(1L << 28), numberToWords(), users, objectMapper(false));
+    }
+
+    static NumberToWords numberToWords() {
+        NumberLocales locales = new NumberLocales();
+        return new NumberToWords(List.of(locales.english(), locales.indianEnglish(), locales.bengali()));
+    }
+
+    static ZoneClock zoneClock() {
+        return new ZoneClock(new DateProperties("", Duration.ofMillis(1)));
+    }
+
+    static PalindromeScanner palindromeScanner() {
+        return new PalindromeScanner(new TextProperties(DataSize.ofMegabytes(4), null));
+    }
+
+    // Same builder and modules Spring MVC uses for its message converter
+    static ObjectMapper objectMapper(boolean indent) {
+        return Jackson2ObjectMapperBuilder.json().indentOutput(indent).modulesToInstall(new BlackbirdModule()).build();
+    }
+}
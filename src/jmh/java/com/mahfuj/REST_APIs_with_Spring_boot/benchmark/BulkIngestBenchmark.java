@@ -0,0 +1,95 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mahfuj.REST_APIs_with_Spring_boot.repository.UserRepository;
+import com.mahfuj.REST_APIs_with_Spring_boot.service.UtilityService;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ingesting a large NDJSON upload through the bulk endpoint's service method,
+ * against the one-request-per-user path. The upload is generated on the fly,
+ * so the benchmark itself never holds more than one line of input.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xmx512m"})
+public class BulkIngestBenchmark {
+
+    @Param({"1000000"})
+    public int users;
+
+    @Param({"100", "1000", "10000"})
+    public int batchSize;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Benchmark
+    public Object bulk() throws IOException {
+        UtilityService service = new UtilityService(null, null, null, null, null, null, new UserRepository(), mapper);
+        return service.addUsers(new GeneratedNdjson(users), batchSize);
+    }
+
+    @Benchmark
+    public Object onePerRequest() throws IOException {
+        // what clients did before: bind each user into a map and add it on its own
+        UtilityService service = new UtilityService(null, null, null, null, null, null, new UserRepository(), mapper);
+        for (int i = 0; i < users; i++) {
+            service.addUser(mapper.readValue(GeneratedNdjson.line(i), Map.class));
+        }
+        return service;
+    }
+
+    // Produces "{...}\n" lines lazily instead of materializing a multi-hundred-MB payload
+    static final class GeneratedNdjson extends InputStream {
+
+        private final int lines;
+        private int next;
+        private byte[] current = new byte[0];
+        private int position;
+
+        GeneratedNdjson(int lines) {
+            this.lines = lines;
+        }
+
+        static byte[] line(int i) {
+            return ("{\"name\":\"user" + i + "\",\"email\":\"user" + i + "@example.com\",\"age\":" + (18 + i % 60) + "}\n")
+                    .getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public int read() {
+            if (position == current.length) {
+                if (next == lines) return -1;
+                current = line(next++);
+                position = 0;
+            }
+            return current[position++] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            int copied = 0;
+            while (copied < length) {
+                if (position == current.length) {
+                    if (next == lines) break;
+                    current = line(next++);
+                    position = 0;
+                }
+                int n = Math.min(length - copied, current.length - position);
+                System.arraycopy(current, position, buffer, offset + copied, n);
+                position += n;
+                copied += n;
+            }
+            return copied == 0 && length > 0 ? -1 : copied;
+        }
+    }
+}
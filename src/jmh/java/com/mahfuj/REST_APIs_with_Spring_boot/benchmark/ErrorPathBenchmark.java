@@ -0,0 +1,87 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.benchmark;
+
+import com.mahfuj.REST_APIs_with_Spring_boot.RestApIsWithSpringBootApplication;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.autoconfigure.web.servlet.SpringBootMockMvcBuilderCustomizer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.DefaultMockMvcBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Error responses per second for the requests a malformed-request flood sends.
+ * <p>
+ * The whole app runs in-process and each request goes through its filter chain
+ * and dispatcher servlet with MockMvc, so the numbers include handler lookup,
+ * binding and exception resolution. {@code prevalidate=false} turns the
+ * path-variable filter off; the bad values then fail in binding as they used to.
+ * The per-client budgets are lifted so every request gets a full error response.
+ * Only uses what any version of the app has, so it can be copied onto an older
+ * commit to get the "before" numbers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ErrorPathBenchmark {
+
+    public enum Request {
+        // a number that doesn't parse: /api/bmi/abc/1.75
+        TYPE_MISMATCH("/api/bmi/abc/1.75"),
+        // nothing is mapped here
+        UNKNOWN_PATH("/api/wp-login.php"),
+        // binds fine, the service refuses it
+        SERVICE_VALIDATION("/api/fibonacci/5000"),
+        // for scale: a successful call
+        OK("/api/convert/celsius/36.6");
+
+        final String path;
+
+        Request(String path) {
+            this.path = path;
+        }
+    }
+
+    @Param
+    public Request request;
+
+    @Param({"true", "false"})
+    public boolean prevalidate;
+
+    private ConfigurableApplicationContext context;
+    private MockMvc mockMvc;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(RestApIsWithSpringBootApplication.class)
+                .run("--server.port=0",
+                        "--app.cache.enabled=false",
+                        "--app.rejections.prevalidate=" + prevalidate,
+                        "--app.rejections.per-client-per-second=1000000000",
+                        "--app.rate-limit.enabled=false",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=warn");
+        DefaultMockMvcBuilder builder = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context);
+        // the app's servlet filters, as @AutoConfigureMockMvc would add them
+        new SpringBootMockMvcBuilderCustomizer((WebApplicationContext) context).customize(builder);
+        mockMvc = builder.build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int respond() throws Exception {
+        return mockMvc.perform(get(request.path)).andReturn().getResponse().getStatus();
+    }
+}
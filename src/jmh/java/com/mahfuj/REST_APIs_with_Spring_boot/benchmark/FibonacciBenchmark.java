@@ -0,0 +1,75 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.benchmark;
+
+import com.mahfuj.REST_APIs_with_Spring_boot.config.FibonacciProperties;
+import com.mahfuj.REST_APIs_with_Spring_boot.service.FibonacciEngine;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigInteger;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The Fibonacci engine against the loop it replaced.
+ * <p>
+ * {@code intLoop} is the old generate(): boxed ints, wrong past n = 46, kept only
+ * as the cost baseline. {@code bigIntegerLoop} is the naive correct version
+ * (n additions), which fast doubling has to beat for a single F(n).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FibonacciBenchmark {
+
+    @Param({"46", "1000", "100000"})
+    public int n;
+
+    private FibonacciEngine engine;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // memo disabled so every call does the work
+        engine = new FibonacciEngine(new FibonacciProperties(Integer.MAX_VALUE, Integer.MAX_VALUE,
+                Integer.MAX_VALUE, Duration.ofMinutes(1), 0));
+    }
+
+    @Benchmark
+    public List<Integer> intLoop() {
+        List<Integer> seq = new ArrayList<>();
+        int a = 0, b = 1;
+        for (int i = 0; i < n; i++) {
+            seq.add(a);
+            int temp = a + b;
+            a = b;
+            b = temp;
+        }
+        return seq;
+    }
+
+    @Benchmark
+    public List<BigInteger> sequence() {
+        List<BigInteger> seq = new ArrayList<>(n);
+        engine.sequence(n, seq::add);
+        return seq;
+    }
+
+    @Benchmark
+    public BigInteger bigIntegerLoop() {
+        BigInteger a = BigInteger.ZERO, b = BigInteger.ONE;
+        for (int i = 0; i < n; i++) {
+            BigInteger next = a.add(b);
+            a = b;
+            b = next;
+        }
+        return a;
+    }
+
+    @Benchmark
+    public BigInteger fastDoubling() {
+        return engine.nth(n);
+    }
+}
@@ -0,0 +1,66 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mahfuj.REST_APIs_with_Spring_boot.config.JobProperties;
+import com.mahfuj.REST_APIs_with_Spring_boot.service.jobs.JobOperation;
+import com.mahfuj.REST_APIs_with_Spring_boot.service.jobs.JobQueue;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What the job queue itself costs: batches of 1000 jobs that do nothing, a
+ * third of them at a higher priority, submitted from one thread and awaited.
+ * Each job goes through the priority queue, a fork/join worker, JSON
+ * serialization of its result and the result store, so this is the ceiling on
+ * jobs per second for any operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JobQueueBenchmark {
+
+    private static final int BATCH = 1000;
+
+    @Param({"1", "4"})
+    public int threads;
+
+    private JobQueue queue;
+    private volatile CountDownLatch finished;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        JobOperation.Work work = progress -> {
+            finished.countDown();
+            return 0;
+        };
+        JobProperties properties = new JobProperties(threads, BATCH, Map.of("high", 2), Duration.ofSeconds(1),
+                Duration.ofSeconds(5), DataSize.ofMegabytes(64), DataSize.ofMegabytes(64), 1_000_000, null, 1000);
+        queue = new JobQueue(List.of(JobOperation.of("high", parameters -> work), JobOperation.of("low", parameters -> work)),
+                properties, new ObjectMapper(), new SimpleMeterRegistry());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        queue.destroy();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void smallJobs() throws InterruptedException {
+        finished = new CountDownLatch(BATCH);
+        for (int i = 0; i < BATCH; i++) {
+            queue.submit(i % 3 == 0 ? "high" : "low", null);
+        }
+        finished.await();
+    }
+}
@@ -0,0 +1,113 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.benchmark;
+
+import com.mahfuj.REST_APIs_with_Spring_boot.metrics.PayloadSizeFilter;
+import com.mahfuj.REST_APIs_with_Spring_boot.service.PrimeSieve;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.Servlet;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.filter.ServerHttpObservationFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What the instrumentation costs per request and per hot-path call.
+ * <p>
+ * The request benchmarks push a mock GET through the filters the app installs:
+ * nothing ({@code bare}), the payload-size filter, Spring's
+ * {@code http.server.requests} observation, and both. The servlet answers with
+ * a 256-byte body, so the numbers are pure filter overhead on top of a trivial
+ * request. {@code primeLookup*} is a sieve hit with no-op meters against a
+ * Prometheus registry.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MetricsOverheadBenchmark {
+
+    private static final byte[] BODY = new byte[256];
+
+    private static final Servlet SERVLET = new HttpServlet() {
+        @Override
+        protected void service(HttpServletRequest request, HttpServletResponse response) throws IOException {
+            response.getOutputStream().write(BODY);
+        }
+    };
+
+    private Filter payloadSizes;
+    private Filter observation;
+    private PrimeSieve plainSieve;
+    private PrimeSieve meteredSieve;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        ObservationRegistry observations = ObservationRegistry.create();
+        observations.observationConfig().observationHandler(new DefaultMeterObservationHandler(registry));
+
+        payloadSizes = new PayloadSizeFilter(registry);
+        observation = new ServerHttpObservationFilter(observations);
+
+        plainSieve = new PrimeSieve(1 << 24, new CompositeMeterRegistry());
+        meteredSieve = new PrimeSieve(1 << 24, registry);
+        plainSieve.count(0, 1 << 24);
+        meteredSieve.count(0, 1 << 24);
+    }
+
+    private static void request(Filter... filters) throws IOException, ServletException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/prime/97");
+        // what the handler mapping would have set
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/prime/{number}");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = new MockFilterChain(SERVLET, filters);
+        chain.doFilter(request, response);
+    }
+
+    @Benchmark
+    public void bare() throws Exception {
+        request();
+    }
+
+    @Benchmark
+    public void payloadSizes() throws Exception {
+        request(payloadSizes);
+    }
+
+    @Benchmark
+    public void requestTimer() throws Exception {
+        request(observation);
+    }
+
+    @Benchmark
+    public void requestTimerAndPayloadSizes() throws Exception {
+        request(observation, payloadSizes);
+    }
+
+    @Benchmark
+    public boolean primeLookupPlain() {
+        return plainSieve.isPrime(ThreadLocalRandom.current().nextInt(1 << 24));
+    }
+
+    @Benchmark
+    public boolean primeLookupMetered() {
+        return meteredSieve.isPrime(ThreadLocalRandom.current().nextInt(1 << 24));
+    }
+}
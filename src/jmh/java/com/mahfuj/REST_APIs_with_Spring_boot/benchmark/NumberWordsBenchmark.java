@@ -0,0 +1,136 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.benchmark;
+
+import com.mahfuj.REST_APIs_with_Spring_boot.dto.WordsBatchRequest;
+import com.mahfuj.REST_APIs_with_Spring_boot.repository.UserRepository;
+import com.mahfuj.REST_APIs_with_Spring_boot.service.UtilityService;
+import com.mahfuj.REST_APIs_with_Spring_boot.service.words.NumberLocale;
+import com.mahfuj.REST_APIs_with_Spring_boot.service.words.NumberToWords;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Number to words: the old recursive converter (string concatenation per
+ * level, plus the digit grouping) against the iterative one that spells into
+ * a reused buffer, in each built-in locale. {@code batch*} convert 10,000
+ * random numbers. Run with {@code -prof gc} to compare allocation per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NumberWordsBenchmark {
+
+    @Param({"42", "9876543210", "9223372036854775807"})
+    public long number;
+
+    private NumberToWords words;
+    private NumberLocale english, indianEnglish, bengali;
+    private BigDecimal amount;
+    private long[] batch;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        words = BenchmarkServices.numberToWords();
+        english = words.locale("en");
+        indianEnglish = words.locale("en-IN");
+        bengali = words.locale("bn");
+        amount = BigDecimal.valueOf(number).movePointLeft(2);
+        Random random = new Random(42);
+        batch = new long[10_000];
+        for (int i = 0; i < batch.length; i++) batch[i] = random.nextLong() % 1_000_000_000_000L;
+    }
+
+    @Benchmark
+    public void recursive(Blackhole bh) {
+        bh.consume(convert(number) + " Only");
+        bh.consume(groupThousands(number));
+    }
+
+    @Benchmark
+    public void english(Blackhole bh) {
+        bh.consume(words.words(number, english));
+        bh.consume(words.digits(number, english));
+    }
+
+    @Benchmark
+    public void indianEnglish(Blackhole bh) {
+        bh.consume(words.words(number, indianEnglish));
+        bh.consume(words.digits(number, indianEnglish));
+    }
+
+    @Benchmark
+    public void bengali(Blackhole bh) {
+        bh.consume(words.words(number, bengali));
+        bh.consume(words.digits(number, bengali));
+    }
+
+    @Benchmark
+    public void amount(Blackhole bh) {
+        bh.consume(words.amountWords(amount, english));
+        bh.consume(words.amountDigits(amount, english));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(10_000)
+    public void batchRecursive(Blackhole bh) {
+        for (long value : batch) {
+            bh.consume(convert(value) + " Only");
+            bh.consume(groupThousands(value));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(10_000)
+    public Object batch(ServiceState state) {
+        return state.service.convertNumberToWordsBatch(new WordsBatchRequest(batch));
+    }
+
+    @State(Scope.Benchmark)
+    public static class ServiceState {
+        final UtilityService service = BenchmarkServices.utilityService(new UserRepository());
+    }
+
+    // --- The implementation this replaced ---
+
+    private static final String[] UNITS = {
+            "", "One", "Two", "Three", "Four", "Five", "Six", "Seven", "Eight", "Nine", "Ten",
+            "Eleven", "Twelve", "Thirteen", "Fourteen", "Fifteen", "Sixteen", "Seventeen", "Eighteen", "Nineteen"
+    };
+
+    private static final String[] TENS = {
+            "", "", "Twenty", "Thirty", "Forty", "Fifty", "Sixty", "Seventy", "Eighty", "Ninety"
+    };
+
+    static String convert(long n) {
+        if (n < 0) return "Minus " + convert(-n);
+        if (n < 20) return UNITS[(int) n];
+        if (n < 100) return TENS[(int) n / 10] + ((n % 10 != 0) ? " " : "") + UNITS[(int) n % 10];
+        if (n < 1000) return UNITS[(int) n / 100] + " Hundred" + ((n % 100 != 0) ? " " : "") + convert(n % 100);
+        if (n < 1000000) return convert(n / 1000) + " Thousand" + ((n % 1000 != 0) ? " " : "") + convert(n % 1000);
+        if (n < 1000000000) return convert(n / 1000000) + " Million" + ((n % 1000000 != 0) ? " " : "") + convert(n % 1000000);
+        if (n < 1000000000000L) return convert(n / 1000000000) + " Billion" + ((n % 1000000000 != 0) ? " " : "") + convert(n % 1000000000);
+        return convert(n / 1000000000000L) + " Trillion" + ((n % 1000000000000L != 0) ? " " : "") + convert(n % 1000000000000L);
+    }
+
+    static String groupThousands(long number) {
+        String digits = Long.toString(number);
+        int sign = number < 0 ? 1 : 0;
+        int length = digits.length() - sign;
+        if (length <= 3) return digits;
+
+        StringBuilder sb = new StringBuilder(digits.length() + (length - 1) / 3);
+        sb.append(digits, 0, sign);
+        int head = length % 3 == 0 ? 3 : length % 3;
+        sb.append(digits, sign, sign + head);
+        for (int i = sign + head; i < digits.length(); i += 3) {
+            sb.append(',').append(digits, i, i + 3);
+        }
+        return sb.toString();
+    }
+}
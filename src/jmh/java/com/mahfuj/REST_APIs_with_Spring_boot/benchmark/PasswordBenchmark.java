@@ -0,0 +1,96 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.benchmark;
+
+import com.mahfuj.REST_APIs_with_Spring_boot.config.PasswordProperties;
+import com.mahfuj.REST_APIs_with_Spring_boot.dto.PasswordStrengthResponse;
+import com.mahfuj.REST_APIs_with_Spring_boot.service.password.CommonPasswordList;
+import com.mahfuj.REST_APIs_with_Spring_boot.service.password.PasswordAnalyzer;
+import com.mahfuj.REST_APIs_with_Spring_boot.service.password.PasswordRules;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.io.FileSystemResource;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Password checks: the old regex implementation against the single-pass analyzer
+ * backed by a memory-mapped list of one million common passwords.
+ * Run with {@code -prof gc} to compare allocation per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PasswordBenchmark {
+
+    @Param({"hello123", "Tr0ub4dor&Horse!Battery-Staple"})
+    public String password;
+
+    private PasswordAnalyzer analyzer;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Path list = Files.createTempFile("common-passwords-bench", ".txt");
+        try (BufferedWriter writer = Files.newBufferedWriter(list)) {
+            for (int i = 0; i < 1_000_000; i++) {
+                writer.write("pass" + Integer.toString(i * 7919, 36));
+                writer.newLine();
+            }
+        }
+        PasswordRules rules = new PasswordRules();
+        analyzer = new PasswordAnalyzer(
+                List.of(rules.minimumLength(), rules.uppercase(), rules.lowercase(), rules.digit(), rules.specialCharacter(),
+                        rules.notCommon(), rules.noRepeats(), rules.noSequences(), rules.noKeyboardPatterns(),
+                        rules.enoughEntropy(new PasswordProperties("unused", 50))),
+                new CommonPasswordList(new FileSystemResource(list)));
+        Files.delete(list);
+    }
+
+    @Benchmark
+    public Object analyze() {
+        return analyzer.analyze(password);
+    }
+
+    @Benchmark
+    public PasswordStrengthResponse evaluate() {
+        return analyzer.evaluate(password);
+    }
+
+    // The previous UtilityService.passwordStrength, unchanged
+    @Benchmark
+    public Map<String, Object> regex() {
+        int score = 0;
+        List<String> suggestions = new ArrayList<>();
+        if (password.length() >= 8) score++;
+        else suggestions.add("Password is too short (minimum 8 characters required)");
+        if (password.matches(".*[A-Z].*")) score++;
+        else suggestions.add("Add at least one uppercase letter (A-Z)");
+        if (password.matches(".*[a-z].*")) score++;
+        else suggestions.add("Add at least one lowercase letter (a-z)");
+        if (password.matches(".*\\d.*")) score++;
+        else suggestions.add("Add at least one number (0-9)");
+        if (password.matches(".*[!@#$%^&*(),.?\":{}|<>].*")) score++;
+        else suggestions.add("Add at least one special character (e.g., ! @ # $)");
+
+        String strength;
+        if (score <= 2) strength = "Weak";
+        else if (score <= 4) strength = "Moderate";
+        else strength = "Strong";
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("password_length", password.length());
+        response.put("score", score + "/5");
+        response.put("strength", strength);
+        if (!suggestions.isEmpty()) response.put("improvements_needed", suggestions);
+        else response.put("message", "Great password!");
+        return response;
+    }
+}
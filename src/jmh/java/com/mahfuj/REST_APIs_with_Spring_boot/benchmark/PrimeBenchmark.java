@@ -0,0 +1,70 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.benchmark;
+
+import com.mahfuj.REST_APIs_with_Spring_boot.service.PrimeSieve;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * /api/prime lookups near the top of the int range: the sieve engine (warm bitset
+ * or Miller-Rabin, depending on the limit) against the old double trial division.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PrimeBenchmark {
+
+    // 2^31 caches every int; 2^20 pushes these inputs onto Miller-Rabin
+    @Param({"2147483648", "1048576"})
+    public long sieveLimit;
+
+    private PrimeSieve sieve;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        sieve = new PrimeSieve(sieveLimit);
+        sieve.count(Integer.MAX_VALUE - (1 << 24), Integer.MAX_VALUE); // warm the segments we probe
+    }
+
+    private static int input() {
+        return Integer.MAX_VALUE - ThreadLocalRandom.current().nextInt(1 << 24);
+    }
+
+    @Benchmark
+    public long sieve() {
+        int n = input();
+        return sieve.isPrime(n) ? n : sieve.nextPrime(n);
+    }
+
+    @Benchmark
+    public long trialDivision() {
+        int n = input();
+        return isPrimeByTrialDivision(n) ? n : nextPrimeByTrialDivision(n);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public long countToOneBillion() {
+        return new PrimeSieve(sieveLimit).count(0, 1_000_000_000L);
+    }
+
+    // The previous checkPrime logic, with i * i widened so it terminates near Integer.MAX_VALUE
+    private static boolean isPrimeByTrialDivision(long n) {
+        if (n < 2) return false;
+        for (long i = 2; i * i <= n; i++) {
+            if (n % i == 0) return false;
+        }
+        return true;
+    }
+
+    private static long nextPrimeByTrialDivision(long n) {
+        long candidate = n + 1;
+        while (!isPrimeByTrialDivision(candidate)) candidate++;
+        return candidate;
+    }
+}
@@ -0,0 +1,76 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mahfuj.REST_APIs_with_Spring_boot.dto.LoanRequest;
+import com.mahfuj.REST_APIs_with_Spring_boot.repository.UserRepository;
+import com.mahfuj.REST_APIs_with_Spring_boot.service.UtilityService;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * What one request costs between the controller and the socket: the service
+ * builds the response object and Jackson writes it to bytes. Meant to be run
+ * with {@code -prof gc}, whose {@code gc.alloc.rate.norm} is the allocation
+ * per request.
+ * <pre>
+ * ./mvnw -Pbenchmark verify -Djmh.args="ResponseAllocationBenchmark -prof gc"
+ * </pre>
+ * Only the response objects' type changes between versions of the app, and
+ * they are handled as {@code Object} here, so the class also runs unchanged on
+ * older commits.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseAllocationBenchmark {
+
+    @Param({"age", "bmi", "emi", "emiSchedule", "celsius", "password", "fibonacci", "fibonacciNth",
+            "palindrome", "prime", "primeList", "words", "dateTime", "usersPage"})
+    public String response;
+
+    private ObjectMapper mapper;
+    private Supplier<Object> build;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        mapper = BenchmarkServices.objectMapper(false);
+        UserRepository users = new UserRepository();
+        UtilityService service = BenchmarkServices.utilityService(users);
+        for (int i = 0; i < 100; i++) {
+            users.add(Map.of("name", "user" + i, "email", "user" + i + "@example.com", "age", 18 + i % 60));
+        }
+        LocalDate dob = LocalDate.of(1995, 8, 14);
+        LoanRequest loan = new LoanRequest(500_000, 7.5, 20);
+
+        build = switch (response) {
+            case "age" -> () -> service.calculateAge(dob);
+            case "bmi" -> () -> service.calculateBMI(72.5, 1.78);
+            case "emi" -> () -> service.calculateEMI(500_000, 7.5, 20);
+            case "emiSchedule" -> () -> service.emiSchedule(loan);
+            case "celsius" -> () -> service.celsiusToFahrenheit(36.6);
+            case "password" -> () -> service.passwordStrength("hello123");
+            case "fibonacci" -> () -> service.generate(90);
+            case "fibonacciNth" -> () -> service.nthFibonacci(1000);
+            case "palindrome" -> () -> service.check("A man, a plan, a canal: Panama");
+            case "prime" -> () -> service.checkPrime(2_147_483_629);
+            case "primeList" -> () -> service.listPrimes(1, 100_000, -1, 100);
+            case "words" -> () -> service.convertNumberToWords(9_876_543_210L);
+            case "dateTime" -> service::getDateTimeDetailed;
+            case "usersPage" -> () -> service.getUsersPage(-1, 20, Map.of());
+            default -> throw new IllegalArgumentException("Unknown response: " + response);
+        };
+    }
+
+    @Benchmark
+    public byte[] respond() throws IOException {
+        return mapper.writeValueAsBytes(build.get());
+    }
+}
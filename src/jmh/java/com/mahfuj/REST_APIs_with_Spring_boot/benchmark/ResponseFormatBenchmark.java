@@ -0,0 +1,108 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.mahfuj.REST_APIs_with_Spring_boot.dto.LoanRequest;
+import com.mahfuj.REST_APIs_with_Spring_boot.repository.UserRepository;
+import com.mahfuj.REST_APIs_with_Spring_boot.service.UtilityService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.runner.IterationType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Bytes on the wire and time to produce them for the largest responses, per
+ * format: indented JSON (the old default), compact JSON, CBOR and Smile, each
+ * with and without gzip (what Tomcat's compression does above 2 KB).
+ * <p>
+ * The score is the time; the size of each variant is the secondary result
+ * {@code write:bytes}, so it lands in the JSON results next to the time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseFormatBenchmark {
+
+    @Param({"fibonacci", "emiSchedule", "primeList", "usersPage"})
+    public String response;
+
+    @Param({"jsonIndent", "json", "cbor", "smile"})
+    public String format;
+
+    @Param({"false", "true"})
+    public boolean gzip;
+
+    private ObjectMapper mapper;
+    private Object body;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        mapper = switch (format) {
+            case "jsonIndent" -> BenchmarkServices.objectMapper(true);
+            case "json" -> BenchmarkServices.objectMapper(false);
+            case "cbor" -> Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).modulesToInstall(new BlackbirdModule()).build();
+            case "smile" -> Jackson2ObjectMapperBuilder.json().factory(new SmileFactory()).modulesToInstall(new BlackbirdModule()).build();
+            default -> throw new IllegalArgumentException("Unknown format: " + format);
+        };
+        UserRepository users = new UserRepository();
+        UtilityService service = BenchmarkServices.utilityService(users);
+        for (int i = 0; i < 100; i++) {
+            users.add(Map.of("name", "user" + i, "email", "user" + i + "@example.com", "age", 18 + i % 60));
+        }
+
+        body = switch (response) {
+            case "fibonacci" -> service.generate(1000);
+            case "emiSchedule" -> service.emiSchedule(new LoanRequest(500_000, 7.5, 20));
+            case "primeList" -> service.listPrimes(1, 1_000_000, -1, UtilityService.DEFAULT_PRIMES_PAGE_SIZE);
+            case "usersPage" -> service.getUsersPage(-1, UtilityService.DEFAULT_USERS_PAGE_SIZE, Map.of());
+            default -> throw new IllegalArgumentException("Unknown response: " + response);
+        };
+    }
+
+    /**
+     * Size of the response, reported as the secondary result {@code bytes}.
+     * JMH adds event counters up over the iterations, so only the first
+     * measured one records it.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Size {
+        public long bytes;
+        boolean record;
+        private boolean recorded;
+
+        @Setup(Level.Iteration)
+        public void reset(IterationParams iteration) {
+            bytes = 0;
+            record = iteration.getType() == IterationType.MEASUREMENT && !recorded;
+            recorded |= record;
+        }
+    }
+
+    @Benchmark
+    public byte[] write(Size size) throws IOException {
+        byte[] written = serialize();
+        if (size.record) size.bytes = written.length;
+        return written;
+    }
+
+    private byte[] serialize() throws IOException {
+        if (!gzip) return mapper.writeValueAsBytes(body);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(8192);
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            mapper.writeValue(out, body);
+        }
+        return bytes.toByteArray();
+    }
+}
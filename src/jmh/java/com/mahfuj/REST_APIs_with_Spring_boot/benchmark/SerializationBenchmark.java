@@ -0,0 +1,70 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mahfuj.REST_APIs_with_Spring_boot.dto.LoanRequest;
+import com.mahfuj.REST_APIs_with_Spring_boot.repository.UserRepository;
+import com.mahfuj.REST_APIs_with_Spring_boot.service.UtilityService;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson's share of a request: writing each endpoint's response {@code Map}
+ * to bytes, exactly as the MVC message converter does. The responses are built
+ * once in setup, so only serialization is measured. {@code indent} is the
+ * {@code spring.jackson.serialization.indent_output} setting.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"age", "bmi", "emi", "emiSchedule", "celsius", "password", "fibonacci", "fibonacciNth",
+            "palindrome", "prime", "primeList", "words", "dateTime", "usersPage"})
+    public String response;
+
+    @Param({"true", "false"})
+    public boolean indent;
+
+    private ObjectMapper mapper;
+    private Object body;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        mapper = BenchmarkServices.objectMapper(indent);
+        UserRepository users = new UserRepository();
+        UtilityService service = BenchmarkServices.utilityService(users);
+        for (int i = 0; i < 100; i++) {
+            users.add(Map.of("name", "user" + i, "email", "user" + i + "@example.com", "age", 18 + i % 60));
+        }
+
+        body = switch (response) {
+            case "age" -> service.calculateAge(LocalDate.of(1995, 8, 14));
+            case "bmi" -> service.calculateBMI(72.5, 1.78);
+            case "emi" -> service.calculateEMI(500_000, 7.5, 20);
+            case "emiSchedule" -> service.emiSchedule(new LoanRequest(500_000, 7.5, 20));
+            case "celsius" -> service.celsiusToFahrenheit(36.6);
+            case "password" -> service.passwordStrength("hello123");
+            case "fibonacci" -> service.generate(1000);
+            case "fibonacciNth" -> service.nthFibonacci(100_000);
+            case "palindrome" -> service.check("A man, a plan, a canal: Panama");
+            case "prime" -> service.checkPrime(2_147_483_629);
+            case "primeList" -> service.listPrimes(1, 1_000_000, -1, UtilityService.DEFAULT_PRIMES_PAGE_SIZE);
+            case "words" -> service.convertNumberToWords(9_876_543_210L);
+            case "dateTime" -> service.getDateTimeDetailed();
+            case "usersPage" -> service.getUsersPage(-1, UtilityService.DEFAULT_USERS_PAGE_SIZE, Map.of());
+            default -> throw new IllegalArgumentException("Unknown response: " + response);
+        };
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(body);
+    }
+}
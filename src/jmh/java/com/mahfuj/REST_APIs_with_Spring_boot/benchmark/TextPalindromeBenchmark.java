@@ -0,0 +1,73 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.benchmark;
+
+import com.mahfuj.REST_APIs_with_Spring_boot.config.TextProperties;
+import com.mahfuj.REST_APIs_with_Spring_boot.service.text.PalindromeScanner;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Palindrome checks on multi-megabyte bodies, which are palindromes so every
+ * variant reads to the middle. {@code legacy} is the old regex / lower-case /
+ * reverse on the decoded string (three copies of the input); {@code streaming}
+ * keeps only the compared characters, {@code streamingWithLongest} adds the
+ * Manacher pass and {@code spilled} takes the memory-mapped path. Run with
+ * {@code -prof gc} to see what each holds on to.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TextPalindromeBenchmark {
+
+    @Param({"1", "8"})
+    public int megabytes;
+
+    private byte[] body;
+    private PalindromeScanner inMemory;
+    private PalindromeScanner spilling;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // words and punctuation, mirrored
+        Random random = new Random(42);
+        StringBuilder half = new StringBuilder();
+        while (half.length() < megabytes * 512 * 1024) {
+            for (int i = 2 + random.nextInt(8); i > 0; i--) half.append((char) ('a' + random.nextInt(26)));
+            half.append(random.nextInt(10) == 0 ? ", " : " ");
+        }
+        body = (half + new StringBuilder(half).reverse().toString()).getBytes(StandardCharsets.UTF_8);
+        inMemory = new PalindromeScanner(new TextProperties(DataSize.ofMegabytes(64), null));
+        spilling = new PalindromeScanner(new TextProperties(DataSize.ofBytes(0), null));
+    }
+
+    @Benchmark
+    public boolean legacy() {
+        String value = new String(body, StandardCharsets.UTF_8);
+        String cleaned = value.replaceAll("[^a-zA-Z0-9]", "").toLowerCase();
+        String reversed = new StringBuilder(cleaned).reverse().toString();
+        return cleaned.equals(reversed);
+    }
+
+    @Benchmark
+    public Object streaming() throws IOException {
+        return inMemory.scan(new ByteArrayInputStream(body), false);
+    }
+
+    @Benchmark
+    public Object streamingWithLongest() throws IOException {
+        return inMemory.scan(new ByteArrayInputStream(body), true);
+    }
+
+    @Benchmark
+    public Object spilled() throws IOException {
+        return spilling.scan(new ByteArrayInputStream(body), false);
+    }
+}
@@ -0,0 +1,105 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.benchmark;
+
+import com.mahfuj.REST_APIs_with_Spring_boot.dto.UsersPageResponse;
+import com.mahfuj.REST_APIs_with_Spring_boot.repository.HashUserIndex;
+import com.mahfuj.REST_APIs_with_Spring_boot.repository.SortedUserIndex;
+import com.mahfuj.REST_APIs_with_Spring_boot.repository.UserJournal;
+import com.mahfuj.REST_APIs_with_Spring_boot.repository.UserRepository;
+import com.mahfuj.REST_APIs_with_Spring_boot.service.UtilityService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The user CRUD methods of {@link UtilityService} on a store of {@code users}
+ * entries, with the same indexes the app configures by default. Creates are
+ * paired with a delete so the store keeps its size across iterations.
+ * <p>
+ * The state is shared, so running with more threads measures the store under
+ * contention. How throughput scales with cores:
+ * <pre>
+ * ./mvnw -Pbenchmark verify -Djmh.args="UserCrudBenchmark.crudCycle -p users=100000 -bm thrpt -tu s -t 1"
+ * ./mvnw -Pbenchmark verify -Djmh.args="UserCrudBenchmark.crudCycle -p users=100000 -bm thrpt -tu s -t 4"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserCrudBenchmark {
+
+    @Param({"1000", "100000"})
+    public int users;
+
+    private UtilityService service;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        UserRepository repository = new UserRepository(UserJournal.NONE,
+                List.of(new HashUserIndex("email"), new SortedUserIndex("age")));
+        service = BenchmarkServices.utilityService(repository);
+        for (int i = 0; i < users; i++) {
+            repository.add(user(i));
+        }
+    }
+
+    private static Map<String, Object> user(int i) {
+        return Map.of("name", "user" + i, "email", "user" + i + "@example.com", "age", 18 + i % 60);
+    }
+
+    private int randomUser() {
+        return ThreadLocalRandom.current().nextInt(users);
+    }
+
+    @Benchmark
+    public String createThenDelete() {
+        String created = service.addUser(user(users));
+        // "User added successfully with ID 123! ..." -> 123
+        long id = Long.parseLong(created, created.indexOf("ID ") + 3, created.indexOf('!'), 10);
+        return service.deleteUser(id);
+    }
+
+    // create, read, update and delete one user: the mix the concurrency tests run
+    @Benchmark
+    public String crudCycle() {
+        String created = service.addUser(user(users));
+        long id = Long.parseLong(created, created.indexOf("ID ") + 3, created.indexOf('!'), 10);
+        service.getUser(randomUser());
+        service.updateUser(id, user(users + 1));
+        return service.deleteUser(id);
+    }
+
+    @Benchmark
+    public Map<String, Object> read() {
+        return service.getUser(randomUser());
+    }
+
+    @Benchmark
+    public String update() {
+        int i = randomUser();
+        return service.updateUser(i, user(i));
+    }
+
+    @Benchmark
+    public UsersPageResponse page() {
+        return service.getUsersPage(randomUser() - 1, UtilityService.DEFAULT_USERS_PAGE_SIZE, Map.of());
+    }
+
+    @Benchmark
+    public UsersPageResponse filteredByEmail() {
+        return service.getUsersPage(-1, UtilityService.DEFAULT_USERS_PAGE_SIZE,
+                Map.of("email", "user" + randomUser() + "@example.com"));
+    }
+
+    @Benchmark
+    public UsersPageResponse filteredByAgeRange() {
+        int age = 18 + ThreadLocalRandom.current().nextInt(50);
+        return service.getUsersPage(-1, UtilityService.DEFAULT_USERS_PAGE_SIZE,
+                Map.of("age.gte", String.valueOf(age), "age.lt", String.valueOf(age + 10)));
+    }
+}
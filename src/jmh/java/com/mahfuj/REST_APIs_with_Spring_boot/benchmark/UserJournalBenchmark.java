@@ -0,0 +1,59 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.benchmark;
+
+import com.mahfuj.REST_APIs_with_Spring_boot.repository.FileUserJournal;
+import com.mahfuj.REST_APIs_with_Spring_boot.repository.UserJournal;
+import com.mahfuj.REST_APIs_with_Spring_boot.repository.UserRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Durable write throughput of the user store: every add returns only after its
+ * record is fsynced. Compares group commit against one fsync per write, with the
+ * purely in-memory store as the ceiling.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+@Threads(16)
+public class UserJournalBenchmark {
+
+    private static final Map<String, Object> USER = Map.of("name", "Mahfuj", "email", "mahfuj@example.com", "age", 30);
+
+    @Param({"memory", "each-write", "group-commit"})
+    public String mode;
+
+    private Path directory;
+    private FileUserJournal journal;
+    private UserRepository repository;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        if (mode.equals("memory")) {
+            repository = new UserRepository(UserJournal.NONE);
+            return;
+        }
+        directory = Files.createTempDirectory("user-journal-bench");
+        journal = new FileUserJournal(directory, mode.equals("group-commit"), Duration.ZERO);
+        repository = new UserRepository(journal);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (journal != null) journal.close();
+        if (directory != null) BenchmarkFiles.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public long add() {
+        return repository.add(USER);
+    }
+}
@@ -0,0 +1,81 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.benchmark;
+
+import com.mahfuj.REST_APIs_with_Spring_boot.repository.HashUserIndex;
+import com.mahfuj.REST_APIs_with_Spring_boot.repository.SortedUserIndex;
+import com.mahfuj.REST_APIs_with_Spring_boot.repository.UserFilter;
+import com.mahfuj.REST_APIs_with_Spring_boot.repository.UserJournal;
+import com.mahfuj.REST_APIs_with_Spring_boot.repository.UserRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of indexed user queries as the store grows. With the indexes in place
+ * every query should cost about the same at 10k and 1M users; the unindexed
+ * full scan is the baseline it replaces.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserQueryBenchmark {
+
+    private static final int PAGE = 100;
+
+    @Param({"10000", "100000", "1000000"})
+    public int users;
+
+    private UserRepository repository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        repository = new UserRepository(UserJournal.NONE,
+                List.of(new HashUserIndex("email"), new HashUserIndex("city"), new SortedUserIndex("age")));
+        for (int i = 0; i < users; i++) {
+            repository.add(Map.of(
+                    "email", "user" + i + "@example.com",
+                    "city", "city" + (i % 50),
+                    "age", 18 + i % 60));
+        }
+    }
+
+    @Benchmark
+    public int uniqueEquality() {
+        String email = "user" + ThreadLocalRandom.current().nextInt(users) + "@example.com";
+        return repository.query(List.of(UserFilter.parse("email", email)), -1, PAGE).size();
+    }
+
+    @Benchmark
+    public int firstPageOfLargeBucket() {
+        String city = "city" + ThreadLocalRandom.current().nextInt(50);
+        return repository.query(List.of(UserFilter.parse("city", city)), -1, PAGE).size();
+    }
+
+    @Benchmark
+    public int equalityPlusResidualFilter() {
+        String email = "user" + ThreadLocalRandom.current().nextInt(users) + "@example.com";
+        return repository.query(List.of(UserFilter.parse("email", email), UserFilter.parse("age.gte", "30")), -1, PAGE).size();
+    }
+
+    // First page of an equality lookup through the sorted index.
+    // (Range scans cost O(matches), so a range covering a fixed share of the store grows with it by design.)
+    @Benchmark
+    public int sortedIndexEquality() {
+        String age = String.valueOf(18 + ThreadLocalRandom.current().nextInt(60));
+        return repository.query(List.of(UserFilter.parse("age", age)), -1, PAGE).size();
+    }
+
+    @Benchmark
+    public int unindexedFullScan() {
+        String email = "user" + ThreadLocalRandom.current().nextInt(users) + "@example.com";
+        return (int) repository.entriesAfter(-1)
+                .filter(entry -> email.equals(entry.getValue().get("email")))
+                .limit(PAGE)
+                .count();
+    }
+}
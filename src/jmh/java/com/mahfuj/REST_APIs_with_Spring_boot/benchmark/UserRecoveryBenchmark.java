@@ -0,0 +1,68 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.benchmark;
+
+import com.mahfuj.REST_APIs_with_Spring_boot.repository.FileUserJournal;
+import com.mahfuj.REST_APIs_with_Spring_boot.repository.UserRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Restart cost of the persistent user store: time to rebuild the in-memory
+ * store from a compacted snapshot versus replaying the raw write-ahead log.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(1)
+public class UserRecoveryBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int users;
+
+    @Param({"snapshot", "log"})
+    public String source;
+
+    private Path directory;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("user-recovery-bench");
+        FileUserJournal journal = new FileUserJournal(directory, true, Duration.ZERO);
+        UserRepository repository = new UserRepository(journal);
+
+        // lots of concurrent writers so group commit packs the initial load into few fsyncs
+        try (ExecutorService writers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < users; i++) {
+                int seq = i;
+                writers.submit(() -> repository.add(Map.of(
+                        "name", "user" + seq,
+                        "email", "user" + seq + "@example.com",
+                        "age", 18 + seq % 60)));
+            }
+        }
+
+        if (source.equals("snapshot")) {
+            journal.close(); // leaves a snapshot and an empty log behind
+        }
+        // for "log" the journal is simply abandoned, as after a crash: only the log is on disk
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        BenchmarkFiles.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public int recover() {
+        return new UserRepository(new FileUserJournal(directory, true, Duration.ZERO)).size();
+    }
+}
@@ -0,0 +1,213 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.benchmark;
+
+import com.mahfuj.REST_APIs_with_Spring_boot.dto.BmiBatchRequest;
+import com.mahfuj.REST_APIs_with_Spring_boot.dto.CelsiusBatchRequest;
+import com.mahfuj.REST_APIs_with_Spring_boot.dto.EmiBatchRequest;
+import com.mahfuj.REST_APIs_with_Spring_boot.dto.LoanRequest;
+import com.mahfuj.REST_APIs_with_Spring_boot.dto.WordsBatchRequest;
+import com.mahfuj.REST_APIs_with_Spring_boot.repository.UserRepository;
+import com.mahfuj.REST_APIs_with_Spring_boot.service.UtilityService;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One benchmark per calculator in {@link UtilityService}, called directly (no
+ * HTTP, no JSON). Calculators whose cost depends on the input also take an
+ * {@link Inputs} state, so they run once per {@code size}; the fixed-cost ones
+ * (age, BMI, EMI, Celsius, date/time) run once.
+ * <p>
+ * Together with {@link UserCrudBenchmark} and {@link SerializationBenchmark}
+ * this is the regression suite: save {@code target/jmh-result.json} per commit
+ * and compare two runs with {@link BenchmarkDiff}.
+ * The benchmarks return {@code Object} so the same class compiles against
+ * commits with either Map or record responses.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UtilityServiceBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Service {
+
+        UtilityService service;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            service = BenchmarkServices.utilityService(new UserRepository());
+        }
+    }
+
+    /**
+     * Input magnitudes for the calculators whose cost grows with their input.
+     */
+    public enum Size {
+        // fibonacci terms, F(n) index, prime, prime range, words, palindrome length, password, batch size
+        SMALL(10, 100, 97, 10_000, 42, 8, "hello123", 16),
+        MEDIUM(100, 10_000, 1_000_003, 1_000_000, 9_876_543_210L, 256, "Tr0ub4dor&Horse!", 4096),
+        LARGE(1000, 1_000_000, 2_147_483_629, 100_000_000, Long.MAX_VALUE, 65_536,
+                "Tr0ub4dor&Horse!Battery-Staple#Correct-Horse-2024", 100_000);
+
+        final int fibonacciTerms;
+        final int fibonacciIndex;
+        final int prime;
+        final long primeRange;
+        final long number;
+        final int palindromeLength;
+        final String password;
+        final int batch;
+
+        Size(int fibonacciTerms, int fibonacciIndex, int prime, long primeRange, long number,
+             int palindromeLength, String password, int batch) {
+            this.fibonacciTerms = fibonacciTerms;
+            this.fibonacciIndex = fibonacciIndex;
+            this.prime = prime;
+            this.primeRange = primeRange;
+            this.number = number;
+            this.palindromeLength = palindromeLength;
+            this.password = password;
+            this.batch = batch;
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Inputs {
+
+        @Param({"SMALL", "MEDIUM", "LARGE"})
+        public Size size;
+
+        String palindrome;
+        BmiBatchRequest bmiBatch;
+        EmiBatchRequest emiBatch;
+        CelsiusBatchRequest celsiusBatch;
+        WordsBatchRequest wordsBatch;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            // "A man, a plan, ..." style input: mixed case and punctuation that the checker strips
+            StringBuilder half = new StringBuilder();
+            for (int i = 0; half.length() < size.palindromeLength / 2; i++) {
+                half.append(i % 7 == 0 ? ", " : "").append((char) ('a' + i % 26));
+            }
+            palindrome = half + new StringBuilder(half).reverse().toString().toUpperCase();
+
+            int n = size.batch;
+            double[] weight = new double[n], height = new double[n], amount = new double[n], rate = new double[n];
+            double[] celsius = new double[n];
+            int[] years = new int[n];
+            long[] numbers = new long[n];
+            for (int i = 0; i < n; i++) {
+                weight[i] = 50 + i % 50;
+                height[i] = 1.5 + (i % 50) / 100.0;
+                amount[i] = 100_000 + i;
+                rate[i] = 5 + i % 10;
+                years[i] = 1 + i % 30;
+                celsius[i] = -40 + i % 140;
+                numbers[i] = (long) i * 1_000_003;
+            }
+            bmiBatch = new BmiBatchRequest(weight, height);
+            emiBatch = new EmiBatchRequest(amount, rate, years);
+            celsiusBatch = new CelsiusBatchRequest(celsius);
+            wordsBatch = new WordsBatchRequest(numbers);
+        }
+    }
+
+    // --- fixed cost ---
+
+    @Benchmark
+    public Object age(Service s) {
+        return s.service.calculateAge(LocalDate.of(1995, 8, 14));
+    }
+
+    @Benchmark
+    public Object bmi(Service s) {
+        return s.service.calculateBMI(72.5, 1.78);
+    }
+
+    @Benchmark
+    public Object emi(Service s) {
+        return s.service.calculateEMI(500_000, 7.5, 20);
+    }
+
+    @Benchmark
+    public Object emiSchedule(Service s) {
+        return s.service.emiSchedule(new LoanRequest(500_000, 7.5, 20));
+    }
+
+    @Benchmark
+    public Object celsius(Service s) {
+        return s.service.celsiusToFahrenheit(36.6);
+    }
+
+    @Benchmark
+    public Object dateTime(Service s) {
+        return s.service.getDateTimeDetailed();
+    }
+
+    // --- sized ---
+
+    @Benchmark
+    public Object password(Service s, Inputs in) {
+        return s.service.passwordStrength(in.size.password);
+    }
+
+    @Benchmark
+    public Object fibonacciSequence(Service s, Inputs in) {
+        return s.service.generate(in.size.fibonacciTerms);
+    }
+
+    @Benchmark
+    public Object fibonacciNth(Service s, Inputs in) {
+        return s.service.nthFibonacci(in.size.fibonacciIndex);
+    }
+
+    @Benchmark
+    public Object palindrome(Service s, Inputs in) {
+        return s.service.check(in.palindrome);
+    }
+
+    @Benchmark
+    public Object prime(Service s, Inputs in) {
+        return s.service.checkPrime(in.size.prime);
+    }
+
+    @Benchmark
+    public Object primeCount(Service s, Inputs in) {
+        return s.service.countPrimes(1, in.size.primeRange);
+    }
+
+    @Benchmark
+    public Object primeList(Service s, Inputs in) {
+        return s.service.listPrimes(1, in.size.primeRange, -1, UtilityService.DEFAULT_PRIMES_PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Object words(Service s, Inputs in) {
+        return s.service.convertNumberToWords(in.size.number);
+    }
+
+    @Benchmark
+    public Object bmiBatch(Service s, Inputs in) {
+        return s.service.calculateBMIBatch(in.bmiBatch);
+    }
+
+    @Benchmark
+    public Object emiBatch(Service s, Inputs in) {
+        return s.service.calculateEMIBatch(in.emiBatch);
+    }
+
+    @Benchmark
+    public Object celsiusBatch(Service s, Inputs in) {
+        return s.service.celsiusToFahrenheitBatch(in.celsiusBatch);
+    }
+
+    @Benchmark
+    public Object wordsBatch(Service s, Inputs in) {
+        return s.service.convertNumberToWordsBatch(in.wordsBatch);
+    }
+}
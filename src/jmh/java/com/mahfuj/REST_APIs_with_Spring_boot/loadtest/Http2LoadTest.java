@@ -0,0 +1,237 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.loadtest;
+
+import com.mahfuj.REST_APIs_with_Spring_boot.RestApIsWithSpringBootApplication;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The frontend's page load over HTTP/1.1 and over HTTP/2: each simulated
+ * browser asks for a page's worth of small GETs ({@code /api/bmi},
+ * {@code /api/words}, {@code /api/datetime}) all at once, waits for the
+ * last answer, and starts the next page.
+ * <p>
+ * Over HTTP/1.1 a browser has at most six connections to a host, so the rest
+ * of a page waits in the browser for a free one; over HTTP/2 (h2c here) the
+ * whole page goes out as streams on one connection. For each protocol the app
+ * is started in-process on a random port, without the response cache or the
+ * rate limiter. The report has page-load p50/p99, requests per second,
+ * errors, and from the server's connection metrics the connections used,
+ * requests and bytes per connection, streams per connection and queueing
+ * time.
+ * <p>
+ * Run with:
+ * <pre>
+ * ./mvnw -Pbenchmark test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.mahfuj.REST_APIs_with_Spring_boot.loadtest.Http2LoadTest \
+ *     -Dexec.args="--browsers=16 --page=30 --seconds=15"
+ * </pre>
+ * Results are also written to {@code target/http2-load.json}.
+ */
+public class Http2LoadTest {
+
+    // what browsers allow per host over HTTP/1.1
+    private static final int HTTP1_CONNECTIONS = 6;
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = options(args);
+        int browsers = Integer.parseInt(options.getOrDefault("browsers", "16"));
+        int page = Integer.parseInt(options.getOrDefault("page", "30"));
+        int seconds = Integer.parseInt(options.getOrDefault("seconds", "15"));
+
+        Map<String, Object> results = new LinkedHashMap<>();
+        for (HttpClient.Version version : List.of(HttpClient.Version.HTTP_1_1, HttpClient.Version.HTTP_2)) {
+            Map<String, Object> result = run(version, browsers, page, Duration.ofSeconds(seconds));
+            results.put(version.name(), result);
+            System.out.printf(Locale.ROOT, "%-8s %s%n", version, result);
+        }
+
+        Path report = Path.of("target", "http2-load.json");
+        Files.createDirectories(report.getParent());
+        Files.writeString(report, toJson(results));
+        System.out.println("Written to " + report);
+    }
+
+    static Map<String, Object> run(HttpClient.Version version, int browsers, int page, Duration duration)
+            throws Exception {
+        // passed as arguments, because default properties would lose to application.yaml
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(RestApIsWithSpringBootApplication.class)
+                .run("--server.port=0",
+                        // every request must reach the service, not the response cache
+                        "--app.cache.enabled=false",
+                        // all browsers share one address; the per-client limiter would stop them
+                        "--app.rate-limit.enabled=false",
+                        "--app.warm-up.enabled=false",
+                        // longer than any page takes, and short enough to record every connection soon after the run
+                        "--app.connections.idle-after=5s",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=warn");
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        MeterRegistry registry = context.getBean(MeterRegistry.class);
+
+        List<HttpClient> clients = new ArrayList<>();
+        try (ExecutorService threads = Executors.newCachedThreadPool()) {
+            // one client per browser, each with its own connections
+            for (int i = 0; i < browsers; i++) {
+                HttpClient http = HttpClient.newBuilder()
+                        .version(version)
+                        .executor(threads)
+                        .connectTimeout(Duration.ofSeconds(5))
+                        .build();
+                clients.add(http);
+                // the first request upgrades to h2c; sent alone, so the page's requests share its connection
+                http.send(request(port, "/api/datetime"), HttpResponse.BodyHandlers.discarding());
+            }
+
+            long stopAt = System.nanoTime() + duration.toNanos();
+            ConcurrentLinkedQueue<long[]> pageTimes = new ConcurrentLinkedQueue<>();
+            LongAdder requests = new LongAdder();
+            LongAdder errors = new LongAdder();
+            List<Future<?>> running = new ArrayList<>();
+            for (HttpClient http : clients) {
+                Semaphore connections = new Semaphore(
+                        version == HttpClient.Version.HTTP_1_1 ? HTTP1_CONNECTIONS : Integer.MAX_VALUE);
+                running.add(threads.submit(() ->
+                        pageTimes.add(browser(http, connections, port, page, stopAt, requests, errors))));
+            }
+            for (Future<?> browser : running) browser.get();
+
+            long[] all = pageTimes.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+            // let every connection go idle, then one more request has the quiet ones recorded
+            Thread.sleep(6000);
+            clients.getFirst().send(request(port, "/api/datetime"), HttpResponse.BodyHandlers.discarding());
+
+            String protocol = version == HttpClient.Version.HTTP_2 ? "HTTP/2.0" : "HTTP/1.1";
+            DistributionSummary perConnection = registry.get("http.server.connection.requests")
+                    .tag("protocol", protocol).summary();
+            DistributionSummary sent = registry.get("http.server.connection.bytes")
+                    .tag("protocol", protocol).tag("direction", "sent").summary();
+            DistributionSummary streams = registry.get("http.server.connection.streams")
+                    .tag("protocol", protocol).summary();
+            Timer queue = registry.get("http.server.queue").tag("protocol", protocol).timer();
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("pages", all.length);
+            result.put("requests", requests.sum());
+            result.put("errors", errors.sum());
+            result.put("requestsPerSec", Math.round(requests.sum() / (duration.toMillis() / 1000.0)));
+            result.put("pageP50Ms", percentile(all, 0.50));
+            result.put("pageP99Ms", percentile(all, 0.99));
+            result.put("connections", perConnection.count());
+            result.put("requestsPerConnection", Math.round(perConnection.mean()));
+            result.put("bytesSentPerConnection", Math.round(sent.mean()));
+            result.put("maxStreamsPerConnection", Math.round(streams.max()));
+            result.put("queueMeanMs", Math.round(queue.mean(TimeUnit.MICROSECONDS)) / 1000.0);
+            result.put("queueMaxMs", Math.round(queue.max(TimeUnit.MICROSECONDS)) / 1000.0);
+            return result;
+        } finally {
+            clients.forEach(HttpClient::close);
+            context.close();
+        }
+    }
+
+    // One browser: loads pages back to back until the deadline; returns page-load times in nanoseconds
+    private static long[] browser(HttpClient http, Semaphore connections, int port, int page, long stopAt,
+                                  LongAdder requests, LongAdder errors) {
+        long[] samples = new long[256];
+        int count = 0;
+        while (System.nanoTime() < stopAt) {
+            long start = System.nanoTime();
+            List<CompletableFuture<?>> pending = new ArrayList<>(page);
+            try {
+                for (int i = 0; i < page; i++) {
+                    connections.acquire(); // HTTP/1.1: the browser holds the rest back until a connection is free
+                    pending.add(http.sendAsync(request(port, path(i)), HttpResponse.BodyHandlers.ofByteArray())
+                            .handle((response, failure) -> {
+                                connections.release();
+                                requests.increment();
+                                if (failure != null || response.statusCode() != 200) errors.increment();
+                                return null;
+                            }));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new)).join();
+            if (count == samples.length) samples = Arrays.copyOf(samples, count * 2);
+            samples[count++] = System.nanoTime() - start;
+        }
+        return Arrays.copyOf(samples, count);
+    }
+
+    // A page mixes the three small endpoints
+    private static String path(int i) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return switch (i % 3) {
+            case 0 -> "/api/bmi/" + random.nextInt(40, 150) + "/" + (150 + random.nextInt(60)) / 100.0;
+            case 1 -> "/api/words/" + random.nextLong(1_000_000_000L);
+            default -> "/api/datetime";
+        };
+    }
+
+    private static HttpRequest request(int port, String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Accept-Encoding", "gzip")
+                .timeout(Duration.ofSeconds(30))
+                .build();
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1);
+        return Math.round(sorted[Math.max(0, index)] / 10_000.0) / 100.0;
+    }
+
+    private static Map<String, String> options(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        return options;
+    }
+
+    // Flat maps of numbers only, so no JSON library is needed on this side
+    private static String toJson(Map<String, Object> results) {
+        StringBuilder json = new StringBuilder("{\n");
+        int i = 0;
+        for (Map.Entry<String, Object> version : results.entrySet()) {
+            json.append("  \"").append(version.getKey()).append("\": {");
+            int j = 0;
+            for (Map.Entry<?, ?> metric : ((Map<?, ?>) version.getValue()).entrySet()) {
+                json.append(j++ == 0 ? "" : ", ").append('"').append(metric.getKey()).append("\": ").append(metric.getValue());
+            }
+            json.append(i++ < results.size() - 1 ? "},\n" : "}\n");
+        }
+        return json.append("}\n").toString();
+    }
+}
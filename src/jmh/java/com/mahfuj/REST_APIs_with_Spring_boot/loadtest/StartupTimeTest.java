@@ -0,0 +1,225 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.loadtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Start-up time and first-request latency of the packaged app, per start mode.
+ * <p>
+ * Each mode starts the extracted jar from {@code target/app} (built by
+ * {@code ./mvnw -Pfast-startup package}) in its own JVM, polls
+ * {@code /actuator/health/readiness} until the app is ready, then sends one
+ * request to each common GET endpoint, as a new pod behind a load balancer
+ * would get them. Reported, as medians over the runs:
+ * <ul>
+ *   <li>{@code readyMs}: launch to readiness UP, i.e. when a pod gets traffic</li>
+ *   <li>{@code firstResponseMs}: launch to the first answered API request</li>
+ *   <li>{@code firstRoundMs}: the first request to each endpoint, summed</li>
+ *   <li>{@code tenthRoundMs}: the same requests (other inputs) the tenth time</li>
+ * </ul>
+ * Run with:
+ * <pre>
+ * ./mvnw -Pfast-startup package
+ * ./mvnw -Pbenchmark test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.mahfuj.REST_APIs_with_Spring_boot.loadtest.StartupTimeTest \
+ *     -Dexec.args="--runs=3"
+ * </pre>
+ * Results are also written to {@code target/startup-time.json}. Modes can be
+ * picked with {@code --modes=aot,aot-cds}.
+ */
+public class StartupTimeTest {
+
+    // JVM options, then application arguments
+    private static final Map<String, List<List<String>>> MODES = new LinkedHashMap<>();
+
+    static {
+        String aot = "-Dspring.aot.enabled=true";
+        String cds = "-XX:SharedArchiveFile=application.jsa";
+        String lazy = "--spring.profiles.active=lazy";
+        String noWarmUp = "--app.warm-up.enabled=false";
+        MODES.put("jar-no-warm-up", List.of(List.of(), List.of(noWarmUp)));
+        MODES.put("jar", List.of(List.of(), List.of()));
+        MODES.put("lazy", List.of(List.of(), List.of(lazy)));
+        MODES.put("aot", List.of(List.of(aot), List.of()));
+        MODES.put("aot-cds", List.of(List.of(aot, cds), List.of()));
+        MODES.put("aot-cds-lazy", List.of(List.of(aot, cds), List.of(lazy)));
+        MODES.put("aot-cds-lazy-no-warm-up", List.of(List.of(aot, cds), List.of(lazy, noWarmUp)));
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = options(args);
+        int runs = Integer.parseInt(options.getOrDefault("runs", "3"));
+        Path directory = Path.of(options.getOrDefault("app", "target/app"));
+        List<String> modes = options.containsKey("modes")
+                ? List.of(options.get("modes").split(","))
+                : List.copyOf(MODES.keySet());
+        String jar = jar(directory);
+
+        Map<String, Object> results = new LinkedHashMap<>();
+        try (HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build()) {
+            for (String mode : modes) {
+                if (!MODES.containsKey(mode)) throw new IllegalArgumentException("Unknown mode " + mode);
+                List<Map<String, Double>> samples = new ArrayList<>();
+                for (int run = 0; run < runs; run++) {
+                    samples.add(run(http, directory, jar, MODES.get(mode)));
+                }
+                Map<String, Object> result = new LinkedHashMap<>();
+                for (String metric : samples.getFirst().keySet()) {
+                    result.put(metric, median(samples.stream().mapToDouble(sample -> sample.get(metric)).toArray()));
+                }
+                results.put(mode, result);
+                System.out.printf(Locale.ROOT, "%-24s %s%n", mode, result);
+            }
+        }
+
+        Path report = Path.of("target", "startup-time.json");
+        Files.createDirectories(report.getParent());
+        Files.writeString(report, toJson(results));
+        System.out.println("Written to " + report);
+    }
+
+    static Map<String, Double> run(HttpClient http, Path directory, String jar, List<List<String>> mode)
+            throws IOException, InterruptedException {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(mode.get(0));
+        command.addAll(List.of("-jar", jar, "--server.port=" + port, "--spring.main.banner-mode=off"));
+        command.addAll(mode.get(1));
+
+        // started from the extracted directory, where the CDS archive was recorded
+        Process app = new ProcessBuilder(command)
+                .directory(directory.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.to(new File(directory.toFile(), "startup-time.log")))
+                .start();
+        long launched = System.nanoTime();
+        try {
+            String base = "http://localhost:" + port;
+            // 50 polls a second stays below the rate limiter's refill for one client
+            while (get(http, base + "/actuator/health/readiness") != 200) {
+                if (!app.isAlive()) throw new IllegalStateException("App exited, see startup-time.log");
+                if (System.nanoTime() - launched > Duration.ofMinutes(2).toNanos()) {
+                    throw new IllegalStateException("App not ready after 2 minutes");
+                }
+                Thread.sleep(20);
+            }
+            long ready = System.nanoTime();
+
+            Map<String, Double> result = new LinkedHashMap<>();
+            result.put("readyMs", millis(ready - launched));
+            long[] firstRound = round(http, base, 0);
+            result.put("firstResponseMs", millis(ready - launched + firstRound[0]));
+            result.put("firstRoundMs", millis(Arrays.stream(firstRound).sum()));
+            long[] round = firstRound;
+            for (int i = 1; i < 10; i++) round = round(http, base, i);
+            result.put("tenthRoundMs", millis(Arrays.stream(round).sum()));
+            return result;
+        } finally {
+            app.destroy();
+            if (!app.waitFor(30, TimeUnit.SECONDS)) app.destroyForcibly().waitFor();
+        }
+    }
+
+    // One request to each endpoint, with inputs that differ per round so the response cache can't answer;
+    // returns each request's latency in nanoseconds
+    private static long[] round(HttpClient http, String base, int round) throws InterruptedException {
+        List<String> paths = paths(round);
+        long[] latencies = new long[paths.size()];
+        for (int i = 0; i < latencies.length; i++) {
+            long start = System.nanoTime();
+            int status = get(http, base + paths.get(i));
+            if (status != 200) throw new IllegalStateException(paths.get(i) + " answered " + status);
+            latencies[i] = System.nanoTime() - start;
+        }
+        return latencies;
+    }
+
+    private static List<String> paths(int round) {
+        return List.of(
+                "/api/prime/" + (1_000_003 + 2 * round),
+                "/api/words/" + (123_456_789 + round),
+                "/api/age/1990-05-" + (10 + round),
+                "/api/bmi/" + (70 + round) + "/1.75",
+                "/api/emi/" + (100_000 + round) + "/7.5/20",
+                "/api/fibonacci/nth/" + (90 + round),
+                "/api/palindrome/racecar" + round,
+                "/api/datetime");
+    }
+
+    private static int get(HttpClient http, String url) throws InterruptedException {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(30)).build();
+            return http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException e) {
+            return -1; // not listening yet
+        }
+    }
+
+    private static String jar(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.endsWith(".jar"))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalStateException(
+                            "No jar in " + directory + "; build it with ./mvnw -Pfast-startup package"));
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 100_000.0) / 10.0;
+    }
+
+    private static double median(double[] values) {
+        Arrays.sort(values);
+        return values[values.length / 2];
+    }
+
+    private static Map<String, String> options(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        return options;
+    }
+
+    // Flat maps of numbers only, so no JSON library is needed on this side
+    private static String toJson(Map<String, Object> results) {
+        StringBuilder json = new StringBuilder("{\n");
+        int i = 0;
+        for (Map.Entry<String, Object> mode : results.entrySet()) {
+            json.append("  \"").append(mode.getKey()).append("\": {");
+            int j = 0;
+            for (Map.Entry<?, ?> metric : ((Map<?, ?>) mode.getValue()).entrySet()) {
+                json.append(j++ == 0 ? "" : ", ").append('"').append(metric.getKey()).append("\": ").append(metric.getValue());
+            }
+            json.append(i++ < results.size() - 1 ? "},\n" : "}\n");
+        }
+        return json.append("}\n").toString();
+    }
+}
@@ -0,0 +1,255 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.loadtest;
+
+import com.mahfuj.REST_APIs_with_Spring_boot.RestApIsWithSpringBootApplication;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Platform threads vs virtual threads under the load that hurts the former:
+ * many slow uploads holding request threads while ordinary clients keep
+ * asking for primes, Fibonacci numbers and words.
+ * <p>
+ * For each mode the app is started in-process on a random port, the slow
+ * clients trickle NDJSON into {@code POST /api/users/bulk} (a blocking read
+ * on the request thread), and the fast clients measure their latency. The
+ * report has p50/p99 latency, throughput, errors and the peak number of
+ * requests the server was handling at once.
+ * <p>
+ * Run with:
+ * <pre>
+ * ./mvnw -Pbenchmark test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.mahfuj.REST_APIs_with_Spring_boot.loadtest.ThreadModeLoadTest \
+ *     -Dexec.args="--slow=240 --clients=32 --seconds=15"
+ * </pre>
+ * Results are also written to {@code target/thread-mode-load.json}.
+ * <p>
+ * On JDK 21 Tomcat's blocking read waits on a monitor, which pins the virtual
+ * thread to its carrier; the scheduler makes up for it with extra carriers, but
+ * only up to {@code jdk.virtualThreadScheduler.maxPoolSize} (256). Past about
+ * that many slow uploads the virtual mode stalls as well, which a run with
+ * {@code --slow=400} shows. JDK 24 (JEP 491) removes that limit.
+ */
+public class ThreadModeLoadTest {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = options(args);
+        int slow = Integer.parseInt(options.getOrDefault("slow", "240"));
+        int clients = Integer.parseInt(options.getOrDefault("clients", "32"));
+        int seconds = Integer.parseInt(options.getOrDefault("seconds", "15"));
+
+        Map<String, Object> results = new LinkedHashMap<>();
+        for (String mode : List.of("platform", "virtual")) {
+            Map<String, Object> result = run("virtual".equals(mode), slow, clients, Duration.ofSeconds(seconds));
+            results.put(mode, result);
+            System.out.printf(Locale.ROOT, "%-9s %s%n", mode, result);
+        }
+
+        Path report = Path.of("target", "thread-mode-load.json");
+        Files.createDirectories(report.getParent());
+        Files.writeString(report, toJson(results));
+        System.out.println("Written to " + report);
+    }
+
+    static Map<String, Object> run(boolean virtualThreads, int slow, int clients, Duration duration) throws Exception {
+        InFlightFilter inFlight = new InFlightFilter();
+        // passed as arguments, because default properties would lose to application.yaml
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(RestApIsWithSpringBootApplication.class)
+                .initializers(ctx -> ((GenericApplicationContext) ctx)
+                        .registerBean("inFlightFilter", Filter.class, () -> inFlight))
+                .run("--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        // every request must reach the service, not the response cache
+                        "--app.cache.enabled=false",
+                        // all clients share one address; the per-client limiter would stop them
+                        "--app.rate-limit.enabled=false",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=warn");
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+
+        // platform threads on the client side, so the clients never compete with the server's carriers
+        try (ExecutorService threads = Executors.newCachedThreadPool();
+             HttpClient http = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .executor(threads)
+                     .connectTimeout(Duration.ofSeconds(5))
+                     .build()) {
+
+            long stopAt = System.nanoTime() + duration.toNanos();
+            LongAdder slowOpened = new LongAdder();
+            for (int i = 0; i < slow; i++) {
+                int id = i;
+                threads.submit(() -> slowUpload(port, id, stopAt, slowOpened));
+            }
+            // give the slow clients a moment to take their threads before measuring
+            Thread.sleep(1000);
+
+            ConcurrentLinkedQueue<long[]> latencies = new ConcurrentLinkedQueue<>();
+            LongAdder errors = new LongAdder();
+            List<Future<?>> fast = new ArrayList<>();
+            for (int i = 0; i < clients; i++) {
+                fast.add(threads.submit(() -> latencies.add(fastClient(http, port, stopAt, errors))));
+            }
+            for (Future<?> client : fast) client.get();
+
+            long[] all = latencies.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+            double elapsed = duration.toMillis() / 1000.0 - 1;
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("requests", all.length);
+            result.put("errors", errors.sum());
+            result.put("throughputPerSec", Math.round(all.length / elapsed));
+            result.put("p50Ms", percentile(all, 0.50));
+            result.put("p99Ms", percentile(all, 0.99));
+            result.put("maxMs", all.length == 0 ? 0 : all[all.length - 1] / 1_000_000.0);
+            result.put("slowClientsConnected", slowOpened.sum());
+            result.put("peakConcurrentRequests", inFlight.peak.get());
+            return result;
+        } finally {
+            context.close();
+        }
+    }
+
+    // One fast client: back-to-back requests until the deadline; returns latencies in nanoseconds
+    private static long[] fastClient(HttpClient http, int port, long stopAt, LongAdder errors) {
+        long[] samples = new long[1024];
+        int count = 0;
+        while (System.nanoTime() < stopAt) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            String path = switch (random.nextInt(3)) {
+                case 0 -> "/api/prime/" + random.nextInt(2, Integer.MAX_VALUE);
+                case 1 -> "/api/fibonacci/nth/" + random.nextInt(10_000, 20_000);
+                default -> "/api/words/" + random.nextLong(1_000_000_000L);
+            };
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                    .timeout(Duration.ofSeconds(30))
+                    .build();
+            long start = System.nanoTime();
+            try {
+                HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() != 200) {
+                    errors.increment();
+                    continue;
+                }
+            } catch (IOException e) {
+                errors.increment();
+                continue;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            if (count == samples.length) samples = Arrays.copyOf(samples, count * 2);
+            samples[count++] = System.nanoTime() - start;
+        }
+        return Arrays.copyOf(samples, count);
+    }
+
+    // A client on a bad network: sends one NDJSON line every 200 ms until the deadline
+    private static void slowUpload(int port, int id, long stopAt, LongAdder opened) {
+        try (Socket socket = new Socket("localhost", port)) {
+            OutputStream out = socket.getOutputStream();
+            out.write(("POST /api/users/bulk HTTP/1.1\r\nHost: localhost\r\n"
+                    + "Content-Type: application/x-ndjson\r\nTransfer-Encoding: chunked\r\n\r\n")
+                    .getBytes(StandardCharsets.US_ASCII));
+            opened.increment();
+            while (System.nanoTime() < stopAt) {
+                byte[] line = ("{\"name\":\"slow-" + id + "\"}\n").getBytes(StandardCharsets.UTF_8);
+                out.write((Integer.toHexString(line.length) + "\r\n").getBytes(StandardCharsets.US_ASCII));
+                out.write(line);
+                out.write("\r\n".getBytes(StandardCharsets.US_ASCII));
+                out.flush();
+                Thread.sleep(200);
+            }
+            out.write("0\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            InputStream in = socket.getInputStream();
+            in.read(); // wait for the server to answer before hanging up
+        } catch (IOException e) {
+            // the server may drop slow clients once the run is over
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1);
+        return Math.round(sorted[Math.max(0, index)] / 10_000.0) / 100.0;
+    }
+
+    private static Map<String, String> options(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        return options;
+    }
+
+    // Flat maps of numbers only, so no JSON library is needed on this side
+    private static String toJson(Map<String, Object> results) {
+        StringBuilder json = new StringBuilder("{\n");
+        int i = 0;
+        for (Map.Entry<String, Object> mode : results.entrySet()) {
+            json.append("  \"").append(mode.getKey()).append("\": {");
+            int j = 0;
+            for (Map.Entry<?, ?> metric : ((Map<?, ?>) mode.getValue()).entrySet()) {
+                json.append(j++ == 0 ? "" : ", ").append('"').append(metric.getKey()).append("\": ").append(metric.getValue());
+            }
+            json.append(i++ < results.size() - 1 ? "},\n" : "}\n");
+        }
+        return json.append("}\n").toString();
+    }
+
+    // Counts requests inside the servlet stack and remembers the highest count seen
+    static final class InFlightFilter implements Filter {
+
+        final AtomicInteger current = new AtomicInteger();
+        final AtomicInteger peak = new AtomicInteger();
+
+        @Override
+        public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+                throws IOException, ServletException {
+            peak.accumulateAndGet(current.incrementAndGet(), Math::max);
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                current.decrementAndGet();
+            }
+        }
+    }
+}
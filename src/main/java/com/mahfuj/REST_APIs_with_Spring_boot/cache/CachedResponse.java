@@ -0,0 +1,16 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.cache;
+
+/**
+ * A response body exactly as it went over the wire, plus what is needed to replay it.
+ *
+ * @param pattern   URI template of the handler that produced it, so hits are tagged like misses in metrics
+ * @param expiresAt epoch millis after which the entry must not be served (Long.MAX_VALUE = never)
+ */
+public record CachedResponse(String endpoint, String pattern, String contentType, byte[] body, String etag, long expiresAt) {
+
+    // Rough heap footprint, so the cache budget reflects more than the body bytes
+    long weight(String key) {
+        return body.length + 2L * key.length() + contentType.length() + etag.length()
+                + (pattern == null ? 0 : pattern.length()) + 128;
+    }
+}
@@ -0,0 +1,179 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded, size-aware cache of serialized responses.
+ * <p>
+ * The key space is split over independently locked segments. Each segment is a
+ * segmented LRU: new entries start in a probation area and move to a protected
+ * area (80% of the segment) on their second hit, so a burst of one-off requests
+ * (say, a crawler walking /api/prime/1..1000000) only churns probation and can't
+ * flush the entries that are actually popular. Eviction takes the least recently
+ * used probation entry first and only falls back to the protected area when
+ * probation is empty.
+ */
+public class ResponseCache {
+
+    private final Segment[] segments;
+    private final Map<String, Stats> stats = new ConcurrentHashMap<>();
+
+    public ResponseCache(long maxBytes, int segmentCount) {
+        if (segmentCount < 1) throw new IllegalArgumentException("segments must be at least 1");
+        segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(Math.max(1, maxBytes / segmentCount));
+        }
+    }
+
+    // The cached response, or null when it is missing or expired; counts a hit or miss for the endpoint
+    public CachedResponse get(String endpoint, String key, long now) {
+        CachedResponse response = segmentFor(key).get(key, now);
+        Stats endpointStats = stats(endpoint);
+        if (response != null) endpointStats.hits.increment();
+        else endpointStats.misses.increment();
+        return response;
+    }
+
+    public void put(String key, CachedResponse response) {
+        segmentFor(key).put(key, response);
+    }
+
+    // Per-endpoint counters plus the overall size, in a JSON-friendly shape
+    public Map<String, Object> statistics() {
+        long entries = 0, bytes = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                entries += segment.probation.size() + segment.protectedArea.size();
+                bytes += segment.probationBytes + segment.protectedBytes;
+            }
+        }
+
+        Map<String, Object> endpoints = new TreeMap<>();
+        stats.forEach((name, s) -> endpoints.put(name, s.snapshot()));
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("entries", entries);
+        result.put("bytes", bytes);
+        result.put("endpoints", endpoints);
+        return result;
+    }
+
+    private Segment segmentFor(String key) {
+        int h = key.hashCode();
+        h ^= h >>> 16;
+        return segments[Math.floorMod(h, segments.length)];
+    }
+
+    private Stats stats(String endpoint) {
+        return stats.computeIfAbsent(endpoint, name -> new Stats());
+    }
+
+    private static final class Stats {
+        final LongAdder hits = new LongAdder();
+        final LongAdder misses = new LongAdder();
+        final LongAdder evictions = new LongAdder();
+        final LongAdder expirations = new LongAdder();
+
+        Map<String, Object> snapshot() {
+            long h = hits.sum(), m = misses.sum();
+            Map<String, Object> s = new LinkedHashMap<>();
+            s.put("hits", h);
+            s.put("misses", m);
+            s.put("evictions", evictions.sum());
+            s.put("expirations", expirations.sum());
+            s.put("hitRatio", h + m == 0 ? 0.0 : Math.round(h * 1000.0 / (h + m)) / 1000.0);
+            return s;
+        }
+    }
+
+    private final class Segment {
+
+        final long capacity;
+        final long protectedCapacity;
+
+        // access-ordered: iteration starts at the least recently used entry
+        final LinkedHashMap<String, CachedResponse> probation = new LinkedHashMap<>(16, 0.75f, true);
+        final LinkedHashMap<String, CachedResponse> protectedArea = new LinkedHashMap<>(16, 0.75f, true);
+        long probationBytes;
+        long protectedBytes;
+
+        Segment(long capacity) {
+            this.capacity = capacity;
+            this.protectedCapacity = capacity * 8 / 10;
+        }
+
+        synchronized CachedResponse get(String key, long now) {
+            CachedResponse response = protectedArea.get(key);
+            if (response == null) {
+                response = probation.get(key);
+                if (response == null) return null;
+                if (now < response.expiresAt()) promote(key, response);
+            }
+            if (now >= response.expiresAt()) {
+                remove(key);
+                stats(response.endpoint()).expirations.increment();
+                return null;
+            }
+            return response;
+        }
+
+        synchronized void put(String key, CachedResponse response) {
+            long weight = response.weight(key);
+            if (weight > capacity) return; // would evict everything else; not worth it
+            remove(key);
+            probation.put(key, response);
+            probationBytes += weight;
+            evictOverflow();
+        }
+
+        // Second hit: move from probation to protected, demoting protected's LRU entries if it overflows
+        private void promote(String key, CachedResponse response) {
+            long weight = response.weight(key);
+            probation.remove(key);
+            probationBytes -= weight;
+            protectedArea.put(key, response);
+            protectedBytes += weight;
+
+            Iterator<Map.Entry<String, CachedResponse>> it = protectedArea.entrySet().iterator();
+            while (protectedBytes > protectedCapacity && it.hasNext()) {
+                Map.Entry<String, CachedResponse> eldest = it.next();
+                if (eldest.getKey().equals(key)) break;
+                long w = eldest.getValue().weight(eldest.getKey());
+                it.remove();
+                protectedBytes -= w;
+                probation.put(eldest.getKey(), eldest.getValue());
+                probationBytes += w;
+            }
+        }
+
+        private void evictOverflow() {
+            evictFrom(probation, true);
+            evictFrom(protectedArea, false);
+        }
+
+        private void evictFrom(LinkedHashMap<String, CachedResponse> area, boolean isProbation) {
+            Iterator<Map.Entry<String, CachedResponse>> it = area.entrySet().iterator();
+            while (probationBytes + protectedBytes > capacity && it.hasNext()) {
+                Map.Entry<String, CachedResponse> eldest = it.next();
+                long w = eldest.getValue().weight(eldest.getKey());
+                it.remove();
+                if (isProbation) probationBytes -= w;
+                else protectedBytes -= w;
+                stats(eldest.getValue().endpoint()).evictions.increment();
+            }
+        }
+
+        private void remove(String key) {
+            CachedResponse old = probation.remove(key);
+            if (old != null) probationBytes -= old.weight(key);
+            old = protectedArea.remove(key);
+            if (old != null) protectedBytes -= old.weight(key);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.cache;
+
+import com.mahfuj.REST_APIs_with_Spring_boot.config.ResponseCacheProperties;
+import com.mahfuj.REST_APIs_with_Spring_boot.service.dates.ZoneClock;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.filter.ServerHttpObservationFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Serves repeated GETs of the configured endpoints from {@link ResponseCache}.
+ * <p>
+ * A miss runs the controller as usual and keeps the serialized body; a hit writes
+ * those bytes straight back, skipping the controller, the service and Jackson.
+ * Every cached response carries an ETag and Cache-Control, and a matching
+ * If-None-Match is answered with 304 and no body at all.
+ */
+public class ResponseCacheFilter extends OncePerRequestFilter {
+
+    private final ResponseCache cache;
+    private final List<ResponseCacheProperties.Endpoint> endpoints;
+    private final ZoneClock clock;
+
+    public ResponseCacheFilter(ResponseCache cache, List<ResponseCacheProperties.Endpoint> endpoints, ZoneClock clock) {
+        this.cache = cache;
+        this.endpoints = List.copyOf(endpoints);
+        this.clock = clock;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return endpointFor(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ResponseCacheProperties.Endpoint endpoint = endpointFor(request);
+        long now = clock.millis();
+        String key = key(request);
+
+        CachedResponse cached = cache.get(endpoint.name(), key, now);
+        if (cached != null) {
+            if (cached.pattern() != null) {
+                request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, cached.pattern());
+                ServerHttpObservationFilter.findObservationContext(request)
+                        .ifPresent(context -> context.setPathPattern(cached.pattern()));
+            }
+            writeHeaders(response, endpoint, cached, now, "HIT");
+            if (etagMatches(request, cached.etag())) {
+                response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                return;
+            }
+            response.setStatus(HttpServletResponse.SC_OK);
+            response.setContentType(cached.contentType());
+            response.setContentLength(cached.body().length);
+            response.getOutputStream().write(cached.body());
+            return;
+        }
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        chain.doFilter(request, wrapper);
+
+        // only plain successful responses are cached; errors are cheap and shouldn't stick
+        if (wrapper.getStatus() == HttpServletResponse.SC_OK && wrapper.getContentType() != null
+                && !request.isAsyncStarted()) {
+            byte[] body = wrapper.getContentAsByteArray();
+            // weak: the same entity may go out gzipped or not, and Tomcat won't compress under a strong ETag
+            String etag = "W/\"" + DigestUtils.md5DigestAsHex(body) + "\"";
+            long expiresAt = endpoint.expiresAtMidnight() ? nextMidnight(request) : Long.MAX_VALUE;
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            CachedResponse fresh = new CachedResponse(endpoint.name(), pattern == null ? null : pattern.toString(),
+                    wrapper.getContentType(), body, etag, expiresAt);
+            cache.put(key, fresh);
+            writeHeaders(wrapper, endpoint, fresh, now, "MISS");
+        }
+        wrapper.copyBodyToResponse();
+    }
+
+    private ResponseCacheProperties.Endpoint endpointFor(HttpServletRequest request) {
+        if (!"GET".equals(request.getMethod())) return null;
+        String uri = request.getRequestURI();
+        // streamed responses (NDJSON and Server-Sent Events) are written after this filter has returned,
+        // so there is nothing to capture
+        if (uri.endsWith("/stream") || uri.endsWith("/events")) return null;
+        for (ResponseCacheProperties.Endpoint endpoint : endpoints) {
+            if (uri.startsWith(endpoint.path())) return endpoint;
+        }
+        return null;
+    }
+
+    // The Accept header is part of the key because it selects the representation
+    private static String key(HttpServletRequest request) {
+        String query = request.getQueryString();
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        return request.getRequestURI() + (query == null ? "" : "?" + query) + "|" + (accept == null ? "" : accept);
+    }
+
+    private void writeHeaders(HttpServletResponse response, ResponseCacheProperties.Endpoint endpoint,
+                              CachedResponse cached, long now, String outcome) {
+        long maxAge = endpoint.expiresAtMidnight()
+                ? Math.max(0, (cached.expiresAt() - now) / 1000)
+                : endpoint.maxAge().toSeconds();
+        response.setHeader(HttpHeaders.ETAG, cached.etag());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "public, max-age=" + maxAge);
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        response.setHeader("X-Cache", outcome);
+    }
+
+    private static boolean etagMatches(HttpServletRequest request, String etag) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch == null) return false;
+        // weak comparison, as RFC 9110 asks for If-None-Match
+        String opaque = etag.startsWith("W/") ? etag.substring(2) : etag;
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.strip();
+            if (tag.startsWith("W/")) tag = tag.substring(2);
+            if (tag.equals(opaque) || tag.equals("*")) return true;
+        }
+        return false;
+    }
+
+    // Midnight where the request's ?zone= is (only successful responses get here, so the zone is valid)
+    private long nextMidnight(HttpServletRequest request) {
+        return clock.nextMidnight(clock.zone(request.getParameter("zone")));
+    }
+}
@@ -0,0 +1,12 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+// Settings for the CPU-bound calculators
+@Configuration
+@EnableConfigurationProperties({PrimeProperties.class, FibonacciProperties.class, PasswordProperties.class,
+        ComputeProperties.class, TextProperties.class, DateProperties.class, WarmUpProperties.class,
+        StreamProperties.class, JobProperties.class})
+public class ComputeConfig {
+}
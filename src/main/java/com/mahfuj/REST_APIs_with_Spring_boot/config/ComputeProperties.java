@@ -0,0 +1,17 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * The pool that runs CPU-bound calculations off the request threads ({@code app.compute.*}).
+ *
+ * @param threads       worker threads; 0 means one per available processor
+ * @param queueCapacity calculations that may wait for a worker; beyond that requests get 503
+ */
+@ConfigurationProperties(prefix = "app.compute")
+public record ComputeProperties(
+        @DefaultValue("0") int threads,
+        @DefaultValue("256") int queueCapacity
+) {
+}
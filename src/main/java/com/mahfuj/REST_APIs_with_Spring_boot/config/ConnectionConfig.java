@@ -0,0 +1,52 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.config;
+
+import com.mahfuj.REST_APIs_with_Spring_boot.metrics.ConnectionMetricsValve;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.catalina.connector.Connector;
+import org.apache.coyote.UpgradeProtocol;
+import org.apache.coyote.http2.Http2Protocol;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Tunes the HTTP/2 protocol Spring Boot adds to Tomcat's connector when
+ * {@code server.http2.enabled} is set, and installs the connection metrics.
+ * HPACK header compression is always on; Tomcat keeps its side of the header
+ * table at the protocol default and does not expose a size.
+ */
+@Configuration
+@EnableConfigurationProperties(ConnectionProperties.class)
+public class ConnectionConfig {
+
+    @Bean
+    public ConnectionMetricsValve connectionMetricsValve(ConnectionProperties properties, MeterRegistry registry) {
+        return new ConnectionMetricsValve(registry, properties.idleAfter(), properties.maxTracked());
+    }
+
+    @Bean
+    public WebServerFactoryCustomizer<TomcatServletWebServerFactory> connectionCustomizer(
+            ConnectionProperties properties, ConnectionMetricsValve metrics) {
+        return factory -> {
+            factory.addEngineValves(metrics);
+            // Boot has added the protocol by the time connector customizers run
+            factory.addConnectorCustomizers(connector -> tune(connector, properties.http2()));
+        };
+    }
+
+    private static void tune(Connector connector, ConnectionProperties.Http2 http2) {
+        for (UpgradeProtocol protocol : connector.findUpgradeProtocols()) {
+            if (protocol instanceof Http2Protocol h2) {
+                h2.setMaxConcurrentStreams(http2.maxConcurrentStreams());
+                h2.setMaxConcurrentStreamExecution(http2.maxConcurrentStreamExecution());
+                h2.setInitialWindowSize(http2.initialWindowSize());
+                h2.setKeepAliveTimeout(http2.keepAliveTimeout().toMillis());
+                h2.setReadTimeout(http2.readTimeout().toMillis());
+                h2.setWriteTimeout(http2.writeTimeout().toMillis());
+                h2.setMaxHeaderCount(http2.maxHeaderCount());
+            }
+        }
+    }
+}
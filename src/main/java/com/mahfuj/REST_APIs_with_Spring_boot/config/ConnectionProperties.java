@@ -0,0 +1,45 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * HTTP/2 tuning and connection metrics ({@code app.connections.*}). HTTP/2
+ * itself is switched on with {@code server.http2.enabled}; HTTP/1.1
+ * keep-alive is {@code server.tomcat.keep-alive-timeout} and
+ * {@code max-keep-alive-requests}.
+ *
+ * @param http2      settings applied to Tomcat's HTTP/2 protocol (h2, and h2c on plain HTTP)
+ * @param idleAfter  a connection without requests for this long is counted as closed and its totals recorded
+ * @param maxTracked connections tracked at once; requests on any more are measured, but not per connection
+ */
+@ConfigurationProperties(prefix = "app.connections")
+public record ConnectionProperties(
+        @DefaultValue Http2 http2,
+        @DefaultValue("30s") Duration idleAfter,
+        @DefaultValue("10000") int maxTracked
+) {
+
+    /**
+     * @param maxConcurrentStreams         streams a client may have open on one connection
+     * @param maxConcurrentStreamExecution streams of one connection handled at once; the rest wait for a slot
+     * @param initialWindowSize            bytes a client may send on a stream before the server acknowledges them
+     * @param keepAliveTimeout             an idle connection (no open streams) is closed after this
+     * @param readTimeout                  longest wait for the rest of a partly received frame
+     * @param writeTimeout                 longest wait for the client to take a frame
+     * @param maxHeaderCount               headers per request after HPACK decoding; their total size is
+     *                                     {@code server.max-http-request-header-size}
+     */
+    public record Http2(
+            @DefaultValue("128") long maxConcurrentStreams,
+            @DefaultValue("32") int maxConcurrentStreamExecution,
+            @DefaultValue("65535") int initialWindowSize,
+            @DefaultValue("20s") Duration keepAliveTimeout,
+            @DefaultValue("5s") Duration readTimeout,
+            @DefaultValue("5s") Duration writeTimeout,
+            @DefaultValue("100") int maxHeaderCount
+    ) {
+    }
+}
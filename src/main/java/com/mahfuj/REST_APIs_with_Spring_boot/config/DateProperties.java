@@ -0,0 +1,19 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for the age and date endpoints ({@code app.dates.*}).
+ *
+ * @param defaultZone zone for requests without ?zone= (empty = the JVM's default zone)
+ * @param clockTick   how long one reading of the clock is shared between requests
+ */
+@ConfigurationProperties(prefix = "app.dates")
+public record DateProperties(
+        @DefaultValue("") String defaultZone,
+        @DefaultValue("1ms") Duration clockTick
+) {
+}
@@ -0,0 +1,25 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Budgets for the Fibonacci endpoints ({@code app.fibonacci.*}).
+ *
+ * @param maxIndex          largest n accepted for a single F(n) (F(n) has about 0.21 * n digits)
+ * @param maxInlineTerms    longest sequence returned as a JSON list; longer ones must use the stream
+ * @param maxSequenceLength longest sequence that may be streamed (total output grows with n^2)
+ * @param timeBudget        a computation that runs longer than this is abandoned
+ * @param memoSize          how many recent large F(n) results are kept
+ */
+@ConfigurationProperties(prefix = "app.fibonacci")
+public record FibonacciProperties(
+        @DefaultValue("1000000") int maxIndex,
+        @DefaultValue("1000") int maxInlineTerms,
+        @DefaultValue("10000") int maxSequenceLength,
+        @DefaultValue("2s") Duration timeBudget,
+        @DefaultValue("32") int memoSize
+) {
+}
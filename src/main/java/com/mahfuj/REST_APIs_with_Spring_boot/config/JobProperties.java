@@ -0,0 +1,38 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Settings for the background jobs behind /api/jobs ({@code app.jobs.*}).
+ *
+ * @param threads           workers of the work-stealing pool (0 = one per core)
+ * @param queueCapacity     jobs waiting to start; more are answered with 503
+ * @param priorities        priority per operation, higher starts sooner (unlisted = 0)
+ * @param aging             each time a job has waited this long it counts one priority higher
+ * @param resultTtl         how long a finished job and its result can be fetched
+ * @param maxMemory         results kept on the heap; beyond it the oldest move to disk
+ * @param maxDisk           results kept on disk; beyond it the oldest are dropped
+ * @param maxFinished       finished jobs kept, whatever their size; beyond it the oldest are dropped
+ * @param spillDirectory    where results go on disk (empty = a new directory under the system temp directory)
+ * @param fibonacciMaxIndex largest n of a fibonacci job (F(n) has about 0.21 * n digits)
+ */
+@ConfigurationProperties(prefix = "app.jobs")
+public record JobProperties(
+        @DefaultValue("0") int threads,
+        @DefaultValue("1000") int queueCapacity,
+        @DefaultValue Map<String, Integer> priorities,
+        @DefaultValue("10s") Duration aging,
+        @DefaultValue("1h") Duration resultTtl,
+        @DefaultValue("64MB") DataSize maxMemory,
+        @DefaultValue("1GB") DataSize maxDisk,
+        @DefaultValue("100000") int maxFinished,
+        Path spillDirectory,
+        @DefaultValue("20000000") int fibonacciMaxIndex
+) {
+}
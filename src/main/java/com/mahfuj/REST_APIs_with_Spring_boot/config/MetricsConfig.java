@@ -0,0 +1,22 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.config;
+
+import com.mahfuj.REST_APIs_with_Spring_boot.metrics.PayloadSizeFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+// Per-endpoint payload sizes; the timers (http.server.requests) come from Spring Boot itself
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public FilterRegistrationBean<PayloadSizeFilter> payloadSizeFilter(MeterRegistry registry) {
+        FilterRegistrationBean<PayloadSizeFilter> registration = new FilterRegistrationBean<>(new PayloadSizeFilter(registry));
+        registration.addUrlPatterns("/api/*");
+        // outside the response cache, so cache hits are measured too
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
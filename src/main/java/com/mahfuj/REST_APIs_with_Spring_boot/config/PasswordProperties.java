@@ -0,0 +1,17 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for the password strength checker ({@code app.password.*}).
+ *
+ * @param commonList     text file of known common/breached passwords, one per line
+ * @param minEntropyBits passwords with a lower estimated entropy get a suggestion to strengthen them
+ */
+@ConfigurationProperties(prefix = "app.password")
+public record PasswordProperties(
+        @DefaultValue("classpath:common-passwords.txt") String commonList,
+        @DefaultValue("50") int minEntropyBits
+) {
+}
@@ -0,0 +1,16 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for the prime engine ({@code app.primes.*}).
+ *
+ * @param sieveLimit numbers below this are answered from the cached sieve; each 2M numbers
+ *                   cost 128 KB, allocated only once a request touches them
+ */
+@ConfigurationProperties(prefix = "app.primes")
+public record PrimeProperties(
+        @DefaultValue("268435456") long sieveLimit
+) {
+}
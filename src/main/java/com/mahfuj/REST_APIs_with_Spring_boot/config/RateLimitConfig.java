@@ -0,0 +1,34 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.config;
+
+import com.mahfuj.REST_APIs_with_Spring_boot.ratelimit.AdmissionFilter;
+import com.mahfuj.REST_APIs_with_Spring_boot.ratelimit.TokenBuckets;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+@ConditionalOnProperty(prefix = "app.rate-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfig {
+
+    @Bean
+    public TokenBuckets tokenBuckets(RateLimitProperties properties) {
+        return new TokenBuckets(properties.capacity(), properties.refillPerSecond(),
+                properties.maxTrackedClients(), System::nanoTime);
+    }
+
+    @Bean
+    public FilterRegistrationBean<AdmissionFilter> admissionFilter(RateLimitProperties properties, TokenBuckets buckets,
+                                                                   MeterRegistry registry) {
+        FilterRegistrationBean<AdmissionFilter> registration = new FilterRegistrationBean<>(
+                new AdmissionFilter(properties, buckets, registry));
+        registration.addUrlPatterns("/api/*");
+        // after the payload-size filter (turned-away requests are measured), before any other work
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 15);
+        return registration;
+    }
+}
@@ -0,0 +1,36 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.List;
+
+/**
+ * Admission control for {@code /api} ({@code app.rate-limit.*}).
+ *
+ * @param enabled          turn the filter on
+ * @param capacity         tokens a client can spend in a burst
+ * @param refillPerSecond  tokens a client gets back per second
+ * @param defaultCost      tokens a request costs when no endpoint below matches
+ * @param maxConcurrent    requests in progress at once; past that requests get 503
+ * @param maxTrackedClients clients with their own bucket; past that new clients share one
+ * @param endpoints        cost per endpoint, first matching path prefix wins
+ */
+@ConfigurationProperties(prefix = "app.rate-limit")
+public record RateLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("200") int capacity,
+        @DefaultValue("100") int refillPerSecond,
+        @DefaultValue("1") int defaultCost,
+        @DefaultValue("128") int maxConcurrent,
+        @DefaultValue("10000") int maxTrackedClients,
+        @DefaultValue List<Endpoint> endpoints
+) {
+
+    /**
+     * @param path path prefix, e.g. /api/fibonacci/nth/
+     * @param cost tokens one request takes
+     */
+    public record Endpoint(String path, int cost) {
+    }
+}
@@ -0,0 +1,46 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.config;
+
+import com.mahfuj.REST_APIs_with_Spring_boot.exception.RejectionTracker;
+import com.mahfuj.REST_APIs_with_Spring_boot.metrics.RejectionsEndpoint;
+import com.mahfuj.REST_APIs_with_Spring_boot.validation.PathVariableValidationFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.time.Clock;
+
+// Bad requests: counted per client, throttled, and (for path variables) rejected before binding
+@Configuration
+@EnableConfigurationProperties(RejectionProperties.class)
+public class RejectionConfig {
+
+    @Bean
+    public RejectionTracker rejectionTracker(RejectionProperties properties, MeterRegistry registry) {
+        return new RejectionTracker(properties, registry, Clock.systemUTC());
+    }
+
+    @Bean
+    public RejectionsEndpoint rejectionsEndpoint(RejectionTracker tracker) {
+        return new RejectionsEndpoint(tracker);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.rejections", name = "prevalidate", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<PathVariableValidationFilter> pathVariableValidationFilter(
+            @Qualifier("requestMappingHandlerMapping") ObjectProvider<RequestMappingHandlerMapping> mapping,
+            RejectionTracker tracker) {
+        FilterRegistrationBean<PathVariableValidationFilter> registration = new FilterRegistrationBean<>(
+                new PathVariableValidationFilter(() -> mapping.getObject().getHandlerMethods(), tracker));
+        registration.addUrlPatterns("/api/*");
+        // inside the payload-size filter (rejections are measured), ahead of the response cache
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        return registration;
+    }
+}
@@ -0,0 +1,23 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * How bad requests are turned away ({@code app.rejections.*}).
+ *
+ * @param prevalidate        check path variables against the handler signatures before Spring MVC binds them
+ * @param perClientPerSecond error responses a client gets per second; past that it gets a bare 429
+ * @param maxTrackedClients  clients whose rejections are counted individually
+ * @param idleAfter          a client with no rejections for this long is forgotten
+ */
+@ConfigurationProperties(prefix = "app.rejections")
+public record RejectionProperties(
+        @DefaultValue("true") boolean prevalidate,
+        @DefaultValue("20") int perClientPerSecond,
+        @DefaultValue("10000") int maxTrackedClients,
+        @DefaultValue("1m") Duration idleAfter
+) {
+}
@@ -0,0 +1,31 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.config;
+
+import com.mahfuj.REST_APIs_with_Spring_boot.cache.ResponseCache;
+import com.mahfuj.REST_APIs_with_Spring_boot.cache.ResponseCacheFilter;
+import com.mahfuj.REST_APIs_with_Spring_boot.service.dates.ZoneClock;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+
+@Configuration
+@EnableConfigurationProperties(ResponseCacheProperties.class)
+@ConditionalOnProperty(prefix = "app.cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ResponseCacheConfig {
+
+    @Bean
+    public ResponseCache responseCache(ResponseCacheProperties properties) {
+        return new ResponseCache(properties.maxSize().toBytes(), properties.segments());
+    }
+
+    @Bean
+    public FilterRegistrationBean<ResponseCacheFilter> responseCacheFilter(ResponseCache cache, ResponseCacheProperties properties,
+                                                                          ZoneClock clock) {
+        FilterRegistrationBean<ResponseCacheFilter> registration = new FilterRegistrationBean<>(
+                new ResponseCacheFilter(cache, properties.endpoints(), clock));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
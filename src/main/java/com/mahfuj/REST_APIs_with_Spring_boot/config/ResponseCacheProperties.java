@@ -0,0 +1,39 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Response cache for the deterministic GET endpoints ({@code app.cache.*}).
+ *
+ * @param enabled   serve repeated requests from memory
+ * @param maxSize   total size of the cached bodies (plus a small per-entry overhead)
+ * @param segments  independently locked parts of the cache; more means less contention
+ * @param endpoints which paths are cached and for how long clients may keep them
+ */
+@ConfigurationProperties(prefix = "app.cache")
+public record ResponseCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("64MB") DataSize maxSize,
+        @DefaultValue("16") int segments,
+        @DefaultValue List<Endpoint> endpoints
+) {
+
+    /**
+     * @param name              label used in the statistics
+     * @param path              path prefix, e.g. /api/prime/
+     * @param maxAge            Cache-Control max-age sent to clients
+     * @param expiresAtMidnight for date-dependent results: the entry (and max-age) ends at the next local midnight
+     */
+    public record Endpoint(
+            String name,
+            String path,
+            @DefaultValue("1h") Duration maxAge,
+            @DefaultValue("false") boolean expiresAtMidnight
+    ) {
+    }
+}
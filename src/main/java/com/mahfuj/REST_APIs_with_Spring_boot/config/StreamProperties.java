@@ -0,0 +1,21 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for the Server-Sent Events streams ({@code app.streams.*}).
+ *
+ * @param maxOpen       streams running at once; more are answered with 503
+ * @param flushInterval longest time an event waits in the response buffer before it is sent
+ * @param batchSize     items per event where one item would be too small an event (primes)
+ */
+@ConfigurationProperties(prefix = "app.streams")
+public record StreamProperties(
+        @DefaultValue("64") int maxOpen,
+        @DefaultValue("50ms") Duration flushInterval,
+        @DefaultValue("1000") int batchSize
+) {
+}
@@ -0,0 +1,21 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+
+/**
+ * Settings for the streaming text endpoints ({@code app.text.*}).
+ *
+ * @param inMemoryLimit  normalized text (4 bytes per code point) kept on the heap; longer bodies
+ *                       spill to a memory-mapped file and skip the longest-palindrome search
+ * @param spillDirectory where spill files go (empty = the system temp directory)
+ */
+@ConfigurationProperties(prefix = "app.text")
+public record TextProperties(
+        @DefaultValue("4MB") DataSize inMemoryLimit,
+        Path spillDirectory
+) {
+}
@@ -0,0 +1,19 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.List;
+
+/**
+ * Secondary indexes on user attributes ({@code app.users.indexes.*}).
+ *
+ * @param hash   attributes with an equality index (e.g. email)
+ * @param sorted attributes with a sorted index, usable for ranges as well as equality (e.g. age)
+ */
+@ConfigurationProperties(prefix = "app.users.indexes")
+public record UserIndexProperties(
+        @DefaultValue List<String> hash,
+        @DefaultValue List<String> sorted
+) {
+}
@@ -0,0 +1,24 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Settings for persisting the user store ({@code app.users.persistence.*}).
+ *
+ * @param enabled          write users to disk and replay them on start
+ * @param directory        where the write-ahead log segments and snapshot live
+ * @param groupCommit      share one fsync between concurrent writers instead of one per write
+ * @param snapshotInterval how often to compact the log into a snapshot (0 = only on shutdown)
+ */
+@ConfigurationProperties(prefix = "app.users.persistence")
+public record UserPersistenceProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("data/users") Path directory,
+        @DefaultValue("true") boolean groupCommit,
+        @DefaultValue("5m") Duration snapshotInterval
+) {
+}
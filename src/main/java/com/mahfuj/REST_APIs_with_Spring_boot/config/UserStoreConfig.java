@@ -0,0 +1,21 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.config;
+
+import com.mahfuj.REST_APIs_with_Spring_boot.repository.FileUserJournal;
+import com.mahfuj.REST_APIs_with_Spring_boot.repository.UserJournal;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties({UserPersistenceProperties.class, UserIndexProperties.class})
+public class UserStoreConfig {
+
+    // Off by default: the store stays purely in memory, like before
+    @Bean
+    public UserJournal userJournal(UserPersistenceProperties properties) {
+        if (!properties.enabled()) {
+            return UserJournal.NONE;
+        }
+        return new FileUserJournal(properties.directory(), properties.groupCommit(), properties.snapshotInterval());
+    }
+}
@@ -0,0 +1,25 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Work done on start, before the app reports ready ({@code app.warm-up.*}).
+ *
+ * @param enabled        false skips the warm-up, e.g. for tests and local runs
+ * @param primesUpTo     sieve segments below this are filled up front (capped at {@code app.primes.sieve-limit})
+ * @param iterations     calls of each hot endpoint's service method and serializer, so they are compiled
+ * @param requests       rounds of real requests to the hot endpoints over loopback, so the web layer is set up
+ * @param requestTimeout connect and read timeout of each loopback request
+ */
+@ConfigurationProperties(prefix = "app.warm-up")
+public record WarmUpProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("33554432") long primesUpTo,
+        @DefaultValue("5000") int iterations,
+        @DefaultValue("10") int requests,
+        @DefaultValue("5s") Duration requestTimeout
+) {
+}
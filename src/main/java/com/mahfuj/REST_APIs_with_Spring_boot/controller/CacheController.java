@@ -0,0 +1,27 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.controller;
+
+import com.mahfuj.REST_APIs_with_Spring_boot.cache.ResponseCache;
+import lombok.AllArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@AllArgsConstructor
+@RestController
+@RequestMapping("/api/cache")
+// same switch as ResponseCacheConfig; @ConditionalOnBean is unreliable on scanned components
+@ConditionalOnProperty(prefix = "app.cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class CacheController {
+
+    private final ResponseCache cache;
+
+    // Hits, misses, evictions and expirations per cached endpoint
+    // URL: http://localhost:8080/api/cache/stats
+    @GetMapping("/stats")
+    public Map<String, Object> stats() {
+        return cache.statistics();
+    }
+}
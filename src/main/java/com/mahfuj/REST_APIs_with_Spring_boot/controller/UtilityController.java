@@ -1,10 +1,30 @@
 package com.mahfuj.REST_APIs_with_Spring_boot.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.mahfuj.REST_APIs_with_Spring_boot.dto.*;
+import com.mahfuj.REST_APIs_with_Spring_boot.exception.ApiProblem;
+import com.mahfuj.REST_APIs_with_Spring_boot.exception.InvalidInputException;
+import com.mahfuj.REST_APIs_with_Spring_boot.service.ComputeExecutor;
 import com.mahfuj.REST_APIs_with_Spring_boot.service.UtilityService;
+import com.mahfuj.REST_APIs_with_Spring_boot.service.dates.Dates;
+import com.mahfuj.REST_APIs_with_Spring_boot.service.jobs.JobQueue;
+import com.mahfuj.REST_APIs_with_Spring_boot.service.streams.EventStream;
+import com.mahfuj.REST_APIs_with_Spring_boot.service.streams.EventStreams;
+import com.mahfuj.REST_APIs_with_Spring_boot.service.words.NumberToWords;
+import com.mahfuj.REST_APIs_with_Spring_boot.util.NdjsonWriter;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.AllArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import java.time.LocalDate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.net.URI;
 import java.util.Map;
 
 @AllArgsConstructor
@@ -12,22 +32,52 @@ import java.util.Map;
 @RequestMapping("/api")
 public class UtilityController {
 
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+    // sent by an EventSource when it reconnects
+    private static final String LAST_EVENT_ID = "Last-Event-ID";
+
     @Autowired private UtilityService service;
+    // CPU-heavy calls run here, so they can't hog the request threads (or virtual-thread carriers)
+    @Autowired private ComputeExecutor compute;
+    // Server-Sent Events streams, which a client can cancel by id (section 17)
+    @Autowired private EventStreams streams;
+    // Background jobs, polled by id (section 18)
+    @Autowired private JobQueue jobs;
 
     // ------------------------------------------------------------
     // 01. AGE CALCULATOR
     // ------------------------------------------------------------
+    // ?zone=Asia/Dhaka decides which "today" counts (default app.dates.default-zone)
     @GetMapping("/age/{dob}")
-    public Object age(@PathVariable String dob) {
-        return service.calculateAge(LocalDate.parse(dob));
+    public AgeResponse age(@PathVariable String dob, @RequestParam(required = false) String zone) {
+        return service.calculateAge(Dates.parseIsoDate(dob), zone);
+    }
+
+    // Ages for many birthdates, as columns
+    // URL: http://localhost:8080/api/age/batch   body: {"dob": ["1990-01-31", "2001-12-24"], "zone": "Asia/Dhaka"}
+    @PostMapping(value = "/age/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public AgeBatchResponse ageBatch(@RequestBody AgeBatchRequest body) {
+        return compute.call(() -> service.calculateAgeBatch(body));
+    }
+
+    // A CSV roster with a header line, answered line by line with the age columns appended
+    // URL: http://localhost:8080/api/age/batch?column=dob&zone=Asia/Dhaka   (Content-Type: text/csv)
+    @PostMapping(value = "/age/batch", consumes = "text/csv")
+    public void ageBatchCsv(
+            InputStream body,
+            @RequestParam(defaultValue = "dob") String column,
+            @RequestParam(required = false) String zone,
+            HttpServletResponse response
+    ) throws IOException {
+        response.setContentType(TEXT_CSV.toString());
+        service.writeAgeCsv(body, response.getOutputStream(), column, zone);
     }
 
     // ------------------------------------------------------------
     // 02. BMI CALCULATOR
     // ------------------------------------------------------------
     @GetMapping("/bmi/{weight}/{height}")
-    public Map<String, Object> bmi(@PathVariable double weight, @PathVariable double height) {
-        // Service now returns a Map with category info
+    public BmiResponse bmi(@PathVariable double weight, @PathVariable double height) {
         return service.calculateBMI(weight, height);
     }
 
@@ -35,7 +85,7 @@ public class UtilityController {
     // 03. EMI CALCULATOR
     // ------------------------------------------------------------
     @GetMapping("/emi/{amount}/{rate}/{years}")
-    public Map<String, Object> emi(
+    public EmiResponse emi(
             @PathVariable double amount,
             @PathVariable double rate,
             @PathVariable int years
@@ -43,18 +93,67 @@ public class UtilityController {
         return service.calculateEMI(amount, rate, years);
     }
 
+    // Month-by-month schedule, with optional prepayments and rate changes
+    // URL: http://localhost:8080/api/emi/schedule (add ?format=ndjson or ?format=csv to stream the rows)
+    // body: {"amount": 500000, "rate": 8, "years": 20, "prepayments": [{"month": 12, "amount": 50000}],
+    //        "rateChanges": [{"month": 37, "rate": 9.25}]}
+    @PostMapping("/emi/schedule")
+    public EmiScheduleResponse emiSchedule(
+            @RequestBody LoanRequest body,
+            @RequestParam(defaultValue = "json") String format
+    ) {
+        if (!format.equals("json")) {
+            throw new InvalidInputException("format must be json, ndjson or csv");
+        }
+        return service.emiSchedule(body);
+    }
+
+    @PostMapping(value = "/emi/schedule", params = "format=ndjson")
+    public ResponseEntity<StreamingResponseBody> emiScheduleNdjson(@RequestBody LoanRequest body) {
+        service.checkLoan(body);
+        return ResponseEntity.ok()
+                .contentType(NdjsonWriter.MEDIA_TYPE)
+                .body(out -> service.streamEmiSchedule(body, out));
+    }
+
+    @PostMapping(value = "/emi/schedule", params = "format=csv")
+    public ResponseEntity<StreamingResponseBody> emiScheduleCsv(@RequestBody LoanRequest body) {
+        service.checkLoan(body);
+        return ResponseEntity.ok()
+                .contentType(TEXT_CSV)
+                .body(out -> service.writeEmiScheduleCsv(body, out));
+    }
+
+    // Same rows as Server-Sent Events, one "row" event per month, sent while they are computed
+    // URL: http://localhost:8080/api/emi/schedule/events (same body)
+    @PostMapping(value = "/emi/schedule/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<StreamingResponseBody> emiScheduleEvents(
+            @RequestBody LoanRequest body,
+            @RequestHeader(value = LAST_EVENT_ID, defaultValue = "-1") long lastEventId
+    ) {
+        service.checkLoan(body);
+        return events(lastEventId, stream -> service.streamEmiScheduleEvents(body, stream));
+    }
+
+    // Amortizes many loans (JSON array or NDJSON of the body above) and returns month-by-month totals
+    // URL: http://localhost:8080/api/emi/portfolio
+    @PostMapping(value = "/emi/portfolio", consumes = {MediaType.APPLICATION_JSON_VALUE, NdjsonWriter.MEDIA_TYPE_VALUE})
+    public PortfolioResponse emiPortfolio(InputStream body) throws IOException {
+        return service.emiPortfolio(body);
+    }
+
     // ------------------------------------------------------------
     // 04. CELSIUS TO FAHRENHEIT
     // ------------------------------------------------------------
     @GetMapping("/convert/celsius/{c}")
-    public Map<String, Object> celsiusToF(@PathVariable double c) {
+    public CelsiusResponse celsiusToF(@PathVariable double c) {
         return service.celsiusToFahrenheit(c);
     }
     // ------------------------------------------------------------
     // 05. PASSWORD STRENGTH CHECKER
     // ------------------------------------------------------------
     @GetMapping("/password/{text}")
-    public Map<String, Object> password(@PathVariable String text) {
+    public PasswordStrengthResponse password(@PathVariable String text) {
         return service.passwordStrength(text);
     }
 
@@ -62,40 +161,116 @@ public class UtilityController {
     // 06. FIBONACCI SEQUENCE GENERATOR
     // ------------------------------------------------------------
     @GetMapping("/fibonacci/{n}")
-    public Map<String, Object> fibonacci(@PathVariable int n) {
-        return service.generate(n);
+    public FibonacciSequenceResponse fibonacci(@PathVariable int n) {
+        return compute.call(() -> service.generate(n));
+    }
+
+    // URL: http://localhost:8080/api/fibonacci/5000/stream (NDJSON, one term per line)
+    @GetMapping(value = "/fibonacci/{n}/stream", produces = NdjsonWriter.MEDIA_TYPE_VALUE)
+    public ResponseEntity<StreamingResponseBody> fibonacciStream(@PathVariable int n) {
+        service.checkSequenceLength(n);
+        return ResponseEntity.ok()
+                .contentType(NdjsonWriter.MEDIA_TYPE)
+                .body(out -> service.streamSequence(n, out));
+    }
+
+    // URL: http://localhost:8080/api/fibonacci/5000/events (Server-Sent Events, one "term" event per term)
+    @GetMapping(value = "/fibonacci/{n}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<StreamingResponseBody> fibonacciEvents(
+            @PathVariable int n,
+            @RequestHeader(value = LAST_EVENT_ID, defaultValue = "-1") long lastEventId
+    ) {
+        service.checkSequenceLength(n);
+        return events(lastEventId, stream -> service.streamSequenceEvents(n, stream));
+    }
+
+    // URL: http://localhost:8080/api/fibonacci/nth/100000 (just F(n), as a decimal string)
+    @GetMapping("/fibonacci/nth/{n}")
+    public FibonacciNthResponse nthFibonacci(@PathVariable int n) {
+        return compute.call(() -> service.nthFibonacci(n));
     }
 
     // ------------------------------------------------------------
     // 07. PALINDROME CHECKER
     // ------------------------------------------------------------
     @GetMapping("/palindrome/{value}")
-    public Map<String, Object> palindrome(@PathVariable String value) {
+    public PalindromeResponse palindrome(@PathVariable String value) {
         return service.check(value);
     }
 
+    // Any amount of UTF-8 text as the request body, checked while it streams in;
+    // ?longest=false skips the longest-palindrome search
+    // URL: http://localhost:8080/api/text/palindrome
+    @PostMapping(value = "/text/palindrome", consumes = {MediaType.TEXT_PLAIN_VALUE, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public TextPalindromeResponse palindromeText(InputStream body,
+                                                 @RequestParam(defaultValue = "true") boolean longest) throws IOException {
+        return service.checkText(body, longest);
+    }
+
     // ------------------------------------------------------------
     // 08. PRIME NUMBER CHECKER
     // ------------------------------------------------------------
     @GetMapping("/prime/{number}")
-    public Map<String, Object> checkPrime(@PathVariable int number) {
-        return service.checkPrime(number);
+    public PrimeCheckResponse checkPrime(@PathVariable int number) {
+        return compute.call(() -> service.checkPrime(number));
+    }
+
+    // URL: http://localhost:8080/api/primes/count?from=1&to=1000000000
+    @GetMapping("/primes/count")
+    public PrimeCountResponse countPrimes(@RequestParam long from, @RequestParam long to) {
+        return compute.call(() -> service.countPrimes(from, to));
+    }
+
+    // URL: http://localhost:8080/api/primes?from=1&to=1000000&limit=1000&after={nextCursor of the previous page}
+    @GetMapping("/primes")
+    public PrimePageResponse listPrimes(
+            @RequestParam long from,
+            @RequestParam long to,
+            @RequestParam(defaultValue = "-1") long after,
+            @RequestParam(defaultValue = "" + UtilityService.DEFAULT_PRIMES_PAGE_SIZE) int limit
+    ) {
+        return compute.call(() -> service.listPrimes(from, to, after, limit));
+    }
+
+    // The whole range as Server-Sent Events, no paging: "primes" events of up to app.streams.batch-size
+    // URL: http://localhost:8080/api/primes/events?from=1&to=1000000000
+    @GetMapping(value = "/primes/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<StreamingResponseBody> primeEvents(
+            @RequestParam long from,
+            @RequestParam long to,
+            @RequestHeader(value = LAST_EVENT_ID, defaultValue = "-1") long lastEventId
+    ) {
+        service.checkPrimeRange(from, to);
+        return events(lastEventId, stream -> service.streamPrimeEvents(from, to, stream));
     }
 
     // ------------------------------------------------------------
     // 09. NUMBER TO WORD CONVERTER
     // ------------------------------------------------------------
+    // URL: http://localhost:8080/api/words/1234567?locale=en-IN (locale: en, en-IN or bn; default en)
     @GetMapping("/words/{number}")
-    public Map<String, Object> convertNumberToWords(@PathVariable long number) {
-        return service.convertNumberToWords(number);
+    public WordsResponse convertNumberToWords(
+            @PathVariable long number,
+            @RequestParam(defaultValue = NumberToWords.DEFAULT_LOCALE) String locale
+    ) {
+        return service.convertNumberToWords(number, locale);
+    }
+
+    // URL: http://localhost:8080/api/words/amount/1500.50?locale=bn (rounded to two decimals)
+    @GetMapping("/words/amount/{amount}")
+    public AmountWordsResponse convertAmountToWords(
+            @PathVariable BigDecimal amount,
+            @RequestParam(defaultValue = NumberToWords.DEFAULT_LOCALE) String locale
+    ) {
+        return service.convertAmountToWords(amount, locale);
     }
 
     // ------------------------------------------------------------
     // 10. GET DETAILED DATE AND TIME
     // ------------------------------------------------------------
     @GetMapping("/datetime")
-    public Map<String, Object> getDateTimeDetailed() {
-        return service.getDateTimeDetailed();
+    public DateTimeResponse getDateTimeDetailed(@RequestParam(required = false) String zone) {
+        return service.getDateTimeDetailed(zone);
     }
 
     // ------------------------------------------------------------
@@ -109,41 +284,140 @@ public class UtilityController {
         return service.addUser(body);
     }
 
-    // GET Request: To read all data
-    // URL: http://localhost:8080/api/users
+    // POST Request: To create many users at once from a JSON array or NDJSON (one user per line)
+    // URL: http://localhost:8080/api/users/bulk?batchSize=1000
+    @PostMapping(value = "/users/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, NdjsonWriter.MEDIA_TYPE_VALUE})
+    public BulkUsersResponse createUsers(
+            InputStream body,
+            @RequestParam(defaultValue = "" + UtilityService.DEFAULT_BULK_BATCH_SIZE) int batchSize
+    ) throws IOException {
+        return service.addUsers(body, batchSize);
+    }
+
+    // GET Request: To read data one page at a time, optionally filtered by indexed fields
+    // URL: http://localhost:8080/api/users?limit=100&after={nextCursor of the previous page}
+    // URL: http://localhost:8080/api/users?email=someone@example.com
+    // URL: http://localhost:8080/api/users?age.gte=18&age.lt=30
     @GetMapping("/users")
-    public Object getUsers() {
-        return service.getAllUsers();
+    public UsersPageResponse getUsers(
+            @RequestParam(defaultValue = "-1") long after,
+            @RequestParam(defaultValue = "" + UtilityService.DEFAULT_USERS_PAGE_SIZE) int limit,
+            @RequestParam Map<String, String> filters
+    ) {
+        return service.getUsersPage(after, limit, filters);
+    }
+
+    // GET Request: To stream all data as NDJSON (one user per line, flat memory)
+    // URL: http://localhost:8080/api/users/stream
+    @GetMapping(value = "/users/stream", produces = NdjsonWriter.MEDIA_TYPE_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamUsers() {
+        return ResponseEntity.ok()
+                .contentType(NdjsonWriter.MEDIA_TYPE)
+                .body(service::streamUsers);
     }
 
-    // GET Request: Get a single user by ID (Index)
-    // URL: http://localhost:8080/api/users/{index}
-    @GetMapping("/users/{index}")
-    public Object getUser(@PathVariable int index) {
-        Map<String, Object> user = service.getUser(index);
+    // GET Request: Get a single user by ID
+    // URL: http://localhost:8080/api/users/{id}
+    @GetMapping("/users/{id}")
+    public Object getUser(@PathVariable long id) {
+        Map<String, Object> user = service.getUser(id);
 
         if (user != null) {
             return user;
         } else {
             // Return a simple error message if not found
-            return Map.of("error", "User not found with ID: " + index);
+            return Map.of("error", "User not found with ID: " + id);
         }
     }
 
     // PUT Request: To update data
-    // URL: http://localhost:8080/api/users/{index}
-    @PutMapping("/users/{index}")
-    public String updateUser(@PathVariable int index, @RequestBody Map<String, Object> body) {
-        return service.updateUser(index, body);
+    // URL: http://localhost:8080/api/users/{id}
+    @PutMapping("/users/{id}")
+    public String updateUser(@PathVariable long id, @RequestBody Map<String, Object> body) {
+        return service.updateUser(id, body);
     }
 
     // DELETE Request: To delete data
-    // URL: http://localhost:8080/api/users/{index}
-    @DeleteMapping("/users/{index}")
-    public String deleteUser(@PathVariable int index) {
-        return service.deleteUser(index);
+    // URL: http://localhost:8080/api/users/{id}
+    @DeleteMapping("/users/{id}")
+    public String deleteUser(@PathVariable long id) {
+        return service.deleteUser(id);
     }
 
-}
+    // ------------------------------------------------------------
+    // 12. BATCH CALCULATORS
+    // ------------------------------------------------------------
 
+    // One request for many inputs; every field is an array and result i belongs to input i
+    // URL: http://localhost:8080/api/batch/bmi  body: {"weight": [70, 82.5], "height": [1.75, 1.8]}
+    @PostMapping("/batch/bmi")
+    public BmiBatchResponse bmiBatch(@RequestBody BmiBatchRequest body) {
+        return compute.call(() -> service.calculateBMIBatch(body));
+    }
+
+    // URL: http://localhost:8080/api/batch/emi  body: {"amount": [500000], "rate": [7.5], "years": [20]}
+    @PostMapping("/batch/emi")
+    public EmiBatchResponse emiBatch(@RequestBody EmiBatchRequest body) {
+        return compute.call(() -> service.calculateEMIBatch(body));
+    }
+
+    // URL: http://localhost:8080/api/batch/celsius  body: {"celsius": [-40, 0, 37]}
+    @PostMapping("/batch/celsius")
+    public CelsiusBatchResponse celsiusBatch(@RequestBody CelsiusBatchRequest body) {
+        return compute.call(() -> service.celsiusToFahrenheitBatch(body));
+    }
 
+    // URL: http://localhost:8080/api/batch/words  body: {"number": [1500, 42], "locale": "en-IN"}
+    @PostMapping("/batch/words")
+    public WordsBatchResponse wordsBatch(@RequestBody WordsBatchRequest body) {
+        return compute.call(() -> service.convertNumberToWordsBatch(body));
+    }
+
+    // ------------------------------------------------------------
+    // 13. STREAMS (Server-Sent Events)
+    // ------------------------------------------------------------
+
+    // Stops a running stream: its producer ends at the next event and the stream closes with "stopped"
+    // URL: http://localhost:8080/api/streams/{id from the "started" event}
+    @DeleteMapping("/streams/{id}")
+    public ResponseEntity<byte[]> cancelStream(@PathVariable String id) {
+        if (!streams.cancel(id)) return ApiProblem.NOT_FOUND.response("No running stream " + id);
+        return ResponseEntity.noContent().build();
+    }
+
+    // The producer runs on the MVC async thread and writes as it computes, so a slow reader slows it down
+    private ResponseEntity<StreamingResponseBody> events(long lastEventId, EventStreams.Producer producer) {
+        EventStream stream = streams.open(lastEventId);
+        return ResponseEntity.ok()
+                .contentType(MediaType.TEXT_EVENT_STREAM)
+                .cacheControl(CacheControl.noStore())
+                .body(out -> streams.run(stream, out, producer));
+    }
+
+    // ------------------------------------------------------------
+    // 14. BACKGROUND JOBS
+    // ------------------------------------------------------------
+
+    // Queues the computation and answers 202 at once, with the job's URL in Location
+    // URL: http://localhost:8080/api/jobs/fibonacci     body: {"n": 5000000}
+    //      http://localhost:8080/api/jobs/prime-count   body: {"from": 0, "to": 4000000000}
+    //      http://localhost:8080/api/jobs/batch-emi     body: {"amount": [...], "rate": [...], "years": [...]}
+    @PostMapping("/jobs/{operation}")
+    public ResponseEntity<JobResponse> submitJob(
+            @PathVariable String operation,
+            @RequestBody(required = false) JsonNode parameters
+    ) {
+        JobResponse job = jobs.submit(operation, parameters);
+        return ResponseEntity.accepted().location(URI.create("/api/jobs/" + job.id())).body(job);
+    }
+
+    // Status and progress; the result is included once the job has SUCCEEDED. JSON only, since the
+    // result is stored as JSON and inserted as is
+    // URL: http://localhost:8080/api/jobs/{id}
+    @GetMapping(value = "/jobs/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> job(@PathVariable String id) throws IOException {
+        JobResponse job = jobs.status(id);
+        if (job == null) return ApiProblem.NOT_FOUND.response("No job " + id + " (unknown, or finished too long ago)");
+        return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(job);
+    }
+}
@@ -0,0 +1,9 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.dto;
+
+// Input for POST /api/age/batch: dates of birth as yyyy-MM-dd; zone is optional (default app.dates.default-zone)
+public record AgeBatchRequest(String[] dob, String zone) {
+
+    public AgeBatchRequest(String[] dob) {
+        this(dob, null);
+    }
+}
@@ -0,0 +1,20 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.dto;
+
+import java.util.List;
+
+/**
+ * Columnar output of POST /api/age/batch: entry i of every array belongs to
+ * input i. Rejected dates get 0 in every column and are listed in
+ * rejectedDetails (up to the first 100).
+ */
+public record AgeBatchResponse(
+        int count,
+        String today,
+        String zone,
+        int[] years,
+        int[] months,
+        int[] days,
+        long rejected,
+        List<RejectedInput> rejectedDetails
+) {
+}
@@ -0,0 +1,10 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+// GET /api/age/{dob}; the keys with spaces are what clients have always received
+public record AgeResponse(
+        @JsonProperty("your date of birth") String dateOfBirth,
+        @JsonProperty("your current age") String currentAge
+) {
+}
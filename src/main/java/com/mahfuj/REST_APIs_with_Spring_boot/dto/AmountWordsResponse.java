@@ -0,0 +1,13 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.math.BigDecimal;
+
+// GET /api/words/amount/{amount}; formatted always has two decimals
+public record AmountWordsResponse(
+        @JsonProperty("input_amount") BigDecimal inputAmount,
+        String formatted,
+        @JsonProperty("in_words") String inWords
+) {
+}
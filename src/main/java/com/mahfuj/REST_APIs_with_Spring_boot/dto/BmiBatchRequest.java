@@ -0,0 +1,5 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.dto;
+
+// Columnar input for POST /api/batch/bmi: weight[i] and height[i] describe person i
+public record BmiBatchRequest(double[] weight, double[] height) {
+}
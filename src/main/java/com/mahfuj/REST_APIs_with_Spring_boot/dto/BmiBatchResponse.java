@@ -0,0 +1,5 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.dto;
+
+// Columnar output of POST /api/batch/bmi: result i belongs to input i
+public record BmiBatchResponse(int count, double[] bmiScore, String[] category) {
+}
@@ -0,0 +1,5 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.dto;
+
+// GET /api/bmi/{weight}/{height}
+public record BmiResponse(double inputWeight, double inputHeight, double bmiScore, String category) {
+}
@@ -0,0 +1,19 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+// POST /api/users/bulk; error is only present when the upload was cut short by malformed JSON
+public record BulkUsersResponse(
+        long accepted,
+        long rejected,
+        int totalUsers,
+        List<Batch> batches,
+        List<RejectedInput> rejectedDetails,
+        @JsonInclude(JsonInclude.Include.NON_NULL) String error
+) {
+
+    public record Batch(int batch, int accepted, long rejected) {
+    }
+}
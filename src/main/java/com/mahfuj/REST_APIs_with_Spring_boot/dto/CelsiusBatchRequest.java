@@ -0,0 +1,5 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.dto;
+
+// Input for POST /api/batch/celsius
+public record CelsiusBatchRequest(double[] celsius) {
+}
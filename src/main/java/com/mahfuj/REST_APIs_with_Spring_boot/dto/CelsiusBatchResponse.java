@@ -0,0 +1,5 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.dto;
+
+// Columnar output of POST /api/batch/celsius
+public record CelsiusBatchResponse(int count, double[] fahrenheit) {
+}
@@ -0,0 +1,5 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.dto;
+
+// GET /api/convert/celsius/{c}
+public record CelsiusResponse(double celsius, double fahrenheit, String formula) {
+}
@@ -0,0 +1,16 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+// GET /api/datetime
+public record DateTimeResponse(
+        @JsonProperty("iso_timestamp") String isoTimestamp,
+        @JsonProperty("date_readable") String dateReadable,
+        @JsonProperty("time_readable") String timeReadable,
+        @JsonProperty("day_of_week") String dayOfWeek,
+        @JsonProperty("day_of_year") int dayOfYear,
+        String month,
+        int year,
+        String timezone
+) {
+}
@@ -0,0 +1,5 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.dto;
+
+// Columnar input for POST /api/batch/emi: one loan per index
+public record EmiBatchRequest(double[] amount, double[] rate, int[] years) {
+}
@@ -0,0 +1,11 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.dto;
+
+// Columnar output of POST /api/batch/emi
+public record EmiBatchResponse(
+        int count,
+        double[] monthlyEMI,
+        double[] totalAmountPaid,
+        double[] totalInterestPaid,
+        int[] loanTermMonths
+) {
+}
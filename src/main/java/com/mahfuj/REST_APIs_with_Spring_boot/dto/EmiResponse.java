@@ -0,0 +1,5 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.dto;
+
+// GET /api/emi/{amount}/{rate}/{years}
+public record EmiResponse(double monthlyEMI, double totalAmountPaid, double totalInterestPaid, int loanTermMonths) {
+}
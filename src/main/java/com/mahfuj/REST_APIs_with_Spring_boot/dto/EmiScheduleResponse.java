@@ -0,0 +1,18 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.dto;
+
+import java.util.List;
+
+// POST /api/emi/schedule; a Row is also one line of the NDJSON variant
+public record EmiScheduleResponse(
+        double monthlyEMI,
+        int loanTermMonths,
+        int paidOffInMonths,
+        double totalAmountPaid,
+        double totalInterestPaid,
+        double totalPrepaid,
+        List<Row> schedule
+) {
+
+    public record Row(int month, double payment, double principal, double interest, double prepayment, double balance) {
+    }
+}
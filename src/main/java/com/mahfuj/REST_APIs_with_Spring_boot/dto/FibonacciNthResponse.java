@@ -0,0 +1,5 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.dto;
+
+// GET /api/fibonacci/nth/{n}; the value is a string so clients don't lose precision
+public record FibonacciNthResponse(int n, int digits, String value) {
+}
@@ -0,0 +1,19 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.math.BigInteger;
+import java.util.List;
+
+// GET /api/fibonacci/{n}: the sequence, or only an error for n <= 0
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record FibonacciSequenceResponse(List<BigInteger> sequence, String error) {
+
+    public static FibonacciSequenceResponse of(List<BigInteger> sequence) {
+        return new FibonacciSequenceResponse(sequence, null);
+    }
+
+    public static FibonacciSequenceResponse error(String error) {
+        return new FibonacciSequenceResponse(null, error);
+    }
+}
@@ -0,0 +1,25 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.time.Instant;
+
+// POST /api/jobs/{operation} and GET /api/jobs/{id}; result is the operation's usual response, once SUCCEEDED
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record JobResponse(
+        String id,
+        String operation,
+        String status,
+        int priority,
+        Progress progress,
+        Instant submittedAt,
+        Instant startedAt,
+        Instant finishedAt,
+        String error,
+        @JsonRawValue String result
+) {
+    // total is in the operation's own units (bits of n, sieve segments); 0 until it is known
+    public record Progress(long done, long total, double percent) {
+    }
+}
@@ -0,0 +1,31 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.dto;
+
+import java.util.List;
+
+/**
+ * One loan for the amortization schedule and portfolio endpoints.
+ *
+ * @param amount      principal borrowed
+ * @param rate        yearly interest rate in percent, e.g. 7.5
+ * @param years       original term
+ * @param prepayments extra principal paid on top of the installment in the given month (shortens the loan)
+ * @param rateChanges new yearly rate from the given month on (the installment is recomputed for the remaining term)
+ */
+public record LoanRequest(
+        double amount,
+        double rate,
+        int years,
+        List<Prepayment> prepayments,
+        List<RateChange> rateChanges
+) {
+
+    public LoanRequest(double amount, double rate, int years) {
+        this(amount, rate, years, List.of(), List.of());
+    }
+
+    public record Prepayment(int month, double amount) {
+    }
+
+    public record RateChange(int month, double rate) {
+    }
+}
@@ -0,0 +1,13 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+// GET /api/palindrome/{value}
+public record PalindromeResponse(
+        String value,
+        @JsonProperty("isPalindrome") boolean isPalindrome,
+        String processed,
+        String reverse,
+        int length
+) {
+}
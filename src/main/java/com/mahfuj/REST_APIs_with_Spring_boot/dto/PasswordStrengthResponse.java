@@ -0,0 +1,17 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+// GET /api/password/{text}: either the improvements or the message is present, never both
+public record PasswordStrengthResponse(
+        @JsonProperty("password_length") int passwordLength,
+        String score,
+        String strength,
+        @JsonProperty("entropy_bits") double entropyBits,
+        @JsonProperty("improvements_needed") @JsonInclude(JsonInclude.Include.NON_NULL) List<String> improvementsNeeded,
+        @JsonInclude(JsonInclude.Include.NON_NULL) String message
+) {
+}
@@ -0,0 +1,22 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.dto;
+
+import java.util.List;
+
+/**
+ * POST /api/emi/portfolio: totals over all accepted loans, plus the month-by-month
+ * sums as columns (entry i of every array belongs to month i + 1).
+ */
+public record PortfolioResponse(
+        long loans,
+        long rejected,
+        double totalPrincipal,
+        double totalInterestPaid,
+        double totalAmountPaid,
+        int months,
+        Monthly monthly,
+        List<RejectedInput> rejectedDetails
+) {
+
+    public record Monthly(int[] month, double[] payment, double[] principal, double[] interest, double[] balance) {
+    }
+}
@@ -0,0 +1,7 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+// GET /api/prime/{number}
+public record PrimeCheckResponse(long nextPrime, @JsonProperty("isPrime") boolean isPrime, int number) {
+}
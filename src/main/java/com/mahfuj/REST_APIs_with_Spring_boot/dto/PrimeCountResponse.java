@@ -0,0 +1,5 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.dto;
+
+// GET /api/primes/count
+public record PrimeCountResponse(long from, long to, long count) {
+}
@@ -0,0 +1,7 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.dto;
+
+import java.util.List;
+
+// GET /api/primes: one page; nextCursor is null on the last page
+public record PrimePageResponse(long from, long to, List<Long> primes, int count, Long nextCursor) {
+}
@@ -0,0 +1,5 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.dto;
+
+// One record of an upload that was skipped, by its position in the upload
+public record RejectedInput(long index, String reason) {
+}
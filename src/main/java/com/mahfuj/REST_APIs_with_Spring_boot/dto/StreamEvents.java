@@ -0,0 +1,24 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.dto;
+
+// Data of the events that frame a Server-Sent Events stream, and of the batched prime events
+public final class StreamEvents {
+
+    private StreamEvents() {
+    }
+
+    // First event: where to DELETE to stop the stream
+    public record Started(String id, String cancel) {
+    }
+
+    // Last event of a stream that ran to the end
+    public record Ended(long events) {
+    }
+
+    // Last event of a stream that was cancelled or failed; detail says why
+    public record Stopped(long events, String detail) {
+    }
+
+    // GET /api/primes as a stream: the next primes of the range, in ascending order
+    public record Primes(int count, long[] primes) {
+    }
+}
@@ -0,0 +1,23 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+// POST /api/text/palindrome
+public record TextPalindromeResponse(
+        long characters,
+        long compared,
+        @JsonProperty("isPalindrome") boolean isPalindrome,
+        boolean spilled,
+        @JsonInclude(JsonInclude.Include.NON_NULL) Longest longest
+) {
+
+    // start and length count compared characters; value is left out past MAX_VALUE_LENGTH
+    public record Longest(
+            long start,
+            int length,
+            @JsonInclude(JsonInclude.Include.NON_NULL) String value
+    ) {
+        public static final int MAX_VALUE_LENGTH = 1000;
+    }
+}
@@ -0,0 +1,11 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.dto;
+
+import java.util.List;
+import java.util.Map;
+
+// GET /api/users: one page; an Entry is also one line of /api/users/stream
+public record UsersPageResponse(List<Entry> users, int count, Long nextCursor) {
+
+    public record Entry(long id, Map<String, Object> user) {
+    }
+}
@@ -0,0 +1,9 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.dto;
+
+// Input for POST /api/batch/words; locale is optional (en, en-IN or bn, default en)
+public record WordsBatchRequest(long[] number, String locale) {
+
+    public WordsBatchRequest(long[] number) {
+        this(number, null);
+    }
+}
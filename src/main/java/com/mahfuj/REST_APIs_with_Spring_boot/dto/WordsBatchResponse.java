@@ -0,0 +1,7 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+// Columnar output of POST /api/batch/words
+public record WordsBatchResponse(int count, String[] formatted, @JsonProperty("in_words") String[] inWords) {
+}
@@ -0,0 +1,11 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+// GET /api/words/{number}
+public record WordsResponse(
+        @JsonProperty("input_number") long inputNumber,
+        String formatted,
+        @JsonProperty("in_words") String inWords
+) {
+}
@@ -0,0 +1,86 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.exception;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The kinds of error the API answers with, as RFC 7807 problem documents
+ * ({@code application/problem+json}):
+ * <pre>
+ * {"type":"/problems/invalid-parameter","title":"Invalid parameter","status":400,"detail":"..."}
+ * </pre>
+ * Everything but the detail is fixed per kind, so it is serialized once into
+ * byte fragments; an error response is then two array copies around the
+ * escaped detail, with no object mapper, map or timestamp involved. There is
+ * no {@code instance} member, which keeps the bodies independent of the request.
+ */
+public enum ApiProblem {
+
+    INVALID_PARAMETER(HttpStatus.BAD_REQUEST, "invalid-parameter", "Invalid parameter"),
+    MISSING_PARAMETER(HttpStatus.BAD_REQUEST, "missing-parameter", "Missing parameter"),
+    MALFORMED_BODY(HttpStatus.BAD_REQUEST, "malformed-body", "Malformed request body"),
+    VALIDATION_FAILED(HttpStatus.BAD_REQUEST, "validation-failed", "Validation failed"),
+    INVALID_INPUT(HttpStatus.BAD_REQUEST, "invalid-input", "Invalid input"),
+    NOT_FOUND(HttpStatus.NOT_FOUND, "not-found", "Not found"),
+    METHOD_NOT_ALLOWED(HttpStatus.METHOD_NOT_ALLOWED, "method-not-allowed", "Method not allowed"),
+    RATE_LIMITED(HttpStatus.TOO_MANY_REQUESTS, "rate-limited", "Rate limit exceeded"),
+    TOO_MANY_REJECTIONS(HttpStatus.TOO_MANY_REQUESTS, "too-many-rejections", "Too many rejected requests"),
+    OVERLOADED(HttpStatus.SERVICE_UNAVAILABLE, "overloaded", "Server busy"),
+    INTERNAL_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, "internal-error", "Internal server error");
+
+    public static final MediaType MEDIA_TYPE = MediaType.APPLICATION_PROBLEM_JSON;
+
+    private static final byte[] DETAIL_END = "\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final HttpStatus status;
+    private final String type;
+    private final byte[] head;     // {"type":...,"status":400,"detail":"
+    private final byte[] noDetail; // the whole body when there is nothing to add
+
+    ApiProblem(HttpStatus status, String slug, String title) {
+        this.status = status;
+        this.type = "/problems/" + slug;
+        String fixed = "{\"type\":\"" + type + "\",\"title\":\"" + title + "\",\"status\":" + status.value();
+        this.head = (fixed + ",\"detail\":\"").getBytes(StandardCharsets.UTF_8);
+        this.noDetail = (fixed + "}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    public HttpStatus status() {
+        return status;
+    }
+
+    public String type() {
+        return type;
+    }
+
+    // The problem document; a null detail leaves the member out
+    public byte[] body(String detail) {
+        if (detail == null) return noDetail;
+        byte[] escaped = JsonStringEncoder.getInstance().quoteAsUTF8(detail);
+        byte[] body = new byte[head.length + escaped.length + DETAIL_END.length];
+        System.arraycopy(head, 0, body, 0, head.length);
+        System.arraycopy(escaped, 0, body, head.length, escaped.length);
+        System.arraycopy(DETAIL_END, 0, body, head.length + escaped.length, DETAIL_END.length);
+        return body;
+    }
+
+    // For exception handlers; the preset content type skips content negotiation
+    public ResponseEntity<byte[]> response(String detail) {
+        return ResponseEntity.status(status).contentType(MEDIA_TYPE).body(body(detail));
+    }
+
+    // For filters that answer before the request reaches Spring MVC
+    public void write(HttpServletResponse response, String detail) throws IOException {
+        byte[] body = body(detail);
+        response.setStatus(status.value());
+        response.setContentType(MEDIA_TYPE.toString());
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+}
@@ -1,147 +1,192 @@
 package com.mahfuj.REST_APIs_with_Spring_boot.exception;
 
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.web.ErrorResponse;
 import org.springframework.web.HttpRequestMethodNotSupportedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.MissingPathVariableException;
 import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.async.AsyncRequestNotUsableException;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
-
-import java.time.LocalDateTime;
-import java.util.HashMap;
-import java.util.Map;
-
+import org.springframework.web.servlet.resource.NoResourceFoundException;
+
+import java.time.DateTimeException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+
+/**
+ * Every error is answered with an RFC 7807 problem document built from the
+ * pre-serialized fragments in {@link ApiProblem}. Client errors (4xx) are
+ * counted per client by the {@link RejectionTracker}; a client over its budget
+ * gets a bare 429 instead. Server errors are logged and never echo exception
+ * messages back.
+ */
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    private static final Logger log = LoggerFactory.getLogger(GlobalExceptionHandler.class);
+
+    private final RejectionTracker tracker;
+
+    public GlobalExceptionHandler(RejectionTracker tracker) {
+        this.tracker = tracker;
+    }
+
     // ------------------------------------------------------------
     // 1. HANDLE @Valid VALIDATION ERRORS (POST & PUT)
     // ------------------------------------------------------------
     @ExceptionHandler(MethodArgumentNotValidException.class)
-    public ResponseEntity<?> handleValidationErrors(MethodArgumentNotValidException ex) {
-
-        Map<String, Object> response = new HashMap<>();
-        Map<String, String> errors = new HashMap<>();
+    public ResponseEntity<byte[]> handleValidationErrors(MethodArgumentNotValidException ex, HttpServletRequest request) {
 
-        ex.getBindingResult().getFieldErrors()
-                .forEach(err -> errors.put(err.getField(), err.getDefaultMessage()));
+        String errors = ex.getBindingResult().getFieldErrors().stream()
+                .map(err -> err.getField() + ": " + err.getDefaultMessage())
+                .collect(Collectors.joining("; "));
 
-        response.put("timestamp", LocalDateTime.now());
-        response.put("status", HttpStatus.BAD_REQUEST.value());
-        response.put("errors", errors);
-
-        return ResponseEntity.badRequest().body(response);
+        return reject(request, ApiProblem.VALIDATION_FAILED, errors);
     }
 
     // ------------------------------------------------------------
     // 2. HANDLE WRONG DATA TYPE (e.g., /bmi/abc/1.75)
     // ------------------------------------------------------------
+    // Most of these are answered by PathVariableValidationFilter before binding; this covers query parameters
     @ExceptionHandler(MethodArgumentTypeMismatchException.class)
-    public ResponseEntity<?> handleTypeMismatch(MethodArgumentTypeMismatchException ex) {
+    public ResponseEntity<byte[]> handleTypeMismatch(MethodArgumentTypeMismatchException ex, HttpServletRequest request) {
 
-        Map<String, Object> body = new HashMap<>();
-        body.put("timestamp", LocalDateTime.now());
-        body.put("error", "Invalid value for parameter: " + ex.getName());
-        body.put("expectedType", ex.getRequiredType().getSimpleName());
+        String expected = ex.getRequiredType() == null ? "a different type" : ex.getRequiredType().getSimpleName();
+        return reject(request, ApiProblem.INVALID_PARAMETER,
+                "Invalid value for parameter '" + ex.getName() + "': expected " + expected);
+    }
 
-        return ResponseEntity.badRequest().body(body);
+    // Dates parsed by the controller (e.g. /age/31-12-1990)
+    @ExceptionHandler(DateTimeException.class)
+    public ResponseEntity<byte[]> handleInvalidDate(DateTimeException ex, HttpServletRequest request) {
+
+        return reject(request, ApiProblem.INVALID_PARAMETER, "Invalid date: expected yyyy-MM-dd");
     }
 
     // ------------------------------------------------------------
     // 3. HANDLE MISSING PATH VARIABLES (/:parameter missing)
     // ------------------------------------------------------------
     @ExceptionHandler(MissingPathVariableException.class)
-    public ResponseEntity<?> handleMissingPathVariable(MissingPathVariableException ex) {
-
-        Map<String, Object> body = new HashMap<>();
-        body.put("timestamp", LocalDateTime.now());
-        body.put("error", "Missing path variable: " + ex.getVariableName());
+    public ResponseEntity<byte[]> handleMissingPathVariable(MissingPathVariableException ex, HttpServletRequest request) {
 
-        return ResponseEntity.badRequest().body(body);
+        return reject(request, ApiProblem.MISSING_PARAMETER, "Missing path variable: " + ex.getVariableName());
     }
 
     // ------------------------------------------------------------
     // 4. HANDLE MISSING REQUEST PARAMETERS (e.g. ?id missing)
     // ------------------------------------------------------------
     @ExceptionHandler(MissingServletRequestParameterException.class)
-    public ResponseEntity<?> handleMissingRequestParam(MissingServletRequestParameterException ex) {
+    public ResponseEntity<byte[]> handleMissingRequestParam(MissingServletRequestParameterException ex, HttpServletRequest request) {
 
-        Map<String, Object> body = new HashMap<>();
-        body.put("timestamp", LocalDateTime.now());
-        body.put("error", "Missing required parameter: " + ex.getParameterName());
-
-        return ResponseEntity.badRequest().body(body);
+        return reject(request, ApiProblem.MISSING_PARAMETER, "Missing required parameter: " + ex.getParameterName());
     }
 
     // ------------------------------------------------------------
     // 5. HANDLE INVALID JSON (Malformed JSON)
     // ------------------------------------------------------------
     @ExceptionHandler(HttpMessageNotReadableException.class)
-    public ResponseEntity<?> handleInvalidJson(HttpMessageNotReadableException ex) {
-
-        Map<String, Object> body = new HashMap<>();
-        body.put("timestamp", LocalDateTime.now());
-        body.put("error", "Invalid or malformed JSON input");
+    public ResponseEntity<byte[]> handleInvalidJson(HttpMessageNotReadableException ex, HttpServletRequest request) {
 
-        return ResponseEntity.badRequest().body(body);
+        return reject(request, ApiProblem.MALFORMED_BODY, "Invalid or malformed JSON input");
     }
 
     // ------------------------------------------------------------
     // 6. HANDLE WRONG HTTP METHOD
     // ------------------------------------------------------------
     @ExceptionHandler(HttpRequestMethodNotSupportedException.class)
-    public ResponseEntity<?> handleMethodNotAllowed(HttpRequestMethodNotSupportedException ex) {
-
-        Map<String, Object> body = new HashMap<>();
-        body.put("timestamp", LocalDateTime.now());
-        body.put("error", "HTTP method not allowed");
-        body.put("allowedMethods", ex.getSupportedHttpMethods());
-
-        return ResponseEntity.status(HttpStatus.METHOD_NOT_ALLOWED).body(body);
+    public ResponseEntity<byte[]> handleMethodNotAllowed(HttpRequestMethodNotSupportedException ex, HttpServletRequest request) {
+
+        ResponseEntity<byte[]> response = reject(request, ApiProblem.METHOD_NOT_ALLOWED, "HTTP method not allowed");
+        // the allowed methods go where RFC 9110 puts them
+        return ResponseEntity.status(response.getStatusCode())
+                .headers(response.getHeaders())
+                .headers(ex.getHeaders())
+                .body(response.getBody());
     }
 
     // ------------------------------------------------------------
     // 7. HANDLE ILLEGAL ARGUMENTS (Custom validation)
     // ------------------------------------------------------------
+    // The services throw the stackless InvalidInputException, so this path no longer walks the stack
     @ExceptionHandler(IllegalArgumentException.class)
-    public ResponseEntity<?> handleIllegalArgument(IllegalArgumentException ex) {
+    public ResponseEntity<byte[]> handleIllegalArgument(IllegalArgumentException ex, HttpServletRequest request) {
 
-        Map<String, Object> body = new HashMap<>();
-        body.put("timestamp", LocalDateTime.now());
-        body.put("error", ex.getMessage());
-
-        return ResponseEntity.badRequest().body(body);
+        return reject(request, ApiProblem.INVALID_INPUT, ex.getMessage());
     }
 
     // ------------------------------------------------------------
     // 8. HANDLE NULL POINTER
     // ------------------------------------------------------------
     @ExceptionHandler(NullPointerException.class)
-    public ResponseEntity<?> handleNullPointer(NullPointerException ex) {
+    public ResponseEntity<byte[]> handleNullPointer(NullPointerException ex, HttpServletRequest request) {
 
-        Map<String, Object> body = new HashMap<>();
-        body.put("timestamp", LocalDateTime.now());
-        body.put("error", "A required object was null");
-        body.put("details", ex.getMessage());
+        log.error("{} {} failed", request.getMethod(), request.getRequestURI(), ex);
+        return ApiProblem.INTERNAL_ERROR.response("A required object was null");
+    }
 
-        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(body);
+    // ------------------------------------------------------------
+    // 9. HANDLE OVERLOAD (compute queue full)
+    // ------------------------------------------------------------
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<byte[]> handleRejected(RejectedExecutionException ex) {
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .contentType(ApiProblem.MEDIA_TYPE)
+                .body(ApiProblem.OVERLOADED.body(ex.getMessage()));
+    }
+
+    // ------------------------------------------------------------
+    // 10. HANDLE UNKNOWN PATHS (outside /api, which the validation filter covers)
+    // ------------------------------------------------------------
+    @ExceptionHandler(NoResourceFoundException.class)
+    public ResponseEntity<byte[]> handleNotFound(NoResourceFoundException ex, HttpServletRequest request) {
+
+        return reject(request, ApiProblem.NOT_FOUND, "No endpoint at this path");
     }
 
     // ------------------------------------------------------------
-    // 9. CATCH-ALL: HANDLE ANY OTHER EXCEPTION
+    // 11. HANDLE CLIENTS THAT WENT AWAY (mid-stream)
+    // ------------------------------------------------------------
+    // The connection is gone, so there is no one to answer; the stream has already counted it
+    @ExceptionHandler(AsyncRequestNotUsableException.class)
+    public void handleDisconnected() {
+    }
+
+    // ------------------------------------------------------------
+    // 12. CATCH-ALL: HANDLE ANY OTHER EXCEPTION
     // ------------------------------------------------------------
     @ExceptionHandler(Exception.class)
-    public ResponseEntity<?> handleGeneralException(Exception ex) {
+    public ResponseEntity<?> handleGeneralException(Exception ex, HttpServletRequest request) {
 
-        Map<String, Object> body = new HashMap<>();
-        body.put("timestamp", LocalDateTime.now());
-        body.put("error", "Unexpected error occurred");
-        body.put("details", ex.getMessage());
+        // Spring's own errors (415, 406, ...) already know their status and carry a ProblemDetail
+        if (ex instanceof ErrorResponse error && error.getStatusCode().is4xxClientError()) {
+            if (tracker.reject(RejectionTracker.clientOf(request), ApiProblem.INVALID_INPUT)) return throttled();
+            return ResponseEntity.status(error.getStatusCode()).headers(error.getHeaders()).body(error.getBody());
+        }
+
+        log.error("{} {} failed", request.getMethod(), request.getRequestURI(), ex);
+        return ApiProblem.INTERNAL_ERROR.response("Unexpected error occurred");
+    }
+
+    // A client error, unless the client has had too many this second
+    private ResponseEntity<byte[]> reject(HttpServletRequest request, ApiProblem problem, String detail) {
+        return tracker.reject(RejectionTracker.clientOf(request), problem) ? throttled() : problem.response(detail);
+    }
 
-        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(body);
+    private static ResponseEntity<byte[]> throttled() {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .contentType(ApiProblem.MEDIA_TYPE)
+                .body(ApiProblem.TOO_MANY_REJECTIONS.body(null));
     }
 }
@@ -0,0 +1,20 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.exception;
+
+/**
+ * A request value the service refuses (out of range, inconsistent, ...); answered with 400.
+ * <p>
+ * It is thrown for bad input, never for bugs, so the stack trace would only be
+ * thrown away: it is not captured, which makes a flood of bad requests much
+ * cheaper to turn away.
+ */
+public class InvalidInputException extends IllegalArgumentException {
+
+    public InvalidInputException(String message) {
+        super(message);
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -0,0 +1,139 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.exception;
+
+import com.mahfuj.REST_APIs_with_Spring_boot.config.RejectionProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts error responses per client and tells when a client has had its share.
+ * <p>
+ * Each client has a one-second window packed into a single {@code AtomicLong}
+ * (epoch second in the high bits, count in the low 20), so counting is one CAS
+ * and needs no lock. A client past {@code perClientPerSecond} gets a bare 429
+ * for the rest of that second instead of a full error response. The table is
+ * bounded: when it is full, clients idle for {@code idleAfter} are swept out,
+ * and if none are, new clients are only counted in the totals.
+ * <p>
+ * Totals per problem type are in {@code http.rejections}; the busiest clients
+ * are listed by {@code /actuator/rejections}.
+ */
+public class RejectionTracker {
+
+    private static final int COUNT_BITS = 20;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+    private final int perSecond;
+    private final int maxClients;
+    private final long idleMillis;
+    private final Clock clock;
+
+    private final ConcurrentHashMap<String, ClientRejections> clients = new ConcurrentHashMap<>();
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+    private final Map<ApiProblem, Counter> rejected = new EnumMap<>(ApiProblem.class);
+    private final Counter throttled;
+
+    public RejectionTracker(RejectionProperties properties, MeterRegistry registry, Clock clock) {
+        this.perSecond = properties.perClientPerSecond();
+        this.maxClients = properties.maxTrackedClients();
+        this.idleMillis = properties.idleAfter().toMillis();
+        this.clock = clock;
+
+        for (ApiProblem problem : ApiProblem.values()) {
+            rejected.put(problem, Counter.builder("http.rejections").tag("type", problem.type()).register(registry));
+        }
+        this.throttled = Counter.builder("http.rejections.throttled").register(registry);
+        Gauge.builder("http.rejections.clients", clients, Map::size).register(registry);
+    }
+
+    public static String clientOf(HttpServletRequest request) {
+        return request.getRemoteAddr();
+    }
+
+    // Counts an error response for the client; true when it is over its budget and should get a bare 429
+    public boolean reject(String client, ApiProblem problem) {
+        rejected.get(problem).increment();
+        long now = clock.millis();
+        ClientRejections rejections = lookup(client, now);
+        if (rejections == null) return false;
+
+        rejections.total.increment();
+        rejections.lastSeen = now;
+        if (rejections.countInSecond(now / 1000) <= perSecond) return false;
+        rejections.throttled.increment();
+        throttled.increment();
+        return true;
+    }
+
+    public int trackedClients() {
+        return clients.size();
+    }
+
+    // Clients with the most rejections, most first
+    public List<Map<String, Object>> topClients(int limit) {
+        return clients.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, ClientRejections> e) -> e.getValue().total.sum()).reversed())
+                .limit(limit)
+                .map(e -> {
+                    Map<String, Object> client = new LinkedHashMap<>();
+                    client.put("client", e.getKey());
+                    client.put("rejected", e.getValue().total.sum());
+                    client.put("throttled", e.getValue().throttled.sum());
+                    client.put("lastRejectedAt", Instant.ofEpochMilli(e.getValue().lastSeen));
+                    return client;
+                })
+                .toList();
+    }
+
+    private ClientRejections lookup(String client, long now) {
+        ClientRejections rejections = clients.get(client);
+        if (rejections != null) return rejections;
+        if (clients.size() >= maxClients) {
+            sweep(now);
+            if (clients.size() >= maxClients) return null;
+        }
+        return clients.computeIfAbsent(client, c -> new ClientRejections());
+    }
+
+    // One thread at a time drops the clients that went quiet; the others carry on
+    private void sweep(long now) {
+        if (!sweeping.compareAndSet(false, true)) return;
+        try {
+            clients.values().removeIf(c -> now - c.lastSeen > idleMillis);
+        } finally {
+            sweeping.set(false);
+        }
+    }
+
+    static final class ClientRejections {
+
+        final AtomicLong window = new AtomicLong();
+        final LongAdder total = new LongAdder();
+        final LongAdder throttled = new LongAdder();
+        volatile long lastSeen;
+
+        // Adds one to the current second's count and returns it
+        long countInSecond(long second) {
+            while (true) {
+                long current = window.get();
+                long count = (current >>> COUNT_BITS) == second ? current & COUNT_MASK : 0;
+                if (count == COUNT_MASK) return count;
+                long next = (second << COUNT_BITS) | (count + 1);
+                if (window.compareAndSet(current, next)) return count + 1;
+            }
+        }
+    }
+}
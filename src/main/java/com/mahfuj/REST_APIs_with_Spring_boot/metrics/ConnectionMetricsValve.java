@@ -0,0 +1,191 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.ServletConnection;
+import jakarta.servlet.ServletException;
+import org.apache.catalina.AccessLog;
+import org.apache.catalina.connector.Request;
+import org.apache.catalina.connector.Response;
+import org.apache.catalina.valves.ValveBase;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Connection-level metrics for HTTP/1.1 and HTTP/2, tagged by protocol
+ * ({@code HTTP/1.1}, {@code HTTP/2.0}).
+ * <p>
+ * Per request: {@code http.server.queue}, the time from the request's first
+ * bytes to the start of its handling (waiting for a Tomcat thread, and on
+ * HTTP/2 for one of the connection's stream slots);
+ * {@code http.server.streams.active}, requests in progress; and
+ * {@code http.server.connection.streams}, how many were in progress on the
+ * same connection when one started (always 1 on HTTP/1.1, where pipelined
+ * requests are answered one after the other).
+ * <p>
+ * Per connection: {@code http.server.connections}, connections that have
+ * had a request within {@code idle-after}; and once a connection has been
+ * quiet that long it counts as closed, and its requests
+ * ({@code http.server.connection.requests}) and body bytes received and sent
+ * after compression ({@code http.server.connection.bytes}) are recorded.
+ * <p>
+ * An engine valve rather than a servlet filter, so the time before the
+ * servlet stack is counted; as an {@link AccessLog} it also hears about
+ * async requests when they complete, with everything written.
+ */
+public class ConnectionMetricsValve extends ValveBase implements AccessLog {
+
+    private static final String NOTE = ConnectionMetricsValve.class.getName();
+
+    private final MeterRegistry registry;
+    private final long idleAfterNanos;
+    private final long sweepIntervalNanos;
+    private final int maxTracked;
+    private final ConcurrentHashMap<String, Meters> meters = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Connection> connections = new ConcurrentHashMap<>();
+    private final AtomicLong nextSweep = new AtomicLong();
+
+    public ConnectionMetricsValve(MeterRegistry registry, Duration idleAfter, int maxTracked) {
+        super(true);
+        this.registry = registry;
+        this.idleAfterNanos = idleAfter.toNanos();
+        this.sweepIntervalNanos = Math.min(idleAfterNanos, TimeUnit.SECONDS.toNanos(1));
+        this.maxTracked = maxTracked;
+        this.nextSweep.set(System.nanoTime());
+    }
+
+    @Override
+    public void invoke(Request request, Response response) throws IOException, ServletException {
+        long now = System.nanoTime();
+        Meters protocol = meters.computeIfAbsent(request.getProtocol(), this::meters);
+        long arrived = request.getCoyoteRequest().getStartTimeNanos();
+        // -1 when Tomcat did not mark the start
+        if (arrived != -1 && now - arrived >= 0) protocol.queue.record(now - arrived, TimeUnit.NANOSECONDS);
+
+        Connection connection = connection(protocol, request.getServletConnection(), now);
+        protocol.active.incrementAndGet();
+        protocol.streams.record(connection == null ? 1 : connection.streams.incrementAndGet());
+        request.setNote(NOTE, new Exchange(protocol, connection));
+        getNext().invoke(request, response);
+    }
+
+    // Called once the response is complete, after invoke (unless the request never got that far)
+    @Override
+    public void log(Request request, Response response, long time) {
+        if (!(request.getNote(NOTE) instanceof Exchange exchange)) return;
+        request.removeNote(NOTE);
+        long now = System.nanoTime();
+        exchange.meters.active.decrementAndGet();
+        Connection connection = exchange.connection;
+        if (connection != null) {
+            connection.requests.increment();
+            connection.received.add(Math.max(0, request.getCoyoteRequest().getBytesRead()));
+            connection.sent.add(Math.max(0, response.getCoyoteResponse().getBytesWritten(false)));
+            connection.lastActive = now;
+            connection.streams.decrementAndGet();
+        }
+        sweep(now);
+    }
+
+    @Override
+    public void setRequestAttributesEnabled(boolean requestAttributesEnabled) {
+    }
+
+    @Override
+    public boolean getRequestAttributesEnabled() {
+        return false;
+    }
+
+    private Connection connection(Meters protocol, ServletConnection servletConnection, long now) {
+        if (servletConnection == null) return null;
+        // an h2c upgrade turns an HTTP/1.1 connection into a new HTTP/2 one, so the protocol is part of the key
+        String key = protocol.name + ' ' + servletConnection.getConnectionId();
+        Connection connection = connections.get(key);
+        if (connection == null) {
+            if (connections.size() >= maxTracked) return null;
+            connection = connections.computeIfAbsent(key, k -> {
+                protocol.connections.incrementAndGet();
+                return new Connection(protocol);
+            });
+        }
+        connection.lastActive = now;
+        return connection;
+    }
+
+    // At most once per interval: records and forgets the connections that have gone quiet
+    private void sweep(long now) {
+        long due = nextSweep.get();
+        if (now - due < 0 || !nextSweep.compareAndSet(due, now + sweepIntervalNanos)) return;
+        for (Iterator<Map.Entry<String, Connection>> it = connections.entrySet().iterator(); it.hasNext(); ) {
+            Connection connection = it.next().getValue();
+            if (connection.streams.get() > 0 || now - connection.lastActive < idleAfterNanos) continue;
+            // the next request on it starts a fresh entry (one racing with this sweep goes uncounted)
+            it.remove();
+            Meters protocol = connection.meters;
+            protocol.connections.decrementAndGet();
+            protocol.requests.record(connection.requests.sum());
+            protocol.bytesReceived.record(connection.received.sum());
+            protocol.bytesSent.record(connection.sent.sum());
+        }
+    }
+
+    private Meters meters(String protocol) {
+        Meters meters = new Meters(protocol,
+                Timer.builder("http.server.queue").tag("protocol", protocol)
+                        .description("From the first bytes of a request to the start of its handling")
+                        .publishPercentiles(0.5, 0.99).register(registry),
+                DistributionSummary.builder("http.server.connection.streams").tag("protocol", protocol)
+                        .description("Requests in progress on the connection when a request starts")
+                        .register(registry),
+                DistributionSummary.builder("http.server.connection.requests").tag("protocol", protocol)
+                        .description("Requests per connection").register(registry),
+                bytes(protocol, "received"), bytes(protocol, "sent"));
+        Gauge.builder("http.server.streams.active", meters.active, AtomicInteger::get).tag("protocol", protocol)
+                .description("Requests in progress").register(registry);
+        Gauge.builder("http.server.connections", meters.connections, AtomicInteger::get).tag("protocol", protocol)
+                .description("Connections with a request within idle-after").register(registry);
+        return meters;
+    }
+
+    private DistributionSummary bytes(String protocol, String direction) {
+        return DistributionSummary.builder("http.server.connection.bytes").tag("protocol", protocol)
+                .tag("direction", direction).baseUnit("bytes")
+                .description("Body bytes per connection, after compression").register(registry);
+    }
+
+    private record Meters(String name, Timer queue, DistributionSummary streams, DistributionSummary requests,
+                          DistributionSummary bytesReceived, DistributionSummary bytesSent,
+                          AtomicInteger active, AtomicInteger connections) {
+
+        Meters(String name, Timer queue, DistributionSummary streams, DistributionSummary requests,
+               DistributionSummary bytesReceived, DistributionSummary bytesSent) {
+            this(name, queue, streams, requests, bytesReceived, bytesSent, new AtomicInteger(), new AtomicInteger());
+        }
+    }
+
+    private record Exchange(Meters meters, Connection connection) {
+    }
+
+    private static final class Connection {
+        final Meters meters;
+        final AtomicInteger streams = new AtomicInteger();
+        final LongAdder requests = new LongAdder();
+        final LongAdder received = new LongAdder();
+        final LongAdder sent = new LongAdder();
+        volatile long lastActive;
+
+        Connection(Meters meters) {
+            this.meters = meters;
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records request and response body sizes per endpoint, next to the
+ * {@code http.server.requests} timers Spring already keeps.
+ * <p>
+ * The response is counted as it is written rather than buffered, so the filter
+ * adds one addition per write. Meters are looked up once per method and URI
+ * template and then reused. Streamed (async) responses are recorded when they
+ * complete.
+ */
+public class PayloadSizeFilter extends OncePerRequestFilter {
+
+    private static final double MIN_EXPECTED_BYTES = 64;
+    private static final double MAX_EXPECTED_BYTES = 16 * 1024 * 1024;
+
+    private final MeterRegistry registry;
+    private final ConcurrentHashMap<String, Meters> meters = new ConcurrentHashMap<>();
+
+    public PayloadSizeFilter(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        CountingResponse counting = new CountingResponse(response);
+        try {
+            chain.doFilter(request, counting);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        record(request, counting);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                record(request, counting);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, CountingResponse response) {
+        // the handler mapping (or the response cache, on a hit) leaves the matched URI template here
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+        Meters endpoint = meters.computeIfAbsent(request.getMethod() + " " + uri,
+                key -> new Meters(registry, request.getMethod(), uri));
+
+        long requestBytes = request.getContentLengthLong();
+        if (requestBytes >= 0) endpoint.request.record(requestBytes);
+        endpoint.response.record(response.bytes);
+    }
+
+    private record Meters(DistributionSummary request, DistributionSummary response) {
+
+        Meters(MeterRegistry registry, String method, String uri) {
+            this(summary(registry, "http.server.request.size", method, uri),
+                    summary(registry, "http.server.response.size", method, uri));
+        }
+
+        private static DistributionSummary summary(MeterRegistry registry, String name, String method, String uri) {
+            return DistributionSummary.builder(name)
+                    .baseUnit("bytes")
+                    .tag("method", method)
+                    .tag("uri", uri)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(MIN_EXPECTED_BYTES)
+                    .maximumExpectedValue(MAX_EXPECTED_BYTES)
+                    .register(registry);
+        }
+    }
+
+    // Counts body bytes on their way to the real response
+    private static final class CountingResponse extends HttpServletResponseWrapper {
+
+        private volatile long bytes;
+        private ServletOutputStream out;
+        private PrintWriter writer;
+
+        CountingResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (out == null) {
+                ServletOutputStream delegate = super.getOutputStream();
+                out = new ServletOutputStream() {
+                    @Override
+                    public void write(int b) throws IOException {
+                        delegate.write(b);
+                        bytes++;
+                    }
+
+                    @Override
+                    public void write(byte[] b, int off, int len) throws IOException {
+                        delegate.write(b, off, len);
+                        bytes += len;
+                    }
+
+                    @Override
+                    public void flush() throws IOException {
+                        delegate.flush();
+                    }
+
+                    @Override
+                    public void close() throws IOException {
+                        delegate.close();
+                    }
+
+                    @Override
+                    public boolean isReady() {
+                        return delegate.isReady();
+                    }
+
+                    @Override
+                    public void setWriteListener(WriteListener listener) {
+                        delegate.setWriteListener(listener);
+                    }
+                };
+            }
+            return out;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), getCharacterEncoding()));
+            }
+            return writer;
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (writer != null) writer.flush();
+            super.flushBuffer();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.metrics;
+
+import com.mahfuj.REST_APIs_with_Spring_boot.exception.RejectionTracker;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// /actuator/rejections: which clients are collecting error responses (totals per type are in http.rejections)
+@Endpoint(id = "rejections")
+public class RejectionsEndpoint {
+
+    private static final int TOP_CLIENTS = 20;
+
+    private final RejectionTracker tracker;
+
+    public RejectionsEndpoint(RejectionTracker tracker) {
+        this.tracker = tracker;
+    }
+
+    @ReadOperation
+    public Map<String, Object> rejections() {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("trackedClients", tracker.trackedClients());
+        body.put("topClients", tracker.topClients(TOP_CLIENTS));
+        return body;
+    }
+}
@@ -0,0 +1,128 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.ratelimit;
+
+import com.mahfuj.REST_APIs_with_Spring_boot.config.RateLimitProperties;
+import com.mahfuj.REST_APIs_with_Spring_boot.exception.ApiProblem;
+import com.mahfuj.REST_APIs_with_Spring_boot.exception.RejectionTracker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Decides whether an {@code /api} request is let in, before any work is done for it.
+ * <p>
+ * Two checks, both a few atomic operations:
+ * <ul>
+ *   <li>the client's {@link TokenBuckets token bucket} must hold the endpoint's
+ *       cost, so one client asking for huge Fibonacci numbers runs dry long before
+ *       one checking BMIs does; otherwise 429 with {@code Retry-After};</li>
+ *   <li>fewer than {@code maxConcurrent} requests may be in progress, so under
+ *       overload the excess is turned away at once with 503 instead of queueing
+ *       until every request is slow.</li>
+ * </ul>
+ * A streamed (async) response keeps its slot until it completes.
+ */
+public class AdmissionFilter extends OncePerRequestFilter {
+
+    private final TokenBuckets buckets;
+    private final List<RateLimitProperties.Endpoint> endpoints;
+    private final int defaultCost;
+    private final int maxConcurrent;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Counter rateLimited;
+    private final Counter shed;
+
+    public AdmissionFilter(RateLimitProperties properties, TokenBuckets buckets, MeterRegistry registry) {
+        this.buckets = buckets;
+        this.endpoints = List.copyOf(properties.endpoints());
+        this.defaultCost = properties.defaultCost();
+        this.maxConcurrent = properties.maxConcurrent();
+
+        this.rateLimited = Counter.builder("http.admission.rejected").tag("reason", "rate-limit").register(registry);
+        this.shed = Counter.builder("http.admission.rejected").tag("reason", "concurrency").register(registry);
+        Gauge.builder("http.admission.in.flight", inFlight, AtomicInteger::get).register(registry);
+        Gauge.builder("http.admission.clients", buckets, TokenBuckets::trackedClients).register(registry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long wait = buckets.tryAcquire(RejectionTracker.clientOf(request), costOf(request));
+        if (wait > 0) {
+            rateLimited.increment();
+            // whole seconds, rounded up
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(TimeUnit.NANOSECONDS.toSeconds(wait - 1) + 1));
+            ApiProblem.RATE_LIMITED.write(response, null);
+            return;
+        }
+
+        if (inFlight.incrementAndGet() > maxConcurrent) {
+            inFlight.decrementAndGet();
+            shed.increment();
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            ApiProblem.OVERLOADED.write(response, "Too many requests in progress");
+            return;
+        }
+
+        boolean async = false;
+        try {
+            chain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new Release());
+                async = true;
+            }
+        } finally {
+            if (!async) inFlight.decrementAndGet();
+        }
+    }
+
+    private int costOf(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        for (RateLimitProperties.Endpoint endpoint : endpoints) {
+            if (uri.startsWith(endpoint.path())) return endpoint.cost();
+        }
+        return defaultCost;
+    }
+
+    // Gives the slot back when a streamed response is done, however it ends
+    private final class Release implements AsyncListener {
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) inFlight.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.ratelimit;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * One token bucket per client, each a single {@code AtomicLong}.
+ * <p>
+ * Instead of a token count and a last-refill time, a bucket stores the time at
+ * which it will be full again (the "theoretical arrival time" of the generic
+ * cell rate algorithm). Spending {@code cost} tokens pushes that time
+ * {@code cost} refill intervals further out; the spend is refused if that would
+ * put it more than {@code capacity} intervals ahead of now. That is one CAS and
+ * no lock, and refilling needs no timer.
+ * <p>
+ * A bucket whose full-time has passed is indistinguishable from a new one, so
+ * such buckets can be dropped without losing anything. That happens when the
+ * table reaches {@code maxClients}; if every bucket is still in use then, new
+ * clients share one overflow bucket until room frees up.
+ */
+public class TokenBuckets {
+
+    private final long interval;  // nanoseconds per token
+    private final long tolerance; // how far ahead of now a bucket may run: capacity * interval
+    private final int capacity;
+    private final int maxClients;
+    private final LongSupplier nanoTime;
+
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong overflow;
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+
+    public TokenBuckets(int capacity, int refillPerSecond, int maxClients, LongSupplier nanoTime) {
+        if (capacity < 1 || refillPerSecond < 1) throw new IllegalArgumentException("capacity and refill must be positive");
+        this.interval = 1_000_000_000L / refillPerSecond;
+        this.tolerance = capacity * interval;
+        this.capacity = capacity;
+        this.maxClients = maxClients;
+        this.nanoTime = nanoTime;
+        this.overflow = new AtomicLong(nanoTime.getAsLong());
+    }
+
+    /**
+     * Takes {@code cost} tokens from the client's bucket.
+     *
+     * @return 0 when granted, otherwise the nanoseconds until the tokens will be there
+     */
+    public long tryAcquire(String client, int cost) {
+        long now = nanoTime.getAsLong();
+        AtomicLong bucket = bucket(client, now);
+        // a cost above the capacity could never be paid; charge a full bucket instead
+        long charge = Math.min(Math.max(cost, 1), capacity) * interval;
+        while (true) {
+            long fullAt = bucket.get();
+            long next = Math.max(fullAt, now) + charge;
+            long ahead = next - now;
+            if (ahead > tolerance) return ahead - tolerance;
+            if (bucket.compareAndSet(fullAt, next)) return 0;
+        }
+    }
+
+    public int trackedClients() {
+        return buckets.size();
+    }
+
+    private AtomicLong bucket(String client, long now) {
+        AtomicLong bucket = buckets.get(client);
+        if (bucket != null) return bucket;
+        if (buckets.size() >= maxClients) {
+            sweep(now);
+            if (buckets.size() >= maxClients) return overflow;
+        }
+        return buckets.computeIfAbsent(client, c -> new AtomicLong(now));
+    }
+
+    // Drops the buckets that have refilled completely; one thread at a time, the others carry on
+    private void sweep(long now) {
+        if (!sweeping.compareAndSet(false, true)) return;
+        try {
+            buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+        } finally {
+            sweeping.set(false);
+        }
+    }
+}
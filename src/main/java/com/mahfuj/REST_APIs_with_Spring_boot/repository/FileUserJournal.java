@@ -0,0 +1,543 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.repository;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only, file-backed {@link UserJournal}.
+ * <p>
+ * Changes go to numbered write-ahead log segments ({@code wal-<generation>.log}).
+ * With group commit on, writers only queue their encoded record and a single
+ * background thread writes and fsyncs everything queued in one go, so N
+ * concurrent writers share one fsync instead of paying for N. With group commit
+ * off every append is written and fsynced on the caller's thread.
+ * <p>
+ * A checkpoint rolls over to a new segment, writes a compacted snapshot of the
+ * store ({@code snapshot.bin}) and deletes the segments it covers. Recovery maps
+ * the snapshot and the remaining segments into memory and replays them, so a
+ * restart costs one sequential read instead of the store's whole write history.
+ *
+ * <pre>
+ * WAL record:      int payloadLength | byte op | long id | payload (JSON) | int crc32c(op, id, payload)
+ * snapshot header: int magic | int version | long walGeneration | long nextId | long count
+ * snapshot record: long id | int payloadLength | payload (JSON)
+ * </pre>
+ */
+public class FileUserJournal implements UserJournal, Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(FileUserJournal.class);
+
+    private static final int SNAPSHOT_MAGIC = 0x55534E50; // "USNP"
+    private static final int FORMAT_VERSION = 1;
+    private static final int SNAPSHOT_HEADER_SIZE = 4 + 4 + 8 + 8 + 8;
+    private static final int SNAPSHOT_COUNT_OFFSET = 24;
+
+    private static final byte OP_PUT = 1;
+    private static final byte OP_DELETE = 2;
+    private static final int RECORD_OVERHEAD = 4 + 1 + 8 + 4;
+
+    private static final byte[] NO_PAYLOAD = new byte[0];
+    private static final int INITIAL_BATCH_SIZE = 64 * 1024;
+    private static final int MAX_BATCH_SIZE = 4 * 1024 * 1024;
+    private static final long MAP_WINDOW = 1L << 30;
+    private static final TypeReference<Map<String, Object>> USER_TYPE = new TypeReference<>() {
+    };
+
+    private final Path directory;
+    private final boolean groupCommit;
+    private final Duration snapshotInterval;
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    // Records waiting for the group-commit writer. Lock-free on purpose: append() runs inside
+    // ConcurrentHashMap.compute(), and blocking on a j.u.c. lock there can deadlock virtual threads
+    private final ConcurrentLinkedQueue<PendingRecord> queue = new ConcurrentLinkedQueue<>();
+    private volatile IOException failure;
+    private volatile boolean closed;
+
+    // Guards the open segment (a monitor, not a ReentrantLock, for the same virtual-thread reason)
+    private final Object channelMonitor = new Object();
+    private FileChannel channel;
+    private long generation;
+    private ByteBuffer batch = ByteBuffer.allocate(INITIAL_BATCH_SIZE);
+    private final List<PendingRecord> batchRecords = new ArrayList<>();
+
+    private final Object checkpointMonitor = new Object();
+    private volatile Store store;
+    private Thread writer;
+    private ScheduledExecutorService snapshotScheduler;
+
+    public FileUserJournal(Path directory, boolean groupCommit, Duration snapshotInterval) {
+        this.directory = directory;
+        this.groupCommit = groupCommit;
+        this.snapshotInterval = snapshotInterval;
+    }
+
+    // ------------------------------------------------------------
+    // RECOVERY
+    // ------------------------------------------------------------
+
+    @Override
+    public void open(Store store) {
+        long start = System.nanoTime();
+        try {
+            Files.createDirectories(directory);
+
+            long snapshotGeneration = loadSnapshot(store);
+            long replayed = 0;
+            long nextGeneration = snapshotGeneration;
+            for (Path segment : listSegments()) {
+                long segmentGeneration = generationOf(segment);
+                if (segmentGeneration < snapshotGeneration) {
+                    // already folded into the snapshot; left over from a checkpoint that didn't finish cleaning up
+                    Files.deleteIfExists(segment);
+                    continue;
+                }
+                replayed += replaySegment(segment, store);
+                nextGeneration = Math.max(nextGeneration, segmentGeneration + 1);
+            }
+
+            // never append to a segment from an earlier run: its tail may be torn
+            generation = nextGeneration;
+            channel = openSegment(generation);
+
+            log.info("Recovered user store from {} (snapshot generation {}, {} log records replayed) in {} ms",
+                    directory, snapshotGeneration, replayed, (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not recover user journal in " + directory, e);
+        }
+
+        this.store = store;
+
+        if (groupCommit) {
+            writer = Thread.ofPlatform().daemon().name("user-journal-writer").start(this::writeLoop);
+        }
+        if (snapshotInterval != null && !snapshotInterval.isZero() && !snapshotInterval.isNegative()) {
+            snapshotScheduler = Executors.newSingleThreadScheduledExecutor(
+                    task -> Thread.ofPlatform().daemon().name("user-journal-snapshot").unstarted(task));
+            long millis = snapshotInterval.toMillis();
+            snapshotScheduler.scheduleWithFixedDelay(this::checkpointQuietly, millis, millis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private long loadSnapshot(Store store) throws IOException {
+        Path snapshot = directory.resolve("snapshot.bin");
+        if (!Files.exists(snapshot)) return 0;
+
+        try (MappedReader reader = new MappedReader(snapshot)) {
+            if (!reader.require(SNAPSHOT_HEADER_SIZE)) {
+                throw new IOException("Truncated snapshot header in " + snapshot);
+            }
+            ByteBuffer buffer = reader.buffer();
+            if (buffer.getInt() != SNAPSHOT_MAGIC || buffer.getInt() != FORMAT_VERSION) {
+                throw new IOException("Not a user snapshot (or unsupported version): " + snapshot);
+            }
+            long walGeneration = buffer.getLong();
+            store.reserveIdsBelow(buffer.getLong());
+            long count = buffer.getLong();
+
+            byte[] scratch = new byte[4096];
+            for (long i = 0; i < count; i++) {
+                if (!reader.require(12)) throw new IOException("Truncated snapshot " + snapshot);
+                long id = reader.buffer().getLong();
+                int length = reader.buffer().getInt();
+                if (!reader.require(length)) throw new IOException("Truncated snapshot " + snapshot);
+
+                if (scratch.length < length) scratch = new byte[Math.max(length, scratch.length * 2)];
+                reader.buffer().get(scratch, 0, length);
+                store.restore(id, mapper.readValue(scratch, 0, length, USER_TYPE));
+            }
+            return walGeneration;
+        }
+    }
+
+    private long replaySegment(Path segment, Store store) throws IOException {
+        long records = 0;
+        CRC32C crc = new CRC32C();
+        byte[] scratch = new byte[4096];
+
+        try (MappedReader reader = new MappedReader(segment)) {
+            while (reader.require(4)) {
+                ByteBuffer buffer = reader.buffer();
+                int length = buffer.getInt(buffer.position());
+                if (length < 0 || !reader.require(RECORD_OVERHEAD + length)) {
+                    log.warn("Ignoring torn record at offset {} of {}", reader.position(), segment);
+                    break;
+                }
+
+                buffer = reader.buffer();
+                int start = buffer.position();
+                crc.reset();
+                crc.update(buffer.duplicate().position(start + 4).limit(start + 13 + length));
+                if ((int) crc.getValue() != buffer.getInt(start + 13 + length)) {
+                    log.warn("Ignoring corrupt record at offset {} of {}", reader.position(), segment);
+                    break;
+                }
+
+                byte op = buffer.get(start + 4);
+                long id = buffer.getLong(start + 5);
+                if (op == OP_DELETE) {
+                    store.forget(id);
+                } else {
+                    if (scratch.length < length) scratch = new byte[Math.max(length, scratch.length * 2)];
+                    buffer.get(start + 13, scratch, 0, length);
+                    store.restore(id, mapper.readValue(scratch, 0, length, USER_TYPE));
+                }
+                buffer.position(start + RECORD_OVERHEAD + length);
+                records++;
+            }
+        }
+        return records;
+    }
+
+    // ------------------------------------------------------------
+    // APPEND & GROUP COMMIT
+    // ------------------------------------------------------------
+
+    @Override
+    public CompletableFuture<Void> append(long id, Map<String, Object> user) {
+        checkWritable();
+
+        byte op = user == null ? OP_DELETE : OP_PUT;
+        ByteBuffer record;
+        try {
+            record = encode(op, id, user == null ? NO_PAYLOAD : mapper.writeValueAsBytes(user));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not serialize user " + id, e);
+        }
+
+        if (!groupCommit) {
+            // one write and one fsync per change; a failure aborts the caller's in-memory change too
+            synchronized (channelMonitor) {
+                checkWritable();
+                try {
+                    writeFully(channel, record);
+                    channel.force(false);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("User journal write failed", e);
+                }
+            }
+            return DURABLE;
+        }
+
+        PendingRecord pending = new PendingRecord(record);
+        queue.add(pending);
+        LockSupport.unpark(writer);
+        return pending.durable;
+    }
+
+    private void writeLoop() {
+        while (!closed || !queue.isEmpty()) {
+            if (queue.isEmpty()) {
+                LockSupport.park(this);
+            } else {
+                flushQueued();
+            }
+        }
+    }
+
+    // Writes everything queued so far with a single fsync and releases everyone waiting on it
+    private void flushQueued() {
+        synchronized (channelMonitor) {
+            PendingRecord pending;
+            while (batch.position() < MAX_BATCH_SIZE && (pending = queue.poll()) != null) {
+                if (batch.remaining() < pending.record.remaining()) {
+                    batch = grow(batch, pending.record.remaining());
+                }
+                batch.put(pending.record);
+                batchRecords.add(pending);
+            }
+            if (batchRecords.isEmpty()) return;
+
+            IOException error = failure;
+            if (error == null) {
+                try {
+                    batch.flip();
+                    writeFully(channel, batch);
+                    channel.force(false);
+                } catch (IOException e) {
+                    error = e;
+                    failure = e;
+                    log.error("User journal write failed; further writes will be rejected", e);
+                }
+            }
+
+            for (PendingRecord record : batchRecords) {
+                if (error == null) {
+                    record.durable.complete(null);
+                } else {
+                    record.durable.completeExceptionally(new UncheckedIOException("User journal write failed", error));
+                }
+            }
+            batchRecords.clear();
+
+            // a huge burst shouldn't pin a huge buffer forever
+            batch = batch.capacity() > MAX_BATCH_SIZE ? ByteBuffer.allocate(INITIAL_BATCH_SIZE) : batch.clear();
+        }
+    }
+
+    private void checkWritable() {
+        if (closed) throw new IllegalStateException("User journal is closed");
+        if (failure != null) throw new UncheckedIOException("User journal write failed", failure);
+    }
+
+    // ------------------------------------------------------------
+    // CHECKPOINTS (compacted snapshots)
+    // ------------------------------------------------------------
+
+    // Rolls the log over, writes a snapshot of the store and drops the segments it replaces
+    public void checkpoint() {
+        Store current = store;
+        if (current == null) return;
+
+        synchronized (checkpointMonitor) {
+            // a change is logged before the map shows it: roll over only once every change logged so far
+            // is visible, so the snapshot covers the old segments. Later changes go to the new segment
+            // and replay on top.
+            long[] snapshotGeneration = new long[1];
+            current.quiesce(() -> snapshotGeneration[0] = rollOver());
+
+            try {
+                long start = System.nanoTime();
+                long count = writeSnapshot(snapshotGeneration[0], current);
+                for (Path segment : listSegments()) {
+                    if (generationOf(segment) < snapshotGeneration[0]) Files.deleteIfExists(segment);
+                }
+                log.info("Wrote user snapshot with {} users (generation {}) in {} ms",
+                        count, snapshotGeneration[0], (System.nanoTime() - start) / 1_000_000);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not write user snapshot", e);
+            }
+        }
+    }
+
+    // Writes out everything queued and starts the next segment; returns its generation
+    private long rollOver() {
+        synchronized (channelMonitor) {
+            try {
+                flushQueued();
+                channel.close();
+                generation++;
+                channel = openSegment(generation);
+                return generation;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not roll over user journal", e);
+            }
+        }
+    }
+
+    private void checkpointQuietly() {
+        try {
+            checkpoint();
+        } catch (RuntimeException e) {
+            log.error("Scheduled user snapshot failed", e);
+        }
+    }
+
+    private long writeSnapshot(long walGeneration, Store current) throws IOException {
+        Path tmp = directory.resolve("snapshot.tmp");
+        long count = 0;
+
+        try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20);
+            buffer.putInt(SNAPSHOT_MAGIC).putInt(FORMAT_VERSION)
+                    .putLong(walGeneration).putLong(current.nextId()).putLong(0);
+
+            try (Stream<Map.Entry<Long, Map<String, Object>>> users = current.snapshot()) {
+                Iterator<Map.Entry<Long, Map<String, Object>>> it = users.iterator();
+                while (it.hasNext()) {
+                    Map.Entry<Long, Map<String, Object>> entry = it.next();
+                    byte[] payload = mapper.writeValueAsBytes(entry.getValue());
+
+                    if (buffer.remaining() < 12 + payload.length) {
+                        buffer.flip();
+                        writeFully(out, buffer);
+                        buffer.clear();
+                    }
+                    if (buffer.remaining() < 12 + payload.length) {
+                        // larger than the whole buffer: write it on its own
+                        ByteBuffer large = ByteBuffer.allocate(12 + payload.length);
+                        large.putLong(entry.getKey()).putInt(payload.length).put(payload).flip();
+                        writeFully(out, large);
+                    } else {
+                        buffer.putLong(entry.getKey()).putInt(payload.length).put(payload);
+                    }
+                    count++;
+                }
+            }
+
+            buffer.flip();
+            writeFully(out, buffer);
+            out.write(ByteBuffer.allocate(8).putLong(0, count), SNAPSHOT_COUNT_OFFSET);
+            out.force(true);
+        }
+
+        Files.move(tmp, directory.resolve("snapshot.bin"),
+                StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        return count;
+    }
+
+    // ------------------------------------------------------------
+    // SHUTDOWN
+    // ------------------------------------------------------------
+
+    // Drains pending writes and leaves a fresh snapshot behind, so the next start only maps one file
+    @Override
+    public void close() {
+        if (closed) return;
+        closed = true;
+        if (snapshotScheduler != null) snapshotScheduler.shutdownNow();
+
+        if (writer != null) {
+            LockSupport.unpark(writer);
+            try {
+                writer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        // picks up anything queued while the writer was shutting down
+        flushQueued();
+
+        try {
+            if (store != null && failure == null) checkpoint();
+        } finally {
+            synchronized (channelMonitor) {
+                try {
+                    if (channel != null) channel.close();
+                } catch (IOException e) {
+                    log.warn("Could not close user journal segment", e);
+                }
+            }
+        }
+    }
+
+    // ------------------------------------------------------------
+    // FILE HELPERS
+    // ------------------------------------------------------------
+
+    private static ByteBuffer encode(byte op, long id, byte[] payload) {
+        ByteBuffer record = ByteBuffer.allocate(RECORD_OVERHEAD + payload.length);
+        record.putInt(payload.length).put(op).putLong(id).put(payload);
+
+        CRC32C crc = new CRC32C();
+        crc.update(record.array(), 4, 1 + 8 + payload.length);
+        return record.putInt((int) crc.getValue()).flip();
+    }
+
+    private static ByteBuffer grow(ByteBuffer buffer, int needed) {
+        int capacity = Math.max(buffer.capacity() * 2, buffer.position() + needed);
+        ByteBuffer bigger = ByteBuffer.allocate(capacity);
+        bigger.put(buffer.flip());
+        return bigger;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private FileChannel openSegment(long segmentGeneration) throws IOException {
+        return FileChannel.open(directory.resolve(segmentName(segmentGeneration)),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private List<Path> listSegments() throws IOException {
+        List<Path> segments = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(file -> file.getFileName().toString().matches("wal-\\d{16}\\.log"))
+                    .sorted()
+                    .forEach(segments::add);
+        }
+        return segments;
+    }
+
+    private static String segmentName(long segmentGeneration) {
+        return String.format("wal-%016d.log", segmentGeneration);
+    }
+
+    private static long generationOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(4, name.length() - 4));
+    }
+
+    private static final class PendingRecord {
+
+        private final ByteBuffer record;
+        private final CompletableFuture<Void> durable = new CompletableFuture<>();
+
+        private PendingRecord(ByteBuffer record) {
+            this.record = record;
+        }
+    }
+
+    /**
+     * Sequential reader over a memory-mapped file, remapping in windows of up to
+     * 1 GiB so files larger than a single mapping can still be read.
+     */
+    private static final class MappedReader implements Closeable {
+
+        private final FileChannel channel;
+        private final long size;
+        private long windowStart;
+        private MappedByteBuffer window;
+
+        private MappedReader(Path file) throws IOException {
+            this.channel = FileChannel.open(file, StandardOpenOption.READ);
+            this.size = channel.size();
+            this.window = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(size, MAP_WINDOW));
+        }
+
+        long position() {
+            return windowStart + window.position();
+        }
+
+        // Makes sure the next n bytes are mapped; false when the file ends before that
+        boolean require(int n) throws IOException {
+            if (window.remaining() >= n) return true;
+
+            long position = position();
+            if (size - position < n) return false;
+
+            windowStart = position;
+            window = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(size - position, Math.max(MAP_WINDOW, n)));
+            return true;
+        }
+
+        ByteBuffer buffer() {
+            return window;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.repository;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Equality index: attribute key to the sorted set of user IDs holding it.
+ * An equality lookup is one hash probe plus a tail-set walk, whatever the store size.
+ */
+public class HashUserIndex implements UserIndex {
+
+    private final String field;
+    private final ConcurrentHashMap<Comparable<?>, ConcurrentSkipListSet<Long>> postings = new ConcurrentHashMap<>();
+
+    public HashUserIndex(String field) {
+        this.field = field;
+    }
+
+    @Override
+    public String field() {
+        return field;
+    }
+
+    @Override
+    public void update(long id, Map<String, Object> oldUser, Map<String, Object> newUser) {
+        Comparable<?> oldKey = oldUser == null ? null : IndexKeys.of(oldUser.get(field));
+        Comparable<?> newKey = newUser == null ? null : IndexKeys.of(newUser.get(field));
+        if (Objects.equals(oldKey, newKey)) return;
+
+        // compute() keeps "remove the last ID and drop the empty set" atomic against concurrent adds
+        if (oldKey != null) {
+            postings.computeIfPresent(oldKey, (key, ids) -> {
+                ids.remove(id);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+        if (newKey != null) {
+            postings.compute(newKey, (key, ids) -> {
+                if (ids == null) ids = new ConcurrentSkipListSet<>();
+                ids.add(id);
+                return ids;
+            });
+        }
+    }
+
+    @Override
+    public PrimitiveIterator.OfLong equalTo(Comparable<?> key, long after) {
+        ConcurrentSkipListSet<Long> ids = postings.get(key);
+        return (ids == null ? Collections.<Long>emptySortedSet() : ids.tailSet(after, false))
+                .stream().mapToLong(Long::longValue).iterator();
+    }
+}
@@ -0,0 +1,60 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.repository;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+
+/**
+ * Turns schemaless attribute values into index keys.
+ * <p>
+ * JSON gives us Integer, Long, Double, BigDecimal, String and Boolean for the
+ * same logical value depending on how it was written, and query parameters are
+ * always strings, so numbers and numeric strings are normalized to
+ * {@link BigDecimal} ({@code 30}, {@code 30.0} and {@code "30"} all mean the same
+ * key). Objects, arrays and nulls are not indexed.
+ */
+final class IndexKeys {
+
+    // Numbers sort before strings, strings before booleans, so mixed-type attributes still have a total order
+    static final Comparator<Comparable<?>> ORDER = IndexKeys::compare;
+
+    private IndexKeys() {
+    }
+
+    // Key for a stored attribute value, or null if the value can't be indexed
+    static Comparable<?> of(Object value) {
+        if (value instanceof BigDecimal number) return number.stripTrailingZeros();
+        if (value instanceof Number number) return parseNumber(number.toString());
+        if (value instanceof String text) return ofParameter(text);
+        if (value instanceof Boolean flag) return flag;
+        return null;
+    }
+
+    // Key for a query parameter: numeric strings become numbers, everything else stays text
+    static Comparable<?> ofParameter(String value) {
+        BigDecimal number = parseNumber(value);
+        return number != null ? number : value;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static int compare(Comparable<?> a, Comparable<?> b) {
+        int rank = Integer.compare(rank(a), rank(b));
+        return rank != 0 ? rank : ((Comparable) a).compareTo(b);
+    }
+
+    private static int rank(Comparable<?> key) {
+        if (key instanceof BigDecimal) return 0;
+        if (key instanceof String) return 1;
+        return 2;
+    }
+
+    private static BigDecimal parseNumber(String text) {
+        if (text.isEmpty() || text.length() > 64) return null;
+        char first = text.charAt(0);
+        if (first != '-' && first != '+' && first != '.' && (first < '0' || first > '9')) return null;
+        try {
+            return new BigDecimal(text).stripTrailingZeros();
+        } catch (NumberFormatException e) {
+            return null; // NaN / Infinity doubles and ordinary text
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.repository;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Range index: a skip list of (key, id) pairs ordered by key, then ID.
+ * <p>
+ * Equality lookups come back already in ID order. A range lookup opens one
+ * cursor per distinct key in the range, each starting right after the page
+ * cursor, and merges them by ID. A page then costs O(d log n + page log d) for
+ * d distinct keys in the range (ages: about a hundred), however many users
+ * match and however deep the page is.
+ */
+public class SortedUserIndex implements UserIndex {
+
+    private record Entry(Comparable<?> key, long id) {
+    }
+
+    private static final Comparator<Entry> ORDER = Comparator
+            .comparing(Entry::key, IndexKeys.ORDER)
+            .thenComparingLong(Entry::id);
+
+    private final String field;
+    private final ConcurrentSkipListSet<Entry> entries = new ConcurrentSkipListSet<>(ORDER);
+
+    public SortedUserIndex(String field) {
+        this.field = field;
+    }
+
+    @Override
+    public String field() {
+        return field;
+    }
+
+    @Override
+    public void update(long id, Map<String, Object> oldUser, Map<String, Object> newUser) {
+        Comparable<?> oldKey = oldUser == null ? null : IndexKeys.of(oldUser.get(field));
+        Comparable<?> newKey = newUser == null ? null : IndexKeys.of(newUser.get(field));
+        if (Objects.equals(oldKey, newKey)) return;
+
+        if (oldKey != null) entries.remove(new Entry(oldKey, id));
+        if (newKey != null) entries.add(new Entry(newKey, id));
+    }
+
+    @Override
+    public PrimitiveIterator.OfLong equalTo(Comparable<?> key, long after) {
+        return entries.subSet(new Entry(key, after), false, new Entry(key, Long.MAX_VALUE), true)
+                .stream().mapToLong(Entry::id).iterator();
+    }
+
+    @Override
+    public boolean supportsRange() {
+        return true;
+    }
+
+    @Override
+    public PrimitiveIterator.OfLong range(Comparable<?> lower, boolean lowerInclusive,
+                                          Comparable<?> upper, boolean upperInclusive, long after) {
+        // Long.MIN_VALUE / MAX_VALUE are never real IDs, so they pin a bound before or after every ID of that key
+        NavigableSet<Entry> slice = entries;
+        if (lower != null) {
+            slice = slice.tailSet(new Entry(lower, lowerInclusive ? Long.MIN_VALUE : Long.MAX_VALUE), true);
+        }
+        if (upper != null) {
+            slice = slice.headSet(new Entry(upper, upperInclusive ? Long.MAX_VALUE : Long.MIN_VALUE), true);
+        }
+
+        PriorityQueue<KeyCursor> cursors = new PriorityQueue<>(Comparator.comparingLong(KeyCursor::id));
+        Iterator<Entry> first = slice.iterator();
+        for (Entry head = first.hasNext() ? first.next() : null; head != null;
+             head = slice.higher(new Entry(head.key(), Long.MAX_VALUE))) {
+            Iterator<Entry> ids = entries.subSet(new Entry(head.key(), after), false,
+                    new Entry(head.key(), Long.MAX_VALUE), true).iterator();
+            if (ids.hasNext()) cursors.add(new KeyCursor(ids));
+        }
+
+        return new PrimitiveIterator.OfLong() {
+            @Override
+            public boolean hasNext() {
+                return !cursors.isEmpty();
+            }
+
+            @Override
+            public long nextLong() {
+                KeyCursor cursor = cursors.poll();
+                if (cursor == null) throw new NoSuchElementException();
+                long id = cursor.id;
+                if (cursor.advance()) cursors.add(cursor);
+                // a user whose key changes during the walk can turn up under both keys
+                while (!cursors.isEmpty() && cursors.peek().id == id) {
+                    KeyCursor same = cursors.poll();
+                    if (same.advance()) cursors.add(same);
+                }
+                return id;
+            }
+        };
+    }
+
+    // The IDs of one key from the page cursor on, ascending
+    private static final class KeyCursor {
+
+        private final Iterator<Entry> ids;
+        private long id;
+
+        KeyCursor(Iterator<Entry> ids) {
+            this.ids = ids;
+            advance();
+        }
+
+        long id() {
+            return id;
+        }
+
+        boolean advance() {
+            if (!ids.hasNext()) return false;
+            id = ids.next().id();
+            return true;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.repository;
+
+import java.util.Map;
+
+/**
+ * One condition of a user query, parsed from a request parameter:
+ * {@code email=a@b.com} is an equality test, {@code age.gte=18} / {@code age.gt},
+ * {@code age.lte} / {@code age.lt} are range bounds.
+ */
+public record UserFilter(String field, Operator operator, Comparable<?> value) {
+
+    public enum Operator {
+        EQ, GT, GTE, LT, LTE
+    }
+
+    public static UserFilter parse(String parameter, String value) {
+        int dot = parameter.lastIndexOf('.');
+        if (dot > 0) {
+            Operator operator = switch (parameter.substring(dot + 1)) {
+                case "gt" -> Operator.GT;
+                case "gte" -> Operator.GTE;
+                case "lt" -> Operator.LT;
+                case "lte" -> Operator.LTE;
+                default -> null;
+            };
+            if (operator != null) {
+                return new UserFilter(parameter.substring(0, dot), operator, IndexKeys.ofParameter(value));
+            }
+        }
+        return new UserFilter(parameter, Operator.EQ, IndexKeys.ofParameter(value));
+    }
+
+    public boolean isRange() {
+        return operator != Operator.EQ;
+    }
+
+    public boolean isLowerBound() {
+        return operator == Operator.GT || operator == Operator.GTE;
+    }
+
+    public boolean isInclusive() {
+        return operator == Operator.GTE || operator == Operator.LTE || operator == Operator.EQ;
+    }
+
+    public boolean matches(Map<String, Object> user) {
+        Comparable<?> stored = IndexKeys.of(user.get(field));
+        if (stored == null) return false;
+
+        int cmp = IndexKeys.compare(stored, value);
+        return switch (operator) {
+            case EQ -> cmp == 0;
+            case GT -> cmp > 0;
+            case GTE -> cmp >= 0;
+            case LT -> cmp < 0;
+            case LTE -> cmp <= 0;
+        };
+    }
+}
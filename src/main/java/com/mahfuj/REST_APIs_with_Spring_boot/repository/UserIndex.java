@@ -0,0 +1,32 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.repository;
+
+import java.util.Map;
+import java.util.PrimitiveIterator;
+
+/**
+ * Secondary index over one top-level user attribute.
+ * <p>
+ * {@link #update} runs inside the repository's per-user {@code compute()}, so an
+ * index sees a user's changes in the same order as the store itself. Lookups
+ * return IDs in ascending order, which is what keyset pagination needs.
+ */
+public interface UserIndex {
+
+    String field();
+
+    // Moves the user from the key of its old value to the key of its new one (either may be null)
+    void update(long id, Map<String, Object> oldUser, Map<String, Object> newUser);
+
+    // IDs greater than 'after' whose attribute equals the key, ascending
+    PrimitiveIterator.OfLong equalTo(Comparable<?> key, long after);
+
+    default boolean supportsRange() {
+        return false;
+    }
+
+    // IDs greater than 'after' whose attribute lies in the range (null bound = unbounded), ascending
+    default PrimitiveIterator.OfLong range(Comparable<?> lower, boolean lowerInclusive,
+                                           Comparable<?> upper, boolean upperInclusive, long after) {
+        throw new UnsupportedOperationException("Field '" + field() + "' has no sorted index");
+    }
+}
@@ -0,0 +1,59 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.repository;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+/**
+ * Durability hook for {@link UserRepository}.
+ * <p>
+ * The repository calls {@link #append} while it holds the lock for the user's
+ * hash bin, so the journal sees changes to one user in exactly the order they
+ * were applied in memory. Implementations must not block on j.u.c. locks there
+ * (the bin lock is a monitor, which pins virtual threads). The repository waits
+ * on the returned future only after releasing the bin, which lets one fsync
+ * cover many concurrent writers.
+ */
+public interface UserJournal {
+
+    // Default when persistence is switched off: nothing is written and nothing is replayed
+    UserJournal NONE = new UserJournal() {
+        @Override
+        public void open(Store store) {
+        }
+
+        @Override
+        public CompletableFuture<Void> append(long id, Map<String, Object> user) {
+            return DURABLE;
+        }
+    };
+
+    CompletableFuture<Void> DURABLE = CompletableFuture.completedFuture(null);
+
+    // Replays persisted users into the store; called once before the store serves requests
+    void open(Store store);
+
+    // Logs the new state of a user (null = deleted); the future completes once it is on disk
+    CompletableFuture<Void> append(long id, Map<String, Object> user);
+
+    /**
+     * The side of the repository the journal needs for recovery and snapshots.
+     */
+    interface Store {
+
+        void restore(long id, Map<String, Object> user);
+
+        void forget(long id);
+
+        // Makes sure IDs below 'nextId' are never handed out again, even if their users were deleted
+        void reserveIdsBelow(long nextId);
+
+        long nextId();
+
+        // Runs 'action' while no change is between its append() and its arrival in the store
+        void quiesce(Runnable action);
+
+        // Weakly consistent view of every stored user, used for compacted snapshots
+        Stream<Map.Entry<Long, Map<String, Object>>> snapshot();
+    }
+}
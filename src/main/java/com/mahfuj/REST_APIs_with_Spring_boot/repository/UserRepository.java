@@ -0,0 +1,394 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.repository;
+
+import com.mahfuj.REST_APIs_with_Spring_boot.config.UserIndexProperties;
+import com.mahfuj.REST_APIs_with_Spring_boot.exception.InvalidInputException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Thread-safe in-memory user store.
+ * <p>
+ * Every user gets a generated ID that never changes (deleting a user does not
+ * shift anybody else), and get/update/delete by ID are O(1) hash lookups on a
+ * {@link ConcurrentHashMap}, so concurrent Tomcat workers never block each other
+ * unless they touch the same bin.
+ * <p>
+ * A sorted set of IDs sits next to the map so pages can be served by keyset
+ * ("everything after ID x") without copying or sorting the whole store. Adds and
+ * deletes pay an extra O(log n) skip-list update for it; lookups don't.
+ * <p>
+ * Writes can be made durable through a {@link UserJournal}; by default nothing
+ * is persisted and the store starts empty.
+ * <p>
+ * Optional {@link UserIndex secondary indexes} on chosen attributes are updated
+ * in the same {@code compute()} as the user itself and back {@link #query}.
+ * <p>
+ * Metrics: {@code users.store.size}, {@code users.writes} per operation, and
+ * {@code users.journal.wait}, the time writers spend queued behind the journal's
+ * group commit (the one place where writers to different users wait on each other).
+ */
+@Repository
+public class UserRepository {
+
+    // IDs start at 0 so a fresh store hands out the same numbers the old list indexes did
+    private final AtomicLong nextId = new AtomicLong();
+
+    private final ConcurrentHashMap<Long, Map<String, Object>> users = new ConcurrentHashMap<>();
+
+    // Ordered view of the live IDs, only used for keyset pagination and streaming
+    private final ConcurrentSkipListSet<Long> ids = new ConcurrentSkipListSet<>();
+
+    private final UserJournal journal;
+
+    // Held shared while a change goes from the journal into the map, exclusively by a checkpoint's
+    // rollover (see JournalStore.quiesce); only taken when there is a journal
+    private final ReadWriteLock applying = new ReentrantReadWriteLock();
+
+    private final List<UserIndex> indexes;
+    // per field: the index used for equality (hash preferred) and the one used for ranges
+    private final Map<String, UserIndex> equalityIndexes = new HashMap<>();
+    private final Map<String, UserIndex> rangeIndexes = new HashMap<>();
+
+    private final Counter adds;
+    private final Counter updates;
+    private final Counter deletes;
+    private final Timer journalWait;
+
+    public UserRepository() {
+        this(UserJournal.NONE);
+    }
+
+    public UserRepository(UserJournal journal) {
+        this(journal, List.of());
+    }
+
+    @Autowired
+    public UserRepository(UserJournal journal, UserIndexProperties indexProperties, MeterRegistry registry) {
+        this(journal, Stream.concat(
+                indexProperties.hash().stream().map(HashUserIndex::new),
+                indexProperties.sorted().stream().map(SortedUserIndex::new)
+        ).toList(), registry);
+    }
+
+    // Without a registry the meters are no-ops
+    public UserRepository(UserJournal journal, List<UserIndex> indexes) {
+        this(journal, indexes, new CompositeMeterRegistry());
+    }
+
+    public UserRepository(UserJournal journal, List<UserIndex> indexes, MeterRegistry registry) {
+        this.journal = journal;
+        this.adds = Counter.builder("users.writes").tag("operation", "add").register(registry);
+        this.updates = Counter.builder("users.writes").tag("operation", "update").register(registry);
+        this.deletes = Counter.builder("users.writes").tag("operation", "delete").register(registry);
+        this.journalWait = Timer.builder("users.journal.wait")
+                .description("Time a write waited for the journal to make it durable")
+                .register(registry);
+        Gauge.builder("users.store.size", users, Map::size).register(registry);
+        this.indexes = List.copyOf(indexes);
+        for (UserIndex index : this.indexes) {
+            if (index.supportsRange()) rangeIndexes.putIfAbsent(index.field(), index);
+            if (!index.supportsRange() || !equalityIndexes.containsKey(index.field())) {
+                equalityIndexes.put(index.field(), index);
+            }
+        }
+        journal.open(new JournalStore());
+    }
+
+    // Stores a new user and returns its generated ID
+    public long add(Map<String, Object> userData) {
+        long[] id = new long[1];
+        awaitDurable(insert(userData, id, 0));
+        return id[0];
+    }
+
+    // Stores a batch of users and returns their generated IDs, in input order.
+    // The batch is not atomic, but it waits for the journal only once, after the last insert.
+    public long[] addAll(List<? extends Map<String, Object>> batch) {
+        long[] generated = new long[batch.size()];
+        CompletableFuture<?>[] durable = new CompletableFuture<?>[batch.size()];
+        for (int i = 0; i < durable.length; i++) {
+            durable[i] = insert(batch.get(i), generated, i);
+        }
+        awaitDurable(CompletableFuture.allOf(durable));
+        return generated;
+    }
+
+    private CompletableFuture<?> insert(Map<String, Object> userData, long[] generated, int slot) {
+        long id = nextId.getAndIncrement();
+        Map<String, Object> user = copyOf(userData);
+
+        // journal inside compute() so the log order of a user's changes matches the in-memory order;
+        // the ID set too, so a delete of this ID can't slip in between and leave it behind
+        CompletableFuture<?>[] durable = new CompletableFuture<?>[1];
+        apply(() -> users.compute(id, (key, old) -> {
+            durable[0] = journal.append(key, user);
+            updateIndexes(key, old, user);
+            ids.add(key);
+            return user;
+        }));
+        adds.increment();
+
+        generated[slot] = id;
+        return durable[0];
+    }
+
+    // Returns the user or null when the ID is unknown
+    public Map<String, Object> get(long id) {
+        return users.get(id);
+    }
+
+    // Replaces an existing user; returns false when the ID is unknown
+    public boolean update(long id, Map<String, Object> userData) {
+        Map<String, Object> user = copyOf(userData);
+
+        CompletableFuture<?>[] durable = new CompletableFuture<?>[1];
+        apply(() -> users.computeIfPresent(id, (key, old) -> {
+            durable[0] = journal.append(key, user);
+            updateIndexes(key, old, user);
+            return user;
+        }));
+
+        if (durable[0] == null) return false;
+        updates.increment();
+        awaitDurable(durable[0]);
+        return true;
+    }
+
+    // Removes a user; returns false when the ID is unknown
+    public boolean delete(long id) {
+        CompletableFuture<?>[] durable = new CompletableFuture<?>[1];
+        apply(() -> users.computeIfPresent(id, (key, old) -> {
+            durable[0] = journal.append(key, null);
+            updateIndexes(key, old, null);
+            ids.remove(key);
+            return null;
+        }));
+
+        if (durable[0] == null) return false;
+        deletes.increment();
+        awaitDurable(durable[0]);
+        return true;
+    }
+
+    // Runs one change of the map; the lock is taken outside compute(), never inside its bin monitor
+    private void apply(Runnable change) {
+        if (journal == UserJournal.NONE) {
+            change.run();
+            return;
+        }
+        Lock shared = applying.readLock();
+        shared.lock();
+        try {
+            change.run();
+        } finally {
+            shared.unlock();
+        }
+    }
+
+    // Only timed when there is something to wait for, so the in-memory default pays nothing
+    private void awaitDurable(CompletableFuture<?> durable) {
+        if (durable.isDone()) {
+            durable.join();
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            durable.join();
+        } finally {
+            journalWait.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public int size() {
+        return users.size();
+    }
+
+    // IDs in the ordered set; equal to size() whenever no write is in progress
+    int orderedIdCount() {
+        return ids.size();
+    }
+
+    // Snapshot of every user, ordered by ID
+    public List<Map<String, Object>> findAll() {
+        return entriesAfter(-1).map(Map.Entry::getValue).toList();
+    }
+
+    // Up to 'limit' users with an ID greater than 'after', ordered by ID
+    public List<Map.Entry<Long, Map<String, Object>>> findPage(long after, int limit) {
+        return entriesAfter(after).limit(limit).toList();
+    }
+
+    // Lazily walks users with an ID greater than 'after' in ID order, without materializing them
+    public Stream<Map.Entry<Long, Map<String, Object>>> entriesAfter(long after) {
+        return ids.tailSet(after, false).stream()
+                .map(id -> {
+                    Map<String, Object> user = users.get(id);
+                    return user == null ? null : Map.entry(id, user);
+                })
+                .filter(Objects::nonNull);
+    }
+
+    // Up to 'limit' users matching every filter with an ID greater than 'after', ordered by ID.
+    // At least one filter must hit an index; the others are checked against the candidates it yields.
+    public List<Map.Entry<Long, Map<String, Object>>> query(List<UserFilter> filters, long after, int limit) {
+        PrimitiveIterator.OfLong candidates = candidates(filters, after);
+
+        List<Map.Entry<Long, Map<String, Object>>> page = new ArrayList<>(Math.min(limit, 64));
+        while (page.size() < limit && candidates.hasNext()) {
+            long id = candidates.nextLong();
+            Map<String, Object> user = users.get(id);
+            if (user != null && matchesAll(filters, user)) {
+                page.add(Map.entry(id, user));
+            }
+        }
+        return page;
+    }
+
+    public Set<String> indexedFields() {
+        Set<String> fields = new TreeSet<>(equalityIndexes.keySet());
+        fields.addAll(rangeIndexes.keySet());
+        return fields;
+    }
+
+    // Picks the cheapest index to drive the query: an equality lookup, else one range scan per field
+    private PrimitiveIterator.OfLong candidates(List<UserFilter> filters, long after) {
+        UserFilter driver = null;
+        for (UserFilter filter : filters) {
+            UserIndex index = equalityIndexes.get(filter.field());
+            if (filter.isRange() || index == null) continue;
+            if (driver == null || !index.supportsRange()) driver = filter;
+        }
+        if (driver != null) {
+            return equalityIndexes.get(driver.field()).equalTo(driver.value(), after);
+        }
+
+        for (UserFilter filter : filters) {
+            UserIndex index = rangeIndexes.get(filter.field());
+            if (filter.isRange() && index != null) {
+                return rangeScan(index, filters, after);
+            }
+        }
+
+        throw new InvalidInputException("None of the filtered fields is indexed. Indexed fields: " + indexedFields());
+    }
+
+    // Folds every bound on the index's field (e.g. age.gte=18&age.lt=30) into a single scan
+    private static PrimitiveIterator.OfLong rangeScan(UserIndex index, List<UserFilter> filters, long after) {
+        Comparable<?> lower = null, upper = null;
+        boolean lowerInclusive = true, upperInclusive = true;
+
+        for (UserFilter filter : filters) {
+            if (!filter.isRange() || !filter.field().equals(index.field())) continue;
+
+            if (filter.isLowerBound()) {
+                int cmp = lower == null ? 1 : IndexKeys.compare(filter.value(), lower);
+                if (cmp > 0 || (cmp == 0 && !filter.isInclusive())) {
+                    lower = filter.value();
+                    lowerInclusive = filter.isInclusive();
+                }
+            } else {
+                int cmp = upper == null ? -1 : IndexKeys.compare(filter.value(), upper);
+                if (cmp < 0 || (cmp == 0 && !filter.isInclusive())) {
+                    upper = filter.value();
+                    upperInclusive = filter.isInclusive();
+                }
+            }
+        }
+
+        if (lower != null && upper != null && IndexKeys.compare(lower, upper) > 0) {
+            return LongStream.empty().iterator();
+        }
+        return index.range(lower, lowerInclusive, upper, upperInclusive, after);
+    }
+
+    private static boolean matchesAll(List<UserFilter> filters, Map<String, Object> user) {
+        for (UserFilter filter : filters) {
+            if (!filter.matches(user)) return false;
+        }
+        return true;
+    }
+
+    private void updateIndexes(long id, Map<String, Object> oldUser, Map<String, Object> newUser) {
+        for (UserIndex index : indexes) {
+            index.update(id, oldUser, newUser);
+        }
+    }
+
+    // Recovery writes straight into the maps; nothing here goes back into the journal
+    private final class JournalStore implements UserJournal.Store {
+
+        @Override
+        public void restore(long id, Map<String, Object> user) {
+            Map<String, Object> copy = copyOf(user);
+            updateIndexes(id, users.put(id, copy), copy);
+            ids.add(id);
+            reserveIdsBelow(id + 1);
+        }
+
+        @Override
+        public void forget(long id) {
+            updateIndexes(id, users.remove(id), null);
+            ids.remove(id);
+            reserveIdsBelow(id + 1);
+        }
+
+        @Override
+        public void reserveIdsBelow(long next) {
+            nextId.accumulateAndGet(next, Math::max);
+        }
+
+        @Override
+        public long nextId() {
+            return nextId.get();
+        }
+
+        // Waits for the changes in progress to reach the map; new ones wait until the action is done
+        @Override
+        public void quiesce(Runnable action) {
+            Lock exclusive = applying.writeLock();
+            exclusive.lock();
+            try {
+                action.run();
+            } finally {
+                exclusive.unlock();
+            }
+        }
+
+        @Override
+        public Stream<Map.Entry<Long, Map<String, Object>>> snapshot() {
+            // the hash map, not the ID set: a user is in the map before its journal entry is queued
+            return users.entrySet().stream();
+        }
+    }
+
+    // Stored users are read-only copies, so callers can't mutate shared state behind our back
+    private static Map<String, Object> copyOf(Map<String, Object> userData) {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(userData));
+    }
+}
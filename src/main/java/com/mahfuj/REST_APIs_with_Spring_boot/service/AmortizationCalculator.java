@@ -0,0 +1,205 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.service;
+
+import com.mahfuj.REST_APIs_with_Spring_boot.dto.LoanRequest;
+import com.mahfuj.REST_APIs_with_Spring_boot.dto.PortfolioResponse;
+import com.mahfuj.REST_APIs_with_Spring_boot.exception.InvalidInputException;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.ToIntFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Month-by-month amortization of a loan, with prepayments and rate changes.
+ * <p>
+ * Rows are handed to a callback as primitives instead of being collected, so a
+ * schedule can be streamed to the client (or folded into a portfolio total)
+ * without ever holding it in memory.
+ */
+public final class AmortizationCalculator {
+
+    public static final int MAX_YEARS = 50;
+    public static final int MAX_MONTHS = MAX_YEARS * 12;
+
+    // Balances below half a cent count as paid off
+    private static final double PAID_OFF = 0.005;
+
+    private AmortizationCalculator() {
+    }
+
+    // Fixed monthly installment; the growth factor is computed once, and a 0% loan is simply split evenly
+    public static double monthlyInstallment(double amount, double rate, int months) {
+        double monthlyRate = rate / 12 / 100;
+        if (monthlyRate == 0) return amount / months;
+        double growth = Math.pow(1 + monthlyRate, months);
+        return amount * monthlyRate * growth / (growth - 1);
+    }
+
+    public static void validate(LoanRequest loan) {
+        if (!(loan.amount() > 0) || Double.isInfinite(loan.amount())) {
+            throw new InvalidInputException("amount must be a positive number");
+        }
+        checkRate(loan.rate());
+        if (loan.years() < 1 || loan.years() > MAX_YEARS) {
+            throw new InvalidInputException("years must be between 1 and " + MAX_YEARS);
+        }
+        int months = loan.years() * 12;
+        for (LoanRequest.Prepayment prepayment : nullToEmpty(loan.prepayments())) {
+            if (prepayment == null) throw new InvalidInputException("prepayments must not contain null");
+            checkMonth(prepayment.month(), months);
+            if (!(prepayment.amount() >= 0)) throw new InvalidInputException("prepayment amounts must not be negative");
+        }
+        for (LoanRequest.RateChange change : nullToEmpty(loan.rateChanges())) {
+            if (change == null) throw new InvalidInputException("rateChanges must not contain null");
+            checkMonth(change.month(), months);
+            checkRate(change.rate());
+        }
+    }
+
+    /**
+     * Walks the schedule and passes every month to the sink; returns the number of months until the
+     * loan is paid off. Prepayments keep the installment and shorten the loan, a rate change
+     * re-amortizes the remaining balance over the rest of the original term.
+     */
+    public static <X extends Exception> int schedule(LoanRequest loan, RowSink<X> sink) throws X {
+        validate(loan);
+        int months = loan.years() * 12;
+        List<LoanRequest.Prepayment> prepayments = sorted(loan.prepayments(), LoanRequest.Prepayment::month);
+        List<LoanRequest.RateChange> rateChanges = sorted(loan.rateChanges(), LoanRequest.RateChange::month);
+        int nextPrepayment = 0, nextRateChange = 0;
+
+        double balance = loan.amount();
+        double monthlyRate = loan.rate() / 12 / 100;
+        double installment = monthlyInstallment(balance, loan.rate(), months);
+
+        int month = 0;
+        while (month < months && balance >= PAID_OFF) {
+            month++;
+            while (nextRateChange < rateChanges.size() && rateChanges.get(nextRateChange).month() == month) {
+                double rate = rateChanges.get(nextRateChange++).rate();
+                monthlyRate = rate / 12 / 100;
+                installment = monthlyInstallment(balance, rate, months - month + 1);
+            }
+
+            double interest = balance * monthlyRate;
+            // the last installment only covers what is left
+            double principal = month == months ? balance : Math.min(installment - interest, balance);
+            balance -= principal;
+
+            double extra = 0;
+            while (nextPrepayment < prepayments.size() && prepayments.get(nextPrepayment).month() == month) {
+                extra += prepayments.get(nextPrepayment++).amount();
+            }
+            extra = Math.min(extra, balance);
+            balance -= extra;
+            if (balance < PAID_OFF) balance = 0;
+
+            sink.row(month, principal + interest, principal, interest, extra, balance);
+        }
+        return month;
+    }
+
+    @FunctionalInterface
+    public interface RowSink<X extends Exception> {
+        void row(int month, double payment, double principal, double interest, double prepayment, double balance) throws X;
+    }
+
+    /**
+     * Month-by-month totals over many loans. Not thread-safe: parallel callers each fill
+     * their own and {@link #merge} them, which keeps memory at a few arrays per worker.
+     */
+    public static final class PortfolioTotals implements RowSink<RuntimeException> {
+
+        final double[] payment = new double[MAX_MONTHS];
+        final double[] principal = new double[MAX_MONTHS];
+        final double[] interest = new double[MAX_MONTHS];
+        final double[] balance = new double[MAX_MONTHS];
+        long loans;
+        double amount;
+        int months;
+
+        public void add(LoanRequest loan) {
+            months = Math.max(months, schedule(loan, this));
+            amount += loan.amount();
+            loans++;
+        }
+
+        @Override
+        public void row(int month, double payment, double principal, double interest, double prepayment, double balance) {
+            int i = month - 1;
+            this.payment[i] += payment + prepayment;
+            this.principal[i] += principal + prepayment;
+            this.interest[i] += interest;
+            this.balance[i] += balance;
+        }
+
+        public long loans() {
+            return loans;
+        }
+
+        public double amount() {
+            return amount;
+        }
+
+        // Longest schedule in the portfolio
+        public int months() {
+            return months;
+        }
+
+        public double totalInterest() {
+            double total = 0;
+            for (int i = 0; i < months; i++) total += interest[i];
+            return total;
+        }
+
+        public double totalPaid() {
+            double total = 0;
+            for (int i = 0; i < months; i++) total += payment[i];
+            return total;
+        }
+
+        // One array per measure, index i = month i + 1, amounts rounded to cents
+        public PortfolioResponse.Monthly monthlyColumns() {
+            return new PortfolioResponse.Monthly(IntStream.rangeClosed(1, months).toArray(),
+                    cents(payment), cents(principal), cents(interest), cents(balance));
+        }
+
+        private double[] cents(double[] column) {
+            double[] rounded = new double[months];
+            for (int i = 0; i < months; i++) rounded[i] = Math.round(column[i] * 100.0) / 100.0;
+            return rounded;
+        }
+
+        public PortfolioTotals merge(PortfolioTotals other) {
+            for (int i = 0; i < other.months; i++) {
+                payment[i] += other.payment[i];
+                principal[i] += other.principal[i];
+                interest[i] += other.interest[i];
+                balance[i] += other.balance[i];
+            }
+            loans += other.loans;
+            amount += other.amount;
+            months = Math.max(months, other.months);
+            return this;
+        }
+    }
+
+    private static void checkRate(double rate) {
+        if (!(rate >= 0) || rate > 100) throw new InvalidInputException("rate must be between 0 and 100");
+    }
+
+    private static void checkMonth(int month, int months) {
+        if (month < 1 || month > months) throw new InvalidInputException("month must be between 1 and " + months);
+    }
+
+    private static <T> List<T> nullToEmpty(List<T> list) {
+        return list == null ? List.of() : list;
+    }
+
+    private static <T> List<T> sorted(List<T> list, ToIntFunction<T> month) {
+        List<T> copy = new ArrayList<>(nullToEmpty(list));
+        copy.sort(Comparator.comparingInt(month));
+        return copy;
+    }
+}
@@ -0,0 +1,102 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.service;
+
+import com.mahfuj.REST_APIs_with_Spring_boot.config.ComputeProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Fixed pool of platform threads for the CPU-heavy calculators (sieve ranges,
+ * large Fibonacci numbers, big batches).
+ * <p>
+ * Request threads hand the work over and wait for the result. With virtual
+ * threads that wait unmounts the caller, so no matter how many requests are in
+ * flight, at most {@code threads} calculations compete for the carriers and the
+ * cheap endpoints stay responsive. With platform threads it still caps CPU
+ * contention. The queue is bounded: once it is full, callers are turned away
+ * with a {@link RejectedExecutionException} (503) instead of piling up.
+ */
+@Component
+public class ComputeExecutor implements DisposableBean {
+
+    private final ThreadPoolExecutor pool;
+    private final Counter rejected;
+
+    public ComputeExecutor(int threads, int queueCapacity) {
+        this(threads, queueCapacity, new CompositeMeterRegistry());
+    }
+
+    public ComputeExecutor(int threads, int queueCapacity, MeterRegistry registry) {
+        int size = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger sequence = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(size, size, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                task -> new Worker(task, "compute-" + sequence.incrementAndGet()),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("compute.queued", pool, p -> p.getQueue().size()).register(registry);
+        Gauge.builder("compute.active", pool, ThreadPoolExecutor::getActiveCount).register(registry);
+        this.rejected = Counter.builder("compute.rejected").register(registry);
+    }
+
+    @Autowired
+    public ComputeExecutor(ComputeProperties properties, MeterRegistry registry) {
+        this(properties.threads(), properties.queueCapacity(), registry);
+    }
+
+    // Runs the calculation on the pool and waits for it; exceptions reach the caller unchanged
+    public <T> T call(Supplier<T> calculation) {
+        // already on a worker (one calculation calling another): queueing again could deadlock
+        if (Thread.currentThread() instanceof Worker) return calculation.get();
+
+        Future<T> future;
+        try {
+            future = pool.submit(calculation::get);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new RejectedExecutionException("Server is busy, try again shortly");
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a calculation", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) throw runtime;
+            if (e.getCause() instanceof Error error) throw error;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    // Calculations waiting for a worker
+    public int queued() {
+        return pool.getQueue().size();
+    }
+
+    @Override
+    public void destroy() {
+        pool.shutdownNow();
+    }
+
+    private static final class Worker extends Thread {
+        Worker(Runnable task, String name) {
+            super(task, name);
+            setDaemon(true);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.service;
+
+import com.mahfuj.REST_APIs_with_Spring_boot.config.FibonacciProperties;
+import com.mahfuj.REST_APIs_with_Spring_boot.exception.InvalidInputException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.math.BigInteger;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Arbitrary-precision Fibonacci numbers within configurable size and time budgets.
+ * <p>
+ * A single F(n) is computed by fast doubling, which needs O(log n) big-number
+ * multiplications instead of n additions. Results for large n are kept in a small
+ * LRU memo, since the same big values tend to be requested repeatedly.
+ * Sequences are produced one term at a time so they can be streamed.
+ * <p>
+ * Metrics: {@code fibonacci.index} (the requested n, per operation) and
+ * {@code fibonacci.memo} hits and misses.
+ */
+@Component
+public class FibonacciEngine {
+
+    // Below this F(n) takes microseconds, so it isn't worth a memo slot
+    private static final int MEMO_THRESHOLD = 1024;
+
+    private final FibonacciProperties properties;
+    private final Map<Integer, BigInteger> memo;
+
+    private final DistributionSummary nthIndex;
+    private final DistributionSummary sequenceLength;
+    private final Counter memoHits;
+    private final Counter memoMisses;
+
+    // Without a registry the meters are no-ops
+    public FibonacciEngine(FibonacciProperties properties) {
+        this(properties, new CompositeMeterRegistry());
+    }
+
+    @Autowired
+    public FibonacciEngine(FibonacciProperties properties, MeterRegistry registry) {
+        this.properties = properties;
+        this.nthIndex = index(registry, "nth");
+        this.sequenceLength = index(registry, "sequence");
+        this.memoHits = Counter.builder("fibonacci.memo").tag("result", "hit").register(registry);
+        this.memoMisses = Counter.builder("fibonacci.memo").tag("result", "miss").register(registry);
+        this.memo = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, BigInteger> eldest) {
+                return size() > properties.memoSize();
+            }
+        };
+    }
+
+    // Cost grows with n, so the distribution of n says more than the request count
+    private static DistributionSummary index(MeterRegistry registry, String operation) {
+        return DistributionSummary.builder("fibonacci.index")
+                .description("Requested F(n) index or sequence length")
+                .tag("operation", operation)
+                .serviceLevelObjectives(10, 100, 1_000, 10_000, 100_000, 1_000_000)
+                .register(registry);
+    }
+
+    public FibonacciProperties budget() {
+        return properties;
+    }
+
+    // F(n), with F(0) = 0 and F(1) = 1
+    public BigInteger nth(int n) {
+        if (n < 0 || n > properties.maxIndex()) {
+            throw new InvalidInputException("n must be between 0 and " + properties.maxIndex());
+        }
+        nthIndex.record(n);
+        if (n >= MEMO_THRESHOLD) {
+            BigInteger cached;
+            synchronized (memo) {
+                cached = memo.get(n);
+            }
+            if (cached != null) {
+                memoHits.increment();
+                return cached;
+            }
+            memoMisses.increment();
+        }
+
+        long deadline = System.nanoTime() + properties.timeBudget().toNanos();
+        BigInteger a = fastDoubling(n, false, (done, total) -> checkDeadline(deadline));
+
+        if (n >= MEMO_THRESHOLD) {
+            synchronized (memo) {
+                memo.put(n, a);
+            }
+        }
+        return a;
+    }
+
+    // F(n) for a background job: its own index limit, no time budget and no memo (the job keeps the
+    // result). The multiplications are split across the current fork/join pool, and progress hears
+    // about every bit of n, though the last few bits take most of the time
+    public BigInteger nth(int n, int maxIndex, Progress progress) {
+        if (n < 0 || n > maxIndex) {
+            throw new InvalidInputException("n must be between 0 and " + maxIndex);
+        }
+        nthIndex.record(n);
+        return fastDoubling(n, true, progress);
+    }
+
+    private static BigInteger fastDoubling(int n, boolean parallel, Progress progress) {
+        int bits = 32 - Integer.numberOfLeadingZeros(n);
+        BigInteger a = BigInteger.ZERO; // F(k)
+        BigInteger b = BigInteger.ONE;  // F(k+1)
+        for (int bit = bits - 1; bit >= 0; bit--) {
+            // F(2k) = F(k) * (2F(k+1) - F(k)),  F(2k+1) = F(k)^2 + F(k+1)^2
+            BigInteger c = multiply(a, b.shiftLeft(1).subtract(a), parallel);
+            BigInteger d = multiply(a, a, parallel).add(multiply(b, b, parallel));
+            if ((n >>> bit & 1) == 0) {
+                a = c;
+                b = d;
+            } else {
+                a = d;
+                b = c.add(d);
+            }
+            progress.step(bits - bit, bits);
+        }
+        return a;
+    }
+
+    private static BigInteger multiply(BigInteger x, BigInteger y, boolean parallel) {
+        return parallel ? x.parallelMultiply(y) : x.multiply(y);
+    }
+
+    // Feeds F(0) .. F(count - 1) to the sink, one addition per term. Time spent in the sink (e.g. blocked
+    // on a slow client) doesn't count against the budget, which is for the computation
+    public <X extends Exception> void sequence(int count, TermSink<X> sink) throws X {
+        checkSequenceLength(count);
+        sequenceLength.record(count);
+        long deadline = System.nanoTime() + properties.timeBudget().toNanos();
+        BigInteger a = BigInteger.ZERO, b = BigInteger.ONE;
+        for (int i = 0; i < count; i++) {
+            long before = System.nanoTime();
+            sink.accept(a);
+            deadline += System.nanoTime() - before;
+            BigInteger next = a.add(b);
+            a = b;
+            b = next;
+            if ((i & 255) == 255) checkDeadline(deadline);
+        }
+    }
+
+    // Lets callers reject an oversized sequence before they start streaming it
+    public void checkSequenceLength(int count) {
+        if (count > properties.maxSequenceLength()) {
+            throw new InvalidInputException("n must not exceed " + properties.maxSequenceLength());
+        }
+    }
+
+    private void checkDeadline(long deadline) {
+        if (System.nanoTime() - deadline > 0) {
+            throw new InvalidInputException("Computation exceeded the " + properties.timeBudget().toMillis()
+                    + " ms budget; try a smaller n");
+        }
+    }
+
+    @FunctionalInterface
+    public interface Progress {
+        void step(int done, int total);
+    }
+
+    @FunctionalInterface
+    public interface TermSink<X extends Exception> {
+        void accept(BigInteger term) throws X;
+    }
+}
@@ -0,0 +1,369 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.service;
+
+import com.mahfuj.REST_APIs_with_Spring_boot.config.PrimeProperties;
+import com.mahfuj.REST_APIs_with_Spring_boot.exception.InvalidInputException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.LongConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+/**
+ * Prime engine behind /api/prime and /api/primes.
+ * <p>
+ * Numbers below the sieve limit live in a segmented Sieve of Eratosthenes that
+ * only stores odd numbers, one bit each (a 2M-number segment is a 128 KB
+ * {@code long[]}). Segments are sieved the first time something touches them
+ * and are then shared, so a lookup in a cached range is a single bit test.
+ * <p>
+ * Above the limit, single numbers go through deterministic Miller–Rabin and
+ * ranges are sieved segment by segment on the fly without being cached.
+ * Range counts fan the segments out over the common fork-join pool, or over
+ * the caller's pool when called from one of its workers (background jobs).
+ * <p>
+ * Metrics: {@code primes.lookups} by how they were answered (sieve bit or
+ * Miller–Rabin) and {@code primes.segments.sieved}, i.e. sieve cache misses.
+ */
+@Component
+public class PrimeSieve {
+
+    // Numbers per segment; must be a multiple of 128 so a segment is a whole number of longs
+    static final int SEGMENT_SPAN = 1 << 21;
+    private static final int WORDS_PER_SEGMENT = SEGMENT_SPAN / 2 / 64;
+
+    // Ranges are sieved with base primes up to sqrt(MAX_RANGE_VALUE), computed once on start
+    public static final long MAX_RANGE_VALUE = 1_000_000_000_000L;
+    public static final long MAX_RANGE_SPAN = 1L << 32;
+
+    private final long sieveLimit;
+    private final AtomicReferenceArray<long[]> segments;
+    private final int[] basePrimes;
+
+    private final Counter sieveLookups;
+    private final Counter millerRabinLookups;
+    private final Counter segmentsCached;
+    private final Counter segmentsTransient;
+
+    // Without a registry the meters are no-ops
+    public PrimeSieve(long sieveLimit) {
+        this(sieveLimit, new CompositeMeterRegistry());
+    }
+
+    public PrimeSieve(long sieveLimit, MeterRegistry registry) {
+        if (sieveLimit < 0 || sieveLimit > Integer.MAX_VALUE * (long) SEGMENT_SPAN) {
+            throw new IllegalArgumentException("sieveLimit out of range: " + sieveLimit);
+        }
+        int segmentCount = (int) ((sieveLimit + SEGMENT_SPAN - 1) / SEGMENT_SPAN);
+        this.sieveLimit = (long) segmentCount * SEGMENT_SPAN;
+        this.segments = new AtomicReferenceArray<>(segmentCount);
+        this.basePrimes = oddPrimesUpTo((int) Math.sqrt((double) Math.max(MAX_RANGE_VALUE, this.sieveLimit)) + 1);
+
+        this.sieveLookups = Counter.builder("primes.lookups").tag("source", "sieve").register(registry);
+        this.millerRabinLookups = Counter.builder("primes.lookups").tag("source", "miller-rabin").register(registry);
+        this.segmentsCached = Counter.builder("primes.segments.sieved").tag("kind", "cached")
+                .description("Segments sieved below the limit and kept (sieve cache misses)").register(registry);
+        this.segmentsTransient = Counter.builder("primes.segments.sieved").tag("kind", "transient")
+                .description("Segments sieved above the limit for a range query and dropped").register(registry);
+    }
+
+    @Autowired
+    public PrimeSieve(PrimeProperties properties, MeterRegistry registry) {
+        this(properties.sieveLimit(), registry);
+    }
+
+    // Numbers below this are served from the cached bitset
+    public long sieveLimit() {
+        return sieveLimit;
+    }
+
+    // Sieves the segments below upTo (at most up to the limit) ahead of their first lookup; returns how many there are
+    public int preload(long upTo) {
+        int count = upTo <= 0 ? 0 : (int) Math.min(segments.length(), (upTo - 1) / SEGMENT_SPAN + 1);
+        IntStream.range(0, count).parallel().forEach(this::segment);
+        return count;
+    }
+
+    public boolean isPrime(long n) {
+        if (n < 3) return n == 2;
+        if ((n & 1) == 0) return false;
+        if (n < sieveLimit) {
+            sieveLookups.increment();
+            long[] bits = segment(n / SEGMENT_SPAN);
+            return isSet(bits, (int) (n % SEGMENT_SPAN) >>> 1);
+        }
+        millerRabinLookups.increment();
+        return millerRabin(n);
+    }
+
+    // Smallest prime strictly greater than n
+    public long nextPrime(long n) {
+        if (n < 2) return 2;
+        long candidate = (n + 1) | 1; // first odd number above n
+        while (candidate < sieveLimit) {
+            long segment = candidate / SEGMENT_SPAN;
+            long[] bits = segment(segment);
+            int bit = nextSetBit(bits, (int) (candidate % SEGMENT_SPAN) >>> 1);
+            if (bit >= 0) return segment * SEGMENT_SPAN + 2L * bit + 1;
+            candidate = (segment + 1) * SEGMENT_SPAN + 1;
+        }
+        millerRabinLookups.increment();
+        while (!millerRabin(candidate)) {
+            candidate = Math.addExact(candidate, 2);
+        }
+        return candidate;
+    }
+
+    // Number of primes p with from <= p <= to, counting the segments in parallel
+    public long count(long from, long to) {
+        return count(from, to, segment -> {});
+    }
+
+    // Same, telling 'counted' about each segment once it is done, from whichever thread counted it
+    public long count(long from, long to, LongConsumer counted) {
+        checkRange(from, to);
+        long lo = Math.max(from, 2);
+        if (lo > to) return 0;
+
+        long twos = lo == 2 ? 1 : 0;
+        long odd = LongStream.rangeClosed(lo / SEGMENT_SPAN, to / SEGMENT_SPAN)
+                .parallel()
+                .map(segment -> {
+                    long primes = countInSegment(segment, lo, to);
+                    counted.accept(segment);
+                    return primes;
+                })
+                .sum();
+        return twos + odd;
+    }
+
+    // How many segments count(from, to) goes through, i.e. the calls 'counted' gets
+    public static long segments(long from, long to) {
+        long lo = Math.max(from, 2);
+        return lo > to ? 0 : to / SEGMENT_SPAN - lo / SEGMENT_SPAN + 1;
+    }
+
+    // Up to 'limit' primes p with from <= p <= to and p > after, in ascending order
+    public List<Long> list(long from, long to, long after, int limit) {
+        checkRange(from, to);
+        long lo = Math.max(Math.max(from, 2), after == Long.MAX_VALUE ? after : after + 1);
+        List<Long> primes = new ArrayList<>(Math.min(limit, 1024));
+        if (lo > to || limit <= 0) return primes;
+
+        if (lo == 2) primes.add(2L);
+        for (long segment = lo / SEGMENT_SPAN; segment <= to / SEGMENT_SPAN && primes.size() < limit; segment++) {
+            long base = segment * SEGMENT_SPAN;
+            long[] bits = segment(segment);
+            int first = firstBit(segment, lo);
+            int last = lastBit(segment, to);
+            for (int bit = nextSetBit(bits, first); bit >= 0 && bit <= last && primes.size() < limit;
+                 bit = nextSetBit(bits, bit + 1)) {
+                primes.add(base + 2L * bit + 1);
+            }
+        }
+        return primes;
+    }
+
+    // Feeds the primes p with from <= p <= to and p > after to the sink in ascending order, sieving each segment once
+    public <X extends Exception> void each(long from, long to, long after, PrimeSink<X> sink) throws X {
+        checkRange(from, to);
+        long lo = Math.max(Math.max(from, 2), after == Long.MAX_VALUE ? after : after + 1);
+        if (lo > to) return;
+
+        if (lo == 2) sink.accept(2);
+        for (long segment = lo / SEGMENT_SPAN; segment <= to / SEGMENT_SPAN; segment++) {
+            long base = segment * SEGMENT_SPAN;
+            long[] bits = segment(segment);
+            int last = lastBit(segment, to);
+            for (int bit = nextSetBit(bits, firstBit(segment, lo)); bit >= 0 && bit <= last; bit = nextSetBit(bits, bit + 1)) {
+                sink.accept(base + 2L * bit + 1);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface PrimeSink<X extends Exception> {
+        void accept(long prime) throws X;
+    }
+
+    // Lets callers reject a range before they start streaming it
+    public static void checkRange(long from, long to) {
+        if (from > to) {
+            throw new InvalidInputException("from must not be greater than to");
+        }
+        if (to > MAX_RANGE_VALUE) {
+            throw new InvalidInputException("to must not exceed " + MAX_RANGE_VALUE);
+        }
+        if (to - Math.max(from, 0) > MAX_RANGE_SPAN) {
+            throw new InvalidInputException("range must not span more than " + MAX_RANGE_SPAN + " numbers");
+        }
+    }
+
+    private long countInSegment(long segment, long lo, long to) {
+        long[] bits = segment(segment);
+        int first = firstBit(segment, lo);
+        int last = lastBit(segment, to);
+        if (first > last) return 0;
+
+        int firstWord = first >>> 6, lastWord = last >>> 6;
+        if (firstWord == lastWord) {
+            return Long.bitCount(bits[firstWord] & (-1L << first) & (-1L >>> (63 - (last & 63))));
+        }
+        long count = Long.bitCount(bits[firstWord] & (-1L << first));
+        for (int word = firstWord + 1; word < lastWord; word++) {
+            count += Long.bitCount(bits[word]);
+        }
+        return count + Long.bitCount(bits[lastWord] & (-1L >>> (63 - (last & 63))));
+    }
+
+    // Bit of the first odd number >= lo inside the segment (0 if lo is before the segment)
+    private static int firstBit(long segment, long lo) {
+        long base = segment * SEGMENT_SPAN;
+        return lo <= base ? 0 : (int) ((lo - base) >>> 1);
+    }
+
+    // Bit of the last odd number <= to inside the segment
+    private static int lastBit(long segment, long to) {
+        long base = segment * SEGMENT_SPAN;
+        long end = base + SEGMENT_SPAN - 1;
+        return to >= end ? SEGMENT_SPAN / 2 - 1 : (int) ((to - base - 1) >> 1);
+    }
+
+    // ------------------------------------------------------------
+    // SEGMENTS
+    // ------------------------------------------------------------
+
+    // Cached below the sieve limit, sieved on the fly (and dropped) above it
+    private long[] segment(long segment) {
+        if (segment >= segments.length()) {
+            segmentsTransient.increment();
+            return sieve(segment);
+        }
+        int index = (int) segment;
+        long[] bits = segments.get(index);
+        if (bits == null) {
+            // racing threads may both sieve the segment; the result is identical, so the first one wins
+            bits = sieve(segment);
+            if (segments.compareAndSet(index, null, bits)) segmentsCached.increment();
+            else bits = segments.get(index);
+        }
+        return bits;
+    }
+
+    // Bit i of the result is set when segment*SPAN + 2i + 1 is prime
+    private long[] sieve(long segment) {
+        long base = segment * SEGMENT_SPAN;
+        long end = base + SEGMENT_SPAN;
+        long[] bits = new long[WORDS_PER_SEGMENT];
+        Arrays.fill(bits, -1L);
+        if (segment == 0) bits[0] &= ~1L; // 1 is not prime
+
+        for (int p : basePrimes) {
+            long square = (long) p * p;
+            if (square >= end) break;
+            // first odd multiple of p in the segment, never below p^2 so p itself stays set
+            long start = Math.max(square, (base + p - 1) / p * p);
+            if ((start & 1) == 0) start += p;
+            for (long multiple = start; multiple < end; multiple += 2L * p) {
+                int bit = (int) ((multiple - base) >>> 1);
+                bits[bit >>> 6] &= ~(1L << bit);
+            }
+        }
+        return bits;
+    }
+
+    private static boolean isSet(long[] bits, int bit) {
+        return (bits[bit >>> 6] & (1L << bit)) != 0;
+    }
+
+    private static int nextSetBit(long[] bits, int from) {
+        int word = from >>> 6;
+        if (word >= bits.length) return -1;
+        long current = bits[word] & (-1L << from);
+        while (current == 0) {
+            if (++word == bits.length) return -1;
+            current = bits[word];
+        }
+        return (word << 6) + Long.numberOfTrailingZeros(current);
+    }
+
+    private static int[] oddPrimesUpTo(int max) {
+        boolean[] composite = new boolean[max + 1];
+        List<Integer> primes = new ArrayList<>();
+        for (int i = 3; i <= max; i += 2) {
+            if (composite[i]) continue;
+            primes.add(i);
+            for (long j = (long) i * i; j <= max; j += 2L * i) composite[(int) j] = true;
+        }
+        return primes.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    // ------------------------------------------------------------
+    // MILLER–RABIN (deterministic for every long)
+    // ------------------------------------------------------------
+
+    // {2, 7, 61} is exact below 4,759,123,141 and the first twelve primes cover all of 2^64;
+    // the cheap path is only taken below 2^32, where x * x still fits in an unsigned long
+    private static final long[] SMALL_BASES = {2, 7, 61};
+    private static final long[] LONG_BASES = {2, 3, 5, 7, 11, 13, 17, 19, 23, 29, 31, 37};
+
+    static boolean millerRabin(long n) {
+        if (n < 2) return false;
+        for (long p : LONG_BASES) {
+            if (n % p == 0) return n == p;
+        }
+
+        long d = n - 1;
+        int s = Long.numberOfTrailingZeros(d);
+        d >>= s;
+
+        if (n < 1L << 32) {
+            for (long a : SMALL_BASES) {
+                if (!passes(a, d, s, n)) return false;
+            }
+            return true;
+        }
+        // products no longer fit in 64 bits, so the rare large inputs take the BigInteger path
+        BigInteger bn = BigInteger.valueOf(n), bd = BigInteger.valueOf(d), minusOne = bn.subtract(BigInteger.ONE);
+        for (long a : LONG_BASES) {
+            BigInteger x = BigInteger.valueOf(a).modPow(bd, bn);
+            if (x.equals(BigInteger.ONE) || x.equals(minusOne)) continue;
+            boolean witness = true;
+            for (int r = 1; r < s && witness; r++) {
+                x = x.multiply(x).mod(bn);
+                if (x.equals(minusOne)) witness = false;
+            }
+            if (witness) return false;
+        }
+        return true;
+    }
+
+    // One Miller–Rabin round for n < 2^32
+    private static boolean passes(long a, long d, int s, long n) {
+        long x = powMod(a % n, d, n);
+        if (x == 1 || x == n - 1) return true;
+        for (int r = 1; r < s; r++) {
+            x = Long.remainderUnsigned(x * x, n);
+            if (x == n - 1) return true;
+        }
+        return false;
+    }
+
+    private static long powMod(long base, long exponent, long n) {
+        long result = 1;
+        while (exponent > 0) {
+            if ((exponent & 1) == 1) result = Long.remainderUnsigned(result * base, n);
+            base = Long.remainderUnsigned(base * base, n);
+            exponent >>= 1;
+        }
+        return result;
+    }
+}
@@ -1,17 +1,50 @@
 package com.mahfuj.REST_APIs_with_Spring_boot.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mahfuj.REST_APIs_with_Spring_boot.dto.*;
+import com.mahfuj.REST_APIs_with_Spring_boot.exception.InvalidInputException;
+import com.mahfuj.REST_APIs_with_Spring_boot.repository.UserFilter;
+import com.mahfuj.REST_APIs_with_Spring_boot.repository.UserRepository;
+import com.mahfuj.REST_APIs_with_Spring_boot.service.dates.Dates;
+import com.mahfuj.REST_APIs_with_Spring_boot.service.dates.ZoneClock;
+import com.mahfuj.REST_APIs_with_Spring_boot.service.password.PasswordAnalyzer;
+import com.mahfuj.REST_APIs_with_Spring_boot.service.streams.EventStream;
+import com.mahfuj.REST_APIs_with_Spring_boot.service.text.PalindromeScanner;
+import com.mahfuj.REST_APIs_with_Spring_boot.service.words.NumberLocale;
+import com.mahfuj.REST_APIs_with_Spring_boot.service.words.NumberToWords;
+import com.mahfuj.REST_APIs_with_Spring_boot.util.CsvFields;
+import com.mahfuj.REST_APIs_with_Spring_boot.util.JsonRecordReader;
+import com.mahfuj.REST_APIs_with_Spring_boot.util.NdjsonWriter;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
-import org.springframework.web.bind.annotation.PathVariable;
 
-import java.text.NumberFormat;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.Period;
 import java.time.ZoneId;
-import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.IntToDoubleFunction;
+import java.util.stream.IntStream;
 
 @Service
+@RequiredArgsConstructor
 public class UtilityService {
 
 
@@ -19,343 +52,750 @@ public class UtilityService {
     // 01. AGE CALCULATOR
     // ------------------------------------------------------------
 
-    public Map<String, Object> calculateAge(LocalDate dob) {
-        LocalDate currentDate = LocalDate.now();
+    private final ZoneClock zoneClock;
 
-        // Calculate the difference
-        Period period = Period.between(dob, currentDate);
+    private static final String INVALID_DATE = "Invalid date: expected yyyy-MM-dd";
 
-        // Create a readable string for the age
-        String ageString = String.format("%d years, %d months, and %d days",
-                period.getYears(),
-                period.getMonths(),
-                period.getDays());
+    public AgeResponse calculateAge(LocalDate dob) {
+        return calculateAge(dob, null);
+    }
+
+    // "Today" comes from the shared per-zone clock; zone = null is app.dates.default-zone
+    public AgeResponse calculateAge(LocalDate dob, String zone) {
+        LocalDate today = zoneClock.today(zoneClock.zone(zone));
+        return new AgeResponse(dob.toString(), Dates.age(dob, today));
+    }
 
-        // Use LinkedHashMap to preserve the order of your specific keys
-        Map<String, Object> response = new LinkedHashMap<>();
-        response.put("your date of birth", dob.toString());
-        response.put("your current age", ageString);
+    // Ages for many birthdates as columns; a date that doesn't parse rejects its row, not the batch
+    public AgeBatchResponse calculateAgeBatch(AgeBatchRequest request) {
+        String[] dob = request.dob();
+        int n = batchSize("dob", dob == null ? -1 : dob.length);
+        ZoneId zone = zoneClock.zone(request.zone());
+        LocalDate today = zoneClock.today(zone);
+
+        int[] years = new int[n], months = new int[n], days = new int[n];
+        boolean[] invalid = new boolean[n];
+        forEachIndex(n, i -> {
+            if (dob[i] == null) {
+                invalid[i] = true;
+                return;
+            }
+            try {
+                Period period = Period.between(Dates.parseIsoDate(dob[i]), today);
+                years[i] = period.getYears();
+                months[i] = period.getMonths();
+                days[i] = period.getDays();
+            } catch (DateTimeException e) {
+                invalid[i] = true;
+            }
+        });
 
-        return response;
+        List<RejectedInput> rejectedDetails = new ArrayList<>();
+        long rejected = 0;
+        for (int i = 0; i < n; i++) {
+            if (!invalid[i]) continue;
+            rejected++;
+            if (rejectedDetails.size() < MAX_REJECTED_DETAILS) {
+                rejectedDetails.add(new RejectedInput(i, INVALID_DATE));
+            }
+        }
+        return new AgeBatchResponse(n, today.toString(), zone.getId(), years, months, days, rejected, rejectedDetails);
+    }
+
+    // A CSV roster, read and answered one line at a time, so its size doesn't matter. Every line
+    // comes back with age_years,age_months,age_days,error appended; the date of birth is taken from
+    // the header column named 'column'. Quoted fields are understood but may not span lines.
+    public void writeAgeCsv(InputStream in, OutputStream out, String column, String zone) throws IOException {
+        LocalDate today = zoneClock.today(zoneClock.zone(zone));
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String header = reader.readLine();
+        if (header != null && header.startsWith("\uFEFF")) header = header.substring(1); // Excel's BOM
+        int field = header == null ? -1 : CsvFields.indexOf(header, column);
+        if (field < 0) {
+            throw new InvalidInputException("The CSV header has no '" + column + "' column");
+        }
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.append(header).append(",age_years,age_months,age_days,error\n");
+        StringBuilder row = new StringBuilder(128);
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) continue;
+            row.setLength(0);
+            row.append(line);
+            Period period = csvAge(line, field, today);
+            if (period == null) {
+                row.append(",,,,").append(INVALID_DATE);
+            } else {
+                row.append(',').append(period.getYears())
+                        .append(',').append(period.getMonths())
+                        .append(',').append(period.getDays())
+                        .append(',');
+            }
+            writer.append(row).append('\n');
+        }
+        writer.flush();
+    }
+
+    // The age for one CSV line, or null if its date field is missing or invalid
+    private static Period csvAge(String line, int field, LocalDate today) {
+        long range = CsvFields.find(line, field);
+        if (range < 0) return null;
+        try {
+            return Period.between(Dates.parseIsoDate(line, CsvFields.start(range), CsvFields.end(range)), today);
+        } catch (DateTimeException e) {
+            return null;
+        }
     }
 
     // ------------------------------------------------------------
     // 02. BMI CALCULATOR
     // ------------------------------------------------------------
 
-    public Map<String, Object> calculateBMI(double weight, double height) {
-        double bmi = weight / (height * height);
-        String category;
+    public BmiResponse calculateBMI(double weight, double height) {
+        double bmi = bmi(weight, height);
 
-        if (bmi < 18.5) category = "Underweight";
-        else if (bmi < 24.9) category = "Normal Weight";
-        else if (bmi < 29.9) category = "Overweight";
-        else category = "Obese";
+        return new BmiResponse(weight, height, round2(bmi), bmiCategory(bmi)); // score limited to 2 decimals
+    }
 
-        return Map.of(
-                "inputWeight", weight,
-                "inputHeight", height,
-                "bmiScore", Math.round(bmi * 100.0) / 100.0, // Limit decimals
-                "category", category
-        );
+    // The math and labels are shared with the batch endpoint, so both always agree
+    static double bmi(double weight, double height) {
+        return weight / (height * height);
+    }
+
+    static String bmiCategory(double bmi) {
+        if (bmi < 18.5) return "Underweight";
+        else if (bmi < 24.9) return "Normal Weight";
+        else if (bmi < 29.9) return "Overweight";
+        else return "Obese";
     }
 
     // ------------------------------------------------------------
     // 03. EMI CALCULATOR
     // ------------------------------------------------------------
-    public Map<String, Object> calculateEMI(double amount, double rate, int years) {
-        double monthlyRate = rate / 12 / 100;
+    public EmiResponse calculateEMI(double amount, double rate, int years) {
         int months = years * 12;
-        double emi = (amount * monthlyRate * Math.pow(1 + monthlyRate, months)) /
-                (Math.pow(1 + monthlyRate, months) - 1);
+        double emi = AmortizationCalculator.monthlyInstallment(amount, rate, months);
 
         double totalPayment = emi * months;
         double totalInterest = totalPayment - amount;
 
-        return Map.of(
-                "monthlyEMI", Math.round(emi * 100.0) / 100.0,
-                "totalAmountPaid", Math.round(totalPayment * 100.0) / 100.0,
-                "totalInterestPaid", Math.round(totalInterest * 100.0) / 100.0,
-                "loanTermMonths", months
-        );
+        return new EmiResponse(round2(emi), round2(totalPayment), round2(totalInterest), months);
     }
 
-    // ------------------------------------------------------------
-    // 04. CELSIUS TO FAHRENHEIT
-    // ------------------------------------------------------------
-    public Map<String, Object> celsiusToFahrenheit(double celsius) {
-        double fahrenheit = (celsius * 9/5) + 32;
-        return Map.of(
-                "celsius", celsius,
-                "fahrenheit", fahrenheit,
-                "formula", "(°C × 9/5) + 32 = °F"
-        );
+    // Fails fast, before a streamed schedule has started, on an invalid loan
+    public void checkLoan(LoanRequest loan) {
+        AmortizationCalculator.validate(loan);
     }
 
-    // ------------------------------------------------------------
-    // 05. PASSWORD STRENGTH CHECKER
-    // ------------------------------------------------------------
+    // Full month-by-month schedule as one JSON document (at most 600 rows)
+    public EmiScheduleResponse emiSchedule(LoanRequest loan) {
+        // before sizing the list from years: an unchecked value would ask for any capacity at all
+        AmortizationCalculator.validate(loan);
+        int months = loan.years() * 12;
+        List<EmiScheduleResponse.Row> rows = new ArrayList<>(months);
+        double[] totals = new double[3]; // interest, paid, prepaid
+        int paidOffIn = AmortizationCalculator.schedule(loan, (month, payment, principal, interest, prepayment, balance) -> {
+            totals[0] += interest;
+            totals[1] += payment + prepayment;
+            totals[2] += prepayment;
+            rows.add(scheduleRow(month, payment, principal, interest, prepayment, balance));
+        });
+
+        return new EmiScheduleResponse(
+                round2(AmortizationCalculator.monthlyInstallment(loan.amount(), loan.rate(), months)),
+                months,
+                paidOffIn,
+                round2(totals[1]),
+                round2(totals[0]),
+                round2(totals[2]),
+                rows);
+    }
 
-    public Map<String, Object> passwordStrength(String password) {
-        int score = 0;
-        List<String> suggestions = new ArrayList<>();
+    // Same rows as NDJSON, written while they are computed
+    public void streamEmiSchedule(LoanRequest loan, OutputStream out) throws IOException {
+        NdjsonWriter writer = new NdjsonWriter(objectMapper, out);
+        AmortizationCalculator.schedule(loan, (month, payment, principal, interest, prepayment, balance) ->
+                writer.write(scheduleRow(month, payment, principal, interest, prepayment, balance)));
+        writer.flush();
+    }
 
-        // Check 1: Length
-        if (password.length() >= 8) {
-            score++;
-        } else {
-            suggestions.add("Password is too short (minimum 8 characters required)");
-        }
+    // Same rows as Server-Sent Events ("row", id = month); a resumed stream skips the months the client has
+    public void streamEmiScheduleEvents(LoanRequest loan, EventStream events) throws IOException {
+        long after = events.lastEventId();
+        AmortizationCalculator.schedule(loan, (month, payment, principal, interest, prepayment, balance) -> {
+            if (month > after) {
+                events.send("row", month, scheduleRow(month, payment, principal, interest, prepayment, balance));
+            }
+        });
+    }
 
-        // Check 2: Uppercase
-        if (password.matches(".*[A-Z].*")) {
-            score++;
-        } else {
-            suggestions.add("Add at least one uppercase letter (A-Z)");
-        }
+    // Same rows as CSV with a header line; amounts have exactly two decimals
+    public void writeEmiScheduleCsv(LoanRequest loan, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.US_ASCII));
+        writer.write("month,payment,principal,interest,prepayment,balance\n");
+        StringBuilder line = new StringBuilder(96);
+        AmortizationCalculator.schedule(loan, (month, payment, principal, interest, prepayment, balance) -> {
+            line.setLength(0);
+            line.append(month);
+            appendCents(line.append(','), payment);
+            appendCents(line.append(','), principal);
+            appendCents(line.append(','), interest);
+            appendCents(line.append(','), prepayment);
+            appendCents(line.append(','), balance);
+            writer.append(line).append('\n');
+        });
+        writer.flush();
+    }
 
-        // Check 3: Lowercase
-        if (password.matches(".*[a-z].*")) {
-            score++;
-        } else {
-            suggestions.add("Add at least one lowercase letter (a-z)");
-        }
+    // Amortizes every loan of a JSON array / NDJSON upload and adds them up month by month.
+    // Loans are read in chunks and each chunk is spread over the fork-join pool, so memory
+    // depends on the chunk size, not on the number of loans.
+    public PortfolioResponse emiPortfolio(InputStream body) throws IOException {
+        AmortizationCalculator.PortfolioTotals totals = new AmortizationCalculator.PortfolioTotals();
+        List<LoanRequest> chunk = new ArrayList<>(PORTFOLIO_CHUNK_SIZE);
+        List<RejectedInput> rejectedDetails = new ArrayList<>();
+        long rejected = 0;
+
+        try (JsonRecordReader reader = new JsonRecordReader(objectMapper, body)) {
+            JsonToken token;
+            while ((token = reader.next()) != null) {
+                String reason = null;
+                if (token != JsonToken.START_OBJECT) {
+                    reader.skip();
+                    reason = "Expected a JSON object but found " + token;
+                } else {
+                    try {
+                        LoanRequest loan = reader.read(LoanRequest.class);
+                        AmortizationCalculator.validate(loan);
+                        chunk.add(loan);
+                    } catch (JsonMappingException e) {
+                        reason = "Invalid value for '" + fieldPath(e) + "'";
+                    } catch (IllegalArgumentException e) {
+                        reason = e.getMessage();
+                    }
+                }
 
-        // Check 4: Digits
-        if (password.matches(".*\\d.*")) {
-            score++;
-        } else {
-            suggestions.add("Add at least one number (0-9)");
+                if (reason != null) {
+                    rejected++;
+                    if (rejectedDetails.size() < MAX_REJECTED_DETAILS) {
+                        rejectedDetails.add(new RejectedInput(reader.index(), reason));
+                    }
+                }
+                if (chunk.size() == PORTFOLIO_CHUNK_SIZE) {
+                    totals.merge(amortizeChunk(chunk));
+                    chunk.clear();
+                }
+            }
         }
+        totals.merge(amortizeChunk(chunk));
+
+        return new PortfolioResponse(
+                totals.loans(),
+                rejected,
+                round2(totals.amount()),
+                round2(totals.totalInterest()),
+                round2(totals.totalPaid()),
+                totals.months(),
+                totals.monthlyColumns(),
+                rejectedDetails);
+    }
 
-        // Check 5: Special Characters
-        if (password.matches(".*[!@#$%^&*(),.?\":{}|<>].*")) {
-            score++;
-        } else {
-            suggestions.add("Add at least one special character (e.g., ! @ # $)");
+    static final int PORTFOLIO_CHUNK_SIZE = 1024;
+
+    // e.g. "prepayments[0].amount", without Jackson's class names
+    private static String fieldPath(JsonMappingException e) {
+        StringBuilder path = new StringBuilder();
+        for (JsonMappingException.Reference reference : e.getPath()) {
+            if (reference.getFieldName() != null) {
+                path.append(path.isEmpty() ? "" : ".").append(reference.getFieldName());
+            } else {
+                path.append('[').append(reference.getIndex()).append(']');
+            }
         }
+        return path.toString();
+    }
 
-        // Determine Text Label
-        String strength;
-        if (score <= 2) strength = "Weak";
-        else if (score <= 4) strength = "Moderate";
-        else strength = "Strong";
+    private static AmortizationCalculator.PortfolioTotals amortizeChunk(List<LoanRequest> chunk) {
+        // one totals object per fork-join leaf, not per loan
+        return chunk.parallelStream().collect(
+                AmortizationCalculator.PortfolioTotals::new,
+                AmortizationCalculator.PortfolioTotals::add,
+                AmortizationCalculator.PortfolioTotals::merge);
+    }
 
-        // Build Response
-        Map<String, Object> response = new LinkedHashMap<>();
-        response.put("password_length", password.length());
-        response.put("score", score + "/5");
-        response.put("strength", strength);
+    private static EmiScheduleResponse.Row scheduleRow(int month, double payment, double principal,
+                                                       double interest, double prepayment, double balance) {
+        return new EmiScheduleResponse.Row(month, round2(payment), round2(principal), round2(interest),
+                round2(prepayment), round2(balance));
+    }
 
-        if (!suggestions.isEmpty()) {
-            response.put("improvements_needed", suggestions);
-        } else {
-            response.put("message", "Great password!");
+    // Appends the value rounded to cents, always with two decimals and never in exponent notation
+    static void appendCents(StringBuilder sb, double value) {
+        long cents = Math.round(value * 100.0);
+        if (cents < 0) {
+            sb.append('-');
+            cents = -cents;
         }
-
-        return response;
+        sb.append(cents / 100).append('.');
+        long fraction = cents % 100;
+        if (fraction < 10) sb.append('0');
+        sb.append(fraction);
     }
 
     // ------------------------------------------------------------
-    // 06. FIBONACCI SEQUENCE GENERATOR
+    // 04. CELSIUS TO FAHRENHEIT
     // ------------------------------------------------------------
+    public CelsiusResponse celsiusToFahrenheit(double celsius) {
+        return new CelsiusResponse(celsius, fahrenheit(celsius), "(°C × 9/5) + 32 = °F");
+    }
 
-    public Map<String, Object> generate(int n) {
-        if (n <= 0) return Map.of("error", "n must be > 0");
-
-        List<Integer> seq = new ArrayList<>();
-        int a = 0, b = 1;
+    static double fahrenheit(double celsius) {
+        return (celsius * 9/5) + 32;
+    }
 
-        for (int i = 0; i < n; i++) {
-            seq.add(a);
-            int temp = a + b;
-            a = b;
-            b = temp;
-        }
-        return Map.of("sequence", seq);
+    static double round2(double value) {
+        return Math.round(value * 100.0) / 100.0;
     }
 
     // ------------------------------------------------------------
-    // 07. PALINDROME CHECKER
+    // 05. PASSWORD STRENGTH CHECKER
     // ------------------------------------------------------------
 
-    public Map<String, Object> check(String value) {
-        String cleaned = value.replaceAll("[^a-zA-Z0-9]", "").toLowerCase();
-        String reversed = new StringBuilder(cleaned).reverse().toString();
+    // One pass over the chars plus pluggable rules (see PasswordRules), instead of a regex per check
+    private final PasswordAnalyzer passwordAnalyzer;
 
-        return Map.of(
-                "value", value,
-                "isPalindrome", cleaned.equals(reversed),
-                "processed", cleaned,
-                "reverse", reversed,
-                "length", cleaned.length()
-        );
+    public PasswordStrengthResponse passwordStrength(String password) {
+        return passwordAnalyzer.evaluate(password);
     }
 
     // ------------------------------------------------------------
-    // 08. PRIME NUMBER CHECKER
+    // 06. FIBONACCI SEQUENCE GENERATOR
     // ------------------------------------------------------------
 
-    public Map<String, Object> checkPrime(@PathVariable int number) {
-        boolean isPrime = number > 1;
-        for (int i = 2; i * i <= number; i++) {
-            if (number % i == 0) {
-                isPrime = false;
-                break;
-            }
-        }
+    // BigInteger terms, so the sequence no longer overflows past n = 46
+    private final FibonacciEngine fibonacciEngine;
 
-        int nextPrime = number + 1;
-        while (true) {
-            boolean np = true;
-            for (int i = 2; i * i <= nextPrime; i++) {
-                if (nextPrime % i == 0) {
-                    np = false;
-                    break;
-                }
-            }
-            if (np) break;
-            nextPrime++;
+    public FibonacciSequenceResponse generate(int n) {
+        if (n <= 0) return FibonacciSequenceResponse.error("n must be > 0");
+        if (n > fibonacciEngine.budget().maxInlineTerms()) {
+            throw new InvalidInputException("n must not exceed " + fibonacciEngine.budget().maxInlineTerms()
+                    + "; use /api/fibonacci/" + n + "/stream for longer sequences");
         }
 
-        return Map.of(
-                "nextPrime", nextPrime,
-                "isPrime", isPrime,
-                "number", number
+        List<BigInteger> seq = new ArrayList<>(n);
+        fibonacciEngine.sequence(n, seq::add);
+        return FibonacciSequenceResponse.of(seq);
+    }
+
+    // Fails fast, before any of the stream is written, when n is over the budget
+    public void checkSequenceLength(int n) {
+        fibonacciEngine.checkSequenceLength(n);
+    }
+
+    // Streams the first n terms as NDJSON, one number per line
+    public void streamSequence(int n, OutputStream out) throws IOException {
+        NdjsonWriter writer = new NdjsonWriter(objectMapper, out);
+        fibonacciEngine.sequence(n, writer::write);
+        writer.flush();
+    }
+
+    // The first n terms as Server-Sent Events ("term", id = index), as decimal strings like F(n) below
+    public void streamSequenceEvents(int n, EventStream events) throws IOException {
+        long after = events.lastEventId();
+        int[] index = {0};
+        fibonacciEngine.sequence(n, term -> {
+            int i = index[0]++;
+            if (i > after) {
+                String value = term.toString();
+                events.send("term", i, new FibonacciNthResponse(i, value.length(), value));
+            }
+        });
+    }
 
-        );
+    // F(n) alone, computed by fast doubling; the value is a string so clients don't lose precision
+    public FibonacciNthResponse nthFibonacci(int n) {
+        String value = fibonacciEngine.nth(n).toString();
+        return new FibonacciNthResponse(n, value.length(), value);
     }
 
     // ------------------------------------------------------------
-    // 09. NUMBER TO WORD CONVERTER
+    // 07. PALINDROME CHECKER
     // ------------------------------------------------------------
 
-    public Map<String, Object> convertNumberToWords(long number) {
-        // 1. Convert to words (using a helper method below)
-        String words = convert(number);
+    private final PalindromeScanner palindromeScanner;
 
-        // 2. Format as currency (e.g., 1,500)
-        String formattedNumber = NumberFormat.getInstance(Locale.US).format(number);
+    // Letters and digits of any script, case-folded in one pass (no regex)
+    public PalindromeResponse check(String value) {
+        String cleaned = PalindromeScanner.normalize(value);
+        String reversed = new StringBuilder(cleaned).reverse().toString(); // keeps surrogate pairs together
 
-        // 3. Build the User-Friendly Response
-        Map<String, Object> response = new LinkedHashMap<>();
-        response.put("input_number", number);
-        response.put("formatted", formattedNumber);
-        response.put("in_words", words + " Only"); // specific format often used in banking
-
-        return response;
+        return new PalindromeResponse(value, cleaned.equals(reversed), cleaned, reversed,
+                cleaned.codePointCount(0, cleaned.length()));
     }
 
-    // --- Helper Logic for Number Conversion ---
-    private static final String[] units = {
-            "", "One", "Two", "Three", "Four", "Five", "Six", "Seven", "Eight", "Nine", "Ten",
-            "Eleven", "Twelve", "Thirteen", "Fourteen", "Fifteen", "Sixteen", "Seventeen", "Eighteen", "Nineteen"
-    };
+    // A request body of any size, streamed; see PalindromeScanner
+    public TextPalindromeResponse checkText(InputStream body, boolean longest) throws IOException {
+        return palindromeScanner.scan(body, longest);
+    }
 
-    private static final String[] tens = {
-            "", "", "Twenty", "Thirty", "Forty", "Fifty", "Sixty", "Seventy", "Eighty", "Ninety"
-    };
+    // ------------------------------------------------------------
+    // 08. PRIME NUMBER CHECKER
+    // ------------------------------------------------------------
 
-    private String convert(long n) {
-        // 0. Handle Negative Numbers
-        if (n < 0) return "Minus " + convert(-n);
+    // Sieve-backed: a bit lookup for cached ranges, deterministic Miller-Rabin above them
+    private final PrimeSieve primeSieve;
 
-        // 1. Units (0 - 19)
-        if (n < 20) return units[(int) n];
+    public static final int DEFAULT_PRIMES_PAGE_SIZE = 1000;
+    public static final int MAX_PRIMES_PAGE_SIZE = 10000;
 
-        // 2. Tens (20 - 99)
-        if (n < 100) return tens[(int) n / 10] + ((n % 10 != 0) ? " " : "") + units[(int) n % 10];
+    public PrimeCheckResponse checkPrime(int number) {
+        return new PrimeCheckResponse(primeSieve.nextPrime(number), primeSieve.isPrime(number), number);
+    }
 
-        // 3. Hundreds (100 - 999)
-        if (n < 1000) return units[(int) n / 100] + " Hundred" + ((n % 100 != 0) ? " " : "") + convert(n % 100);
+    // Number of primes in [from, to]
+    public PrimeCountResponse countPrimes(long from, long to) {
+        return new PrimeCountResponse(from, to, primeSieve.count(from, to));
+    }
 
-        // 4. Thousands (1,000 - 999,999)
-        if (n < 1000000) return convert(n / 1000) + " Thousand" + ((n % 1000 != 0) ? " " : "") + convert(n % 1000);
+    // One page of the primes in [from, to]; the client passes nextCursor back as 'after'
+    public PrimePageResponse listPrimes(long from, long to, long after, int limit) {
+        if (limit < 1 || limit > MAX_PRIMES_PAGE_SIZE) {
+            throw new InvalidInputException("limit must be between 1 and " + MAX_PRIMES_PAGE_SIZE);
+        }
+        List<Long> primes = primeSieve.list(from, to, after, limit);
 
-        // 5. Millions (1,000,000 - 999,999,999)
-        if (n < 1000000000) return convert(n / 1000000) + " Million" + ((n % 1000000 != 0) ? " " : "") + convert(n % 1000000);
+        Long nextCursor = primes.size() == limit ? primes.get(primes.size() - 1) : null;
+        return new PrimePageResponse(from, to, primes, primes.size(), nextCursor);
+    }
 
-        // 6. Billions (1,000,000,000 - 999,999,999,999)
-        // Note the 'L' at the end of the number to treat it as a Long
-        if (n < 1000000000000L) return convert(n / 1000000000) + " Billion" + ((n % 1000000000 != 0) ? " " : "") + convert(n % 1000000000);
+    // Fails fast, before a stream has started, on an invalid range
+    public void checkPrimeRange(long from, long to) {
+        PrimeSieve.checkRange(from, to);
+    }
 
-        // 7. Trillions (1 Trillion+)
-        return convert(n / 1000000000000L) + " Trillion" + ((n % 1000000000000L != 0) ? " " : "") + convert(n % 1000000000000L);
+    // Every prime in [from, to] as Server-Sent Events of up to batchSize primes ("primes", id = the last one),
+    // sieving each segment once; a resumed stream starts after the last prime the client has
+    public void streamPrimeEvents(long from, long to, EventStream events) throws IOException {
+        long[] batch = new long[events.batchSize()];
+        int[] size = {0};
+        primeSieve.each(from, to, events.lastEventId(), prime -> {
+            batch[size[0]++] = prime;
+            if (size[0] == batch.length) {
+                events.send("primes", prime, new StreamEvents.Primes(batch.length, batch));
+                size[0] = 0;
+            }
+        });
+        if (size[0] > 0) {
+            events.send("primes", batch[size[0] - 1], new StreamEvents.Primes(size[0], Arrays.copyOf(batch, size[0])));
+        }
     }
 
     // ------------------------------------------------------------
-    // 10. GET DETAILED DATE AND TIME
+    // 09. NUMBER TO WORD CONVERTER
     // ------------------------------------------------------------
-    public Map<String, Object> getDateTimeDetailed() {
-        LocalDateTime now = LocalDateTime.now();
 
-        // Create a structured Map for the response
-        Map<String, Object> response = new HashMap<>();
+    // Iterative, into a reused buffer, in any registered locale (en, en-IN, bn); see service.words
+    private final NumberToWords numberToWords;
+
+    // English, as before there were locales
+    public WordsResponse convertNumberToWords(long number) {
+        return convertNumberToWords(number, NumberToWords.DEFAULT_LOCALE);
+    }
 
-        // 1. Standard ISO Format (Machine readable)
-        response.put("iso_timestamp", now.toString());
+    public WordsResponse convertNumberToWords(long number, String locale) {
+        NumberLocale language = numberToWords.locale(locale);
 
-        // 2. Human Readable Formats
-        response.put("date_readable", now.format(DateTimeFormatter.ofPattern("yyyy-MM-dd")));
-        response.put("time_readable", now.format(DateTimeFormatter.ofPattern("hh:mm:ss a")));
+        // 1. Convert to words, 2. Format with the locale's grouping (e.g., 1,500 or 12,34,567)
+        // 3. Build the User-Friendly Response; "Only": specific format often used in banking
+        return new WordsResponse(number, numberToWords.digits(number, language), numberToWords.words(number, language));
+    }
 
-        // 3. Breakdown of components (Useful for UI logic)
-        response.put("day_of_week", now.getDayOfWeek().toString());
-        response.put("day_of_year", now.getDayOfYear());
-        response.put("month", now.getMonth().toString());
-        response.put("year", now.getYear());
+    // Amounts with a fractional part, e.g. 1500.50 -> "One Thousand Five Hundred and Fifty Cents Only"
+    public AmountWordsResponse convertAmountToWords(BigDecimal amount, String locale) {
+        NumberLocale language = numberToWords.locale(locale);
+        return new AmountWordsResponse(amount, numberToWords.amountDigits(amount, language),
+                numberToWords.amountWords(amount, language));
+    }
 
-        // 4. Timezone Info
-        response.put("timezone", ZoneId.systemDefault().toString());
+    // ------------------------------------------------------------
+    // 10. GET DETAILED DATE AND TIME
+    // ------------------------------------------------------------
+    public DateTimeResponse getDateTimeDetailed() {
+        return getDateTimeDetailed(null);
+    }
 
-        return response;
+    public DateTimeResponse getDateTimeDetailed(String zone) {
+        ZoneId zoneId = zoneClock.zone(zone);
+        LocalDateTime now = zoneClock.now(zoneId).toLocalDateTime();
+
+        return new DateTimeResponse(
+                // 1. Standard ISO Format (Machine readable)
+                now.toString(),
+                // 2. Human Readable Formats (formatters are built once)
+                now.format(Dates.DATE),
+                now.format(Dates.TIME),
+                // 3. Breakdown of components (Useful for UI logic)
+                now.getDayOfWeek().toString(),
+                now.getDayOfYear(),
+                now.getMonth().toString(),
+                now.getYear(),
+                // 4. Timezone Info
+                zoneId.toString());
     }
 
     // ------------------------------------------------------------
     // 11. IN-MEMORY USER MANAGEMENT (Simulating a Database)
     // ------------------------------------------------------------
 
-    // A list to hold data while the application is running
-    private List<Map<String, Object>> userList = new ArrayList<>();
+    // Backed by a concurrent store with stable IDs, so parallel requests can't corrupt it
+    private final UserRepository userRepository;
+
+    private final ObjectMapper objectMapper;
+
+    public static final int DEFAULT_USERS_PAGE_SIZE = 100;
+    public static final int MAX_USERS_PAGE_SIZE = 1000;
+
+    public static final int DEFAULT_BULK_BATCH_SIZE = 1000;
+    public static final int MAX_BULK_BATCH_SIZE = 10000;
+    // Rejections beyond this are only counted, so a bad 1M-line file can't blow up the response
+    public static final int MAX_REJECTED_DETAILS = 100;
 
     // POST: Create a new user
     public String addUser(Map<String, Object> userData) {
-        userList.add(userData);
-        return "User added successfully! Total users: " + userList.size();
+        long id = userRepository.add(userData);
+        return "User added successfully with ID " + id + "! Total users: " + userRepository.size();
     }
 
-    // GET: Retrieve all users
-    public List<Map<String, Object>> getAllUsers() {
-        return userList;
+    // POST: Create many users from a JSON array or an NDJSON stream.
+    // Records are parsed one at a time and stored 'batchSize' at a time, so memory stays flat
+    // however large the upload is. Non-object or empty records are rejected and reported.
+    public BulkUsersResponse addUsers(InputStream body, int batchSize) throws IOException {
+        if (batchSize < 1 || batchSize > MAX_BULK_BATCH_SIZE) {
+            throw new InvalidInputException("batchSize must be between 1 and " + MAX_BULK_BATCH_SIZE);
+        }
+
+        List<Map<String, Object>> batch = new ArrayList<>(batchSize);
+        List<BulkUsersResponse.Batch> batches = new ArrayList<>();
+        List<RejectedInput> rejectedDetails = new ArrayList<>();
+        long accepted = 0, rejected = 0, batchRejected = 0;
+        String error = null;
+
+        try (JsonRecordReader reader = new JsonRecordReader(objectMapper, body)) {
+            JsonToken token;
+            while ((token = reader.next()) != null) {
+                String reason = null;
+                if (token != JsonToken.START_OBJECT) {
+                    reader.skip();
+                    reason = "Expected a JSON object but found " + token;
+                } else {
+                    Map<String, Object> user = reader.readObject();
+                    if (user.isEmpty()) reason = "User has no fields";
+                    else batch.add(user);
+                }
+
+                if (reason != null) {
+                    rejected++;
+                    batchRejected++;
+                    if (rejectedDetails.size() < MAX_REJECTED_DETAILS) {
+                        rejectedDetails.add(new RejectedInput(reader.index(), reason));
+                    }
+                }
+
+                if (batch.size() == batchSize) {
+                    accepted += storeBatch(batch, batchRejected, batches);
+                    batchRejected = 0;
+                }
+            }
+        } catch (JsonProcessingException e) {
+            // malformed input: everything before it is kept, the rest can't be parsed reliably
+            error = "Malformed JSON at line " + e.getLocation().getLineNr()
+                    + ", column " + e.getLocation().getColumnNr() + ": " + e.getOriginalMessage();
+        }
+
+        if (!batch.isEmpty() || batchRejected > 0) {
+            accepted += storeBatch(batch, batchRejected, batches);
+        }
+
+        return new BulkUsersResponse(accepted, rejected, userRepository.size(), batches, rejectedDetails, error);
     }
 
-    // GET: Retrieve a single user by Index
-    public Map<String, Object> getUser(int index) {
-        if (index >= 0 && index < userList.size()) {
-            return userList.get(index);
-        } else {
-            return null; // Return null if the index doesn't exist
+    private int storeBatch(List<Map<String, Object>> batch, long rejected, List<BulkUsersResponse.Batch> batches) {
+        long[] ids = userRepository.addAll(batch);
+        batches.add(new BulkUsersResponse.Batch(batches.size(), ids.length, rejected));
+
+        batch.clear();
+        return ids.length;
+    }
+
+    // GET: Retrieve one page of users (keyset pagination: everything after the cursor ID),
+    // optionally filtered by indexed attributes, e.g. ?email=a@b.com or ?age.gte=18&age.lt=30
+    public UsersPageResponse getUsersPage(long after, int limit, Map<String, String> filterParams) {
+        if (limit < 1 || limit > MAX_USERS_PAGE_SIZE) {
+            throw new InvalidInputException("limit must be between 1 and " + MAX_USERS_PAGE_SIZE);
+        }
+
+        // only indexed fields filter; '_'-prefixed parameters are cache-busters (e.g. _=<timestamp>)
+        Set<String> indexed = userRepository.indexedFields();
+        List<UserFilter> filters = new ArrayList<>();
+        filterParams.forEach((name, value) -> {
+            if (name.equals("after") || name.equals("limit") || name.startsWith("_")) return;
+            UserFilter filter = UserFilter.parse(name, value);
+            if (!indexed.contains(filter.field())) {
+                throw new InvalidInputException("Unknown filter '" + name + "'. Indexed fields: " + indexed);
+            }
+            filters.add(filter);
+        });
+
+        List<Map.Entry<Long, Map<String, Object>>> page = filters.isEmpty()
+                ? userRepository.findPage(after, limit)
+                : userRepository.query(filters, after, limit);
+        List<UsersPageResponse.Entry> users = new ArrayList<>(page.size());
+        for (Map.Entry<Long, Map<String, Object>> entry : page) {
+            users.add(userEntry(entry));
+        }
+
+        // A full page means there may be more; the client passes nextCursor back as 'after'
+        Long nextCursor = page.size() == limit ? page.get(page.size() - 1).getKey() : null;
+
+        return new UsersPageResponse(users, users.size(), nextCursor);
+    }
+
+    // GET: Stream every user as NDJSON, one line per user, without building the list in memory
+    public void streamUsers(OutputStream out) throws IOException {
+        NdjsonWriter writer = new NdjsonWriter(objectMapper, out);
+        Iterator<Map.Entry<Long, Map<String, Object>>> it = userRepository.entriesAfter(-1).iterator();
+        while (it.hasNext()) {
+            writer.write(userEntry(it.next()));
         }
+        writer.flush();
+    }
+
+    private static UsersPageResponse.Entry userEntry(Map.Entry<Long, Map<String, Object>> entry) {
+        return new UsersPageResponse.Entry(entry.getKey(), entry.getValue());
+    }
+
+    // GET: Retrieve a single user by ID
+    public Map<String, Object> getUser(long id) {
+        return userRepository.get(id); // null if the ID doesn't exist
     }
 
-    // PUT: Update a user by Index
-    public String updateUser(int index, Map<String, Object> updatedData) {
-        if (index >= 0 && index < userList.size()) {
-            userList.set(index, updatedData);
-            return "User at index " + index + " updated successfully.";
+    // PUT: Update a user by ID
+    public String updateUser(long id, Map<String, Object> updatedData) {
+        if (userRepository.update(id, updatedData)) {
+            return "User with ID " + id + " updated successfully.";
         } else {
-            return "User not found at index " + index;
+            return "User not found with ID " + id;
         }
     }
 
-    // DELETE: Remove a user by Index
-    public String deleteUser(int index) {
-        if (index >= 0 && index < userList.size()) {
-            userList.remove(index);
-            return "User at index " + index + " deleted successfully.";
+    // DELETE: Remove a user by ID
+    public String deleteUser(long id) {
+        if (userRepository.delete(id)) {
+            return "User with ID " + id + " deleted successfully.";
         } else {
-            return "User not found at index " + index;
+            return "User not found with ID " + id;
         }
     }
-}
 
+    // ------------------------------------------------------------
+    // 12. BATCH CALCULATORS (columnar in, columnar out)
+    // ------------------------------------------------------------
+
+    public static final int MAX_BATCH_SIZE = 100_000;
+    // Below this the fork-join hand-off costs more than the loop itself
+    static final int PARALLEL_THRESHOLD = 4096;
+
+    public BmiBatchResponse calculateBMIBatch(BmiBatchRequest request) {
+        double[] weight = request.weight(), height = request.height();
+        int n = batchSize("weight", weight == null ? -1 : weight.length, "height", height == null ? -1 : height.length);
+
+        double[] bmiScore = new double[n];
+        String[] category = new String[n];
+        fill(bmiScore, i -> round2(bmi(weight[i], height[i])));
+        fill(category, i -> bmiCategory(bmi(weight[i], height[i])));
+
+        return new BmiBatchResponse(n, bmiScore, category);
+    }
+
+    public EmiBatchResponse calculateEMIBatch(EmiBatchRequest request) {
+        double[] amount = request.amount(), rate = request.rate();
+        int[] years = request.years();
+        int n = batchSize("amount", amount == null ? -1 : amount.length, "rate", rate == null ? -1 : rate.length);
+        batchSize("amount", n, "years", years == null ? -1 : years.length);
+
+        double[] monthlyEMI = new double[n], totalAmountPaid = new double[n], totalInterestPaid = new double[n];
+        int[] loanTermMonths = new int[n];
+        forEachIndex(n, i -> {
+            int months = years[i] * 12;
+            double emi = AmortizationCalculator.monthlyInstallment(amount[i], rate[i], months);
+            double totalPayment = emi * months;
+            monthlyEMI[i] = round2(emi);
+            totalAmountPaid[i] = round2(totalPayment);
+            totalInterestPaid[i] = round2(totalPayment - amount[i]);
+            loanTermMonths[i] = months;
+        });
+
+        return new EmiBatchResponse(n, monthlyEMI, totalAmountPaid, totalInterestPaid, loanTermMonths);
+    }
+
+    public CelsiusBatchResponse celsiusToFahrenheitBatch(CelsiusBatchRequest request) {
+        double[] celsius = request.celsius();
+        int n = batchSize("celsius", celsius == null ? -1 : celsius.length);
+
+        double[] fahrenheit = new double[n];
+        fill(fahrenheit, i -> fahrenheit(celsius[i]));
+
+        return new CelsiusBatchResponse(n, fahrenheit);
+    }
+
+    public WordsBatchResponse convertNumberToWordsBatch(WordsBatchRequest request) {
+        long[] number = request.number();
+        int n = batchSize("number", number == null ? -1 : number.length);
+        NumberLocale language = numberToWords.locale(request.locale() == null ? NumberToWords.DEFAULT_LOCALE : request.locale());
+
+        String[] formatted = new String[n], inWords = new String[n];
+        forEachIndex(n, i -> {
+            formatted[i] = numberToWords.digits(number[i], language);
+            inWords[i] = numberToWords.words(number[i], language);
+        });
+
+        return new WordsBatchResponse(n, formatted, inWords);
+    }
+
+    // Checks that an input column is present and within the batch limit (length -1 = missing)
+    private static int batchSize(String name, int length) {
+        if (length < 0) {
+            throw new InvalidInputException("Missing input array: " + name);
+        }
+        if (length > MAX_BATCH_SIZE) {
+            throw new InvalidInputException("A batch may hold at most " + MAX_BATCH_SIZE + " inputs");
+        }
+        return length;
+    }
+
+    // Same for two columns, which must also be equally long
+    private static int batchSize(String first, int firstLength, String second, int secondLength) {
+        batchSize(first, firstLength);
+        batchSize(second, secondLength);
+        if (firstLength != secondLength) {
+            throw new InvalidInputException("'" + first + "' and '" + second + "' must have the same length");
+        }
+        return firstLength;
+    }
+
+    private static void fill(double[] column, IntToDoubleFunction value) {
+        if (column.length >= PARALLEL_THRESHOLD) Arrays.parallelSetAll(column, value);
+        else Arrays.setAll(column, value);
+    }
+
+    private static <T> void fill(T[] column, IntFunction<T> value) {
+        if (column.length >= PARALLEL_THRESHOLD) Arrays.parallelSetAll(column, value);
+        else Arrays.setAll(column, value);
+    }
+
+    private static void forEachIndex(int n, IntConsumer body) {
+        if (n >= PARALLEL_THRESHOLD) IntStream.range(0, n).parallel().forEach(body);
+        else for (int i = 0; i < n; i++) body.accept(i);
+    }
+}
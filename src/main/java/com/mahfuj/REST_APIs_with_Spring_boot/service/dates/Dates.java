@@ -0,0 +1,56 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.service.dates;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Formatters built once, and the date parsing and age wording the age
+ * endpoints share.
+ */
+public final class Dates {
+
+    public static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    public static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("hh:mm:ss a");
+
+    private Dates() {
+    }
+
+    public static LocalDate parseIsoDate(CharSequence text) {
+        return parseIsoDate(text, 0, text.length());
+    }
+
+    /**
+     * A yyyy-MM-dd date read in place from {@code text[start, end)}, e.g. one
+     * field of a CSV line. Other ISO forms (such as +12345-01-01) go through
+     * {@link LocalDate#parse}. Invalid dates throw a {@link java.time.DateTimeException}.
+     */
+    public static LocalDate parseIsoDate(CharSequence text, int start, int end) {
+        if (end - start == 10 && text.charAt(start + 4) == '-' && text.charAt(start + 7) == '-') {
+            int year = digits(text, start, 4), month = digits(text, start + 5, 2), day = digits(text, start + 8, 2);
+            if ((year | month | day) >= 0) return LocalDate.of(year, month, day);
+        }
+        return LocalDate.parse(text.subSequence(start, end));
+    }
+
+    // "34 years, 2 months, and 5 days"
+    public static String age(LocalDate dateOfBirth, LocalDate today) {
+        Period period = Period.between(dateOfBirth, today);
+        return new StringBuilder(32)
+                .append(period.getYears()).append(" years, ")
+                .append(period.getMonths()).append(" months, and ")
+                .append(period.getDays()).append(" days")
+                .toString();
+    }
+
+    // The value of count decimal digits, or -1 if any of them is not a digit
+    private static int digits(CharSequence text, int from, int count) {
+        int value = 0;
+        for (int i = from; i < from + count; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') return -1;
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+}
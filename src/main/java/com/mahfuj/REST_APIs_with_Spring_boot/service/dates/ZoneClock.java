@@ -0,0 +1,131 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.service.dates;
+
+import com.mahfuj.REST_APIs_with_Spring_boot.config.DateProperties;
+import com.mahfuj.REST_APIs_with_Spring_boot.exception.InvalidInputException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The current date and time per zone, shared between requests.
+ * <p>
+ * Each zone keeps today's date until its next midnight (DST-aware), and the
+ * current time until the clock has moved on by one tick
+ * ({@code app.dates.clock-tick}), so a request costs one {@code millis()} call
+ * and a comparison instead of a zone-rules lookup. Zones are named by
+ * {@code ?zone=} (any ID {@link ZoneId#of} takes); without one the configured
+ * default applies.
+ */
+@Component
+public class ZoneClock {
+
+    // caps the zone cache; offsets like +05:30 are valid IDs too, so there are more than the ~600 region IDs
+    static final int MAX_CACHED_ZONES = 1024;
+
+    private final Clock clock;
+    private final long tickMillis;
+    private final ZoneTime defaultZone;
+    private final ConcurrentHashMap<String, ZoneTime> zones = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ZoneClock(DateProperties properties) {
+        this(Clock.systemUTC(), properties);
+    }
+
+    public ZoneClock(Clock clock, DateProperties properties) {
+        this.clock = clock;
+        this.tickMillis = Math.max(1, properties.clockTick().toMillis());
+        this.defaultZone = new ZoneTime(properties.defaultZone().isBlank()
+                ? ZoneId.systemDefault()
+                : ZoneId.of(properties.defaultZone()));
+    }
+
+    public long millis() {
+        return clock.millis();
+    }
+
+    // The zone with this ID (null or blank = the default); unknown IDs are a client error
+    public ZoneId zone(String id) {
+        return zoneTime(id).zone;
+    }
+
+    public LocalDate today(ZoneId zone) {
+        return zoneTime(zone).today(clock.millis()).date;
+    }
+
+    // Start of the next day in this zone, in epoch milliseconds
+    public long nextMidnight(ZoneId zone) {
+        return zoneTime(zone).today(clock.millis()).end;
+    }
+
+    // Now, truncated to the tick
+    public ZonedDateTime now(ZoneId zone) {
+        return zoneTime(zone).now(clock.millis(), tickMillis);
+    }
+
+    private ZoneTime zoneTime(ZoneId zone) {
+        return zone.equals(defaultZone.zone) ? defaultZone : zoneTime(zone.getId());
+    }
+
+    private ZoneTime zoneTime(String id) {
+        if (id == null || id.isBlank()) return defaultZone;
+        ZoneTime cached = zones.get(id);
+        if (cached != null) return cached;
+        ZoneTime fresh;
+        try {
+            fresh = new ZoneTime(ZoneId.of(id));
+        } catch (DateTimeException e) {
+            throw new InvalidInputException("Unknown time zone: " + id);
+        }
+        if (zones.size() >= MAX_CACHED_ZONES) return fresh;
+        ZoneTime raced = zones.putIfAbsent(id, fresh);
+        return raced != null ? raced : fresh;
+    }
+
+    // [start, end) in epoch milliseconds
+    private record Day(LocalDate date, long start, long end) {
+    }
+
+    private record Tick(ZonedDateTime time, long start) {
+    }
+
+    private static final class ZoneTime {
+
+        final ZoneId zone;
+        // replaced whole, so readers always see a matching date and range
+        private volatile Day today;
+        private volatile Tick tick;
+
+        ZoneTime(ZoneId zone) {
+            this.zone = zone;
+        }
+
+        Day today(long now) {
+            Day day = today;
+            if (day == null || now < day.start || now >= day.end) {
+                LocalDate date = LocalDate.ofInstant(Instant.ofEpochMilli(now), zone);
+                day = new Day(date, date.atStartOfDay(zone).toInstant().toEpochMilli(),
+                        date.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli());
+                today = day;
+            }
+            return day;
+        }
+
+        ZonedDateTime now(long now, long tickMillis) {
+            Tick current = tick;
+            if (current == null || now < current.start || now >= current.start + tickMillis) {
+                long start = now - Math.floorMod(now, tickMillis);
+                current = new Tick(Instant.ofEpochMilli(start).atZone(zone), start);
+                tick = current;
+            }
+            return current.time;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.service.jobs;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mahfuj.REST_APIs_with_Spring_boot.config.JobProperties;
+import com.mahfuj.REST_APIs_with_Spring_boot.dto.*;
+import com.mahfuj.REST_APIs_with_Spring_boot.exception.InvalidInputException;
+import com.mahfuj.REST_APIs_with_Spring_boot.service.FibonacciEngine;
+import com.mahfuj.REST_APIs_with_Spring_boot.service.PrimeSieve;
+import com.mahfuj.REST_APIs_with_Spring_boot.service.UtilityService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * The built-in job operations. {@code fibonacci} and {@code prime-count} are
+ * the synchronous endpoints without their request budgets, and report
+ * progress; the {@code batch-*} operations take the same bodies as
+ * {@code /api/batch/*} and {@code /api/age/batch}, and report only when done.
+ */
+@Configuration(proxyBeanMethods = false)
+public class CalculatorJobs {
+
+    // body: {"n": 5000000}; progress counts the bits of n
+    @Bean
+    public JobOperation fibonacciJob(FibonacciEngine engine, JobProperties properties) {
+        return JobOperation.of("fibonacci", parameters -> {
+            int n = Math.clamp(integer(parameters, "n"), -1, Integer.MAX_VALUE);
+            if (n < 0 || n > properties.fibonacciMaxIndex()) {
+                throw new InvalidInputException("n must be between 0 and " + properties.fibonacciMaxIndex());
+            }
+            return progress -> {
+                // for large n the decimal conversion takes longer than all the doubling steps, so it is
+                // counted as the second half; it reports nothing until it is done
+                String value = engine.nth(n, properties.fibonacciMaxIndex(),
+                        (done, bits) -> progress.report(done, 2L * bits)).toString();
+                return new FibonacciNthResponse(n, value.length(), value);
+            };
+        });
+    }
+
+    // body: {"from": 0, "to": 4000000000}; progress counts sieve segments
+    @Bean
+    public JobOperation primeCountJob(PrimeSieve primeSieve) {
+        return JobOperation.of("prime-count", parameters -> {
+            long from = integer(parameters, "from"), to = integer(parameters, "to");
+            PrimeSieve.checkRange(from, to);
+            return progress -> {
+                long segments = PrimeSieve.segments(from, to);
+                AtomicLong counted = new AtomicLong();
+                progress.report(0, segments);
+                long count = primeSieve.count(from, to, segment -> progress.report(counted.incrementAndGet(), segments));
+                return new PrimeCountResponse(from, to, count);
+            };
+        });
+    }
+
+    @Bean
+    public JobOperation bmiBatchJob(UtilityService service, ObjectMapper objectMapper) {
+        return batch("batch-bmi", objectMapper, BmiBatchRequest.class, service::calculateBMIBatch);
+    }
+
+    @Bean
+    public JobOperation emiBatchJob(UtilityService service, ObjectMapper objectMapper) {
+        return batch("batch-emi", objectMapper, EmiBatchRequest.class, service::calculateEMIBatch);
+    }
+
+    @Bean
+    public JobOperation celsiusBatchJob(UtilityService service, ObjectMapper objectMapper) {
+        return batch("batch-celsius", objectMapper, CelsiusBatchRequest.class, service::celsiusToFahrenheitBatch);
+    }
+
+    @Bean
+    public JobOperation wordsBatchJob(UtilityService service, ObjectMapper objectMapper) {
+        return batch("batch-words", objectMapper, WordsBatchRequest.class, service::convertNumberToWordsBatch);
+    }
+
+    @Bean
+    public JobOperation ageBatchJob(UtilityService service, ObjectMapper objectMapper) {
+        return batch("batch-age", objectMapper, AgeBatchRequest.class, service::calculateAgeBatch);
+    }
+
+    // The body binds as it would on the synchronous endpoint; the columns are checked when the job runs
+    private static <T> JobOperation batch(String name, ObjectMapper objectMapper, Class<T> type, Function<T, ?> calculate) {
+        return JobOperation.of(name, parameters -> {
+            T request;
+            try {
+                request = objectMapper.treeToValue(parameters, type);
+            } catch (JsonProcessingException e) {
+                throw new InvalidInputException("Invalid body for " + name + ": " + e.getOriginalMessage());
+            }
+            if (request == null) throw new InvalidInputException("Missing body for " + name);
+            return progress -> calculate.apply(request);
+        });
+    }
+
+    private static long integer(JsonNode parameters, String name) {
+        JsonNode value = parameters == null ? null : parameters.get(name);
+        if (value == null || !value.isIntegralNumber() || !value.canConvertToLong()) {
+            throw new InvalidInputException(name + " must be an integer");
+        }
+        return value.longValue();
+    }
+}
@@ -0,0 +1,60 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.service.jobs;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// One submitted job; the state fields are written by its worker and read by status requests
+final class Job {
+
+    final String id;
+    final String operation;
+    final int priority;
+    final long submittedAt;
+    // waiting jobs start in (rank, sequence) order; see JobQueue
+    final long rank;
+    final long sequence;
+    final JobOperation.Work work;
+
+    volatile JobStatus status = JobStatus.QUEUED;
+    volatile long startedAt;
+    volatile long finishedAt;
+    volatile String error;
+    private final AtomicLong done = new AtomicLong();
+    private volatile long total;
+
+    Job(String id, String operation, int priority, long submittedAt, long rank, long sequence, JobOperation.Work work) {
+        this.id = id;
+        this.operation = operation;
+        this.priority = priority;
+        this.submittedAt = submittedAt;
+        this.rank = rank;
+        this.sequence = sequence;
+        this.work = work;
+    }
+
+    long rank() {
+        return rank;
+    }
+
+    long sequence() {
+        return sequence;
+    }
+
+    // Parallel parts report out of order, so progress only moves forward
+    void report(long done, long total) {
+        this.total = total;
+        this.done.accumulateAndGet(done, Math::max);
+    }
+
+    long done() {
+        return done.get();
+    }
+
+    long total() {
+        return total;
+    }
+
+    void complete() {
+        long all = Math.max(total, 1);
+        report(all, all);
+    }
+}
@@ -0,0 +1,46 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.service.jobs;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.function.Function;
+
+/**
+ * Something that can run as a background job ({@code POST /api/jobs/{name}}).
+ * <p>
+ * Operations are Spring beans: declaring another {@code JobOperation} bean
+ * makes it available, and {@code app.jobs.priorities.<name>} sets how soon its
+ * jobs start. Parameters are checked when the job is submitted, so bad input is
+ * a 400 then and not a failed job later.
+ */
+public interface JobOperation {
+
+    String name();
+
+    // Binds and checks the request body; the work it returns runs later on a job worker
+    Work prepare(JsonNode parameters);
+
+    @FunctionalInterface
+    interface Work {
+        // The result is stored as JSON; progress may be reported from any thread
+        Object run(Progress progress) throws Exception;
+    }
+
+    @FunctionalInterface
+    interface Progress {
+        void report(long done, long total);
+    }
+
+    static JobOperation of(String name, Function<JsonNode, Work> prepare) {
+        return new JobOperation() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public Work prepare(JsonNode parameters) {
+                return prepare.apply(parameters);
+            }
+        };
+    }
+}
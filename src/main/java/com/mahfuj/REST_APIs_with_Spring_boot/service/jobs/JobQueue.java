@@ -0,0 +1,244 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.service.jobs;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mahfuj.REST_APIs_with_Spring_boot.config.JobProperties;
+import com.mahfuj.REST_APIs_with_Spring_boot.dto.JobResponse;
+import com.mahfuj.REST_APIs_with_Spring_boot.exception.InvalidInputException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Background jobs, for computations that outlast an HTTP request: huge
+ * Fibonacci numbers, prime counts over wide ranges, large batches.
+ * <p>
+ * {@code POST /api/jobs/{operation}} checks the parameters and queues a job;
+ * {@code GET /api/jobs/{id}} reports its status and progress, and the result
+ * once it has one. Waiting jobs start in order of rank = submit time minus
+ * priority x {@code aging}: a higher priority goes first, but a job outranks
+ * everything of one level higher that came {@code aging} or more after it, so
+ * a steady stream of high-priority work delays the rest without starving it.
+ * At most {@code queue-capacity} jobs wait (then 503).
+ * <p>
+ * One job per worker is started at a time. The workers form a
+ * {@link ForkJoinPool} of a fixed size, so a job that splits its work (the
+ * sieve's segments, the multiplications of a big F(n), large batches) has the
+ * parts stolen by idle workers, and never makes the pool grow.
+ * <p>
+ * A finished job's result is serialized right away and kept in a
+ * {@link JobResultStore} for {@code result-ttl}; after that, or when the store
+ * has had to drop it, the job is unknown (404).
+ * <p>
+ * Metrics: {@code jobs.queued}, {@code jobs.running}, {@code jobs.results.bytes}
+ * (memory, disk), and per operation the {@code jobs.wait} and {@code jobs.run}
+ * timers and {@code jobs.finished} by status.
+ */
+@Component
+public class JobQueue implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(JobQueue.class);
+
+    private final Map<String, JobOperation> operations = new LinkedHashMap<>();
+    private final Map<String, Integer> priorities;
+    private final int queueCapacity;
+    private final long agingMillis;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry registry;
+    private final Clock clock;
+    private final ForkJoinPool pool;
+    private final int workers;
+    private final JobResultStore results;
+    private final ConcurrentHashMap<String, Job> jobs = new ConcurrentHashMap<>();
+
+    // guarded by this
+    private final PriorityQueue<Job> waiting =
+            new PriorityQueue<>(Comparator.comparingLong(Job::rank).thenComparingLong(Job::sequence));
+    private long submitted;
+    private int running;
+
+    @Autowired
+    public JobQueue(List<JobOperation> operations, JobProperties properties, ObjectMapper objectMapper,
+                    MeterRegistry registry) {
+        this(operations, properties, objectMapper, registry, Clock.systemUTC());
+    }
+
+    public JobQueue(List<JobOperation> operations, JobProperties properties, ObjectMapper objectMapper,
+                    MeterRegistry registry, Clock clock) {
+        for (JobOperation operation : operations) this.operations.put(operation.name(), operation);
+        this.priorities = properties.priorities();
+        this.queueCapacity = properties.queueCapacity();
+        this.agingMillis = Math.max(1, properties.aging().toMillis());
+        this.objectMapper = objectMapper;
+        this.registry = registry;
+        this.clock = clock;
+        this.workers = properties.threads() > 0 ? properties.threads() : Runtime.getRuntime().availableProcessors();
+        // no spare threads: a worker waiting on a part it forked runs other parts meanwhile
+        this.pool = new ForkJoinPool(workers, JobQueue::worker, null, false,
+                0, workers, 1, pool -> true, 60, TimeUnit.SECONDS);
+        this.results = new JobResultStore(properties.maxMemory().toBytes(), properties.maxDisk().toBytes(),
+                properties.maxFinished(), properties.resultTtl().toMillis(), properties.spillDirectory(), clock::millis, jobs::remove);
+
+        Gauge.builder("jobs.queued", this, JobQueue::queued).register(registry);
+        Gauge.builder("jobs.running", this, JobQueue::running).register(registry);
+        Gauge.builder("jobs.results.bytes", results, JobResultStore::memoryBytes).tag("where", "memory")
+                .baseUnit("bytes").register(registry);
+        Gauge.builder("jobs.results.bytes", results, JobResultStore::diskBytes).tag("where", "disk")
+                .baseUnit("bytes").register(registry);
+    }
+
+    private static ForkJoinWorkerThread worker(ForkJoinPool pool) {
+        ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        thread.setName("job-" + thread.getPoolIndex());
+        return thread;
+    }
+
+    // Queues a job, or turns it away: 400 for an unknown operation or bad parameters, 503 when the queue is full
+    public JobResponse submit(String operation, JsonNode parameters) {
+        JobOperation job = operations.get(operation);
+        if (job == null) {
+            throw new InvalidInputException("Unknown job operation '" + operation + "'; one of " + operations.keySet());
+        }
+        JobOperation.Work work = job.prepare(parameters == null ? objectMapper.nullNode() : parameters);
+        return response(enqueue(operation, work), null);
+    }
+
+    Job enqueue(String operation, JobOperation.Work work) {
+        results.expire();
+        int priority = priorities.getOrDefault(operation, 0);
+        long now = clock.millis();
+        synchronized (this) {
+            if (waiting.size() >= queueCapacity) {
+                throw new RejectedExecutionException("Too many jobs waiting; try again later");
+            }
+            Job job = new Job(UUID.randomUUID().toString(), operation, priority, now,
+                    now - priority * agingMillis, submitted++, work);
+            jobs.put(job.id, job);
+            waiting.add(job);
+            dispatch();
+            return job;
+        }
+    }
+
+    // The job's state, and its result once it has SUCCEEDED; null if there is no such job (any more)
+    public JobResponse status(String id) throws IOException {
+        results.expire();
+        Job job = jobs.get(id);
+        if (job == null) return null;
+        // the result is stored before SUCCEEDED is set
+        if (job.status != JobStatus.SUCCEEDED) return response(job, null);
+        String result = results.get(id);
+        return result == null ? null : response(job, result);
+    }
+
+    public synchronized int queued() {
+        return waiting.size();
+    }
+
+    public synchronized int running() {
+        return running;
+    }
+
+    public int workers() {
+        return workers;
+    }
+
+    // Starts waiting jobs while a worker is free; called under the lock
+    private void dispatch() {
+        while (running < workers && !waiting.isEmpty()) {
+            Job job = waiting.poll();
+            running++;
+            try {
+                pool.execute(() -> run(job));
+            } catch (RejectedExecutionException e) {
+                running--; // shutting down
+                return;
+            }
+        }
+    }
+
+    private void run(Job job) {
+        job.startedAt = clock.millis();
+        job.status = JobStatus.RUNNING;
+        timer("jobs.wait", job).record(job.startedAt - job.submittedAt, TimeUnit.MILLISECONDS);
+        long start = System.nanoTime();
+        byte[] result = null;
+        try {
+            result = objectMapper.writeValueAsBytes(job.work.run(job::report));
+        } catch (InvalidInputException e) {
+            job.error = e.getMessage(); // a budget or a check that only the computation could make
+        } catch (Exception | OutOfMemoryError e) {
+            log.error("Job {} ({}) failed", job.id, job.operation, e);
+        } finally {
+            finish(job, result);
+            timer("jobs.run", job).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            synchronized (this) {
+                running--;
+                dispatch();
+            }
+        }
+    }
+
+    // Stores the result (null = the job failed) and publishes the final status
+    private void finish(Job job, byte[] result) {
+        job.finishedAt = clock.millis();
+        if (result == null && job.error == null) job.error = "Internal error";
+        try {
+            if (!results.put(job.id, result)) {
+                job.error = "The result (" + result.length + " bytes) is larger than app.jobs.max-disk";
+                results.put(job.id, null);
+            }
+        } catch (IOException e) {
+            log.error("Could not keep the result of job {} ({})", job.id, job.operation, e);
+            job.error = "The result could not be stored";
+            jobs.remove(job.id);
+        }
+        if (job.error == null) job.complete();
+        job.status = job.error == null ? JobStatus.SUCCEEDED : JobStatus.FAILED;
+        Counter.builder("jobs.finished").tag("operation", job.operation).tag("status", job.status.name())
+                .register(registry).increment();
+    }
+
+    private Timer timer(String name, Job job) {
+        return Timer.builder(name).tag("operation", job.operation).register(registry);
+    }
+
+    private JobResponse response(Job job, String result) {
+        long done = job.done(), total = job.total();
+        double percent = total > 0 ? Math.round(1000.0 * done / total) / 10.0 : 0;
+        return new JobResponse(job.id, job.operation, job.status.name(), job.priority,
+                new JobResponse.Progress(done, total, percent),
+                instant(job.submittedAt), instant(job.startedAt), instant(job.finishedAt), job.error, result);
+    }
+
+    private static Instant instant(long millis) {
+        return millis == 0 ? null : Instant.ofEpochMilli(millis);
+    }
+
+    @Override
+    public void destroy() {
+        pool.shutdownNow();
+        results.close();
+    }
+}
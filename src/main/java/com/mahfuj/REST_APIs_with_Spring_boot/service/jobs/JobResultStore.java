@@ -0,0 +1,189 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.service.jobs;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Finished jobs and their results (serialized JSON), bounded by size and age.
+ * <p>
+ * Entries are kept in the order the jobs finished, which with a single TTL is
+ * also the order they expire in, so expiry only ever looks at the oldest.
+ * Over max-memory the oldest results on the heap are written to files and read
+ * back when asked for; over max-disk the oldest files are dropped altogether,
+ * and over max-entries so are the oldest jobs (tiny or failed ones add up too).
+ * Expired and dropped ids go to the eviction listener. Spilled files are
+ * deleted on close.
+ */
+final class JobResultStore implements Closeable {
+
+    private final long maxMemory;
+    private final long maxDisk;
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final Path spillDirectory;
+    private final LongSupplier clock;
+    private final Consumer<String> evicted;
+
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+    // both oldest first; every spilled entry is older than every one still on the heap
+    private final ArrayDeque<Entry> inMemory = new ArrayDeque<>();
+    private final ArrayDeque<Entry> onDisk = new ArrayDeque<>();
+    private long memoryBytes;
+    private long diskBytes;
+    private Path directory;
+
+    JobResultStore(long maxMemory, long maxDisk, int maxEntries, long ttlMillis, Path spillDirectory,
+                   LongSupplier clock, Consumer<String> evicted) {
+        this.maxMemory = maxMemory;
+        this.maxDisk = maxDisk;
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlMillis;
+        this.spillDirectory = spillDirectory;
+        this.clock = clock;
+        this.evicted = evicted;
+    }
+
+    /**
+     * Keeps a finished job for the TTL, with its result (null for a failed job).
+     * Returns false, keeping nothing, when the result is larger than max-disk.
+     */
+    boolean put(String id, byte[] result) throws IOException {
+        long size = result == null ? 0 : result.length;
+        if (size > maxDisk) return false;
+        synchronized (this) {
+            expire();
+            Entry entry = new Entry(id, clock.getAsLong() + ttlMillis, result);
+            entries.put(id, entry);
+            if (result != null) {
+                inMemory.addLast(entry);
+                memoryBytes += size;
+                while (memoryBytes > maxMemory) spill(inMemory.peekFirst());
+                while (diskBytes > maxDisk) drop(onDisk.peekFirst());
+            }
+            while (entries.size() > maxEntries) drop(entries.values().iterator().next());
+            return true;
+        }
+    }
+
+    // The result as JSON text; null if there is none or it expired or was dropped
+    String get(String id) throws IOException {
+        Path file;
+        synchronized (this) {
+            expire();
+            Entry entry = entries.get(id);
+            if (entry == null) return null;
+            if (entry.bytes != null) return new String(entry.bytes, StandardCharsets.UTF_8);
+            file = entry.file;
+        }
+        if (file == null) return null;
+        try {
+            return Files.readString(file);
+        } catch (NoSuchFileException e) {
+            return null; // dropped since
+        }
+    }
+
+    // Forgets the jobs whose TTL is up
+    synchronized void expire() {
+        long now = clock.getAsLong();
+        for (Iterator<Entry> oldest = entries.values().iterator(); oldest.hasNext(); ) {
+            Entry entry = oldest.next();
+            if (entry.expiresAt > now) break;
+            oldest.remove();
+            forget(entry);
+        }
+    }
+
+    synchronized long memoryBytes() {
+        return memoryBytes;
+    }
+
+    synchronized long diskBytes() {
+        return diskBytes;
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    @Override
+    public synchronized void close() {
+        for (Entry entry : onDisk) delete(entry.file);
+        if (directory != null && spillDirectory == null) delete(directory);
+        entries.clear();
+        inMemory.clear();
+        onDisk.clear();
+        memoryBytes = diskBytes = 0;
+    }
+
+    // Moves the oldest result on the heap to a file; if writing fails it stays where it was
+    private void spill(Entry entry) throws IOException {
+        Path file = directory().resolve(entry.id + ".json");
+        Files.write(file, entry.bytes);
+        inMemory.pollFirst();
+        memoryBytes -= entry.size;
+        diskBytes += entry.size;
+        entry.file = file;
+        entry.bytes = null;
+        onDisk.addLast(entry);
+    }
+
+    private void drop(Entry entry) {
+        entries.remove(entry.id);
+        forget(entry);
+    }
+
+    // The entry has left 'entries'; it is at the head of its queue, if it is in one
+    private void forget(Entry entry) {
+        if (entry.file != null) {
+            onDisk.removeFirstOccurrence(entry);
+            diskBytes -= entry.size;
+            delete(entry.file);
+        } else if (entry.bytes != null) {
+            inMemory.removeFirstOccurrence(entry);
+            memoryBytes -= entry.size;
+        }
+        evicted.accept(entry.id);
+    }
+
+    private Path directory() throws IOException {
+        if (directory == null) {
+            directory = spillDirectory != null
+                    ? Files.createDirectories(spillDirectory)
+                    : Files.createTempDirectory("jobs-");
+        }
+        return directory;
+    }
+
+    private static void delete(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            path.toFile().deleteOnExit(); // e.g. still open on Windows; try again at exit
+        }
+    }
+
+    private static final class Entry {
+        final String id;
+        final long expiresAt;
+        final long size;
+        byte[] bytes;
+        Path file;
+
+        Entry(String id, long expiresAt, byte[] bytes) {
+            this.id = id;
+            this.expiresAt = expiresAt;
+            this.size = bytes == null ? 0 : bytes.length;
+            this.bytes = bytes;
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.service.jobs;
+
+public enum JobStatus {
+    QUEUED,
+    RUNNING,
+    SUCCEEDED,
+    FAILED
+}
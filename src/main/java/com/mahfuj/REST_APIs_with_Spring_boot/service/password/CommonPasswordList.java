@@ -0,0 +1,146 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.service.password;
+
+import com.mahfuj.REST_APIs_with_Spring_boot.config.PasswordProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Case-insensitive lookup in a list of common passwords that lives off the Java heap.
+ * <p>
+ * On start the text list is sorted once into an index file (entry count, an offset
+ * table, then the entries' bytes back to back) which is memory-mapped read-only.
+ * A lookup is a binary search over the mapping that compares the password's chars
+ * with the bytes in place, so it allocates nothing, and a multi-million-entry list
+ * costs page cache rather than heap and GC time.
+ * <p>
+ * Entries are ASCII (as breach lists are); lines with other characters are skipped.
+ */
+@Component
+public class CommonPasswordList {
+
+    private final MappedByteBuffer index;
+    private final int count;
+    private final int dataStart;
+
+    @Autowired
+    public CommonPasswordList(PasswordProperties properties) {
+        this(new DefaultResourceLoader().getResource(properties.commonList()));
+    }
+
+    public CommonPasswordList(Resource source) {
+        try {
+            Path file = buildIndex(source);
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                index = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+            // the mapping stays valid until the JVM exits (Windows can't delete a mapped file before that)
+            file.toFile().deleteOnExit();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not load common password list " + source, e);
+        }
+        count = index.getInt(0);
+        dataStart = Integer.BYTES * (count + 2);
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public boolean contains(CharSequence password) {
+        int lo = 0, hi = count - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int cmp = compareEntry(mid, password);
+            if (cmp < 0) lo = mid + 1;
+            else if (cmp > 0) hi = mid - 1;
+            else return true;
+        }
+        return false;
+    }
+
+    // Compares entry i with the lower-cased password, like String.compareTo on ASCII
+    private int compareEntry(int i, CharSequence password) {
+        int start = index.getInt(Integer.BYTES * (i + 1));
+        int end = index.getInt(Integer.BYTES * (i + 2));
+        int length = end - start;
+        int common = Math.min(length, password.length());
+        for (int k = 0; k < common; k++) {
+            char c = password.charAt(k);
+            if (c >= 'A' && c <= 'Z') c += 'a' - 'A';
+            int diff = index.get(dataStart + start + k) - c;
+            if (diff != 0) return diff;
+        }
+        return length - password.length();
+    }
+
+    private static Path buildIndex(Resource source) throws IOException {
+        List<String> entries = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(source.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.strip();
+                if (line.isEmpty() || line.startsWith("#") || !isAscii(line)) continue;
+                entries.add(line.toLowerCase(Locale.ROOT));
+            }
+        }
+        List<String> sorted = entries.stream().sorted().distinct().toList();
+
+        Path file = Files.createTempFile("common-passwords", ".idx");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(Integer.BYTES * (sorted.size() + 2)).order(ByteOrder.BIG_ENDIAN);
+            header.putInt(sorted.size());
+            int offset = 0;
+            header.putInt(offset);
+            for (String entry : sorted) {
+                offset += entry.length();
+                header.putInt(offset);
+            }
+            header.flip();
+            while (header.hasRemaining()) channel.write(header);
+
+            ByteBuffer data = ByteBuffer.allocate(64 * 1024);
+            for (String entry : sorted) {
+                byte[] bytes = entry.getBytes(StandardCharsets.US_ASCII);
+                if (data.remaining() < bytes.length) {
+                    data.flip();
+                    while (data.hasRemaining()) channel.write(data);
+                    data.clear();
+                }
+                if (bytes.length > data.capacity()) {
+                    channel.write(ByteBuffer.wrap(bytes));
+                } else {
+                    data.put(bytes);
+                }
+            }
+            data.flip();
+            while (data.hasRemaining()) channel.write(data);
+        }
+        return file;
+    }
+
+    private static boolean isAscii(String line) {
+        for (int i = 0; i < line.length(); i++) {
+            if (line.charAt(i) > 127) return false;
+        }
+        return true;
+    }
+}
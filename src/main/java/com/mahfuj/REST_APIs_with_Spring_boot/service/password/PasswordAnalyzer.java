@@ -0,0 +1,139 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.service.password;
+
+import com.mahfuj.REST_APIs_with_Spring_boot.dto.PasswordStrengthResponse;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Single-pass password analysis plus the pluggable rule set.
+ * <p>
+ * One loop over the chars classifies them with table lookups and tracks repeated,
+ * sequential and keyboard runs; no regex, substring or boxed value is created, and
+ * the common-list lookup runs against a memory-mapped file. The only objects made
+ * per call are the profile and the response.
+ */
+@Component
+public class PasswordAnalyzer {
+
+    // Same set the old "[!@#$%^&*(),.?\":{}|<>]" regex accepted
+    private static final boolean[] SPECIAL = new boolean[128];
+    // row << 4 | column on a QWERTY keyboard, or -1 for keys we don't track
+    private static final byte[] KEY_POSITION = new byte[128];
+
+    static {
+        for (char c : "!@#$%^&*(),.?\":{}|<>".toCharArray()) SPECIAL[c] = true;
+
+        Arrays.fill(KEY_POSITION, (byte) -1);
+        String[] rows = {"1234567890", "qwertyuiop", "asdfghjkl", "zxcvbnm"};
+        for (int row = 0; row < rows.length; row++) {
+            for (int column = 0; column < rows[row].length(); column++) {
+                char key = rows[row].charAt(column);
+                KEY_POSITION[key] = (byte) (row << 4 | column);
+                if (key >= 'a' && key <= 'z') KEY_POSITION[key - 'a' + 'A'] = KEY_POSITION[key];
+            }
+        }
+    }
+
+    private final List<PasswordRule> rules;
+    private final CommonPasswordList commonPasswords;
+
+    public PasswordAnalyzer(List<PasswordRule> rules, CommonPasswordList commonPasswords) {
+        this.rules = List.copyOf(rules);
+        this.commonPasswords = commonPasswords;
+    }
+
+    public PasswordProfile analyze(CharSequence password) {
+        int length = password.length();
+        int uppercase = 0, lowercase = 0, digits = 0, specials = 0, others = 0;
+        int repeat = 0, longestRepeat = 0;
+        int sequence = 0, longestSequence = 0, direction = 0;
+        int keyboard = 0, longestKeyboard = 0;
+        char previous = 0;
+
+        for (int i = 0; i < length; i++) {
+            char c = password.charAt(i);
+            if (c >= 'A' && c <= 'Z') uppercase++;
+            else if (c >= 'a' && c <= 'z') lowercase++;
+            else if (c >= '0' && c <= '9') digits++;
+            else if (c < 128 && SPECIAL[c]) specials++;
+            else others++;
+
+            if (i == 0) {
+                repeat = sequence = keyboard = 1;
+            } else {
+                repeat = c == previous ? repeat + 1 : 1;
+
+                // "abc", "CBA" and "789" count; a step has to keep the run's direction
+                int step = sequenceStep(previous, c);
+                if (step != 0 && (sequence == 1 || step == direction)) {
+                    sequence++;
+                } else {
+                    sequence = step != 0 ? 2 : 1;
+                }
+                direction = step;
+
+                keyboard = adjacentKeys(previous, c) ? keyboard + 1 : 1;
+            }
+            longestRepeat = Math.max(longestRepeat, repeat);
+            longestSequence = Math.max(longestSequence, sequence);
+            longestKeyboard = Math.max(longestKeyboard, keyboard);
+            previous = c;
+        }
+
+        int pool = (uppercase > 0 ? 26 : 0) + (lowercase > 0 ? 26 : 0) + (digits > 0 ? 10 : 0)
+                + (specials > 0 || others > 0 ? 33 : 0);
+        double entropyBits = pool == 0 ? 0 : length * (Math.log(pool) / Math.log(2));
+
+        return new PasswordProfile(length, uppercase, lowercase, digits, specials, others,
+                longestRepeat, longestSequence, longestKeyboard, commonPasswords.contains(password), entropyBits);
+    }
+
+    // Runs every rule and builds the response the endpoint has always returned
+    public PasswordStrengthResponse evaluate(CharSequence password) {
+        PasswordProfile profile = analyze(password);
+
+        int score = 0, scored = 0;
+        boolean critical = false, advice = false;
+        List<String> suggestions = new ArrayList<>();
+        for (PasswordRule rule : rules) {
+            String suggestion = rule.check(profile);
+            if (rule.kind() == PasswordRule.Kind.SCORED) {
+                scored++;
+                if (suggestion == null) score++;
+            }
+            if (suggestion == null) continue;
+            suggestions.add(suggestion);
+            if (rule.kind() == PasswordRule.Kind.CRITICAL) critical = true;
+            if (rule.kind() == PasswordRule.Kind.ADVICE) advice = true;
+        }
+
+        // Determine Text Label
+        String strength;
+        if (critical || score <= scored - 3) strength = "Weak";
+        else if (score < scored || advice) strength = "Moderate";
+        else strength = "Strong";
+
+        double entropyBits = Math.round(profile.entropyBits() * 10.0) / 10.0;
+        return new PasswordStrengthResponse(profile.length(), score + "/" + scored, strength, entropyBits,
+                suggestions.isEmpty() ? null : suggestions,
+                suggestions.isEmpty() ? "Great password!" : null);
+    }
+
+    // +1 / -1 when b follows a in the alphabet or the digits (case-insensitive), otherwise 0
+    private static int sequenceStep(char a, char b) {
+        boolean letters = Character.isLetter(a) && a < 128 && Character.isLetter(b) && b < 128;
+        boolean numbers = a >= '0' && a <= '9' && b >= '0' && b <= '9';
+        if (!letters && !numbers) return 0;
+        int diff = (letters ? (b | 0x20) - (a | 0x20) : b - a);
+        return diff == 1 || diff == -1 ? diff : 0;
+    }
+
+    private static boolean adjacentKeys(char a, char b) {
+        if (a >= 128 || b >= 128) return false;
+        int pa = KEY_POSITION[a], pb = KEY_POSITION[b];
+        return pa >= 0 && pb >= 0 && pa >> 4 == pb >> 4 && Math.abs((pa & 15) - (pb & 15)) == 1;
+    }
+}
@@ -0,0 +1,28 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.service.password;
+
+/**
+ * Everything the rules need to know about a password, gathered in one pass.
+ *
+ * @param length             number of chars
+ * @param specials           chars from the classic special set {@code !@#$%^&*(),.?":{}|<>}
+ * @param others             anything that isn't a letter, digit or classic special
+ * @param longestRepeat      longest run of one char, e.g. 3 for "aaa"
+ * @param longestSequence    longest run of consecutive letters or digits, e.g. 4 for "abcd" or "4321"
+ * @param longestKeyboardRun longest run of neighbouring keys on a QWERTY row, e.g. 6 for "qwerty"
+ * @param common             found in the common-password list
+ * @param entropyBits        length * log2(size of the character pool in use)
+ */
+public record PasswordProfile(
+        int length,
+        int uppercase,
+        int lowercase,
+        int digits,
+        int specials,
+        int others,
+        int longestRepeat,
+        int longestSequence,
+        int longestKeyboardRun,
+        boolean common,
+        double entropyBits
+) {
+}
@@ -0,0 +1,42 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.service.password;
+
+import java.util.function.Predicate;
+
+/**
+ * One check of the password strength checker.
+ * <p>
+ * Rules are Spring beans: declaring another {@code PasswordRule} bean adds it to
+ * every check, and {@code @Order} decides where its suggestion is listed.
+ */
+public interface PasswordRule {
+
+    // The suggestion to show, or null when the password passes
+    String check(PasswordProfile profile);
+
+    default Kind kind() {
+        return Kind.ADVICE;
+    }
+
+    enum Kind {
+        // passing earns a point of the "x/5" score
+        SCORED,
+        // failing only adds a suggestion, and keeps the password from being rated Strong
+        ADVICE,
+        // failing makes the password Weak whatever its score
+        CRITICAL
+    }
+
+    static PasswordRule of(Kind kind, Predicate<PasswordProfile> passes, String suggestion) {
+        return new PasswordRule() {
+            @Override
+            public String check(PasswordProfile profile) {
+                return passes.test(profile) ? null : suggestion;
+            }
+
+            @Override
+            public Kind kind() {
+                return kind;
+            }
+        };
+    }
+}
@@ -0,0 +1,78 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.service.password;
+
+import com.mahfuj.REST_APIs_with_Spring_boot.config.PasswordProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+
+import static com.mahfuj.REST_APIs_with_Spring_boot.service.password.PasswordRule.Kind.*;
+
+/**
+ * The built-in rules. The five scored ones are the original checks, with their
+ * original suggestions, so the "x/5" score means what it always did.
+ */
+@Configuration
+public class PasswordRules {
+
+    @Bean
+    @Order(10)
+    public PasswordRule minimumLength() {
+        return PasswordRule.of(SCORED, p -> p.length() >= 8, "Password is too short (minimum 8 characters required)");
+    }
+
+    @Bean
+    @Order(20)
+    public PasswordRule uppercase() {
+        return PasswordRule.of(SCORED, p -> p.uppercase() > 0, "Add at least one uppercase letter (A-Z)");
+    }
+
+    @Bean
+    @Order(30)
+    public PasswordRule lowercase() {
+        return PasswordRule.of(SCORED, p -> p.lowercase() > 0, "Add at least one lowercase letter (a-z)");
+    }
+
+    @Bean
+    @Order(40)
+    public PasswordRule digit() {
+        return PasswordRule.of(SCORED, p -> p.digits() > 0, "Add at least one number (0-9)");
+    }
+
+    @Bean
+    @Order(50)
+    public PasswordRule specialCharacter() {
+        return PasswordRule.of(SCORED, p -> p.specials() > 0, "Add at least one special character (e.g., ! @ # $)");
+    }
+
+    @Bean
+    @Order(60)
+    public PasswordRule notCommon() {
+        return PasswordRule.of(CRITICAL, p -> !p.common(), "This password is on a list of common passwords; choose something unique");
+    }
+
+    @Bean
+    @Order(70)
+    public PasswordRule noRepeats() {
+        return PasswordRule.of(ADVICE, p -> p.longestRepeat() < 3, "Avoid repeating the same character 3 or more times in a row");
+    }
+
+    @Bean
+    @Order(80)
+    public PasswordRule noSequences() {
+        return PasswordRule.of(ADVICE, p -> p.longestSequence() < 3, "Avoid sequences like abc or 123");
+    }
+
+    @Bean
+    @Order(90)
+    public PasswordRule noKeyboardPatterns() {
+        return PasswordRule.of(ADVICE, p -> p.longestKeyboardRun() < 4, "Avoid keyboard patterns like qwerty or asdf");
+    }
+
+    @Bean
+    @Order(100)
+    public PasswordRule enoughEntropy(PasswordProperties properties) {
+        int minBits = properties.minEntropyBits();
+        return PasswordRule.of(ADVICE, p -> p.entropyBits() >= minBits,
+                "Make it longer or mix in more character types (estimated strength is below " + minBits + " bits)");
+    }
+}
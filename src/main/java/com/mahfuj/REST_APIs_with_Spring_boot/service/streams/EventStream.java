@@ -0,0 +1,80 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.service.streams;
+
+import com.mahfuj.REST_APIs_with_Spring_boot.util.SseWriter;
+
+import java.io.IOException;
+import java.util.concurrent.CancellationException;
+
+/**
+ * One running Server-Sent Events stream, as the producer sees it.
+ * <p>
+ * {@link #send} writes on the producer's own thread, so backpressure needs no
+ * queue: once the client stops reading and the socket and response buffers are
+ * full, the write blocks and the computation waits with it. A cancelled stream
+ * throws {@link CancellationException} from the next {@code send}, which ends
+ * the producer's loop; a client that has gone away makes the write fail.
+ */
+public final class EventStream {
+
+    private final String id;
+    private final long lastEventId;
+    private final long flushIntervalNanos;
+    private final int batchSize;
+
+    private volatile String cancelled; // why, once cancelled
+    private SseWriter writer;
+    private long events;
+    private long lastFlush;
+
+    EventStream(String id, long lastEventId, long flushIntervalNanos, int batchSize) {
+        this.id = id;
+        this.lastEventId = lastEventId;
+        this.flushIntervalNanos = flushIntervalNanos;
+        this.batchSize = batchSize;
+    }
+
+    public String id() {
+        return id;
+    }
+
+    // The id of the last event the client has (Last-Event-ID on reconnect), or -1; producers resume after it
+    public long lastEventId() {
+        return lastEventId;
+    }
+
+    // Items per event for producers that batch
+    public int batchSize() {
+        return batchSize;
+    }
+
+    // Events sent by the producer so far
+    public long events() {
+        return events;
+    }
+
+    /**
+     * Writes one event and sends what is buffered once the last send is a
+     * flush interval ago. Blocks while the client isn't reading.
+     */
+    public void send(String event, long id, Object data) throws IOException {
+        if (cancelled != null) throw new CancellationException(cancelled);
+        // the servlet container interrupts the producer when the request times out
+        if (Thread.currentThread().isInterrupted()) throw new CancellationException("Request timed out");
+        writer.write(Long.toString(id), event, data);
+        events++;
+        long now = System.nanoTime();
+        if (now - lastFlush >= flushIntervalNanos) {
+            writer.flush();
+            lastFlush = now;
+        }
+    }
+
+    void start(SseWriter writer) {
+        this.writer = writer;
+        this.lastFlush = System.nanoTime();
+    }
+
+    void cancel(String reason) {
+        cancelled = reason;
+    }
+}
@@ -0,0 +1,112 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.service.streams;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mahfuj.REST_APIs_with_Spring_boot.config.StreamProperties;
+import com.mahfuj.REST_APIs_with_Spring_boot.dto.StreamEvents;
+import com.mahfuj.REST_APIs_with_Spring_boot.exception.InvalidInputException;
+import com.mahfuj.REST_APIs_with_Spring_boot.util.SseWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The running Server-Sent Events streams, by id, so a client can cancel one
+ * with {@code DELETE /api/streams/{id}}.
+ * <p>
+ * A stream starts with a {@code started} event carrying its id and cancel
+ * URL, and ends with {@code ended} (all sent) or {@code stopped} (cancelled,
+ * timed out or over a budget, with the reason). Clients should close on
+ * either, since an {@code EventSource} otherwise reconnects. A reconnect
+ * carries {@code Last-Event-ID}, and the producers resume after it.
+ * <p>
+ * Metrics: {@code streams.open}, and {@code streams.closed} by outcome
+ * (completed, cancelled, failed, disconnected).
+ */
+@Component
+public class EventStreams {
+
+    public static final String CANCEL_PATH = "/api/streams/";
+
+    private final StreamProperties properties;
+    private final ObjectMapper objectMapper;
+    private final ConcurrentHashMap<String, EventStream> open = new ConcurrentHashMap<>();
+    // taken before a stream is registered, so concurrent opens can't overshoot max-open
+    private final AtomicInteger slots = new AtomicInteger();
+    private final MeterRegistry registry;
+
+    public EventStreams(StreamProperties properties, ObjectMapper objectMapper, MeterRegistry registry) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.registry = registry;
+        Gauge.builder("streams.open", open, ConcurrentHashMap::size).register(registry);
+    }
+
+    // Registers a new stream, or turns the request away (503) when max-open are running
+    public EventStream open(long lastEventId) {
+        if (slots.incrementAndGet() > properties.maxOpen()) {
+            slots.decrementAndGet();
+            throw new RejectedExecutionException("Too many open streams; try again later");
+        }
+        EventStream stream = new EventStream(UUID.randomUUID().toString(), lastEventId,
+                properties.flushInterval().toNanos(), Math.max(1, properties.batchSize()));
+        open.put(stream.id(), stream);
+        return stream;
+    }
+
+    // Asks a running stream to stop; false if there is none with this id (any more)
+    public boolean cancel(String id) {
+        EventStream stream = open.get(id);
+        if (stream == null) return false;
+        stream.cancel("Cancelled by the client");
+        return true;
+    }
+
+    /**
+     * Runs the producer on the calling thread, framed by the {@code started}
+     * and {@code ended} / {@code stopped} events, and unregisters the stream
+     * when it is done, however it ends.
+     */
+    public void run(EventStream stream, OutputStream out, Producer producer) throws IOException {
+        String outcome = "failed";
+        try {
+            SseWriter writer = new SseWriter(objectMapper, out);
+            stream.start(writer);
+            writer.write(null, "started", new StreamEvents.Started(stream.id(), CANCEL_PATH + stream.id()));
+            writer.flush();
+            try {
+                producer.produce(stream);
+                writer.write(null, "ended", new StreamEvents.Ended(stream.events()));
+                outcome = "completed";
+            } catch (CancellationException e) {
+                writer.write(null, "stopped", new StreamEvents.Stopped(stream.events(), e.getMessage()));
+                outcome = "cancelled";
+            } catch (InvalidInputException e) {
+                // the status is long sent, so a budget overrun mid-stream is reported in the stream
+                writer.write(null, "stopped", new StreamEvents.Stopped(stream.events(), e.getMessage()));
+            }
+            writer.flush();
+        } catch (IOException e) {
+            // the client went away: the failed write has already stopped the producer
+            outcome = "disconnected";
+        } finally {
+            open.remove(stream.id());
+            slots.decrementAndGet();
+            Counter.builder("streams.closed").tag("outcome", outcome).register(registry).increment();
+        }
+    }
+
+    // Writes the events of one computation through EventStream.send
+    @FunctionalInterface
+    public interface Producer {
+        void produce(EventStream events) throws IOException;
+    }
+}
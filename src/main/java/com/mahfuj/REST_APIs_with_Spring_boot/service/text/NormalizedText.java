@@ -0,0 +1,155 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.service.text;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * The compared characters of a text, one code point each, in the order they
+ * were added.
+ * <p>
+ * Up to {@code inMemoryLimit} code points live on the heap: one byte each
+ * while they all fit in Latin-1 (as {@code String} does it), an int each from
+ * the first one that does not. Past the limit
+ * everything goes to a temp file, which is read back through two
+ * memory-mapped windows: a two-pointer scan walks in from both ends, so each
+ * end keeps its own window and every page is mapped once. The file is deleted
+ * on {@link #close()}.
+ */
+final class NormalizedText implements Closeable {
+
+    // 64 MB per mapping, 16M code points
+    static final int WINDOW_BYTES = 1 << 26;
+
+    private final int inMemoryLimit;
+    private final Path spillDirectory;
+    private final int windowBytes;
+
+    private byte[] latin1 = new byte[1024];
+    private int[] codePoints;
+    private long length;
+
+    private FileChannel spill;
+    private ByteBuffer pending;
+    private final Window[] windows = {new Window(), new Window()};
+    private long clock;
+
+    NormalizedText(int inMemoryLimit, Path spillDirectory) {
+        this(inMemoryLimit, spillDirectory, WINDOW_BYTES);
+    }
+
+    // windowBytes must be a multiple of 4
+    NormalizedText(int inMemoryLimit, Path spillDirectory, int windowBytes) {
+        this.inMemoryLimit = inMemoryLimit;
+        this.spillDirectory = spillDirectory;
+        this.windowBytes = windowBytes;
+    }
+
+    void add(int codePoint) throws IOException {
+        if (spill != null) {
+            if (!pending.hasRemaining()) flush();
+            pending.putInt(codePoint);
+        } else if (length < inMemoryLimit) {
+            int i = (int) length;
+            if (latin1 != null && codePoint > 0xFF) inflate();
+            if (latin1 != null) {
+                if (i == latin1.length) latin1 = Arrays.copyOf(latin1, grow(i));
+                latin1[i] = (byte) codePoint;
+            } else {
+                if (i == codePoints.length) codePoints = Arrays.copyOf(codePoints, grow(i));
+                codePoints[i] = codePoint;
+            }
+        } else {
+            startSpill();
+            pending.putInt(codePoint);
+        }
+        length++;
+    }
+
+    // Call once everything is added, before reading
+    void finish() throws IOException {
+        if (spill != null) flush();
+    }
+
+    long length() {
+        return length;
+    }
+
+    boolean spilled() {
+        return spill != null;
+    }
+
+    int at(long index) {
+        if (latin1 != null) return latin1[(int) index] & 0xFF;
+        if (spill == null) return codePoints[(int) index];
+        long position = index * Integer.BYTES;
+        Window hit = null;
+        for (Window window : windows) {
+            if (window.buffer != null && position >= window.start && position < window.end) hit = window;
+        }
+        if (hit == null) hit = remap(position);
+        hit.lastUse = ++clock;
+        return hit.buffer.getInt((int) (position - hit.start));
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (spill != null) spill.close();
+        windows[0].buffer = windows[1].buffer = null;
+    }
+
+    private int grow(int size) {
+        return (int) Math.min((long) size * 2, inMemoryLimit);
+    }
+
+    private void inflate() {
+        codePoints = new int[Math.max(latin1.length, 16)];
+        for (int i = 0; i < length; i++) codePoints[i] = latin1[i] & 0xFF;
+        latin1 = null;
+    }
+
+    private void startSpill() throws IOException {
+        if (latin1 != null) inflate();
+        Path directory = spillDirectory != null ? spillDirectory : Path.of(System.getProperty("java.io.tmpdir"));
+        Path file = Files.createTempFile(directory, "text-", ".spill");
+        spill = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                StandardOpenOption.DELETE_ON_CLOSE);
+        pending = ByteBuffer.allocateDirect(64 * 1024);
+        ByteBuffer head = ByteBuffer.allocate((int) length * Integer.BYTES);
+        head.asIntBuffer().put(codePoints, 0, (int) length);
+        while (head.hasRemaining()) spill.write(head);
+        codePoints = null;
+    }
+
+    private void flush() throws IOException {
+        pending.flip();
+        while (pending.hasRemaining()) spill.write(pending);
+        pending.clear();
+    }
+
+    // Maps the window around position in place of the one used least recently
+    private Window remap(long position) {
+        Window window = windows[0].lastUse <= windows[1].lastUse ? windows[0] : windows[1];
+        long size = length * Integer.BYTES;
+        window.start = position / windowBytes * windowBytes;
+        window.end = Math.min(size, window.start + windowBytes);
+        try {
+            window.buffer = spill.map(FileChannel.MapMode.READ_ONLY, window.start, window.end - window.start);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not map spilled text", e);
+        }
+        return window;
+    }
+
+    private static final class Window {
+        MappedByteBuffer buffer;
+        long start, end, lastUse;
+    }
+}
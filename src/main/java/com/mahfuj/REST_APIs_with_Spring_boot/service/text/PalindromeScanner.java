@@ -0,0 +1,177 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.service.text;
+
+import com.mahfuj.REST_APIs_with_Spring_boot.config.TextProperties;
+import com.mahfuj.REST_APIs_with_Spring_boot.dto.TextPalindromeResponse;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.text.Normalizer;
+
+/**
+ * Palindrome checks on text of any size and in any script.
+ * <p>
+ * Only letters and digits are compared, code point by code point, case-folded
+ * and without accents ({@link #fold(int)}), so "Ésope reste ici et se repose"
+ * and "Was it a car or a cat I saw?" both count. Combining marks on their own
+ * are skipped, so precomposed and decomposed text compare the same.
+ * <p>
+ * A request body is decoded as UTF-8 while it streams in; only the compared
+ * characters are kept (see {@link NormalizedText} for where), then two
+ * pointers walk in from both ends. The longest palindromic run is found with
+ * Manacher's algorithm in linear time, for texts that stayed in memory.
+ */
+@Component
+public class PalindromeScanner {
+
+    // Every BMP character folds through this table (256 KB); -1 = not compared
+    private static final int[] BMP = new int[Character.MAX_VALUE + 1];
+
+    static {
+        for (int c = 0; c <= Character.MAX_VALUE; c++) {
+            BMP[c] = Character.isSurrogate((char) c) ? -1 : computeFold(c);
+        }
+    }
+
+    private final int inMemoryLimit;
+    private final Path spillDirectory;
+
+    public PalindromeScanner(TextProperties properties) {
+        // the Manacher radii (2n + 1 ints) have to fit in one array
+        this.inMemoryLimit = (int) Math.min(Integer.MAX_VALUE / 8, properties.inMemoryLimit().toBytes() / Integer.BYTES);
+        this.spillDirectory = properties.spillDirectory();
+    }
+
+    // The compared form of a code point, or -1 if it is not compared
+    public static int fold(int codePoint) {
+        return codePoint <= Character.MAX_VALUE ? BMP[codePoint] : computeFold(codePoint);
+    }
+
+    private static int computeFold(int codePoint) {
+        if (!Character.isLetterOrDigit(codePoint)) return -1;
+        int base = withoutMarks(codePoint);
+        // upper then lower, so that e.g. final sigma and sigma compare equal
+        return Character.toLowerCase(Character.toUpperCase(base));
+    }
+
+    // é -> e, but a Hangul syllable stays whole: only trailing combining marks are dropped
+    private static int withoutMarks(int codePoint) {
+        String decomposed = Normalizer.normalize(Character.toString(codePoint), Normalizer.Form.NFD);
+        int first = decomposed.codePointAt(0);
+        for (int i = Character.charCount(first); i < decomposed.length(); ) {
+            int next = decomposed.codePointAt(i);
+            if (Character.getType(next) != Character.NON_SPACING_MARK) return codePoint;
+            i += Character.charCount(next);
+        }
+        return first;
+    }
+
+    // The compared characters of a short text, for the GET endpoint
+    public static String normalize(CharSequence text) {
+        StringBuilder sb = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); ) {
+            int codePoint = Character.codePointAt(text, i);
+            i += Character.charCount(codePoint);
+            int folded = fold(codePoint);
+            if (folded >= 0) sb.appendCodePoint(folded);
+        }
+        return sb.toString();
+    }
+
+    public TextPalindromeResponse scan(InputStream body, boolean findLongest) throws IOException {
+        try (NormalizedText text = new NormalizedText(inMemoryLimit, spillDirectory)) {
+            long characters = read(body, text);
+            TextPalindromeResponse.Longest longest = findLongest && !text.spilled() ? longest(text) : null;
+            return new TextPalindromeResponse(characters, text.length(), isPalindrome(text), text.spilled(), longest);
+        }
+    }
+
+    // Decodes the body (malformed bytes become U+FFFD, which is skipped) and returns the code points read
+    private static long read(InputStream body, NormalizedText text) throws IOException {
+        Reader reader = new InputStreamReader(body, StandardCharsets.UTF_8);
+        char[] buffer = new char[8192];
+        long characters = 0;
+        char high = 0; // a high surrogate whose pair is in the next read
+        int read;
+        while ((read = reader.read(buffer)) != -1) {
+            for (int i = 0; i < read; i++) {
+                char c = buffer[i];
+                int codePoint = c;
+                if (high != 0) {
+                    if (Character.isLowSurrogate(c)) codePoint = Character.toCodePoint(high, c);
+                    else characters++; // a lone surrogate, never compared
+                    high = 0;
+                }
+                if (codePoint == c && Character.isHighSurrogate(c)) {
+                    high = c;
+                    continue;
+                }
+                characters++;
+                int folded = fold(codePoint);
+                if (folded >= 0) text.add(folded);
+            }
+        }
+        if (high != 0) characters++;
+        text.finish();
+        return characters;
+    }
+
+    static boolean isPalindrome(NormalizedText text) {
+        for (long i = 0, j = text.length() - 1; i < j; i++, j--) {
+            if (text.at(i) != text.at(j)) return false;
+        }
+        return true;
+    }
+
+    static TextPalindromeResponse.Longest longest(NormalizedText text) {
+        long span = manacher(text);
+        int start = (int) (span >>> 32), size = (int) span;
+        String value = null;
+        if (size <= TextPalindromeResponse.Longest.MAX_VALUE_LENGTH) {
+            StringBuilder sb = new StringBuilder(size);
+            for (int i = start; i < start + size; i++) sb.appendCodePoint(text.at(i));
+            value = sb.toString();
+        }
+        return new TextPalindromeResponse.Longest(start, size, value);
+    }
+
+    /**
+     * Manacher's algorithm over a text that stayed in memory. Works on the
+     * text with a virtual separator around every character (2n + 1 positions),
+     * so odd and even palindromes are handled alike, and reuses the radius of
+     * the mirrored position inside the rightmost palindrome found so far;
+     * each position extends the right edge or is settled at once, hence O(n).
+     *
+     * @return start in the high 32 bits, length in the low 32 bits
+     */
+    static long manacher(NormalizedText s) {
+        int n = (int) s.length();
+        if (n == 0) return 0;
+        int m = 2 * n + 1;
+        int[] radius = new int[m];
+        int center = 0, right = 0, best = 0, bestCenter = 0;
+        for (int i = 0; i < m; i++) {
+            int r = i < right ? Math.min(right - i, radius[2 * center - i]) : 0;
+            // even positions are separators, which always match each other
+            while (i - r - 1 >= 0 && i + r + 1 < m
+                    && (((i - r - 1) & 1) == 0 || s.at((i - r - 1) >> 1) == s.at((i + r + 1) >> 1))) {
+                r++;
+            }
+            radius[i] = r;
+            if (i + r > right) {
+                center = i;
+                right = i + r;
+            }
+            if (r > best) {
+                best = r;
+                bestCenter = i;
+            }
+        }
+        // the radius around a position is the palindrome's length in the original text
+        return ((long) ((bestCenter - best) / 2) << 32) | best;
+    }
+}
@@ -0,0 +1,36 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.service.words;
+
+/**
+ * How one language spells and groups numbers, for the number-to-words converter.
+ * <p>
+ * Locales are Spring beans: declaring another {@code NumberLocale} bean makes its
+ * {@link #tag()} available as {@code ?locale=} on the words endpoints. Both append
+ * methods write into the caller's buffer and cover every {@code long}, including
+ * {@code Long.MIN_VALUE}.
+ */
+public interface NumberLocale {
+
+    // BCP 47 tag the locale is selected by, e.g. "en-IN"
+    String tag();
+
+    // n in words, e.g. "Minus Forty Two"
+    void appendWords(StringBuilder out, long n);
+
+    // n in digits with this locale's grouping separators, e.g. "12,34,567"
+    void appendDigits(StringBuilder out, long n);
+
+    // A digit 0-9 in this locale's script
+    char digit(int value);
+
+    // The word for a negative sign ("Minus")
+    String minus();
+
+    // Joins the whole part of an amount to its hundredths ("and")
+    String and();
+
+    // The name of a hundredth of the currency unit ("Cents", "Paise")
+    String hundredths();
+
+    // Closes an amount in words, the way cheques do ("Only")
+    String only();
+}
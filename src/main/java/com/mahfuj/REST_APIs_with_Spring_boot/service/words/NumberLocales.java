@@ -0,0 +1,57 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.service.words;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * The built-in locales. {@code en} spells exactly what the endpoint always
+ * returned (including "One Thousand Trillion" rather than "One Quadrillion"
+ * above 10<sup>15</sup>); {@code en-IN} and {@code bn} count in lakhs and crores.
+ */
+@Configuration
+public class NumberLocales {
+
+    private static final String[] ENGLISH_BELOW_TWENTY = {
+            "", "One", "Two", "Three", "Four", "Five", "Six", "Seven", "Eight", "Nine", "Ten",
+            "Eleven", "Twelve", "Thirteen", "Fourteen", "Fifteen", "Sixteen", "Seventeen", "Eighteen", "Nineteen"
+    };
+
+    private static final String[] ENGLISH_TENS = {
+            "", "", "Twenty", "Thirty", "Forty", "Fifty", "Sixty", "Seventy", "Eighty", "Ninety"
+    };
+
+    // Bengali has a separate word for every number below a hundred
+    private static final String[] BENGALI_BELOW_HUNDRED = {
+            "", "এক", "দুই", "তিন", "চার", "পাঁচ", "ছয়", "সাত", "আট", "নয়",
+            "দশ", "এগারো", "বারো", "তেরো", "চোদ্দ", "পনেরো", "ষোলো", "সতেরো", "আঠারো", "উনিশ",
+            "বিশ", "একুশ", "বাইশ", "তেইশ", "চব্বিশ", "পঁচিশ", "ছাব্বিশ", "সাতাশ", "আটাশ", "ঊনত্রিশ",
+            "ত্রিশ", "একত্রিশ", "বত্রিশ", "তেত্রিশ", "চৌত্রিশ", "পঁয়ত্রিশ", "ছত্রিশ", "সাঁইত্রিশ", "আটত্রিশ", "ঊনচল্লিশ",
+            "চল্লিশ", "একচল্লিশ", "বিয়াল্লিশ", "তেতাল্লিশ", "চুয়াল্লিশ", "পঁয়তাল্লিশ", "ছেচল্লিশ", "সাতচল্লিশ", "আটচল্লিশ", "ঊনপঞ্চাশ",
+            "পঞ্চাশ", "একান্ন", "বাহান্ন", "তিপ্পান্ন", "চুয়ান্ন", "পঞ্চান্ন", "ছাপ্পান্ন", "সাতান্ন", "আটান্ন", "ঊনষাট",
+            "ষাট", "একষট্টি", "বাষট্টি", "তেষট্টি", "চৌষট্টি", "পঁয়ষট্টি", "ছেষট্টি", "সাতষট্টি", "আটষট্টি", "ঊনসত্তর",
+            "সত্তর", "একাত্তর", "বাহাত্তর", "তিয়াত্তর", "চুয়াত্তর", "পঁচাত্তর", "ছিয়াত্তর", "সাতাত্তর", "আটাত্তর", "ঊনআশি",
+            "আশি", "একাশি", "বিরাশি", "তিরাশি", "চুরাশি", "পঁচাশি", "ছিয়াশি", "সাতাশি", "অষ্টাশি", "ঊননব্বই",
+            "নব্বই", "একানব্বই", "বিরানব্বই", "তিরানব্বই", "চুরানব্বই", "পঁচানব্বই", "ছিয়ানব্বই", "সাতানব্বই", "আটানব্বই", "নিরানব্বই"
+    };
+
+    @Bean
+    public NumberLocale english() {
+        return SpelledNumberLocale.international("en", SpelledNumberLocale.compose(ENGLISH_BELOW_TWENTY, ENGLISH_TENS),
+                "Hundred", "Thousand", "Million", "Billion", "Trillion",
+                "Zero", "Minus", "and", "Cents", "Only", '0');
+    }
+
+    @Bean
+    public NumberLocale indianEnglish() {
+        return SpelledNumberLocale.indian("en-IN", SpelledNumberLocale.compose(ENGLISH_BELOW_TWENTY, ENGLISH_TENS),
+                "Hundred", "Thousand", "Lakh", "Crore",
+                "Zero", "Minus", "and", "Paise", "Only", '0');
+    }
+
+    @Bean
+    public NumberLocale bengali() {
+        return SpelledNumberLocale.indian("bn", BENGALI_BELOW_HUNDRED,
+                "শত", "হাজার", "লক্ষ", "কোটি",
+                "শূন্য", "ঋণাত্মক", "এবং", "পয়সা", "মাত্র", '০');
+    }
+}
@@ -0,0 +1,106 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.service.words;
+
+import com.mahfuj.REST_APIs_with_Spring_boot.exception.InvalidInputException;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Numbers and amounts in words and in grouped digits, in any registered
+ * {@link NumberLocale}.
+ * <p>
+ * Each thread spells into one reused buffer, so a call allocates only the
+ * string it returns; a batch spread over the fork-join pool reuses one buffer
+ * per worker.
+ */
+@Component
+public class NumberToWords {
+
+    public static final String DEFAULT_LOCALE = "en";
+
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(256));
+    private static final BigInteger HUNDRED = BigInteger.valueOf(100);
+
+    private final Map<String, NumberLocale> locales = new LinkedHashMap<>();
+
+    public NumberToWords(List<NumberLocale> locales) {
+        for (NumberLocale locale : locales) this.locales.put(locale.tag().toLowerCase(Locale.ROOT), locale);
+    }
+
+    // Looks a locale up by tag, case-insensitively ("en_IN" works too)
+    public NumberLocale locale(String tag) {
+        NumberLocale locale = tag == null ? null : locales.get(tag.replace('_', '-').toLowerCase(Locale.ROOT));
+        if (locale == null) {
+            throw new InvalidInputException("Unsupported locale '" + tag + "'; supported: "
+                    + String.join(", ", locales.values().stream().map(NumberLocale::tag).toList()));
+        }
+        return locale;
+    }
+
+    // "One Thousand Five Hundred Only"
+    public String words(long number, NumberLocale locale) {
+        StringBuilder out = buffer();
+        locale.appendWords(out, number);
+        return out.append(' ').append(locale.only()).toString();
+    }
+
+    // "1,500", or "12,34,567" in lakh/crore locales
+    public String digits(long number, NumberLocale locale) {
+        StringBuilder out = buffer();
+        locale.appendDigits(out, number);
+        return out.toString();
+    }
+
+    // "One Thousand Five Hundred and Fifty Cents Only"; the amount is rounded to hundredths
+    public String amountWords(BigDecimal amount, NumberLocale locale) {
+        Amount parts = Amount.of(amount);
+        StringBuilder out = buffer();
+        // -0.50: the whole part alone would lose the sign
+        if (parts.negative && parts.whole == 0) out.append(locale.minus()).append(' ');
+        locale.appendWords(out, parts.whole);
+        if (parts.hundredths != 0) {
+            out.append(' ').append(locale.and()).append(' ');
+            locale.appendWords(out, parts.hundredths);
+            out.append(' ').append(locale.hundredths());
+        }
+        return out.append(' ').append(locale.only()).toString();
+    }
+
+    // "1,500.50"
+    public String amountDigits(BigDecimal amount, NumberLocale locale) {
+        Amount parts = Amount.of(amount);
+        StringBuilder out = buffer();
+        if (parts.negative && parts.whole == 0) out.append('-');
+        locale.appendDigits(out, parts.whole);
+        return out.append('.')
+                .append(locale.digit(parts.hundredths / 10))
+                .append(locale.digit(parts.hundredths % 10))
+                .toString();
+    }
+
+    // An amount rounded to hundredths; the whole part carries the sign and has to fit in a long
+    private record Amount(boolean negative, long whole, int hundredths) {
+
+        static Amount of(BigDecimal amount) {
+            BigDecimal rounded = amount.setScale(2, RoundingMode.HALF_UP);
+            BigInteger[] parts = rounded.unscaledValue().divideAndRemainder(HUNDRED);
+            if (parts[0].bitLength() > 63) {
+                throw new InvalidInputException("Amount out of range: the whole part must be between "
+                        + Long.MIN_VALUE + " and " + Long.MAX_VALUE);
+            }
+            return new Amount(rounded.signum() < 0, parts[0].longValue(), Math.abs(parts[1].intValue()));
+        }
+    }
+
+    private static StringBuilder buffer() {
+        StringBuilder out = BUFFER.get();
+        out.setLength(0);
+        return out;
+    }
+}
@@ -0,0 +1,192 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.service.words;
+
+/**
+ * A {@link NumberLocale} built from a word table and a grouping scheme.
+ * <p>
+ * Numbers are spelled iteratively, chunk by chunk from the most significant
+ * one, straight into the caller's buffer; the only strings touched are the
+ * constants in the tables. The value is handled as a negative number
+ * throughout, so {@code Long.MIN_VALUE} needs no negation.
+ */
+final class SpelledNumberLocale implements NumberLocale {
+
+    enum Grouping {
+        // 1,234,567: thousand, million, billion below a trillion; trillions are counted the same way
+        INTERNATIONAL(1_000_000_000_000L),
+        // 12,34,567: thousand, lakh below a crore; crores are counted the same way
+        INDIAN(10_000_000L);
+
+        // Where the top scale word (trillion / crore) starts repeating
+        final long chunk;
+
+        Grouping(long chunk) {
+            this.chunk = chunk;
+        }
+    }
+
+    private final String tag;
+    private final Grouping grouping;
+    // words for 0-99 (index 0 unused), and the scale words from hundred up
+    private final String[] belowHundred;
+    private final String hundred, thousand, lakhOrMillion, croreOrTrillion, billion;
+    private final String zero, minus, and, hundredths, only;
+    private final char zeroDigit;
+
+    private SpelledNumberLocale(String tag, Grouping grouping, String[] belowHundred, String hundred, String thousand,
+                                String lakhOrMillion, String billion, String croreOrTrillion, String zero, String minus,
+                                String and, String hundredths, String only, char zeroDigit) {
+        if (belowHundred.length != 100) throw new IllegalArgumentException("Need words for 0-99, got " + belowHundred.length);
+        this.tag = tag;
+        this.grouping = grouping;
+        this.belowHundred = belowHundred;
+        this.hundred = hundred;
+        this.thousand = thousand;
+        this.lakhOrMillion = lakhOrMillion;
+        this.billion = billion;
+        this.croreOrTrillion = croreOrTrillion;
+        this.zero = zero;
+        this.minus = minus;
+        this.and = and;
+        this.hundredths = hundredths;
+        this.only = only;
+        this.zeroDigit = zeroDigit;
+    }
+
+    static SpelledNumberLocale international(String tag, String[] belowHundred, String hundred, String thousand,
+                                             String million, String billion, String trillion, String zero, String minus,
+                                             String and, String hundredths, String only, char zeroDigit) {
+        return new SpelledNumberLocale(tag, Grouping.INTERNATIONAL, belowHundred, hundred, thousand, million, billion,
+                trillion, zero, minus, and, hundredths, only, zeroDigit);
+    }
+
+    static SpelledNumberLocale indian(String tag, String[] belowHundred, String hundred, String thousand,
+                                      String lakh, String crore, String zero, String minus,
+                                      String and, String hundredths, String only, char zeroDigit) {
+        return new SpelledNumberLocale(tag, Grouping.INDIAN, belowHundred, hundred, thousand, lakh, null,
+                crore, zero, minus, and, hundredths, only, zeroDigit);
+    }
+
+    // English-style 0-99 table: the teens as given, then "Twenty", "Twenty One", ...
+    static String[] compose(String[] belowTwenty, String[] tens) {
+        String[] words = new String[100];
+        System.arraycopy(belowTwenty, 0, words, 0, 20);
+        for (int n = 20; n < 100; n++) {
+            words[n] = n % 10 == 0 ? tens[n / 10] : tens[n / 10] + " " + belowTwenty[n % 10];
+        }
+        return words;
+    }
+
+    @Override
+    public String tag() {
+        return tag;
+    }
+
+    @Override
+    public void appendWords(StringBuilder out, long n) {
+        if (n == 0) {
+            out.append(zero);
+            return;
+        }
+        int start = out.length();
+        if (n < 0) out.append(minus);
+        long v = n < 0 ? n : -n;
+
+        // Same shape the recursive version had: <count of the top scale> <top scale> <rest>, where the
+        // count may itself be large enough to contain the top scale again (e.g. "One Lakh Crore")
+        long chunk = grouping.chunk;
+        long divisor = 1;
+        while (v / divisor <= -chunk) divisor *= chunk;
+        for (; divisor > 0; divisor /= chunk) {
+            long part = -(v / divisor % chunk);
+            if (part != 0) appendChunk(out, start, part);
+            if (divisor > 1) word(out, start, croreOrTrillion);
+        }
+    }
+
+    // 0 < n < grouping.chunk
+    private void appendChunk(StringBuilder out, int start, long n) {
+        if (grouping == Grouping.INTERNATIONAL) {
+            appendScale(out, start, (int) (n / 1_000_000_000), billion);
+            appendScale(out, start, (int) (n / 1_000_000 % 1000), lakhOrMillion);
+            appendScale(out, start, (int) (n / 1000 % 1000), thousand);
+        } else {
+            appendScale(out, start, (int) (n / 100_000), lakhOrMillion);
+            appendScale(out, start, (int) (n / 1000 % 100), thousand);
+        }
+        appendHundreds(out, start, (int) (n % 1000));
+    }
+
+    private void appendScale(StringBuilder out, int start, int count, String scale) {
+        if (count == 0) return;
+        appendHundreds(out, start, count);
+        word(out, start, scale);
+    }
+
+    // 0 <= n < 1000
+    private void appendHundreds(StringBuilder out, int start, int n) {
+        if (n >= 100) {
+            word(out, start, belowHundred[n / 100]);
+            word(out, start, hundred);
+        }
+        if (n % 100 != 0) word(out, start, belowHundred[n % 100]);
+    }
+
+    private static void word(StringBuilder out, int start, String word) {
+        if (out.length() > start) out.append(' ');
+        out.append(word);
+    }
+
+    @Override
+    public void appendDigits(StringBuilder out, long n) {
+        if (n < 0) out.append('-');
+        long v = n < 0 ? n : -n;
+        int digits = 1;
+        for (long rest = v / 10; rest != 0; rest /= 10) digits++;
+        int separators = grouping == Grouping.INTERNATIONAL ? (digits - 1) / 3 : digits <= 3 ? 0 : (digits - 2) / 2;
+
+        // filled from the right, in place
+        int position = out.length() + digits + separators;
+        out.setLength(position);
+        for (int written = 0; v != 0 || written == 0; written++) {
+            if (written > 0 && separatorBefore(written)) out.setCharAt(--position, ',');
+            out.setCharAt(--position, digit((int) -(v % 10)));
+            v /= 10;
+        }
+    }
+
+    // Whether a separator goes left of the digit that has 'written' digits to its right
+    private boolean separatorBefore(int written) {
+        if (grouping == Grouping.INTERNATIONAL) return written % 3 == 0;
+        return written == 3 || written > 3 && (written - 3) % 2 == 0;
+    }
+
+    @Override
+    public char digit(int value) {
+        return (char) (zeroDigit + value);
+    }
+
+    @Override
+    public String minus() {
+        return minus;
+    }
+
+    @Override
+    public String and() {
+        return and;
+    }
+
+    @Override
+    public String hundredths() {
+        return hundredths;
+    }
+
+    @Override
+    public String only() {
+        return only;
+    }
+
+    @Override
+    public String toString() {
+        return tag;
+    }
+}
@@ -0,0 +1,134 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.startup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mahfuj.REST_APIs_with_Spring_boot.config.WarmUpProperties;
+import com.mahfuj.REST_APIs_with_Spring_boot.service.PrimeSieve;
+import com.mahfuj.REST_APIs_with_Spring_boot.service.UtilityService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Gets a new instance up to speed before it takes traffic.
+ * <p>
+ * Runners finish before {@code ApplicationReadyEvent}, which is when the
+ * readiness probe ({@code /actuator/health/readiness}) turns to
+ * ACCEPTING_TRAFFIC, so a pod only gets requests once this is done. In order:
+ * <ol>
+ *   <li>the low prime sieve segments are filled;</li>
+ *   <li>the service methods behind the common GET endpoints run with varied
+ *       inputs and their responses are serialized, which initializes the
+ *       formatters, word and fold tables, builds the Jackson serializers and
+ *       gets the calculations JIT-compiled;</li>
+ *   <li>a few real requests go to the same endpoints over loopback, which sets
+ *       up what the web layer does on an endpoint's first request (handler
+ *       lookup, argument conversion, converters, Tomcat's request path).</li>
+ * </ol>
+ * The loopback requests count like any others: they are in the request
+ * metrics, fill a few response cache entries and draw on 127.0.0.1's rate
+ * limit budget. They are skipped when there is no server (MockMvc tests);
+ * one that fails or times out is logged and ends this step, but not the
+ * start-up.
+ * <p>
+ * Checked at run time rather than with a condition, so
+ * {@code app.warm-up.enabled} still applies to an AOT-processed build.
+ */
+@Component
+@RequiredArgsConstructor
+public class WarmUp implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(WarmUp.class);
+
+    private final WarmUpProperties properties;
+    private final PrimeSieve primeSieve;
+    private final UtilityService utilityService;
+    private final ObjectMapper objectMapper;
+    private final Environment environment;
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        if (!properties.enabled()) return;
+
+        long start = System.nanoTime();
+        int segments = primeSieve.preload(properties.primesUpTo());
+        long sieved = System.nanoTime();
+
+        LocalDate dateOfBirth = LocalDate.of(1990, 5, 17);
+        for (int i = 0; i < properties.iterations(); i++) {
+            serialize(utilityService.checkPrime(i * 7919 + 1));
+            serialize(utilityService.convertNumberToWords(i * 1_000_003L));
+            serialize(utilityService.calculateAge(dateOfBirth.plusDays(i % 365)));
+            serialize(utilityService.getDateTimeDetailed());
+            serialize(utilityService.calculateBMI(50 + i % 50, 1.75));
+            serialize(utilityService.calculateEMI(100_000 + i, 7.5, 1 + i % 30));
+            serialize(utilityService.celsiusToFahrenheit(i % 100));
+            serialize(utilityService.nthFibonacci(i % 200));
+            serialize(utilityService.check(i % 2 == 0 ? "Was it a car or a cat I saw?" : "warm-up " + i));
+        }
+        long called = System.nanoTime();
+
+        int port = environment.getProperty("local.server.port", Integer.class, 0);
+        int requests = 0;
+        try {
+            for (int i = 0; port > 0 && i < properties.requests(); i++) {
+                for (String path : paths(i)) {
+                    get(URI.create("http://localhost:" + port + path), properties.requestTimeout());
+                    requests++;
+                }
+            }
+        } catch (IOException e) {
+            // only the web layer stays cold; the instance itself is fine
+            log.warn("Warm-up: loopback requests stopped after {}: {}", requests, e.toString());
+        }
+        long done = System.nanoTime();
+
+        log.info("Warm-up: {} sieve segments in {} ms, {} rounds of service calls in {} ms, {} requests in {} ms",
+                segments, millis(sieved - start), properties.iterations(), millis(called - sieved),
+                requests, millis(done - called));
+    }
+
+    private void serialize(Object response) throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), response);
+    }
+
+    private static List<String> paths(int round) {
+        return List.of(
+                "/api/prime/" + (7919 + 2 * round),
+                "/api/words/" + (1_000_003L * round),
+                "/api/age/1990-05-" + (10 + round % 18),
+                "/api/bmi/" + (50 + round) + "/1.75",
+                "/api/emi/" + (100_000 + round) + "/7.5/20",
+                "/api/fibonacci/nth/" + (100 + round),
+                "/api/palindrome/warm-up-" + round,
+                "/api/datetime");
+    }
+
+    // Reads the whole body, so the connection goes back to the keep-alive cache for the next one
+    private static void get(URI uri, Duration timeout) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) uri.toURL().openConnection();
+        connection.setConnectTimeout((int) timeout.toMillis());
+        connection.setReadTimeout((int) timeout.toMillis());
+        try (InputStream body = connection.getResponseCode() < 400
+                ? connection.getInputStream()
+                : connection.getErrorStream()) {
+            if (body != null) body.transferTo(OutputStream.nullOutputStream());
+        }
+    }
+
+    private static long millis(long nanos) {
+        return nanos / 1_000_000;
+    }
+}
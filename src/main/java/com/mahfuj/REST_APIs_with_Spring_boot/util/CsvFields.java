@@ -0,0 +1,67 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.util;
+
+/**
+ * Finds one field of a CSV line without splitting the line, so a row costs
+ * no allocation beyond the line itself. Fields may be double-quoted (RFC 4180);
+ * the position of a quoted field excludes its quotes, and a field containing
+ * escaped quotes ("") keeps them escaped.
+ */
+public final class CsvFields {
+
+    private CsvFields() {
+    }
+
+    // Position of the header field called name (case-insensitive, surrounding blanks ignored), or -1
+    public static int indexOf(String header, String name) {
+        for (int index = 0; ; index++) {
+            long range = find(header, index);
+            if (range < 0) return -1;
+            String field = header.substring(start(range), end(range)).strip();
+            if (field.equalsIgnoreCase(name)) return index;
+        }
+    }
+
+    /**
+     * Field {@code index} of the line as start in the high and end in the low
+     * 32 bits (see {@link #start} and {@link #end}), or -1 if the line has
+     * fewer fields.
+     */
+    public static long find(CharSequence line, int index) {
+        int length = line.length();
+        int position = 0;
+        for (int field = 0; ; field++) {
+            int start = position, end;
+            boolean quoted = position < length && line.charAt(position) == '"';
+            if (quoted) {
+                start = ++position;
+                while (position < length) {
+                    if (line.charAt(position) == '"') {
+                        // a doubled quote is part of the field, a single one ends it
+                        if (position + 1 < length && line.charAt(position + 1) == '"') {
+                            position += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    position++;
+                }
+                end = position;
+                while (position < length && line.charAt(position) != ',') position++;
+            } else {
+                while (position < length && line.charAt(position) != ',') position++;
+                end = position;
+            }
+            if (field == index) return ((long) start << 32) | end;
+            if (position >= length) return -1;
+            position++; // the comma
+        }
+    }
+
+    public static int start(long range) {
+        return (int) (range >>> 32);
+    }
+
+    public static int end(long range) {
+        return (int) range;
+    }
+}
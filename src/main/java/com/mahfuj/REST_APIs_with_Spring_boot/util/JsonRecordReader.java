@@ -0,0 +1,81 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.util;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+
+/**
+ * Reads records one at a time from either a JSON array ({@code [{...}, {...}]})
+ * or a stream of root-level documents such as NDJSON ({@code {...}\n{...}\n}).
+ * <p>
+ * Only the current record is ever bound, so the input can be far larger than
+ * the heap. The reader is the mirror image of {@link NdjsonWriter}.
+ */
+public class JsonRecordReader implements Closeable {
+
+    private static final TypeReference<Map<String, Object>> OBJECT = new TypeReference<>() {};
+
+    private final ObjectMapper mapper;
+    private final JsonParser parser;
+
+    private boolean started;
+    private boolean insideArray;
+    private long index = -1;
+
+    public JsonRecordReader(ObjectMapper mapper, InputStream in) throws IOException {
+        this.mapper = mapper;
+        this.parser = mapper.createParser(in);
+        // the caller owns the stream (usually the servlet request body)
+        this.parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+    }
+
+    // Moves to the next record and returns its first token, or null when the input is exhausted
+    public JsonToken next() throws IOException {
+        JsonToken token = parser.nextToken();
+        if (!started) {
+            started = true;
+            // a top-level array is unwrapped; anything else is a sequence of root values
+            if (token == JsonToken.START_ARRAY) {
+                insideArray = true;
+                token = parser.nextToken();
+            }
+        }
+        if (token == null || (insideArray && token == JsonToken.END_ARRAY)) {
+            return null;
+        }
+        index++;
+        return token;
+    }
+
+    // Position of the current record in the input, starting at 0
+    public long index() {
+        return index;
+    }
+
+    // Binds the current record, which must start with START_OBJECT
+    public Map<String, Object> readObject() throws IOException {
+        return mapper.readValue(parser, OBJECT);
+    }
+
+    // Binds the current record to the given type. The record is read whole first, so when it doesn't
+    // fit the type (a JsonMappingException) the reader is still lined up on the next record.
+    public <T> T read(Class<T> type) throws IOException {
+        return mapper.treeToValue(mapper.readTree(parser), type);
+    }
+
+    // Skips the current record without binding it
+    public void skip() throws IOException {
+        parser.skipChildren();
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+}
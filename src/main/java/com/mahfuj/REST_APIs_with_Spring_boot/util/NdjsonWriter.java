@@ -0,0 +1,48 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes one compact JSON document per line (NDJSON) straight to an output stream.
+ * <p>
+ * A single generator is reused for the whole stream and nothing is buffered beyond
+ * the servlet's own response buffer, so streaming a million rows costs the same
+ * heap as streaming ten.
+ */
+public class NdjsonWriter {
+
+    public static final String MEDIA_TYPE_VALUE = "application/x-ndjson";
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(MEDIA_TYPE_VALUE);
+
+    private final ObjectWriter writer;
+    private final JsonGenerator generator;
+
+    public NdjsonWriter(ObjectMapper mapper, OutputStream out) throws IOException {
+        // NDJSON needs every document on a single line, whatever the global pretty-print setting is,
+        // and flushing after each row would turn every line into its own network write
+        this.writer = mapper.writer()
+                .without(SerializationFeature.INDENT_OUTPUT)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.generator = mapper.getFactory().createGenerator(out);
+        this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        // we terminate lines ourselves instead of Jackson's default space between root values
+        this.generator.setRootValueSeparator(null);
+    }
+
+    public void write(Object value) throws IOException {
+        writer.writeValue(generator, value);
+        generator.writeRaw('\n');
+    }
+
+    // Pushes what has been written so far to the client
+    public void flush() throws IOException {
+        generator.flush();
+    }
+}
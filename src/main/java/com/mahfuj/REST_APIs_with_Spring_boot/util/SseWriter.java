@@ -0,0 +1,52 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes Server-Sent Events ({@code text/event-stream}) straight to an output
+ * stream, with the data of each event as one line of compact JSON:
+ * <pre>
+ * id: 42
+ * event: term
+ * data: {"n":42,"digits":9,"value":"267914296"}
+ * </pre>
+ * Like {@link NdjsonWriter}, one generator is reused for the whole stream and
+ * nothing is buffered beyond the servlet's response buffer, so a write blocks
+ * once the client stops reading.
+ */
+public class SseWriter {
+
+    private final ObjectWriter writer;
+    private final JsonGenerator generator;
+
+    public SseWriter(ObjectMapper mapper, OutputStream out) throws IOException {
+        // a data line must not contain line breaks, whatever the global pretty-print setting is
+        this.writer = mapper.writer()
+                .without(SerializationFeature.INDENT_OUTPUT)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.generator = mapper.getFactory().createGenerator(out);
+        this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.generator.setRootValueSeparator(null);
+    }
+
+    // id may be null; event names are ours and never contain line breaks
+    public void write(String id, String event, Object data) throws IOException {
+        if (id != null) generator.writeRaw("id: " + id + "\n");
+        generator.writeRaw("event: ");
+        generator.writeRaw(event);
+        generator.writeRaw("\ndata: ");
+        writer.writeValue(generator, data);
+        generator.writeRaw("\n\n");
+    }
+
+    // Pushes what has been written so far to the client
+    public void flush() throws IOException {
+        generator.flush();
+    }
+}
@@ -0,0 +1,242 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.validation;
+
+import com.mahfuj.REST_APIs_with_Spring_boot.exception.ApiProblem;
+import com.mahfuj.REST_APIs_with_Spring_boot.exception.RejectionTracker;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.util.pattern.PathPattern;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Turns away requests whose path variables can't be bound, before Spring MVC
+ * gets to them.
+ * <p>
+ * A value like {@code /api/bmi/abc/1.75} would otherwise go through handler
+ * lookup, a failed conversion, a {@code MethodArgumentTypeMismatchException}
+ * with its stack trace (and the {@code NumberFormatException} inside it) and
+ * the exception resolvers. Here the path is matched against the routes under
+ * {@code /api} and each variable is checked against its parameter type without
+ * throwing, so a bad request costs a few string scans and a pre-built
+ * {@link ApiProblem} body. Paths under {@code /api} that no controller knows
+ * are answered with 404 the same way.
+ * <p>
+ * The routes are read from the handler mappings on the first request. Only
+ * {@code int}, {@code long} and {@code double} variables are checked, and a
+ * value the check is unsure about (hex numbers) is left to Spring MVC; a path
+ * that matches no route structurally is too, so this never rejects a request
+ * Spring MVC would have served.
+ */
+public class PathVariableValidationFilter extends OncePerRequestFilter {
+
+    private static final String PREFIX = "/api/";
+
+    private final Supplier<Map<RequestMappingInfo, HandlerMethod>> handlerMethods;
+    private final RejectionTracker tracker;
+    private volatile Map<String, List<Route>> routes; // first segment after /api/ -> routes
+
+    public PathVariableValidationFilter(Supplier<Map<RequestMappingInfo, HandlerMethod>> handlerMethods,
+                                        RejectionTracker tracker) {
+        this.handlerMethods = handlerMethods;
+        this.tracker = tracker;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        ApiProblem problem = null;
+        String detail = null;
+
+        if (path.startsWith(PREFIX) && path.length() > PREFIX.length()) {
+            int end = path.indexOf('/', PREFIX.length());
+            List<Route> candidates = routes().get(path.substring(PREFIX.length(), end < 0 ? path.length() : end));
+            if (candidates == null) {
+                problem = ApiProblem.NOT_FOUND;
+                detail = "No endpoint at this path";
+            } else {
+                detail = invalidVariable(candidates, PathContainer.parsePath(path));
+                if (detail != null) problem = ApiProblem.INVALID_PARAMETER;
+            }
+        }
+
+        if (problem == null) {
+            chain.doFilter(request, response);
+        } else if (tracker.reject(RejectionTracker.clientOf(request), problem)) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            ApiProblem.TOO_MANY_REJECTIONS.write(response, null);
+        } else {
+            problem.write(response, detail);
+        }
+    }
+
+    // The complaint about the first bad variable, or null when some route accepts the path (or none matches it)
+    private static String invalidVariable(List<Route> candidates, PathContainer path) {
+        String complaint = null;
+        for (Route route : candidates) {
+            PathPattern.PathMatchInfo match = route.pattern.matchAndExtract(path);
+            if (match == null) continue;
+            String invalid = route.invalidVariable(match.getUriVariables());
+            if (invalid == null) return null;
+            if (complaint == null) complaint = invalid;
+        }
+        return complaint;
+    }
+
+    private Map<String, List<Route>> routes() {
+        Map<String, List<Route>> table = routes;
+        if (table == null) {
+            table = buildRoutes(handlerMethods.get());
+            routes = table;
+        }
+        return table;
+    }
+
+    static Map<String, List<Route>> buildRoutes(Map<RequestMappingInfo, HandlerMethod> handlerMethods) {
+        Map<String, List<Route>> table = new HashMap<>();
+        DefaultParameterNameDiscoverer names = new DefaultParameterNameDiscoverer();
+        handlerMethods.forEach((info, method) -> {
+            if (info.getPathPatternsCondition() == null) return;
+            Map<String, ValueType> variables = new LinkedHashMap<>();
+            for (MethodParameter parameter : method.getMethodParameters()) {
+                PathVariable annotation = parameter.getParameterAnnotation(PathVariable.class);
+                if (annotation == null) continue;
+                parameter.initParameterNameDiscovery(names);
+                String name = !annotation.name().isEmpty() ? annotation.name() : parameter.getParameterName();
+                ValueType type = ValueType.of(parameter.getParameterType());
+                if (name != null && type != null) variables.put(name, type);
+            }
+            for (PathPattern pattern : info.getPathPatternsCondition().getPatterns()) {
+                String text = pattern.getPatternString();
+                if (!text.startsWith(PREFIX)) continue;
+                int end = text.indexOf('/', PREFIX.length());
+                String first = text.substring(PREFIX.length(), end < 0 ? text.length() : end);
+                // a route with a variable in the first segment would match anything; don't judge those paths
+                if (first.isEmpty() || first.contains("{") || first.contains("*")) continue;
+                table.computeIfAbsent(first, f -> new ArrayList<>()).add(new Route(pattern, variables));
+            }
+        });
+        return table;
+    }
+
+    record Route(PathPattern pattern, Map<String, ValueType> variables) {
+
+        String invalidVariable(Map<String, String> values) {
+            for (Map.Entry<String, ValueType> variable : variables.entrySet()) {
+                String value = values.get(variable.getKey());
+                if (value != null && !variable.getValue().accepts(value)) {
+                    return "Invalid value for parameter '" + variable.getKey() + "': expected " + variable.getValue().label;
+                }
+            }
+            return null;
+        }
+    }
+
+    // The parameter types that are checked, with the grammar Spring's conversion accepts for them
+    enum ValueType {
+        INT("int") {
+            @Override
+            boolean accepts(String value) {
+                return isInteger(value.trim(), Integer.MIN_VALUE, Integer.MAX_VALUE);
+            }
+        },
+        LONG("long") {
+            @Override
+            boolean accepts(String value) {
+                return isInteger(value.trim(), Long.MIN_VALUE, Long.MAX_VALUE);
+            }
+        },
+        DOUBLE("double") {
+            @Override
+            boolean accepts(String value) {
+                return isDouble(value.trim());
+            }
+        };
+
+        final String label;
+
+        ValueType(String label) {
+            this.label = label;
+        }
+
+        abstract boolean accepts(String value);
+
+        static ValueType of(Class<?> type) {
+            if (type == int.class || type == Integer.class) return INT;
+            if (type == long.class || type == Long.class) return LONG;
+            if (type == double.class || type == Double.class) return DOUBLE;
+            return null;
+        }
+
+        // Optional sign and decimal digits within [min, max]; hex forms (0x1F, #1F) are let through
+        static boolean isInteger(String s, long min, long max) {
+            int i = 0;
+            boolean negative = false;
+            if (!s.isEmpty() && (s.charAt(0) == '-' || s.charAt(0) == '+')) {
+                negative = s.charAt(0) == '-';
+                i++;
+            }
+            if (isHexPrefix(s, i)) return true;
+            if (i == s.length()) return false;
+            // accumulate negatively, so Long.MIN_VALUE fits
+            long limit = negative ? min : -max;
+            long multiplyMin = limit / 10;
+            long result = 0;
+            for (; i < s.length(); i++) {
+                // any Unicode digit, as Long.parseLong allows
+                int digit = Character.digit(s.charAt(i), 10);
+                if (digit < 0 || result < multiplyMin) return false;
+                result *= 10;
+                if (result < limit + digit) return false;
+                result -= digit;
+            }
+            return true;
+        }
+
+        // Double.valueOf's grammar: sign, digits with an optional point, exponent, type suffix, NaN, Infinity
+        static boolean isDouble(String s) {
+            int i = 0;
+            if (!s.isEmpty() && (s.charAt(0) == '-' || s.charAt(0) == '+')) i++;
+            if (s.startsWith("NaN", i) || s.startsWith("Infinity", i)) {
+                return s.length() == i + (s.charAt(i) == 'N' ? 3 : 8);
+            }
+            if (isHexPrefix(s, i)) return true;
+            int digits = 0;
+            while (i < s.length() && s.charAt(i) >= '0' && s.charAt(i) <= '9') { i++; digits++; }
+            if (i < s.length() && s.charAt(i) == '.') {
+                i++;
+                while (i < s.length() && s.charAt(i) >= '0' && s.charAt(i) <= '9') { i++; digits++; }
+            }
+            if (digits == 0) return false;
+            if (i < s.length() && (s.charAt(i) == 'e' || s.charAt(i) == 'E')) {
+                i++;
+                if (i < s.length() && (s.charAt(i) == '-' || s.charAt(i) == '+')) i++;
+                int exponent = 0;
+                while (i < s.length() && s.charAt(i) >= '0' && s.charAt(i) <= '9') { i++; exponent++; }
+                if (exponent == 0) return false;
+            }
+            if (i < s.length() && "fFdD".indexOf(s.charAt(i)) >= 0) i++;
+            return i == s.length();
+        }
+
+        private static boolean isHexPrefix(String s, int i) {
+            return s.startsWith("0x", i) || s.startsWith("0X", i) || s.startsWith("#", i);
+        }
+    }
+}
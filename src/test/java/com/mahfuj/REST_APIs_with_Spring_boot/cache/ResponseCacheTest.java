@@ -0,0 +1,49 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseCacheTest {
+
+	// every entry below weighs 100 body bytes + 2*2 key chars + 16 + 4 + 128 = 252 bytes
+	private static CachedResponse response(long expiresAt) {
+		return new CachedResponse("test", null, "application/json", new byte[100], "\"e\"", expiresAt);
+	}
+
+	@Test
+	void oneOffEntriesCannotFlushProtectedOnes() {
+		ResponseCache cache = new ResponseCache(252 * 4, 1);
+		cache.put("k0", response(Long.MAX_VALUE));
+		cache.put("k1", response(Long.MAX_VALUE));
+		assertNotNull(cache.get("test", "k0", 0));
+		assertNotNull(cache.get("test", "k1", 0));
+
+		// a scan of keys seen only once churns probation and leaves the protected pair alone
+		for (int i = 10; i < 40; i++) {
+			cache.put("k" + i, response(Long.MAX_VALUE));
+		}
+		assertNotNull(cache.get("test", "k0", 0));
+		assertNotNull(cache.get("test", "k1", 0));
+		assertNull(cache.get("test", "k10", 0));
+		assertNotNull(cache.get("test", "k39", 0));
+	}
+
+	@Test
+	void expiredEntriesAreDroppedAndCounted() {
+		ResponseCache cache = new ResponseCache(1 << 20, 4);
+		cache.put("k0", response(1000));
+		assertNotNull(cache.get("test", "k0", 999));
+		assertNull(cache.get("test", "k0", 1000));
+		assertNull(cache.get("test", "k0", 0));
+
+		@SuppressWarnings("unchecked")
+		Map<String, Object> stats = (Map<String, Object>) ((Map<String, Object>) cache.statistics().get("endpoints")).get("test");
+		assertEquals(1L, stats.get("hits"));
+		assertEquals(2L, stats.get("misses"));
+		assertEquals(1L, stats.get("expirations"));
+		assertEquals(0L, cache.statistics().get("entries"));
+	}
+}
@@ -0,0 +1,75 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Through Tomcat rather than MockMvc, because compression happens in the connector
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ContentNegotiationTest {
+
+	@LocalServerPort
+	private int port;
+
+	private final HttpClient http = HttpClient.newHttpClient();
+
+	@Test
+	void jsonIsCompactByDefault() throws Exception {
+		HttpResponse<String> response = http.send(request("/api/bmi/70/1.75").build(), HttpResponse.BodyHandlers.ofString());
+		assertEquals("application/json", response.headers().firstValue("Content-Type").orElseThrow());
+		assertFalse(response.body().contains("\n"));
+		assertTrue(response.body().startsWith("{\""));
+	}
+
+	@Test
+	void binaryFormatsAreNegotiated() throws Exception {
+		JsonNode json = new ObjectMapper().readTree(get("/api/fibonacci/90", "application/json").body());
+
+		HttpResponse<byte[]> cbor = get("/api/fibonacci/90", "application/cbor");
+		assertEquals("application/cbor", cbor.headers().firstValue("Content-Type").orElseThrow());
+		assertEquals(json.toString(), new ObjectMapper(new CBORFactory()).readTree(cbor.body()).toString());
+
+		HttpResponse<byte[]> smile = get("/api/fibonacci/90", "application/x-jackson-smile");
+		assertEquals("application/x-jackson-smile", smile.headers().firstValue("Content-Type").orElseThrow());
+		assertEquals(json.toString(), new ObjectMapper(new SmileFactory()).readTree(smile.body()).toString());
+	}
+
+	@Test
+	void largeResponsesAreGzippedOnRequest() throws Exception {
+		HttpResponse<byte[]> response = http.send(request("/api/fibonacci/1000").header("Accept-Encoding", "gzip").build(),
+				HttpResponse.BodyHandlers.ofByteArray());
+		assertEquals("gzip", response.headers().firstValue("Content-Encoding").orElseThrow());
+		try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(response.body()))) {
+			String body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+			assertTrue(body.contains("\"sequence\":[0,1,1,2,3,5"));
+		}
+
+		// small responses aren't worth it
+		HttpResponse<byte[]> small = http.send(request("/api/bmi/70/1.75").header("Accept-Encoding", "gzip").build(),
+				HttpResponse.BodyHandlers.ofByteArray());
+		assertTrue(small.headers().firstValue("Content-Encoding").isEmpty());
+	}
+
+	private HttpResponse<byte[]> get(String path, String accept) throws IOException, InterruptedException {
+		return http.send(request(path).header("Accept", accept).build(), HttpResponse.BodyHandlers.ofByteArray());
+	}
+
+	private HttpRequest.Builder request(String path) {
+		return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path));
+	}
+}
@@ -0,0 +1,46 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class MetricsTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Test
+	void prometheusScrapeHasEndpointTimersPayloadSizesAndHotPathCounters() throws Exception {
+		mockMvc.perform(get("/api/prime/1000003")).andExpect(status().isOk());
+		// second call is a response-cache hit and must still be tagged with the URI template
+		mockMvc.perform(get("/api/prime/1000003")).andExpect(header().string("X-Cache", "HIT"));
+		mockMvc.perform(get("/api/fibonacci/nth/5000")).andExpect(status().isOk());
+		mockMvc.perform(post("/api/users").contentType(MediaType.APPLICATION_JSON).content("{\"name\":\"metered\"}"));
+
+		mockMvc.perform(get("/actuator/prometheus"))
+				.andExpect(status().isOk())
+				.andExpect(content().string(allOf(
+						containsString("http_server_requests_seconds_bucket{"),
+						containsString("http_server_requests_seconds_count{error=\"none\",exception=\"none\",method=\"GET\",outcome=\"SUCCESS\",status=\"200\",uri=\"/api/prime/{number}\"} 2"),
+						containsString("http_server_response_size_bytes_count{method=\"GET\",uri=\"/api/prime/{number}\"} 2"),
+						containsString("http_server_request_size_bytes_count{method=\"POST\",uri=\"/api/users\"}"),
+						containsString("primes_lookups_total{source=\"sieve\"}"),
+						containsString("primes_segments_sieved_total{kind=\"cached\"}"),
+						containsString("fibonacci_index_bucket{operation=\"nth\",le=\"10000.0\"}"),
+						containsString("fibonacci_memo_total{result=\"miss\"}"),
+						containsString("users_store_size"),
+						containsString("users_writes_total{operation=\"add\"}"),
+						containsString("compute_queued"))));
+	}
+}
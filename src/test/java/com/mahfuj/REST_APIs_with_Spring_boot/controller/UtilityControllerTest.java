@@ -0,0 +1,366 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.json.JsonCompareMode;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class UtilityControllerTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Test
+	void usersArePagedByCursorAndStreamedAsNdjson() throws Exception {
+		long firstId = -1;
+		for (int i = 0; i < 5; i++) {
+			String created = mockMvc.perform(post("/api/users").contentType(MediaType.APPLICATION_JSON)
+							.content("{\"name\":\"page" + i + "\"}"))
+					.andExpect(status().isOk())
+					.andReturn().getResponse().getContentAsString();
+			if (i == 0) firstId = Long.parseLong(created.replaceAll("\\D*(\\d+).*", "$1"));
+		}
+
+		String cursor = mockMvc.perform(get("/api/users").param("after", String.valueOf(firstId - 1)).param("limit", "3"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.count").value(3))
+				.andExpect(jsonPath("$.users[0].user.name").value("page0"))
+				.andExpect(jsonPath("$.nextCursor").value(firstId + 2))
+				.andReturn().getResponse().getContentAsString()
+				.replaceAll("(?s).*\"nextCursor\"\\s*:\\s*(\\d+).*", "$1");
+
+		mockMvc.perform(get("/api/users").param("after", cursor).param("limit", "3"))
+				.andExpect(jsonPath("$.users[0].user.name").value("page3"))
+				.andExpect(jsonPath("$.users[1].user.name").value("page4"));
+
+		MvcResult async = mockMvc.perform(get("/api/users/stream"))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		mockMvc.perform(asyncDispatch(async))
+				.andExpect(status().isOk())
+				.andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+				.andExpect(content().string(containsString("{\"id\":" + firstId + ",\"user\":{\"name\":\"page0\"}}\n")));
+	}
+
+	@Test
+	void usersCanBeFilteredByIndexedFields() throws Exception {
+		mockMvc.perform(post("/api/users").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"name\":\"indexed\",\"email\":\"indexed@example.com\",\"age\":33}"));
+
+		mockMvc.perform(get("/api/users").param("email", "indexed@example.com"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.count").value(1))
+				.andExpect(jsonPath("$.users[0].user.name").value("indexed"));
+
+		mockMvc.perform(get("/api/users").param("age.gte", "33").param("age.lt", "34"))
+				.andExpect(jsonPath("$.users[*].user.name", hasItem("indexed")));
+
+		mockMvc.perform(get("/api/users").param("nickname", "x"))
+				.andExpect(status().isBadRequest());
+
+		// cache-busters are ignored; a known but unindexed field is rejected, even next to an indexed one
+		mockMvc.perform(get("/api/users").param("email", "indexed@example.com").param("_", "1700000000000"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.count").value(1));
+		mockMvc.perform(get("/api/users").param("email", "indexed@example.com").param("name", "indexed"))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void bulkIngestAcceptsJsonArraysAndNdjson() throws Exception {
+		mockMvc.perform(post("/api/users/bulk").param("batchSize", "2").contentType(MediaType.APPLICATION_JSON)
+						.content("[{\"name\":\"bulk0\"}, 42, {\"name\":\"bulk1\"}, {}, {\"name\":\"bulk2\"}]"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.accepted").value(3))
+				.andExpect(jsonPath("$.rejected").value(2))
+				.andExpect(jsonPath("$.batches.length()").value(2))
+				.andExpect(jsonPath("$.batches[0].accepted").value(2))
+				.andExpect(jsonPath("$.batches[0].rejected").value(1))
+				.andExpect(jsonPath("$.rejectedDetails[0].index").value(1))
+				.andExpect(jsonPath("$.rejectedDetails[1].index").value(3));
+
+		mockMvc.perform(post("/api/users/bulk").contentType("application/x-ndjson")
+						.content("{\"name\":\"line0\"}\n{\"name\":\"line1\"}\n{\"name\":"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.accepted").value(2))
+				.andExpect(jsonPath("$.error", startsWith("Malformed JSON at line 3")));
+	}
+
+	@Test
+	void primesAreCheckedCountedAndListed() throws Exception {
+		mockMvc.perform(get("/api/prime/2147483647"))
+				.andExpect(jsonPath("$.isPrime").value(true))
+				.andExpect(jsonPath("$.nextPrime").value(2147483659L));
+
+		mockMvc.perform(get("/api/primes/count").param("from", "1").param("to", "1000000"))
+				.andExpect(jsonPath("$.count").value(78498));
+
+		mockMvc.perform(get("/api/primes").param("from", "10").param("to", "30").param("limit", "3"))
+				.andExpect(jsonPath("$.primes", contains(11, 13, 17)))
+				.andExpect(jsonPath("$.nextCursor").value(17));
+
+		mockMvc.perform(get("/api/primes/count").param("from", "10").param("to", "1"))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void fibonacciNoLongerOverflowsAndStreamsLongSequences() throws Exception {
+		mockMvc.perform(get("/api/fibonacci/48"))
+				.andExpect(jsonPath("$.sequence[47]").value(2971215073L));
+
+		mockMvc.perform(get("/api/fibonacci/5000"))
+				.andExpect(status().isBadRequest());
+
+		MvcResult async = mockMvc.perform(get("/api/fibonacci/5000/stream"))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		mockMvc.perform(asyncDispatch(async))
+				.andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+				.andExpect(content().string(startsWith("0\n1\n1\n2\n3\n")));
+
+		mockMvc.perform(get("/api/fibonacci/nth/100"))
+				.andExpect(jsonPath("$.value").value("354224848179261915075"))
+				.andExpect(jsonPath("$.digits").value(21));
+	}
+
+	@Test
+	void computationsStreamAsServerSentEvents() throws Exception {
+		MvcResult fibonacci = mockMvc.perform(get("/api/fibonacci/100/events").header("Last-Event-ID", "97"))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		mockMvc.perform(asyncDispatch(fibonacci))
+				.andExpect(content().contentTypeCompatibleWith("text/event-stream"))
+				.andExpect(content().string(startsWith("event: started\ndata: {\"id\":")))
+				.andExpect(content().string(endsWith("id: 99\nevent: term\ndata: {\"n\":99,\"digits\":21,"
+						+ "\"value\":\"218922995834555169026\"}\n\nevent: ended\ndata: {\"events\":2}\n\n")));
+
+		MvcResult primes = mockMvc.perform(get("/api/primes/events?from=1&to=20"))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		mockMvc.perform(asyncDispatch(primes))
+				.andExpect(content().string(containsString(
+						"id: 19\nevent: primes\ndata: {\"count\":8,\"primes\":[2,3,5,7,11,13,17,19]}\n\n")));
+
+		mockMvc.perform(get("/api/primes/events?from=20&to=1"))
+				.andExpect(status().isBadRequest());
+		mockMvc.perform(delete("/api/streams/no-such-stream"))
+				.andExpect(status().isNotFound());
+	}
+
+	@Test
+	void jobsAnswerAtOnceAndArePolledForTheResult() throws Exception {
+		String id = mockMvc.perform(post("/api/jobs/fibonacci").contentType(MediaType.APPLICATION_JSON)
+						.content("{\"n\": 100}"))
+				.andExpect(status().isAccepted())
+				.andExpect(header().string("Location", startsWith("/api/jobs/")))
+				.andExpect(jsonPath("$.operation").value("fibonacci"))
+				.andReturn().getResponse().getContentAsString()
+				.replaceAll("(?s).*\"id\"\s*:\s*\"([^\"]+)\".*", "$1");
+
+		String status = "";
+		for (int i = 0; i < 100 && !status.contains("SUCCEEDED"); i++) {
+			Thread.sleep(10);
+			status = mockMvc.perform(get("/api/jobs/" + id))
+					.andExpect(status().isOk())
+					.andReturn().getResponse().getContentAsString();
+		}
+		mockMvc.perform(get("/api/jobs/" + id))
+				.andExpect(header().string("Cache-Control", "no-store"))
+				.andExpect(jsonPath("$.status").value("SUCCEEDED"))
+				.andExpect(jsonPath("$.progress.percent").value(100.0))
+				.andExpect(jsonPath("$.result.value").value("354224848179261915075"));
+
+		mockMvc.perform(post("/api/jobs/fibonacci").contentType(MediaType.APPLICATION_JSON).content("{\"n\": -1}"))
+				.andExpect(status().isBadRequest());
+		mockMvc.perform(post("/api/jobs/no-such-operation").contentType(MediaType.APPLICATION_JSON).content("{}"))
+				.andExpect(status().isBadRequest());
+		mockMvc.perform(get("/api/jobs/no-such-job"))
+				.andExpect(status().isNotFound());
+	}
+
+	@Test
+	void passwordCheckKeepsItsResponseShape() throws Exception {
+		mockMvc.perform(get("/api/password/hello123"))
+				.andExpect(jsonPath("$.password_length").value(8))
+				.andExpect(jsonPath("$.score").value("3/5"))
+				.andExpect(jsonPath("$.strength").value("Moderate"))
+				.andExpect(jsonPath("$.improvements_needed[0]").value("Add at least one uppercase letter (A-Z)"));
+
+		mockMvc.perform(get("/api/password/qwerty123"))
+				.andExpect(jsonPath("$.strength").value("Weak"));
+	}
+
+	@Test
+	void batchCalculatorsReturnColumns() throws Exception {
+		mockMvc.perform(post("/api/batch/bmi").contentType(MediaType.APPLICATION_JSON)
+						.content("{\"weight\": [70, 50], \"height\": [1.75, 1.8]}"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.count").value(2))
+				.andExpect(jsonPath("$.bmiScore[0]").value(22.86))
+				.andExpect(jsonPath("$.category[1]").value("Underweight"));
+
+		mockMvc.perform(post("/api/batch/words").contentType(MediaType.APPLICATION_JSON)
+						.content("{\"number\": [1500]}"))
+				.andExpect(jsonPath("$.formatted[0]").value("1,500"))
+				.andExpect(jsonPath("$.in_words[0]").value("One Thousand Five Hundred Only"));
+
+		mockMvc.perform(post("/api/batch/words").contentType(MediaType.APPLICATION_JSON)
+						.content("{\"number\": [1234567], \"locale\": \"en-IN\"}"))
+				.andExpect(jsonPath("$.formatted[0]").value("12,34,567"))
+				.andExpect(jsonPath("$.in_words[0]").value("Twelve Lakh Thirty Four Thousand Five Hundred Sixty Seven Only"));
+
+		mockMvc.perform(post("/api/batch/celsius").contentType(MediaType.APPLICATION_JSON).content("{}"))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void emiScheduleIsAvailableAsJsonNdjsonAndCsv() throws Exception {
+		String loan = "{\"amount\": 12000, \"rate\": 0, \"years\": 1}";
+		mockMvc.perform(post("/api/emi/schedule").contentType(MediaType.APPLICATION_JSON).content(loan))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.monthlyEMI").value(1000.0))
+				.andExpect(jsonPath("$.schedule.length()").value(12))
+				.andExpect(jsonPath("$.schedule[11].balance").value(0.0));
+
+		MvcResult csv = mockMvc.perform(post("/api/emi/schedule").param("format", "csv")
+						.contentType(MediaType.APPLICATION_JSON).content(loan))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		mockMvc.perform(asyncDispatch(csv))
+				.andExpect(content().contentTypeCompatibleWith("text/csv"))
+				.andExpect(content().string(startsWith("month,payment,principal,interest,prepayment,balance\n1,1000.00,1000.00,0.00,0.00,11000.00\n")));
+
+		mockMvc.perform(post("/api/emi/portfolio").contentType("application/x-ndjson")
+						.content(loan + "\n" + loan + "\n{\"amount\": -1, \"rate\": 5, \"years\": 1}\n"))
+				.andExpect(jsonPath("$.loans").value(2))
+				.andExpect(jsonPath("$.rejected").value(1))
+				.andExpect(jsonPath("$.totalAmountPaid").value(24000.0))
+				.andExpect(jsonPath("$.monthly.payment[0]").value(2000.0));
+	}
+
+	@Test
+	void jsonScheduleChecksYearsBeforeBuildingTheRows() throws Exception {
+		for (String years : new String[]{"0", "-5", "150000000"}) {
+			mockMvc.perform(post("/api/emi/schedule").contentType(MediaType.APPLICATION_JSON)
+							.content("{\"amount\": 1, \"rate\": 1, \"years\": " + years + "}"))
+					.andExpect(status().isBadRequest())
+					.andExpect(jsonPath("$.detail").value("years must be between 1 and 50"));
+		}
+	}
+
+	@Test
+	void portfolioRejectsRecordsThatAreNotLoansAndKeepsTheRest() throws Exception {
+		String loan = "{\"amount\": 12000, \"rate\": 0, \"years\": 1}";
+		mockMvc.perform(post("/api/emi/portfolio").contentType(MediaType.APPLICATION_JSON)
+						.content("[" + loan + ", 42, \"loan\", {\"amount\": \"lots\", \"rate\": 5, \"years\": 1}, "
+								+ "{\"amount\": 1000, \"rate\": 5, \"years\": 1, \"prepayments\": [null]}, "
+								+ "{\"amount\": 1000, \"rate\": 5, \"years\": 1, \"rateChanges\": [null]}, " + loan + "]"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.loans").value(2))
+				.andExpect(jsonPath("$.rejected").value(5))
+				.andExpect(jsonPath("$.rejectedDetails[*].index", contains(1, 2, 3, 4, 5)))
+				.andExpect(jsonPath("$.rejectedDetails[2].reason").value("Invalid value for 'amount'"))
+				.andExpect(jsonPath("$.rejectedDetails[3].reason").value("prepayments must not contain null"))
+				.andExpect(jsonPath("$.rejectedDetails[4].reason").value("rateChanges must not contain null"));
+	}
+
+	@Test
+	void deterministicGetsAreServedFromTheResponseCache() throws Exception {
+		String etag = mockMvc.perform(get("/api/words/987654"))
+				.andExpect(status().isOk())
+				.andExpect(header().string("X-Cache", "MISS"))
+				.andExpect(header().string("Cache-Control", "public, max-age=86400"))
+				.andReturn().getResponse().getHeader("ETag");
+
+		mockMvc.perform(get("/api/words/987654"))
+				.andExpect(status().isOk())
+				.andExpect(header().string("X-Cache", "HIT"))
+				.andExpect(header().string("ETag", etag))
+				.andExpect(jsonPath("$.formatted").value("987,654"));
+
+		mockMvc.perform(get("/api/words/987654").header("If-None-Match", etag))
+				.andExpect(status().isNotModified())
+				.andExpect(content().string(""));
+
+		mockMvc.perform(get("/api/cache/stats"))
+				.andExpect(jsonPath("$.endpoints.words.hits", greaterThanOrEqualTo(2)))
+				.andExpect(jsonPath("$.entries", greaterThanOrEqualTo(1)));
+	}
+
+	@Test
+	void typedResponsesKeepTheMapKeys() throws Exception {
+		mockMvc.perform(get("/api/age/1990-01-31"))
+				.andExpect(jsonPath("$['your date of birth']").value("1990-01-31"))
+				.andExpect(jsonPath("$['your current age']", containsString(" years, ")));
+
+		mockMvc.perform(post("/api/age/batch?zone=Asia/Dhaka").contentType("text/csv")
+						.content("id,dob\n1,1990-01-31\n2,1990-02-30\n"))
+				.andExpect(status().isOk())
+				.andExpect(content().contentTypeCompatibleWith("text/csv"))
+				.andExpect(content().string(startsWith("id,dob,age_years,age_months,age_days,error\n1,1990-01-31,")))
+				.andExpect(content().string(endsWith("\n2,1990-02-30,,,,Invalid date: expected yyyy-MM-dd\n")));
+		mockMvc.perform(post("/api/age/batch").contentType(MediaType.APPLICATION_JSON)
+						.content("{\"dob\": [\"1990-01-31\", \"2001-12-24\"], \"zone\": \"UTC\"}"))
+				.andExpect(jsonPath("$.count").value(2))
+				.andExpect(jsonPath("$.zone").value("UTC"))
+				.andExpect(jsonPath("$.years.length()").value(2));
+		mockMvc.perform(get("/api/age/1990-01-31?zone=Mars/Olympus"))
+				.andExpect(status().isBadRequest());
+
+		mockMvc.perform(get("/api/palindrome/Racecar"))
+				.andExpect(jsonPath("$.isPalindrome").value(true))
+				.andExpect(jsonPath("$.processed").value("racecar"));
+
+		mockMvc.perform(post("/api/text/palindrome").contentType(MediaType.TEXT_PLAIN)
+						.content("Zu, A man, a plan, a canal: Panama!"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.isPalindrome").value(false))
+				.andExpect(jsonPath("$.compared").value(23))
+				.andExpect(jsonPath("$.longest.start").value(2))
+				.andExpect(jsonPath("$.longest.value").value("amanaplanacanalpanama"));
+
+		mockMvc.perform(get("/api/words/42"))
+				.andExpect(jsonPath("$.input_number").value(42))
+				.andExpect(jsonPath("$.in_words").value("Forty Two Only"));
+
+		mockMvc.perform(get("/api/words/amount/1500.50?locale=bn"))
+				.andExpect(jsonPath("$.input_amount").value(1500.50))
+				.andExpect(jsonPath("$.formatted").value("১,৫০০.৫০"))
+				.andExpect(jsonPath("$.in_words").value("এক হাজার পাঁচ শত এবং পঞ্চাশ পয়সা মাত্র"));
+		mockMvc.perform(get("/api/words/-9223372036854775808"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.in_words", startsWith("Minus Nine Million")));
+		mockMvc.perform(get("/api/words/42?locale=xx"))
+				.andExpect(status().isBadRequest());
+
+		mockMvc.perform(get("/api/datetime"))
+				.andExpect(jsonPath("$.iso_timestamp").isString())
+				.andExpect(jsonPath("$.day_of_year").isNumber())
+				.andExpect(jsonPath("$.timezone").isString());
+
+		// nulls are written where the maps wrote them, and left out where the maps left the key out
+		mockMvc.perform(get("/api/primes").param("from", "10").param("to", "12"))
+				.andExpect(jsonPath("$.nextCursor").value(nullValue()));
+		mockMvc.perform(get("/api/fibonacci/0"))
+				.andExpect(content().json("{\"error\":\"n must be > 0\"}", JsonCompareMode.STRICT));
+		mockMvc.perform(get("/api/password/Tr0ub4dor&Horse!"))
+				.andExpect(jsonPath("$.message").value("Great password!"))
+				.andExpect(jsonPath("$.improvements_needed").doesNotExist());
+	}
+
+	@Test
+	void pageSizeIsBounded() throws Exception {
+		mockMvc.perform(get("/api/users").param("limit", "100000"))
+				.andExpect(status().isBadRequest());
+	}
+}
@@ -0,0 +1,91 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.exception;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ProblemResponseTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Test
+	void errorsAreProblemDocuments() throws Exception {
+		// rejected by the validation filter, before binding
+		mockMvc.perform(get("/api/bmi/abc/1.75"))
+				.andExpect(status().isBadRequest())
+				.andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+				.andExpect(jsonPath("$.type").value("/problems/invalid-parameter"))
+				.andExpect(jsonPath("$.title").value("Invalid parameter"))
+				.andExpect(jsonPath("$.status").value(400))
+				.andExpect(jsonPath("$.detail").value("Invalid value for parameter 'weight': expected double"));
+
+		mockMvc.perform(get("/api/users/99999999999999999999"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.detail").value("Invalid value for parameter 'id': expected long"));
+
+		mockMvc.perform(get("/api/no-such-endpoint"))
+				.andExpect(status().isNotFound())
+				.andExpect(jsonPath("$.type").value("/problems/not-found"));
+
+		// from the service
+		mockMvc.perform(get("/api/fibonacci/5000"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.type").value("/problems/invalid-input"))
+				.andExpect(jsonPath("$.detail", startsWith("n must not exceed 1000")));
+
+		mockMvc.perform(get("/api/age/31-12-1990"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.detail").value("Invalid date: expected yyyy-MM-dd"));
+
+		mockMvc.perform(delete("/api/datetime"))
+				.andExpect(status().isMethodNotAllowed())
+				.andExpect(header().string("Allow", "GET"))
+				.andExpect(jsonPath("$.type").value("/problems/method-not-allowed"));
+	}
+
+	@Test
+	void valuesSpringAcceptsStillReachTheController() throws Exception {
+		mockMvc.perform(get("/api/bmi/70.0/1.75e0")).andExpect(status().isOk());
+		mockMvc.perform(get("/api/prime/-7")).andExpect(status().isOk());
+		mockMvc.perform(get("/api/users/stream")).andExpect(status().isOk());
+	}
+
+	@Test
+	void clientsWithTooManyRejectionsAreThrottledAndListed() throws Exception {
+		RequestPostProcessor flooder = request -> {
+			request.setRemoteAddr("10.9.8.7");
+			return request;
+		};
+		boolean throttled = false;
+		for (int i = 0; i < 45; i++) {
+			int status = mockMvc.perform(get("/api/prime/x" + i).with(flooder)).andReturn().getResponse().getStatus();
+			throttled |= status == 429;
+		}
+		assertTrue(throttled);
+
+		mockMvc.perform(get("/api/prime/x").with(flooder))
+				.andExpect(status().isTooManyRequests())
+				.andExpect(header().string("Retry-After", "1"))
+				.andExpect(jsonPath("$.type").value("/problems/too-many-rejections"));
+		// other clients are not affected
+		mockMvc.perform(get("/api/prime/x")).andExpect(status().isBadRequest());
+
+		mockMvc.perform(get("/actuator/rejections"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.topClients[0].client").value("10.9.8.7"))
+				.andExpect(jsonPath("$.topClients[0].rejected", greaterThanOrEqualTo(45)))
+				.andExpect(jsonPath("$.topClients[0].throttled", greaterThan(0)));
+	}
+}
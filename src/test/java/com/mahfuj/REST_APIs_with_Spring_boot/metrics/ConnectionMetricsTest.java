@@ -0,0 +1,79 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+		properties = {"app.connections.idle-after=500ms", "app.warm-up.enabled=false"})
+class ConnectionMetricsTest {
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private MeterRegistry registry;
+
+	@Test
+	void pageOfRequestsSharesOneH2cConnectionAndIsMeasured() throws Exception {
+		try (HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_2).build()) {
+			// the first request upgrades the connection (Upgrade: h2c), the rest are streams on it
+			assertEquals(HttpClient.Version.HTTP_2, http.send(get("/api/datetime"), HttpResponse.BodyHandlers.discarding()).version());
+			List<CompletableFuture<HttpResponse<String>>> page = new ArrayList<>();
+			for (int i = 0; i < 20; i++) {
+				String path = switch (i % 3) {
+					case 0 -> "/api/bmi/" + (60 + i) + "/1.75";
+					case 1 -> "/api/words/" + (1000 + i);
+					default -> "/api/datetime";
+				};
+				page.add(http.sendAsync(get(path), HttpResponse.BodyHandlers.ofString()));
+			}
+			for (CompletableFuture<HttpResponse<String>> response : page) {
+				assertEquals(200, response.get().statusCode());
+				assertEquals(HttpClient.Version.HTTP_2, response.get().version());
+			}
+
+			// response compression applies to HTTP/2 as well
+			HttpResponse<byte[]> primes = http.send(HttpRequest.newBuilder(uri("/api/primes?from=0&to=100000"))
+					.header("Accept-Encoding", "gzip").build(), HttpResponse.BodyHandlers.ofByteArray());
+			assertEquals("gzip", primes.headers().firstValue("Content-Encoding").orElse(null));
+		}
+
+		assertTrue(registry.get("http.server.queue").tag("protocol", "HTTP/2.0").timer().count() >= 22);
+		assertTrue(registry.get("http.server.connection.streams").tag("protocol", "HTTP/2.0").summary().count() >= 22);
+
+		// once the connection has been quiet for idle-after, the next request has its totals recorded
+		Thread.sleep(1200);
+		try (HttpClient http1 = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build()) {
+			http1.send(get("/api/datetime"), HttpResponse.BodyHandlers.discarding());
+		}
+		DistributionSummary requests = registry.get("http.server.connection.requests").tag("protocol", "HTTP/2.0").summary();
+		assertTrue(requests.count() >= 1);
+		assertEquals(22, requests.totalAmount());
+		assertTrue(registry.get("http.server.connection.bytes").tag("protocol", "HTTP/2.0").tag("direction", "sent")
+				.summary().totalAmount() > 1000);
+		assertEquals(0, registry.get("http.server.connections").tag("protocol", "HTTP/2.0").gauge().value());
+		assertEquals(0, registry.get("http.server.streams.active").tag("protocol", "HTTP/2.0").gauge().value());
+	}
+
+	private HttpRequest get(String path) {
+		return HttpRequest.newBuilder(uri(path)).build();
+	}
+
+	private URI uri(String path) {
+		return URI.create("http://localhost:" + port + path);
+	}
+}
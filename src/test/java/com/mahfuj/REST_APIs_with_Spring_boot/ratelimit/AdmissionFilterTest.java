@@ -0,0 +1,106 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.ratelimit;
+
+import com.mahfuj.REST_APIs_with_Spring_boot.config.RateLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.Servlet;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionFilterTest {
+
+	private static final Servlet OK = new HttpServlet() {
+		@Override
+		protected void service(HttpServletRequest request, HttpServletResponse response) {
+			response.setStatus(200);
+		}
+	};
+
+	private final AtomicLong now = new AtomicLong();
+
+	private final RateLimitProperties properties = new RateLimitProperties(true, 10, 5, 1, 2, 100,
+			List.of(new RateLimitProperties.Endpoint("/api/fibonacci/nth/", 4)));
+
+	@Test
+	void expensiveEndpointsDrainTheBucketFaster() throws Exception {
+		AdmissionFilter filter = new AdmissionFilter(properties, new TokenBuckets(10, 5, 100, now::get), new SimpleMeterRegistry());
+
+		// 10 tokens: two Fibonacci calls (4 each) and two BMI calls (1 each)
+		assertEquals(200, call(filter, "/api/fibonacci/nth/90000", "1.1.1.1").getStatus());
+		assertEquals(200, call(filter, "/api/fibonacci/nth/90000", "1.1.1.1").getStatus());
+		assertEquals(200, call(filter, "/api/bmi/70/1.75", "1.1.1.1").getStatus());
+		assertEquals(200, call(filter, "/api/bmi/70/1.75", "1.1.1.1").getStatus());
+
+		MockHttpServletResponse limited = call(filter, "/api/fibonacci/nth/90000", "1.1.1.1");
+		assertEquals(429, limited.getStatus());
+		assertEquals("application/problem+json", limited.getContentType());
+		// 4 tokens at 5 per second
+		assertEquals("1", limited.getHeader("Retry-After"));
+		// another client has its own bucket
+		assertEquals(200, call(filter, "/api/fibonacci/nth/90000", "2.2.2.2").getStatus());
+
+		now.addAndGet(800_000_000L);
+		assertEquals(200, call(filter, "/api/fibonacci/nth/90000", "1.1.1.1").getStatus());
+	}
+
+	@Test
+	void requestsBeyondTheConcurrencyLimitAreShed() throws Exception {
+		AdmissionFilter filter = new AdmissionFilter(properties, new TokenBuckets(10, 5, 100, now::get), new SimpleMeterRegistry());
+		MockHttpServletResponse[] nested = new MockHttpServletResponse[2];
+		// each request starts another while it is still in progress: the third is one too many
+		Servlet reentrant = new HttpServlet() {
+			@Override
+			protected void service(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
+				int depth = Integer.parseInt(request.getRequestURI().substring("/api/prime/".length()));
+				if (depth < 2) nested[depth] = call(filter, "/api/prime/" + (depth + 1), "3.3.3." + depth, this);
+			}
+		};
+
+		assertEquals(200, call(filter, "/api/prime/0", "3.3.3.9", reentrant).getStatus());
+		assertEquals(200, nested[0].getStatus());
+		assertEquals(503, nested[1].getStatus());
+		assertEquals("1", nested[1].getHeader("Retry-After"));
+		// and the slots are given back
+		assertEquals(200, call(filter, "/api/bmi/70/1.75", "4.4.4.4").getStatus());
+		assertEquals(200, call(filter, "/api/bmi/70/1.75", "4.4.4.4").getStatus());
+	}
+
+	@Test
+	void refilledBucketsAreEvictedWhenTheTableIsFull() {
+		TokenBuckets buckets = new TokenBuckets(10, 5, 2, now::get);
+		assertEquals(0, buckets.tryAcquire("a", 10));
+		assertEquals(0, buckets.tryAcquire("b", 1));
+		// table full and both buckets in use: the newcomer gets the shared overflow bucket
+		assertEquals(0, buckets.tryAcquire("c", 10));
+		assertTrue(buckets.tryAcquire("d", 1) > 0);
+		assertEquals(2, buckets.trackedClients());
+
+		now.addAndGet(2_000_000_000L);
+		assertEquals(0, buckets.tryAcquire("d", 1));
+		assertEquals(1, buckets.trackedClients());
+	}
+
+	private static MockHttpServletResponse call(AdmissionFilter filter, String uri, String client) throws ServletException, IOException {
+		return call(filter, uri, client, OK);
+	}
+
+	private static MockHttpServletResponse call(AdmissionFilter filter, String uri, String client, Servlet servlet)
+			throws ServletException, IOException {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+		request.setRemoteAddr(client);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		new MockFilterChain(servlet, filter).doFilter(request, response);
+		return response;
+	}
+}
@@ -0,0 +1,172 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.repository;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileUserJournalTest {
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void replaysLogAfterUncleanStop() throws Exception {
+		FileUserJournal journal = new FileUserJournal(dir, true, Duration.ZERO);
+		UserRepository repository = new UserRepository(journal);
+		long alice = repository.add(Map.of("name", "alice"));
+		long bob = repository.add(Map.of("name", "bob"));
+		repository.update(alice, Map.of("name", "alice", "age", 30));
+		repository.delete(bob);
+		// no close(): simulates a crash, only the write-ahead log is on disk
+
+		UserRepository recovered = new UserRepository(new FileUserJournal(dir, true, Duration.ZERO));
+		assertEquals(Map.of("name", "alice", "age", 30), recovered.get(alice));
+		assertNull(recovered.get(bob));
+		assertEquals(bob + 1, recovered.add(Map.of("name", "carol")), "deleted IDs must not be reused");
+	}
+
+	@Test
+	void checkpointCompactsLogIntoSnapshot() throws Exception {
+		FileUserJournal journal = new FileUserJournal(dir, false, Duration.ZERO);
+		UserRepository repository = new UserRepository(journal);
+		for (int i = 0; i < 1000; i++) {
+			repository.add(Map.of("seq", i));
+		}
+		repository.delete(999);
+		journal.checkpoint();
+		repository.add(Map.of("seq", "after-snapshot"));
+		journal.close();
+
+		try (Stream<Path> files = Files.list(dir)) {
+			List<String> names = files.map(file -> file.getFileName().toString()).sorted().toList();
+			assertTrue(names.contains("snapshot.bin"));
+			assertEquals(1, names.stream().filter(name -> name.startsWith("wal-")).count(), names.toString());
+		}
+
+		UserRepository recovered = new UserRepository(new FileUserJournal(dir, false, Duration.ZERO));
+		assertEquals(1000, recovered.size());
+		assertNull(recovered.get(999));
+		assertEquals("after-snapshot", recovered.get(1000).get("seq"));
+	}
+
+	@Test
+	void checkpointRacingWritersLosesNothing() throws Exception {
+		int writers = 4;
+		for (int round = 0; round < 5; round++) {
+			Path roundDir = dir.resolve("round-" + round);
+			FileUserJournal journal = new FileUserJournal(roundDir, true, Duration.ZERO);
+			// a slow index keeps changes between their log record and their arrival in the map
+			UserRepository repository = new UserRepository(journal, List.of(new SlowIndex()));
+			for (int w = 0; w < writers; w++) repository.add(Map.of("version", 0));
+
+			// every writer keeps updating its own user; the last version it got back is durable
+			AtomicBoolean writing = new AtomicBoolean(true);
+			AtomicIntegerArray acknowledged = new AtomicIntegerArray(writers);
+			try (ExecutorService pool = Executors.newFixedThreadPool(writers)) {
+				for (int w = 0; w < writers; w++) {
+					int writer = w;
+					pool.submit(() -> {
+						for (int version = 1; writing.get(); version++) {
+							repository.update(writer, Map.of("version", version));
+							acknowledged.set(writer, version);
+						}
+					});
+				}
+				Thread.sleep(50);
+				journal.checkpoint();
+				writing.set(false);
+			}
+			// no close(): a crash right after the checkpoint
+
+			UserRepository recovered = new UserRepository(new FileUserJournal(roundDir, true, Duration.ZERO));
+			for (int w = 0; w < writers; w++) {
+				assertEquals(acknowledged.get(w), recovered.get(w).get("version"), "lost write to user " + w);
+			}
+		}
+	}
+
+	@Test
+	void groupCommitServesManyVirtualThreadWriters() throws Exception {
+		FileUserJournal journal = new FileUserJournal(dir, true, Duration.ZERO);
+		UserRepository repository = new UserRepository(journal);
+
+		// writers park on their fsync future while the bin lock is already released
+		try (ExecutorService writers = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (int i = 0; i < 5000; i++) {
+				int seq = i;
+				writers.submit(() -> repository.add(Map.of("seq", seq)));
+			}
+		}
+		journal.close();
+
+		UserRepository recovered = new UserRepository(new FileUserJournal(dir, true, Duration.ZERO));
+		assertEquals(5000, recovered.size());
+	}
+
+	@Test
+	void batchInsertIsDurableWhenAddAllReturns() throws Exception {
+		UserRepository repository = new UserRepository(new FileUserJournal(dir, true, Duration.ZERO));
+		List<Map<String, Object>> batch = new ArrayList<>();
+		for (int i = 0; i < 500; i++) {
+			batch.add(Map.of("seq", i));
+		}
+		long[] ids = repository.addAll(batch);
+		// no close(): everything addAll returned must already be in the log
+
+		UserRepository recovered = new UserRepository(new FileUserJournal(dir, true, Duration.ZERO));
+		assertEquals(500, recovered.size());
+		assertEquals(499, recovered.get(ids[499]).get("seq"));
+	}
+
+	@Test
+	void tornTailIsIgnored() throws Exception {
+		UserRepository repository = new UserRepository(new FileUserJournal(dir, true, Duration.ZERO));
+		repository.add(Map.of("name", "kept"));
+
+		try (Stream<Path> files = Files.list(dir)) {
+			Path segment = files.filter(file -> file.getFileName().toString().startsWith("wal-")).findFirst().orElseThrow();
+			// half a record, as if the process died mid-write
+			Files.write(segment, new byte[]{0, 0, 0, 42, 1, 0, 0}, StandardOpenOption.APPEND);
+		}
+
+		UserRepository recovered = new UserRepository(new FileUserJournal(dir, true, Duration.ZERO));
+		assertEquals(1, recovered.size());
+		assertEquals("kept", recovered.get(0).get("name"));
+	}
+
+	// Pauses in update(), inside the repository's compute()
+	private static final class SlowIndex implements UserIndex {
+
+		@Override
+		public String field() {
+			return "version";
+		}
+
+		@Override
+		public void update(long id, Map<String, Object> oldUser, Map<String, Object> newUser) {
+			LockSupport.parkNanos(20_000_000);
+		}
+
+		@Override
+		public PrimitiveIterator.OfLong equalTo(Comparable<?> key, long after) {
+			return LongStream.empty().iterator();
+		}
+	}
+}
@@ -0,0 +1,231 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserRepositoryTest {
+
+	private static final int THREADS = Math.max(4, Runtime.getRuntime().availableProcessors());
+	private static final int OPS_PER_THREAD = 20_000;
+
+	@Test
+	void idsStayStableAfterDelete() {
+		UserRepository repository = new UserRepository();
+		long first = repository.add(Map.of("name", "first"));
+		long second = repository.add(Map.of("name", "second"));
+
+		assertTrue(repository.delete(first));
+		assertEquals("second", repository.get(second).get("name"));
+		assertFalse(repository.delete(first));
+		assertFalse(repository.update(first, Map.of("name", "ghost")));
+		assertEquals(1, repository.size());
+	}
+
+	@Test
+	void pagesWalkIdsInOrderAndSkipDeletedUsers() {
+		UserRepository repository = new UserRepository();
+		for (int i = 0; i < 10; i++) {
+			repository.add(Map.of("seq", i));
+		}
+		repository.delete(3);
+		repository.delete(4);
+
+		List<Map.Entry<Long, Map<String, Object>>> first = repository.findPage(-1, 4);
+		assertEquals(List.of(0L, 1L, 2L, 5L), first.stream().map(Map.Entry::getKey).toList());
+
+		List<Map.Entry<Long, Map<String, Object>>> second = repository.findPage(5, 4);
+		assertEquals(List.of(6L, 7L, 8L, 9L), second.stream().map(Map.Entry::getKey).toList());
+
+		assertTrue(repository.findPage(9, 4).isEmpty());
+	}
+
+	@Test
+	void indexedQueriesFollowAddsUpdatesAndDeletes() {
+		UserRepository repository = new UserRepository(UserJournal.NONE,
+				List.of(new HashUserIndex("email"), new SortedUserIndex("age")));
+		long a = repository.add(Map.of("email", "a@x.com", "age", 17));
+		long b = repository.add(Map.of("email", "b@x.com", "age", 25));
+		long c = repository.add(Map.of("email", "c@x.com", "age", "30"));
+		long d = repository.add(Map.of("email", "b@x.com", "age", 41.5));
+
+		assertEquals(List.of(b, d), ids(repository.query(List.of(UserFilter.parse("email", "b@x.com")), -1, 10)));
+		assertEquals(List.of(d), ids(repository.query(List.of(UserFilter.parse("email", "b@x.com")), b, 10)));
+		assertEquals(List.of(b, c), ids(repository.query(
+				List.of(UserFilter.parse("age.gte", "18"), UserFilter.parse("age.lte", "30")), -1, 10)));
+		assertEquals(List.of(c), ids(repository.query(
+				List.of(UserFilter.parse("age.gt", "25"), UserFilter.parse("email", "c@x.com")), -1, 10)));
+
+		repository.update(b, Map.of("email", "new@x.com", "age", 70));
+		repository.delete(d);
+		assertTrue(repository.query(List.of(UserFilter.parse("email", "b@x.com")), -1, 10).isEmpty());
+		assertEquals(List.of(b), ids(repository.query(List.of(UserFilter.parse("age", "70.0")), -1, 10)));
+		assertEquals(List.of(a), ids(repository.query(List.of(UserFilter.parse("age.lt", "18")), -1, 10)));
+
+		assertThrows(IllegalArgumentException.class,
+				() -> repository.query(List.of(UserFilter.parse("name", "x")), -1, 10));
+	}
+
+	@Test
+	void pagingAWideRangeReturnsEveryMatchOnceInIdOrder() {
+		UserRepository repository = new UserRepository(UserJournal.NONE, List.of(new SortedUserIndex("age")));
+		List<Long> expected = new ArrayList<>();
+		for (int i = 0; i < 1_000; i++) {
+			long id = repository.add(Map.of("age", i % 37));
+			if (i % 37 >= 10) expected.add(id);
+		}
+
+		List<Long> paged = new ArrayList<>();
+		long after = -1;
+		for (List<Long> page; !(page = ids(repository.query(List.of(UserFilter.parse("age.gte", "10")), after, 25))).isEmpty(); ) {
+			assertTrue(page.size() <= 25);
+			paged.addAll(page);
+			after = page.getLast();
+		}
+		assertEquals(expected, paged);
+	}
+
+	private static List<Long> ids(List<Map.Entry<Long, Map<String, Object>>> page) {
+		return page.stream().map(Map.Entry::getKey).toList();
+	}
+
+	@Test
+	void concurrentAddsNeverLoseUsersOrReuseIds() throws Exception {
+		UserRepository repository = new UserRepository();
+
+		List<List<Long>> idsPerThread = runConcurrently(THREADS, thread -> {
+			List<Long> ids = new ArrayList<>(OPS_PER_THREAD);
+			for (int i = 0; i < OPS_PER_THREAD; i++) {
+				ids.add(repository.add(Map.of("thread", thread, "seq", i)));
+			}
+			return ids;
+		});
+
+		Set<Long> unique = new HashSet<>();
+		idsPerThread.forEach(unique::addAll);
+
+		assertEquals(THREADS * OPS_PER_THREAD, unique.size());
+		assertEquals(THREADS * OPS_PER_THREAD, repository.size());
+		assertEquals(THREADS * OPS_PER_THREAD, repository.findAll().size());
+	}
+
+	@Test
+	void concurrentUpdatesAndDeletesOnDisjointIdsAreAllApplied() throws Exception {
+		UserRepository repository = new UserRepository();
+		int total = THREADS * OPS_PER_THREAD;
+		for (int i = 0; i < total; i++) {
+			repository.add(Map.of("version", 0));
+		}
+
+		// every thread owns a stripe of IDs: it updates them all, then deletes every other one
+		runConcurrently(THREADS, thread -> {
+			for (long id = thread; id < total; id += THREADS) {
+				assertTrue(repository.update(id, Map.of("version", 1, "owner", thread)));
+			}
+			for (long id = thread; id < total; id += 2L * THREADS) {
+				assertTrue(repository.delete(id));
+			}
+			return null;
+		});
+
+		assertEquals(total / 2, repository.size());
+		for (long id = 0; id < total; id++) {
+			Map<String, Object> user = repository.get(id);
+			if (user != null) {
+				assertEquals(1, user.get("version"), "lost update on id " + id);
+				assertEquals((int) (id % THREADS), user.get("owner"));
+			}
+		}
+	}
+
+	@Test
+	void contendedUpdatesAndDeletesOnTheSameIdsAreAppliedOnce() throws Exception {
+		UserRepository repository = new UserRepository();
+		int total = 2_000;
+		for (int i = 0; i < total; i++) {
+			repository.add(Map.of("version", 0));
+		}
+
+		// every thread updates and deletes every ID: exactly one delete per ID may succeed
+		List<Integer> deleted = runConcurrently(THREADS, thread -> {
+			int mine = 0;
+			for (long id = 0; id < total; id++) {
+				repository.update(id, Map.of("owner", thread));
+				if (repository.delete(id)) mine++;
+				assertFalse(repository.update(id, Map.of("owner", thread)), "update resurrected id " + id);
+			}
+			return mine;
+		});
+
+		assertEquals(total, deleted.stream().mapToInt(Integer::intValue).sum());
+		assertEquals(0, repository.size());
+		assertEquals(0, repository.orderedIdCount());
+		assertTrue(repository.findAll().isEmpty());
+	}
+
+	@Test
+	void deletesRacingInsertsLeaveNoGhostIds() throws Exception {
+		UserRepository repository = new UserRepository();
+		int total = 20_000;
+		AtomicIntegerArray gone = new AtomicIntegerArray(total);
+
+		// thread 0 adds users; the others delete each ID as soon as it shows up
+		runConcurrently(THREADS, thread -> {
+			if (thread == 0) {
+				for (int i = 0; i < total; i++) repository.add(Map.of("seq", i));
+				return null;
+			}
+			for (int id = 0; id < total; id++) {
+				while (gone.get(id) == 0) {
+					if (repository.delete(id)) gone.set(id, 1);
+					else Thread.onSpinWait();
+				}
+			}
+			return null;
+		});
+
+		assertEquals(0, repository.size());
+		assertEquals(0, repository.orderedIdCount());
+	}
+
+	private interface Worker<T> {
+		T run(int thread) throws Exception;
+	}
+
+	private static <T> List<T> runConcurrently(int threads, Worker<T> worker) throws Exception {
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		try {
+			CountDownLatch start = new CountDownLatch(1);
+			List<Future<T>> futures = new ArrayList<>();
+			for (int t = 0; t < threads; t++) {
+				int thread = t;
+				Callable<T> task = () -> {
+					start.await();
+					return worker.run(thread);
+				};
+				futures.add(pool.submit(task));
+			}
+			start.countDown();
+
+			List<T> results = new ArrayList<>();
+			for (Future<T> future : futures) {
+				results.add(future.get());
+			}
+			return results;
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+}
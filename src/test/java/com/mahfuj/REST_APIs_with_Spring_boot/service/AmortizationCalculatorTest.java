@@ -0,0 +1,89 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.service;
+
+import com.mahfuj.REST_APIs_with_Spring_boot.dto.LoanRequest;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AmortizationCalculatorTest {
+
+	private record Row(int month, double payment, double principal, double interest, double prepayment, double balance) {
+	}
+
+	private static List<Row> rows(LoanRequest loan) {
+		List<Row> rows = new ArrayList<>();
+		AmortizationCalculator.schedule(loan, (m, pay, pri, in, pre, bal) -> rows.add(new Row(m, pay, pri, in, pre, bal)));
+		return rows;
+	}
+
+	@Test
+	void scheduleRepaysExactlyThePrincipal() {
+		List<Row> rows = rows(new LoanRequest(500_000, 8, 20));
+		assertEquals(240, rows.size());
+		assertEquals(0, rows.getLast().balance());
+		assertEquals(500_000, rows.stream().mapToDouble(Row::principal).sum(), 0.01);
+
+		double installment = AmortizationCalculator.monthlyInstallment(500_000, 8, 240);
+		assertEquals(4182.2, Math.round(installment * 100) / 100.0);
+		for (Row row : rows) {
+			assertEquals(installment, row.payment(), 1e-6);
+		}
+	}
+
+	@Test
+	void zeroRateNoLongerDividesByZero() {
+		assertEquals(1000, AmortizationCalculator.monthlyInstallment(12_000, 0, 12));
+		List<Row> rows = rows(new LoanRequest(12_000, 0, 1));
+		assertEquals(12, rows.size());
+		assertEquals(0, rows.stream().mapToDouble(Row::interest).sum());
+	}
+
+	@Test
+	void prepaymentsShortenTheLoan() {
+		LoanRequest loan = new LoanRequest(100_000, 6, 10,
+				List.of(new LoanRequest.Prepayment(12, 30_000)), List.of());
+		List<Row> rows = rows(loan);
+		assertTrue(rows.size() < 120, "paid off in " + rows.size());
+		assertEquals(30_000, rows.get(11).prepayment());
+		assertEquals(100_000, rows.stream().mapToDouble(r -> r.principal() + r.prepayment()).sum(), 0.01);
+	}
+
+	@Test
+	void rateChangeReamortizesTheRemainingBalance() {
+		LoanRequest loan = new LoanRequest(100_000, 6, 10,
+				List.of(), List.of(new LoanRequest.RateChange(61, 9)));
+		List<Row> rows = rows(loan);
+		assertEquals(120, rows.size());
+		double expected = AmortizationCalculator.monthlyInstallment(rows.get(59).balance(), 9, 60);
+		assertEquals(expected, rows.get(60).payment(), 1e-6);
+		assertEquals(0, rows.getLast().balance());
+	}
+
+	@Test
+	void portfolioTotalsAddUpLoansAcrossMerges() {
+		LoanRequest a = new LoanRequest(100_000, 6, 10);
+		LoanRequest b = new LoanRequest(50_000, 0, 5);
+		AmortizationCalculator.PortfolioTotals left = new AmortizationCalculator.PortfolioTotals();
+		AmortizationCalculator.PortfolioTotals right = new AmortizationCalculator.PortfolioTotals();
+		left.add(a);
+		right.add(b);
+		AmortizationCalculator.PortfolioTotals total = left.merge(right);
+
+		assertEquals(2, total.loans());
+		assertEquals(120, total.months());
+		double interestA = rows(a).stream().mapToDouble(Row::interest).sum();
+		assertEquals(interestA, total.totalInterest(), 1e-6);
+		assertEquals(150_000 + interestA, total.totalPaid(), 1e-6);
+	}
+
+	@Test
+	void invalidLoansAreRejected() {
+		assertThrows(IllegalArgumentException.class, () -> AmortizationCalculator.validate(new LoanRequest(0, 5, 10)));
+		assertThrows(IllegalArgumentException.class, () -> AmortizationCalculator.validate(new LoanRequest(1000, 5, 51)));
+		assertThrows(IllegalArgumentException.class, () -> AmortizationCalculator.validate(
+				new LoanRequest(1000, 5, 1, List.of(new LoanRequest.Prepayment(13, 10)), List.of())));
+	}
+}
@@ -0,0 +1,54 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ComputeExecutorTest {
+
+	@Test
+	void runsOnWorkersAndPassesExceptionsThrough() {
+		ComputeExecutor compute = new ComputeExecutor(2, 4);
+		assertTrue(compute.call(() -> Thread.currentThread().getName()).startsWith("compute-"));
+		// a nested call runs inline instead of queueing behind itself
+		assertEquals("inner", compute.call(() -> compute.call(() -> "inner")));
+
+		IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+				() -> compute.call(() -> { throw new IllegalArgumentException("bad n"); }));
+		assertEquals("bad n", e.getMessage());
+		compute.destroy();
+	}
+
+	@Test
+	void fullQueueRejectsInsteadOfPilingUp() throws Exception {
+		ComputeExecutor compute = new ComputeExecutor(1, 1);
+		CountDownLatch release = new CountDownLatch(1);
+		CountDownLatch started = new CountDownLatch(1);
+
+		try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+			// one calculation running, one waiting in the queue
+			callers.submit(() -> compute.call(() -> { started.countDown(); await(release); return 1; }));
+			started.await();
+			callers.submit(() -> compute.call(() -> 2));
+			while (compute.queued() == 0) Thread.onSpinWait();
+
+			assertThrows(RejectedExecutionException.class, () -> compute.call(() -> 3));
+			release.countDown();
+		}
+		assertEquals(4, compute.call(() -> 4));
+		compute.destroy();
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
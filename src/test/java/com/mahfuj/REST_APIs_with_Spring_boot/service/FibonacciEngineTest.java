@@ -0,0 +1,60 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.service;
+
+import com.mahfuj.REST_APIs_with_Spring_boot.config.FibonacciProperties;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FibonacciEngineTest {
+
+	private final FibonacciEngine engine = new FibonacciEngine(
+			new FibonacciProperties(1_000_000, 1000, 10_000, Duration.ofSeconds(10), 4));
+
+	@Test
+	void fastDoublingMatchesTheSequence() {
+		List<BigInteger> terms = new ArrayList<>();
+		engine.sequence(3000, terms::add);
+		for (int n = 0; n < terms.size(); n++) {
+			assertEquals(terms.get(n), engine.nth(n), "F(" + n + ")");
+		}
+		assertEquals(new BigInteger("2971215073"), engine.nth(47)); // first term past int
+	}
+
+	@Test
+	void largeResultsAreMemoized() {
+		BigInteger first = engine.nth(200_000);
+		assertSame(first, engine.nth(200_000));
+		assertEquals(41_798, first.toString().length());
+	}
+
+	@Test
+	void budgetsAreEnforced() {
+		assertThrows(IllegalArgumentException.class, () -> engine.nth(1_000_001));
+		assertThrows(IllegalArgumentException.class, () -> engine.nth(-1));
+		assertThrows(IllegalArgumentException.class, () -> engine.sequence(10_001, term -> {}));
+
+		FibonacciEngine impatient = new FibonacciEngine(
+				new FibonacciProperties(Integer.MAX_VALUE, 1000, 10_000, Duration.ZERO, 4));
+		assertThrows(IllegalArgumentException.class, () -> impatient.nth(100_000_000));
+	}
+
+	@Test
+	void jobsHaveTheirOwnLimitAndSeeEveryBit() {
+		List<Integer> steps = new ArrayList<>();
+		BigInteger value = engine.nth(2_000_000, 2_000_000, (done, total) -> {
+			assertEquals(21, total); // 2,000,000 has 21 bits
+			steps.add(done);
+		});
+		assertEquals(21, steps.size());
+		assertEquals(21, steps.getLast());
+		// F(2k) = F(k) * (2F(k+1) - F(k))
+		BigInteger k = engine.nth(1_000_000), k1 = engine.nth(1_000_001, 2_000_000, (done, total) -> {});
+		assertEquals(k.multiply(k1.shiftLeft(1).subtract(k)), value);
+		assertThrows(IllegalArgumentException.class, () -> engine.nth(2_000_001, 2_000_000, (done, total) -> {}));
+	}
+}
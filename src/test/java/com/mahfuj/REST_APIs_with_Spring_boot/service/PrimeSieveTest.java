@@ -0,0 +1,75 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrimeSieveTest {
+
+	// small limit so the tests cross from cached segments into on-the-fly sieving and Miller-Rabin
+	private final PrimeSieve sieve = new PrimeSieve(4L * PrimeSieve.SEGMENT_SPAN);
+
+	@Test
+	void agreesWithTrialDivisionAcrossSegmentBoundaries() {
+		long limit = sieve.sieveLimit();
+		long[] windows = {0, PrimeSieve.SEGMENT_SPAN - 500, limit - 500, 2_147_483_000L, 1_000_000_000_000L - 1000};
+		for (long start : windows) {
+			for (long n = start; n < start + 1000; n++) {
+				assertEquals(trialDivision(n), sieve.isPrime(n), "isPrime(" + n + ")");
+			}
+		}
+	}
+
+	@Test
+	void nextPrimeHandlesEdgesWithoutOverflow() {
+		assertEquals(2, sieve.nextPrime(-7));
+		assertEquals(3, sieve.nextPrime(2));
+		assertEquals(2_147_483_659L, sieve.nextPrime(Integer.MAX_VALUE));
+		assertTrue(PrimeSieve.millerRabin(9_223_372_036_854_775_783L)); // largest prime below 2^63
+		assertFalse(PrimeSieve.millerRabin(3_215_031_751L)); // strong pseudoprime to bases 2, 3, 5 and 7
+	}
+
+	@Test
+	void countAndListMatchKnownValues() {
+		assertEquals(25, sieve.count(0, 100));
+		assertEquals(664_579, sieve.count(1, 10_000_000)); // pi(10^7), spans cached and uncached segments
+		assertEquals(4, sieve.count(2, 7));
+		assertEquals(0, sieve.count(24, 28));
+		Set<Long> counted = ConcurrentHashMap.newKeySet();
+		assertEquals(664_579, sieve.count(1, 10_000_000, counted::add));
+		assertEquals(PrimeSieve.segments(1, 10_000_000), counted.size());
+		assertEquals(0, PrimeSieve.segments(24, 1));
+
+		List<Long> page = sieve.list(1, 100, -1, 5);
+		assertEquals(List.of(2L, 3L, 5L, 7L, 11L), page);
+		assertEquals(List.of(13L, 17L), sieve.list(1, 100, 11, 2));
+
+		List<Long> expected = new ArrayList<>();
+		long from = 4L * PrimeSieve.SEGMENT_SPAN - 300;
+		for (long n = from; n <= from + 600; n++) {
+			if (trialDivision(n)) expected.add(n);
+		}
+		assertEquals(expected, sieve.list(from, from + 600, -1, 1000));
+	}
+
+	@Test
+	void preloadStopsAtTheSieveLimit() {
+		assertEquals(0, sieve.preload(0));
+		assertEquals(2, sieve.preload(PrimeSieve.SEGMENT_SPAN + 1));
+		assertEquals(4, sieve.preload(Long.MAX_VALUE));
+		assertEquals(25, sieve.count(0, 100));
+	}
+
+	private static boolean trialDivision(long n) {
+		if (n < 2) return false;
+		for (long i = 2; i <= n / i; i++) {
+			if (n % i == 0) return false;
+		}
+		return true;
+	}
+}
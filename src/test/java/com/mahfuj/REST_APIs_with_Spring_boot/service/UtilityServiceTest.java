@@ -0,0 +1,139 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.service;
+
+import com.mahfuj.REST_APIs_with_Spring_boot.config.DateProperties;
+import com.mahfuj.REST_APIs_with_Spring_boot.dto.*;
+import com.mahfuj.REST_APIs_with_Spring_boot.service.dates.ZoneClock;
+import com.mahfuj.REST_APIs_with_Spring_boot.service.words.NumberLocales;
+import com.mahfuj.REST_APIs_with_Spring_boot.service.words.NumberToWords;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UtilityServiceTest {
+
+	// the calculators used by these tests don't touch any other collaborator
+	private final NumberLocales locales = new NumberLocales();
+	// 2026-03-01 in UTC, but already 2026-03-02 in Dhaka
+	private final ZoneClock clock = new ZoneClock(Clock.fixed(Instant.parse("2026-03-01T20:00:00Z"), ZoneOffset.UTC),
+			new DateProperties("UTC", Duration.ofMillis(1)));
+	private final UtilityService service = new UtilityService(clock, null, null, null, null,
+			new NumberToWords(List.of(locales.english(), locales.indianEnglish(), locales.bengali())), null, null);
+
+	// big enough to take the parallel path
+	private final int n = UtilityService.PARALLEL_THRESHOLD + 7;
+	private final Random random = new Random(42);
+
+	@Test
+	void batchBmiMatchesSingleCalls() {
+		double[] weight = new double[n], height = new double[n];
+		for (int i = 0; i < n; i++) {
+			weight[i] = 40 + random.nextDouble() * 80;
+			height[i] = 1.4 + random.nextDouble() * 0.6;
+		}
+		BmiBatchResponse batch = service.calculateBMIBatch(new BmiBatchRequest(weight, height));
+		for (int i = 0; i < n; i++) {
+			BmiResponse single = service.calculateBMI(weight[i], height[i]);
+			assertEquals(single.bmiScore(), batch.bmiScore()[i]);
+			assertEquals(single.category(), batch.category()[i]);
+		}
+	}
+
+	@Test
+	void batchEmiMatchesSingleCalls() {
+		double[] amount = new double[n], rate = new double[n];
+		int[] years = new int[n];
+		for (int i = 0; i < n; i++) {
+			amount[i] = 10_000 + random.nextInt(1_000_000);
+			rate[i] = 1 + random.nextDouble() * 15;
+			years[i] = 1 + random.nextInt(30);
+		}
+		EmiBatchResponse batch = service.calculateEMIBatch(new EmiBatchRequest(amount, rate, years));
+		for (int i = 0; i < n; i++) {
+			EmiResponse single = service.calculateEMI(amount[i], rate[i], years[i]);
+			assertEquals(single.monthlyEMI(), batch.monthlyEMI()[i]);
+			assertEquals(single.totalInterestPaid(), batch.totalInterestPaid()[i]);
+			assertEquals(single.loanTermMonths(), batch.loanTermMonths()[i]);
+		}
+	}
+
+	@Test
+	void batchCelsiusAndWordsMatchSingleCalls() {
+		double[] celsius = new double[n];
+		long[] number = new long[n];
+		for (int i = 0; i < n; i++) {
+			celsius[i] = random.nextDouble() * 200 - 100;
+			number[i] = random.nextLong() % 1_000_000_000_000_000L;
+		}
+		CelsiusBatchResponse fahrenheit = service.celsiusToFahrenheitBatch(new CelsiusBatchRequest(celsius));
+		WordsBatchResponse words = service.convertNumberToWordsBatch(new WordsBatchRequest(number));
+		for (int i = 0; i < n; i++) {
+			assertEquals(service.celsiusToFahrenheit(celsius[i]).fahrenheit(), fahrenheit.fahrenheit()[i]);
+			WordsResponse single = service.convertNumberToWords(number[i]);
+			assertEquals(single.formatted(), words.formatted()[i]);
+			assertEquals(single.inWords(), words.inWords()[i]);
+		}
+	}
+
+	@Test
+	void mismatchedColumnsAreRejected() {
+		assertThrows(IllegalArgumentException.class,
+				() -> service.calculateBMIBatch(new BmiBatchRequest(new double[2], new double[3])));
+		assertThrows(IllegalArgumentException.class,
+				() -> service.calculateEMIBatch(new EmiBatchRequest(new double[1], new double[1], null)));
+	}
+
+	@Test
+	void batchAgesMatchSingleCallsAndRejectRowsNotBatches() {
+		String[] dob = new String[n];
+		for (int i = 0; i < n; i++) {
+			dob[i] = LocalDate.of(1950, 1, 1).plusDays(random.nextInt(27_000)).toString();
+		}
+		dob[3] = "1990-02-30";
+		dob[5] = "31-12-1990";
+		dob[7] = null;
+
+		AgeBatchResponse batch = service.calculateAgeBatch(new AgeBatchRequest(dob, "Asia/Dhaka"));
+		assertEquals("2026-03-02", batch.today());
+		assertEquals(3, batch.rejected());
+		assertEquals(List.of(3L, 5L, 7L), batch.rejectedDetails().stream().map(RejectedInput::index).toList());
+		for (int i = 0; i < n; i++) {
+			if (i == 3 || i == 5 || i == 7) continue;
+			String single = service.calculateAge(LocalDate.parse(dob[i]), "Asia/Dhaka").currentAge();
+			assertEquals(single, batch.years()[i] + " years, " + batch.months()[i] + " months, and "
+					+ batch.days()[i] + " days", dob[i]);
+		}
+	}
+
+	@Test
+	void csvRosterGetsAgeColumnsLineByLine() throws IOException {
+		String roster = "\uFEFFid,name,DOB\n"
+				+ "1,\"Rahman, Karim\",1990-03-02\n"
+				+ "2,Nadia,\"2000-02-29\"\n"
+				+ "\n"
+				+ "3,Tanvir,yesterday\n"
+				+ "4,Short\n";
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		service.writeAgeCsv(new ByteArrayInputStream(roster.getBytes(StandardCharsets.UTF_8)), out, "dob", null);
+
+		assertEquals("id,name,DOB,age_years,age_months,age_days,error\n"
+				+ "1,\"Rahman, Karim\",1990-03-02,35,11,27,\n"
+				+ "2,Nadia,\"2000-02-29\",26,0,1,\n"
+				+ "3,Tanvir,yesterday,,,,Invalid date: expected yyyy-MM-dd\n"
+				+ "4,Short,,,,Invalid date: expected yyyy-MM-dd\n", out.toString(StandardCharsets.UTF_8));
+
+		assertThrows(IllegalArgumentException.class, () -> service.writeAgeCsv(
+				new ByteArrayInputStream(roster.getBytes(StandardCharsets.UTF_8)), out, "birthday", null));
+	}
+}
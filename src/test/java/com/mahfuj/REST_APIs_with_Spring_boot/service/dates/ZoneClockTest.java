@@ -0,0 +1,91 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.service.dates;
+
+import com.mahfuj.REST_APIs_with_Spring_boot.config.DateProperties;
+import com.mahfuj.REST_APIs_with_Spring_boot.exception.InvalidInputException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ZoneClockTest {
+
+	// a clock the test moves by hand
+	private static final class ManualClock extends Clock {
+		long millis;
+
+		ManualClock(String instant) {
+			millis = Instant.parse(instant).toEpochMilli();
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public long millis() {
+			return millis;
+		}
+
+		@Override
+		public Instant instant() {
+			return Instant.ofEpochMilli(millis);
+		}
+	}
+
+	private final ManualClock time = new ManualClock("2026-03-07T23:59:59.500Z");
+	private final ZoneClock clock = new ZoneClock(time, new DateProperties("UTC", Duration.ofSeconds(1)));
+
+	@Test
+	void todayTurnsOverAtEachZonesOwnMidnight() {
+		ZoneId utc = clock.zone(null), dhaka = clock.zone("Asia/Dhaka");
+		assertEquals(LocalDate.of(2026, 3, 7), clock.today(utc));
+		assertEquals(LocalDate.of(2026, 3, 8), clock.today(dhaka));
+
+		time.millis += 500;
+		assertEquals(LocalDate.of(2026, 3, 8), clock.today(utc));
+		assertEquals(LocalDate.of(2026, 3, 8), clock.today(dhaka));
+		// the clock going backwards (e.g. an NTP step) is noticed too
+		time.millis -= 1;
+		assertEquals(LocalDate.of(2026, 3, 7), clock.today(utc));
+	}
+
+	@Test
+	void midnightFollowsDaylightSavingTime() {
+		// 8 March 2026 has 23 hours in New York
+		ZoneId newYork = clock.zone("America/New_York");
+		time.millis = Instant.parse("2026-03-08T12:00:00Z").toEpochMilli();
+		assertEquals(Instant.parse("2026-03-09T04:00:00Z").toEpochMilli(), clock.nextMidnight(newYork));
+	}
+
+	@Test
+	void nowIsSharedWithinATick() {
+		ZoneId kolkata = clock.zone("Asia/Kolkata");
+		ZonedDateTime first = clock.now(kolkata);
+		assertEquals("2026-03-08T05:29:59+05:30[Asia/Kolkata]", first.toString());
+
+		time.millis += 499;
+		assertSame(first, clock.now(kolkata));
+		time.millis += 1;
+		assertEquals("2026-03-08T05:30+05:30[Asia/Kolkata]", clock.now(kolkata).toString());
+	}
+
+	@Test
+	void unknownZonesAreAClientError() {
+		InvalidInputException e = assertThrows(InvalidInputException.class, () -> clock.zone("Mars/Olympus"));
+		assertEquals("Unknown time zone: Mars/Olympus", e.getMessage());
+		assertEquals(ZoneId.of("+05:30"), clock.zone("+05:30"));
+	}
+}
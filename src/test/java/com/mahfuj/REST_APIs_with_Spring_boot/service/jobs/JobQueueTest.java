@@ -0,0 +1,224 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.service.jobs;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mahfuj.REST_APIs_with_Spring_boot.config.JobProperties;
+import com.mahfuj.REST_APIs_with_Spring_boot.dto.JobResponse;
+import com.mahfuj.REST_APIs_with_Spring_boot.exception.InvalidInputException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JobQueueTest {
+
+	// a clock the test moves by hand
+	private static final class ManualClock extends Clock {
+		volatile long millis = 1_000_000;
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public long millis() {
+			return millis;
+		}
+
+		@Override
+		public Instant instant() {
+			return Instant.ofEpochMilli(millis);
+		}
+	}
+
+	private final List<JobQueue> queues = new ArrayList<>();
+
+	@AfterEach
+	void shutDown() {
+		queues.forEach(JobQueue::destroy);
+	}
+
+	@Test
+	void higherPrioritiesStartFirstAndWaitingRaisesPriority() throws Exception {
+		ManualClock time = new ManualClock();
+		JobQueue queue = queue(1, 4, Duration.ofSeconds(1), time, List.of());
+		List<String> order = Collections.synchronizedList(new ArrayList<>());
+		CountDownLatch release = new CountDownLatch(1);
+		queue.enqueue("low", progress -> {
+			release.await();
+			return null;
+		});
+
+		// the worker is busy: these wait, ranked submit time - 1 s per priority level
+		queue.enqueue("low", record(order, "low-1"));
+		queue.enqueue("high", record(order, "high-1"));
+		time.millis += 5_000;
+		// two levels up is worth 2 s of waiting, and low-1 has waited 5
+		queue.enqueue("high", record(order, "high-2"));
+		Job last = queue.enqueue("low", record(order, "low-2"));
+		assertThrows(RejectedExecutionException.class, () -> queue.enqueue("high", record(order, "rejected")));
+
+		release.countDown();
+		awaitFinished(queue, last);
+		assertEquals(List.of("high-1", "low-1", "high-2", "low-2"), order);
+	}
+
+	@Test
+	void reportsProgressResultsAndFailures() throws Exception {
+		JobOperation square = JobOperation.of("square", parameters -> {
+			long n = parameters.path("n").asLong(-1);
+			if (n < 0) throw new InvalidInputException("n must not be negative");
+			return progress -> {
+				progress.report(1, 2);
+				if (n > 1_000_000) throw new InvalidInputException("n is too large to square");
+				return Map.of("square", n * n);
+			};
+		});
+		JobQueue queue = queue(2, 10, Duration.ofSeconds(1), Clock.systemUTC(), List.of(square));
+		ObjectMapper json = new ObjectMapper();
+
+		JobResponse submitted = queue.submit("square", json.readTree("{\"n\": 7}"));
+		assertEquals("square", submitted.operation());
+		JobResponse done = awaitFinished(queue, submitted.id());
+		assertEquals("SUCCEEDED", done.status());
+		assertEquals("{\"square\":49}", done.result());
+		assertEquals(100.0, done.progress().percent());
+		assertNotNull(done.finishedAt());
+
+		JobResponse failed = awaitFinished(queue, queue.submit("square", json.readTree("{\"n\": 2000000}")).id());
+		assertEquals("FAILED", failed.status());
+		assertEquals("n is too large to square", failed.error());
+		assertNull(failed.result());
+
+		// checked when submitted, not when run
+		assertThrows(InvalidInputException.class, () -> queue.submit("square", json.readTree("{\"n\": -1}")));
+		assertThrows(InvalidInputException.class, () -> queue.submit("cube", null));
+		assertNull(queue.status("no-such-job"));
+	}
+
+	@Test
+	void lowPriorityJobsKeepMovingUnderAFloodOfHighPriorityOnes() throws Exception {
+		// a level is worth 20 ms of waiting: a low job beats every high job submitted 40 ms after it
+		MixedLoad aged = mixedLoad(Duration.ofMillis(20));
+		assertTrue(aged.lowFinished, "low-priority jobs starved");
+		assertTrue(aged.longestLowWaitMs < 2_000, "longest wait " + aged.longestLowWaitMs + " ms");
+		assertTrue(aged.highPerSecond > 50, aged.highPerSecond + " high-priority jobs/s");
+
+		// without aging to speak of, the same low jobs wait for as long as the flood goes on
+		MixedLoad unaged = mixedLoad(Duration.ofHours(1));
+		assertFalse(unaged.lowFinished);
+	}
+
+	@Test
+	void drainsManySmallJobs() throws Exception {
+		JobQueue queue = queue(4, 1000, Duration.ofSeconds(1), Clock.systemUTC(), List.of());
+		int count = 20_000;
+		long start = System.nanoTime();
+		Job last = null;
+		for (int i = 0; i < count; i++) {
+			String operation = i % 3 == 0 ? "high" : "low";
+			while (true) {
+				try {
+					last = queue.enqueue(operation, progress -> 0);
+					break;
+				} catch (RejectedExecutionException e) {
+					Thread.yield(); // full: let the workers catch up
+				}
+			}
+		}
+		awaitFinished(queue, last);
+		while (queue.running() > 0 || queue.queued() > 0) Thread.sleep(1);
+		double perSecond = count / ((System.nanoTime() - start) / 1e9);
+		assertTrue(perSecond > 1_000, perSecond + " jobs/s");
+	}
+
+	private record MixedLoad(boolean lowFinished, long longestLowWaitMs, double highPerSecond) {
+	}
+
+	// Keeps 20 one-millisecond high-priority jobs waiting for up to a second, and adds five low-priority ones
+	private MixedLoad mixedLoad(Duration aging) throws Exception {
+		JobQueue queue = queue(2, 100, aging, Clock.systemUTC(), List.of());
+		AtomicBoolean flooding = new AtomicBoolean(true);
+		AtomicLong highFinished = new AtomicLong();
+		Thread flood = Thread.ofPlatform().start(() -> {
+			while (flooding.get()) {
+				if (queue.queued() < 20) queue.enqueue("high", progress -> highFinished.addAndGet(spin(1)));
+				else Thread.onSpinWait();
+			}
+		});
+		Thread.sleep(100);
+		long highBefore = highFinished.get();
+
+		List<Job> low = new ArrayList<>();
+		long started = System.nanoTime();
+		for (int i = 0; i < 5; i++) {
+			low.add(queue.enqueue("low", progress -> spin(1)));
+			Thread.sleep(20);
+		}
+		while (low.stream().anyMatch(job -> job.status != JobStatus.SUCCEEDED)
+				&& System.nanoTime() - started < Duration.ofSeconds(1).toNanos()) {
+			Thread.sleep(5);
+		}
+		double seconds = (System.nanoTime() - started) / 1e9;
+		long highDone = highFinished.get() - highBefore;
+		boolean lowFinished = low.stream().allMatch(job -> job.status == JobStatus.SUCCEEDED);
+		flooding.set(false);
+		flood.join();
+
+		long longestWait = low.stream().mapToLong(job -> job.startedAt - job.submittedAt).max().orElseThrow();
+		return new MixedLoad(lowFinished, longestWait, highDone / seconds);
+	}
+
+	private JobQueue queue(int threads, int capacity, Duration aging, Clock clock, List<JobOperation> operations) {
+		JobProperties properties = new JobProperties(threads, capacity, Map.of("high", 2), aging,
+				Duration.ofMinutes(1), DataSize.ofMegabytes(1), DataSize.ofMegabytes(1), 100_000, null, 1000);
+		JobQueue queue = new JobQueue(operations, properties, new ObjectMapper(), new SimpleMeterRegistry(), clock);
+		queues.add(queue);
+		return queue;
+	}
+
+	private static JobOperation.Work record(List<String> order, String name) {
+		return progress -> order.add(name);
+	}
+
+	private static long spin(long millis) {
+		long until = System.nanoTime() + millis * 1_000_000;
+		while (System.nanoTime() < until) Thread.onSpinWait();
+		return millis;
+	}
+
+	private static void awaitFinished(JobQueue queue, Job job) throws Exception {
+		awaitFinished(queue, job.id);
+	}
+
+	private static JobResponse awaitFinished(JobQueue queue, String id) throws IOException, InterruptedException {
+		for (int i = 0; i < 1000; i++) {
+			JobResponse job = queue.status(id);
+			if (job != null && (job.status().equals("SUCCEEDED") || job.status().equals("FAILED"))) return job;
+			Thread.sleep(10);
+		}
+		throw new AssertionError("Job " + id + " did not finish");
+	}
+}
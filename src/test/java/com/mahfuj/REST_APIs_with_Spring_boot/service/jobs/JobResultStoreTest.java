@@ -0,0 +1,86 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.service.jobs;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JobResultStoreTest {
+
+	@TempDir
+	Path directory;
+
+	private final AtomicLong now = new AtomicLong(1_000);
+	private final List<String> evicted = new ArrayList<>();
+
+	@Test
+	void spillsTheOldestResultsToDiskAndDropsThemWhenThatIsFullToo() throws Exception {
+		JobResultStore store = new JobResultStore(100, 250, 10, 1_000, directory, now::get, evicted::add);
+		for (String id : List.of("a", "b", "c", "d", "e")) assertTrue(store.put(id, result(id)));
+
+		// only "e" fits on the heap; the rest were written out oldest first
+		assertEquals(60, store.memoryBytes());
+		assertEquals(240, store.diskBytes());
+		assertTrue(Files.exists(directory.resolve("a.json")));
+		assertEquals(new String(result("a"), StandardCharsets.UTF_8), store.get("a"));
+		assertEquals(new String(result("e"), StandardCharsets.UTF_8), store.get("e"));
+
+		// one more spill would pass max-disk, so "a" goes for good
+		assertTrue(store.put("f", result("f")));
+		assertEquals(List.of("a"), evicted);
+		assertNull(store.get("a"));
+		assertFalse(Files.exists(directory.resolve("a.json")));
+		assertEquals(240, store.diskBytes());
+
+		assertFalse(store.put("huge", new byte[251]));
+		assertNull(store.get("huge"));
+		store.close();
+		assertFalse(Files.exists(directory.resolve("b.json")));
+	}
+
+	@Test
+	void finishedJobsExpireAfterTheTtl() throws Exception {
+		JobResultStore store = new JobResultStore(100, 250, 10, 1_000, directory, now::get, evicted::add);
+		store.put("a", result("a"));
+		store.put("b", result("b"));
+		now.addAndGet(500);
+		store.put("failed", null);
+
+		now.addAndGet(500);
+		assertNull(store.get("a"));
+		assertEquals(List.of("a", "b"), evicted);
+		assertEquals(1, store.size());
+		assertEquals(0, store.memoryBytes());
+		assertEquals(0, store.diskBytes());
+		assertFalse(Files.exists(directory.resolve("a.json")));
+
+		now.addAndGet(500);
+		store.expire();
+		assertEquals(List.of("a", "b", "failed"), evicted);
+	}
+
+	@Test
+	void keepsAtMostMaxEntriesJobs() throws Exception {
+		JobResultStore store = new JobResultStore(100, 250, 2, 1_000, directory, now::get, evicted::add);
+		store.put("failed", null);
+		store.put("a", result("a"));
+		store.put("b", result("b"));
+		assertEquals(List.of("failed"), evicted);
+		store.put("c", result("c"));
+		assertEquals(List.of("failed", "a"), evicted);
+		assertEquals(60, store.diskBytes()); // "a" had been spilled, "b" is now
+		assertNull(store.get("a"));
+	}
+
+	// 60 bytes of JSON
+	private static byte[] result(String id) {
+		return ("{\"id\":\"" + id + "\",\"value\":\"" + "x".repeat(39) + "\"}").getBytes(StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,68 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.service.password;
+
+import com.mahfuj.REST_APIs_with_Spring_boot.config.PasswordProperties;
+import com.mahfuj.REST_APIs_with_Spring_boot.dto.PasswordStrengthResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordAnalyzerTest {
+
+	private final PasswordRules rules = new PasswordRules();
+	private final PasswordAnalyzer analyzer = new PasswordAnalyzer(
+			List.of(rules.minimumLength(), rules.uppercase(), rules.lowercase(), rules.digit(), rules.specialCharacter(),
+					rules.notCommon(), rules.noRepeats(), rules.noSequences(), rules.noKeyboardPatterns(),
+					rules.enoughEntropy(new PasswordProperties("unused", 50))),
+			new CommonPasswordList(new ByteArrayResource(
+					"# comment\npassword\nletmein\nP@ssw0rd\nzebra\n".getBytes(StandardCharsets.UTF_8))));
+
+	@Test
+	void profileIsGatheredInOnePass() {
+		PasswordProfile profile = analyzer.analyze("aaaBcd9876!qwerty");
+		assertEquals(17, profile.length());
+		assertEquals(1, profile.uppercase());
+		assertEquals(11, profile.lowercase());
+		assertEquals(4, profile.digits());
+		assertEquals(1, profile.specials());
+		assertEquals(3, profile.longestRepeat());   // "aaa"
+		assertEquals(4, profile.longestSequence()); // "aBcd" and "9876"
+		assertEquals(6, profile.longestKeyboardRun()); // "qwerty"
+	}
+
+	@Test
+	void scoreKeepsTheOriginalFiveChecks() {
+		PasswordStrengthResponse weak = analyzer.evaluate("hello");
+		assertEquals("1/5", weak.score());
+		assertEquals("Weak", weak.strength());
+
+		PasswordStrengthResponse strong = analyzer.evaluate("Tr0ub4dor&Horse!");
+		assertEquals("5/5", strong.score());
+		assertEquals("Strong", strong.strength());
+		assertEquals("Great password!", strong.message());
+	}
+
+	@Test
+	void commonPasswordsAreWeakWhateverTheirScore() {
+		PasswordStrengthResponse result = analyzer.evaluate("p@SSW0RD");
+		assertEquals("5/5", result.score());
+		assertEquals("Weak", result.strength());
+		assertTrue(result.improvementsNeeded().toString().contains("common passwords"));
+	}
+
+	@Test
+	void mappedListLookupIsExact() {
+		CommonPasswordList list = new CommonPasswordList(new ByteArrayResource(
+				"b\nab\naa\nabc\nb\nzz\nnaïve\n".getBytes(StandardCharsets.UTF_8)));
+		assertEquals(5, list.size()); // duplicate and non-ASCII lines dropped
+		for (String entry : List.of("aa", "ab", "abc", "b", "ZZ")) {
+			assertTrue(list.contains(entry), entry);
+		}
+		for (String other : List.of("", "a", "abcd", "ba", "z", "naïve")) {
+			assertFalse(list.contains(other), other);
+		}
+	}
+}
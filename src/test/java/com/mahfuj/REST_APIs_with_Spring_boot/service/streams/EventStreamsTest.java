@@ -0,0 +1,107 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.service.streams;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mahfuj.REST_APIs_with_Spring_boot.config.StreamProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventStreamsTest {
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	private final EventStreams streams = new EventStreams(
+			new StreamProperties(2, Duration.ZERO, 100), new ObjectMapper(), registry);
+
+	@Test
+	void slowReaderPausesTheProducerAndCancelStopsIt() throws Exception {
+		SlowReader reader = new SlowReader();
+		AtomicLong produced = new AtomicLong();
+		EventStream stream = streams.open(-1);
+		CompletableFuture<Void> run = CompletableFuture.runAsync(() -> {
+			try {
+				streams.run(stream, reader, events -> {
+					for (long i = 0; ; i++) {
+						events.send("n", i, Map.of("value", i));
+						produced.incrementAndGet();
+					}
+				});
+			} catch (IOException e) {
+				throw new RuntimeException(e);
+			}
+		});
+
+		// the reader takes 1000 bytes and then stops: the producer must wait instead of running ahead
+		reader.accept(1000);
+		Thread.sleep(300);
+		long whileStalled = produced.get();
+		Thread.sleep(300);
+		assertEquals(whileStalled, produced.get());
+		assertTrue(whileStalled < 50, "produced " + whileStalled);
+		assertFalse(run.isDone());
+
+		assertTrue(streams.cancel(stream.id()));
+		reader.accept(1 << 30);
+		run.get(5, TimeUnit.SECONDS);
+		String text = reader.text();
+		assertTrue(text.startsWith("event: started\n"));
+		assertTrue(text.endsWith("event: stopped\ndata: {\"events\":" + stream.events()
+				+ ",\"detail\":\"Cancelled by the client\"}\n\n"), text);
+		assertFalse(streams.cancel(stream.id()));
+		assertEquals(1, registry.counter("streams.closed", "outcome", "cancelled").count());
+	}
+
+	@Test
+	void turnsAwayStreamsOverTheLimitAndFreesSlotsWhenOneEnds() throws IOException {
+		EventStream first = streams.open(-1);
+		streams.open(-1);
+		assertThrows(RejectedExecutionException.class, () -> streams.open(-1));
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		streams.run(first, out, events -> events.send("n", 7, 7));
+		assertTrue(out.toString(StandardCharsets.UTF_8).endsWith(
+				"id: 7\nevent: n\ndata: 7\n\nevent: ended\ndata: {\"events\":1}\n\n"));
+		assertNotNull(streams.open(-1));
+	}
+
+	// Accepts as many bytes as it has been allowed to, then blocks like a full socket
+	private static final class SlowReader extends OutputStream {
+
+		private final Semaphore allowance = new Semaphore(0);
+		private final ByteArrayOutputStream received = new ByteArrayOutputStream();
+
+		void accept(int bytes) {
+			allowance.release(bytes);
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			try {
+				allowance.acquire();
+			} catch (InterruptedException e) {
+				throw new IOException(e);
+			}
+			synchronized (received) {
+				received.write(b);
+			}
+		}
+
+		String text() {
+			synchronized (received) {
+				return received.toString(StandardCharsets.UTF_8);
+			}
+		}
+	}
+}
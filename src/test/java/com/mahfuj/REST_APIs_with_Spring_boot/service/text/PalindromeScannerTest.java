@@ -0,0 +1,124 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.service.text;
+
+import com.mahfuj.REST_APIs_with_Spring_boot.config.TextProperties;
+import com.mahfuj.REST_APIs_with_Spring_boot.dto.TextPalindromeResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PalindromeScannerTest {
+
+	@TempDir
+	Path spillDirectory;
+
+	private TextPalindromeResponse scan(String text, DataSize inMemoryLimit) throws IOException {
+		PalindromeScanner scanner = new PalindromeScanner(new TextProperties(inMemoryLimit, spillDirectory));
+		return scanner.scan(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)), true);
+	}
+
+	@Test
+	void comparesLettersAndDigitsOfAnyScript() throws IOException {
+		assertEquals("esoperesteicietserepose", PalindromeScanner.normalize("Ésope reste ici et se repose"));
+		// decomposed accents are skipped, Hangul syllables are not split into their jamo
+		assertEquals("esope", PalindromeScanner.normalize("E\u0301sope"));
+		assertEquals("가각", PalindromeScanner.normalize("가 각"));
+		assertTrue(scan("Ésope reste ici et se repose", DataSize.ofMegabytes(1)).isPalindrome());
+		// final sigma folds like sigma
+		assertTrue(scan("Σας", DataSize.ofMegabytes(1)).isPalindrome());
+		// a letter outside the BMP is one character, not two halves
+		TextPalindromeResponse supplementary = scan("𝒜b𝒜", DataSize.ofMegabytes(1));
+		assertTrue(supplementary.isPalindrome());
+		assertEquals(3, supplementary.characters());
+		assertEquals(3, supplementary.compared());
+		assertFalse(scan("𝒜b𝒞", DataSize.ofMegabytes(1)).isPalindrome());
+	}
+
+	@Test
+	void surrogatePairSplitAcrossReadsIsOneCharacter() throws IOException {
+		// the reader fills 8192 chars at a time, so the pair straddles the first boundary
+		String side = "a".repeat(8191);
+		TextPalindromeResponse response = scan(side + "𝒜" + side, DataSize.ofMegabytes(1));
+		assertTrue(response.isPalindrome());
+		assertEquals(2 * 8191 + 1, response.characters());
+		assertEquals(2 * 8191 + 1, response.longest().length());
+	}
+
+	@Test
+	void manacherFindsWhatBruteForceFinds() throws IOException {
+		Random random = new Random(3);
+		for (int round = 0; round < 2000; round++) {
+			int n = random.nextInt(40);
+			int[] s = new int[n];
+			// odd rounds go past Latin-1, so both storage forms are covered
+			for (int i = 0; i < n; i++) s[i] = (round % 2 == 0 ? 'a' : 'α') + random.nextInt(round % 2 == 0 ? 2 : 3);
+			NormalizedText text = new NormalizedText(1024, spillDirectory);
+			for (int c : s) text.add(c);
+
+			long span = PalindromeScanner.manacher(text);
+			int start = (int) (span >>> 32), length = (int) span;
+			assertEquals(bruteForceLongest(s), length, () -> new String(s, 0, n));
+			for (int i = 0; i < length / 2; i++) assertEquals(s[start + i], s[start + length - 1 - i]);
+		}
+	}
+
+	@Test
+	void longestIsReportedWithItsPosition() throws IOException {
+		TextPalindromeResponse response = scan("xyz, Was it a car or a cat I saw? abc", DataSize.ofMegabytes(1));
+		assertFalse(response.isPalindrome());
+		assertEquals(3, response.longest().start());
+		assertEquals("wasitacaroracatisaw", response.longest().value());
+	}
+
+	@Test
+	void hugeInputsSpillToAMappedFile() throws IOException {
+		StringBuilder half = new StringBuilder();
+		Random random = new Random(5);
+		for (int i = 0; i < 5000; i++) half.append((char) ('a' + random.nextInt(26))).append(i % 7 == 0 ? " " : "");
+		String palindrome = half + new StringBuilder(half).reverse().toString();
+
+		TextPalindromeResponse spilled = scan(palindrome, DataSize.ofBytes(64));
+		assertTrue(spilled.spilled());
+		assertTrue(spilled.isPalindrome());
+		assertEquals(10_000, spilled.compared());
+		assertNull(spilled.longest());
+		assertFalse(scan(palindrome + "q", DataSize.ofBytes(64)).isPalindrome());
+		// the spill file is gone once the request is answered
+		try (var files = Files.list(spillDirectory)) {
+			assertEquals(0, files.count());
+		}
+	}
+
+	@Test
+	void smallWindowsRemapAsThePointersMoveIn() throws IOException {
+		try (NormalizedText text = new NormalizedText(0, spillDirectory, 64)) {
+			for (int i = 0; i < 1000; i++) text.add(Math.min(i, 999 - i));
+			text.finish();
+			assertTrue(PalindromeScanner.isPalindrome(text));
+			for (int i = 0; i < 1000; i += 37) assertEquals(Math.min(i, 999 - i), text.at(i));
+		}
+	}
+
+	private static int bruteForceLongest(int[] s) {
+		int best = 0;
+		for (int i = 0; i < s.length; i++) {
+			for (int j = i; j < s.length; j++) {
+				int lo = i, hi = j;
+				while (lo < hi && s[lo] == s[hi]) {
+					lo++;
+					hi--;
+				}
+				if (lo >= hi) best = Math.max(best, j - i + 1);
+			}
+		}
+		return best;
+	}
+}
@@ -0,0 +1,101 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.service.words;
+
+import com.mahfuj.REST_APIs_with_Spring_boot.exception.InvalidInputException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.text.NumberFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NumberToWordsTest {
+
+	private final NumberLocales locales = new NumberLocales();
+	private final NumberToWords words = new NumberToWords(
+			List.of(locales.english(), locales.indianEnglish(), locales.bengali()));
+	private final NumberLocale en = words.locale("en");
+	private final NumberLocale enIn = words.locale("en_IN");
+	private final NumberLocale bn = words.locale("BN");
+
+	@Test
+	void englishSpellsWhatTheRecursiveConverterDid() {
+		Random random = new Random(7);
+		for (int i = 0; i < 20_000; i++) {
+			long value = switch (i % 4) {
+				case 0 -> random.nextLong();
+				case 1 -> random.nextLong() % 1_000_000_000_000L;
+				case 2 -> random.nextInt(1_000_000);
+				default -> random.nextInt(2000) - 1000;
+			};
+			if (value == 0) continue; // was "" and is now "Zero"
+			assertEquals(recursive(value) + " Only", words.words(value, en), "for " + value);
+		}
+		assertEquals(recursive(Long.MAX_VALUE) + " Only", words.words(Long.MAX_VALUE, en));
+	}
+
+	@Test
+	void longMinValueNoLongerRecursesForever() {
+		assertEquals("Minus Nine Million Two Hundred Twenty Three Thousand Three Hundred Seventy Two Trillion"
+						+ " Thirty Six Billion Eight Hundred Fifty Four Million Seven Hundred Seventy Five Thousand"
+						+ " Eight Hundred Eight Only",
+				words.words(Long.MIN_VALUE, en));
+		assertEquals("Zero Only", words.words(0, en));
+	}
+
+	@Test
+	void lakhsAndCrores() {
+		assertEquals("Twelve Lakh Thirty Four Thousand Five Hundred Sixty Seven Only", words.words(1_234_567, enIn));
+		assertEquals("One Lakh Crore Only", words.words(1_000_000_000_000L, enIn));
+		assertEquals("One Crore Crore Five Only", words.words(100_000_000_000_005L, enIn));
+		assertEquals("12,34,567", words.digits(1_234_567, enIn));
+		assertEquals("-92,23,37,20,36,85,47,75,808", words.digits(Long.MIN_VALUE, enIn));
+		assertEquals("999", words.digits(999, enIn));
+
+		assertEquals("বারো লক্ষ চৌত্রিশ হাজার পাঁচ শত সাতষট্টি মাত্র", words.words(1_234_567, bn));
+		assertEquals("১২,৩৪,৫৬৭", words.digits(1_234_567, bn));
+	}
+
+	@Test
+	void internationalGroupingMatchesNumberFormat() {
+		NumberFormat format = NumberFormat.getInstance(Locale.US);
+		for (long value : new long[]{0, 7, -7, 999, 1000, -1000, 123456, -1234567, Long.MAX_VALUE, Long.MIN_VALUE}) {
+			assertEquals(format.format(value), words.digits(value, en));
+		}
+	}
+
+	@Test
+	void amountsSpellTheirHundredths() {
+		assertEquals("One Thousand Five Hundred and Fifty Cents Only", words.amountWords(new BigDecimal("1500.50"), en));
+		assertEquals("1,500.50", words.amountDigits(new BigDecimal("1500.5"), en));
+		assertEquals("Two Only", words.amountWords(new BigDecimal("1.999"), en)); // rounded to hundredths
+		assertEquals("Minus Zero and Five Paise Only", words.amountWords(new BigDecimal("-0.05"), enIn));
+		assertEquals("-0.05", words.amountDigits(new BigDecimal("-0.05"), enIn));
+		assertEquals("এক লক্ষ এবং পঁচিশ পয়সা মাত্র", words.amountWords(new BigDecimal("100000.25"), bn));
+		assertEquals("১,০০,০০০.২৫", words.amountDigits(new BigDecimal("100000.25"), bn));
+		assertEquals(words.words(Long.MIN_VALUE, en), words.amountWords(BigDecimal.valueOf(Long.MIN_VALUE), en));
+
+		assertThrows(InvalidInputException.class, () -> words.amountWords(new BigDecimal("1e19"), en));
+		assertThrows(InvalidInputException.class, () -> words.locale("fr"));
+	}
+
+	// The converter this replaced, kept as the reference for English
+	private static final String[] UNITS = {
+			"", "One", "Two", "Three", "Four", "Five", "Six", "Seven", "Eight", "Nine", "Ten",
+			"Eleven", "Twelve", "Thirteen", "Fourteen", "Fifteen", "Sixteen", "Seventeen", "Eighteen", "Nineteen"
+	};
+	private static final String[] TENS = {"", "", "Twenty", "Thirty", "Forty", "Fifty", "Sixty", "Seventy", "Eighty", "Ninety"};
+
+	private static String recursive(long n) {
+		if (n < 0) return "Minus " + recursive(-n);
+		if (n < 20) return UNITS[(int) n];
+		if (n < 100) return TENS[(int) n / 10] + ((n % 10 != 0) ? " " : "") + UNITS[(int) n % 10];
+		if (n < 1000) return UNITS[(int) n / 100] + " Hundred" + ((n % 100 != 0) ? " " : "") + recursive(n % 100);
+		if (n < 1000000) return recursive(n / 1000) + " Thousand" + ((n % 1000 != 0) ? " " : "") + recursive(n % 1000);
+		if (n < 1000000000) return recursive(n / 1000000) + " Million" + ((n % 1000000 != 0) ? " " : "") + recursive(n % 1000000);
+		if (n < 1000000000000L) return recursive(n / 1000000000) + " Billion" + ((n % 1000000000 != 0) ? " " : "") + recursive(n % 1000000000);
+		return recursive(n / 1000000000000L) + " Trillion" + ((n % 1000000000000L != 0) ? " " : "") + recursive(n % 1000000000000L);
+	}
+}
@@ -0,0 +1,44 @@
+package com.mahfuj.REST_APIs_with_Spring_boot.validation;
+
+import com.mahfuj.REST_APIs_with_Spring_boot.validation.PathVariableValidationFilter.ValueType;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PathVariableValidationFilterTest {
+
+	private static final List<String> SAMPLES = List.of(
+			"0", "42", "-42", "+42", " 7 ", "", "-", "+", "abc", "4a", "1.5", ".5", "5.", ".", "1e3", "1E-3",
+			"1e", "1e+", "2.5f", "2.5D", "NaN", "-Infinity", "Infinityx", "nan",
+			"2147483647", "2147483648", "-2147483648", "-2147483649",
+			"9223372036854775807", "9223372036854775808", "-9223372036854775808", "-9223372036854775809",
+			"99999999999999999999999", "١٢٣");
+
+	@Test
+	void checksAgreeWithTheJdkParsers() {
+		for (String sample : SAMPLES) {
+			assertEquals(parses(() -> Integer.parseInt(sample.trim())), ValueType.INT.accepts(sample), "int " + sample);
+			assertEquals(parses(() -> Long.parseLong(sample.trim())), ValueType.LONG.accepts(sample), "long " + sample);
+			assertEquals(parses(() -> Double.parseDouble(sample)), ValueType.DOUBLE.accepts(sample), "double " + sample);
+		}
+	}
+
+	@Test
+	void hexNumbersAreLeftToSpring() {
+		assertTrue(ValueType.INT.accepts("0x1F"));
+		assertTrue(ValueType.LONG.accepts("-#FF"));
+		assertTrue(ValueType.DOUBLE.accepts("0x1p3"));
+	}
+
+	private static boolean parses(Runnable parse) {
+		try {
+			parse.run();
+			return true;
+		} catch (NumberFormatException e) {
+			return false;
+		}
+	}
+}